@@ -0,0 +1,220 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject
+
+import java.io.File
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Registry of the performance counters, timers and histograms.
+ *
+ * Metrics are disabled by default, and then recording a value costs one volatile read. They are enabled with
+ * -Dganttproject.metrics=true or with [isEnabled]. Metric objects are meant to be obtained once and kept in
+ * static fields of the instrumented classes:
+ * <pre>
+ *   private static final Metrics.Timer ourSaveTimer = Metrics.timer("io.save");
+ *   ...
+ *   long start = ourSaveTimer.start();
+ *   try { ... } finally { ourSaveTimer.stop(start); }
+ * </pre>
+ */
+object Metrics {
+  @JvmStatic
+  @Volatile
+  var isEnabled: Boolean = java.lang.Boolean.getBoolean("ganttproject.metrics")
+
+  private val metrics = ConcurrentHashMap<String, Metric>()
+  private val dumpExecutor by lazy {
+    Executors.newSingleThreadScheduledExecutor { Thread(it, "Metrics dump").also { thread -> thread.isDaemon = true } }
+  }
+  private var dumpFuture: ScheduledFuture<*>? = null
+
+  @JvmStatic fun counter(name: String): Counter = register(name) { Counter(name) }
+  @JvmStatic fun timer(name: String): Timer = register(name) { Timer(name) }
+  @JvmStatic fun histogram(name: String): Histogram = register(name) { Histogram(name) }
+
+  private inline fun <reified T : Metric> register(name: String, crossinline factory: () -> T): T {
+    val metric = metrics.computeIfAbsent(name) { factory() }
+    require(metric is T) { "Metric $name is already registered as ${metric.javaClass.simpleName}" }
+    return metric
+  }
+
+  /**
+   * @return the current values of all metrics, keyed by the metric name. Timer values are in milliseconds.
+   */
+  @JvmStatic fun snapshot(): Map<String, Map<String, Number>> =
+    metrics.values.sortedBy { it.name }.associate { it.name to it.snapshot() }
+
+  /**
+   * Clears the recorded values, keeping the registered metrics.
+   */
+  @JvmStatic fun reset() = metrics.values.forEach { it.reset() }
+
+  @JvmStatic fun toJson(): String = buildString {
+    append("{\n")
+    append(snapshot().entries.joinToString(",\n") { (name, values) ->
+      val fields = values.entries.joinToString(", ") { (key, value) -> "\"$key\": $value" }
+      "  \"${name.replace("\\", "\\\\").replace("\"", "\\\"")}\": {$fields}"
+    })
+    append("\n}\n")
+  }
+
+  /**
+   * Writes the metrics in JSON to the given file every [periodSeconds], replacing the previous content, while
+   * the metrics are enabled.
+   */
+  @JvmStatic fun startJsonDump(file: File, periodSeconds: Long) = synchronized(this) {
+    dumpFuture?.cancel(false)
+    dumpFuture = dumpExecutor.scheduleWithFixedDelay({
+      if (isEnabled) {
+        try {
+          file.parentFile?.mkdirs()
+          val tempFile = File(file.parentFile, "${file.name}.tmp")
+          tempFile.writeText(toJson())
+          Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING)
+        } catch (ex: Exception) {
+          LOGGER.error("Failed to write metrics to {}", file, exception = ex)
+        }
+      }
+    }, periodSeconds, periodSeconds, TimeUnit.SECONDS)
+  }
+
+  sealed class Metric(val name: String) {
+    internal abstract fun snapshot(): Map<String, Number>
+    internal abstract fun reset()
+  }
+
+  class Counter internal constructor(name: String) : Metric(name) {
+    private val value = LongAdder()
+
+    val count: Long get() = value.sum()
+
+    fun inc() {
+      if (isEnabled) value.increment()
+    }
+
+    fun add(delta: Long) {
+      if (isEnabled) value.add(delta)
+    }
+
+    override fun snapshot(): Map<String, Number> = mapOf("count" to count)
+    override fun reset() = value.reset()
+  }
+
+  /**
+   * Distribution of long values. The values are counted in buckets with the power-of-two bounds, so the
+   * percentiles are approximate, with an error of at most 2x.
+   */
+  open class Histogram internal constructor(name: String) : Metric(name) {
+    private val buckets = AtomicLongArray(65)
+    private val countAdder = LongAdder()
+    private val sumAdder = LongAdder()
+    private val minValue = AtomicLong(Long.MAX_VALUE)
+    private val maxValue = AtomicLong(Long.MIN_VALUE)
+
+    val count: Long get() = countAdder.sum()
+    val sum: Long get() = sumAdder.sum()
+    val min: Long get() = if (count == 0L) 0 else minValue.get()
+    val max: Long get() = if (count == 0L) 0 else maxValue.get()
+
+    fun record(value: Long) {
+      if (isEnabled) doRecord(value)
+    }
+
+    internal fun doRecord(value: Long) {
+      val nonNegative = value.coerceAtLeast(0)
+      buckets.incrementAndGet(64 - java.lang.Long.numberOfLeadingZeros(nonNegative))
+      countAdder.increment()
+      sumAdder.add(nonNegative)
+      minValue.accumulateAndGet(nonNegative, ::minOf)
+      maxValue.accumulateAndGet(nonNegative, ::maxOf)
+    }
+
+    /**
+     * @return the upper bound of the bucket containing the given quantile, capped by the maximum value
+     */
+    fun percentile(quantile: Double): Long {
+      val total = count
+      if (total == 0L) {
+        return 0
+      }
+      val rank = Math.ceil(quantile * total).toLong().coerceIn(1, total)
+      var cumulative = 0L
+      for (i in 0 until buckets.length()) {
+        cumulative += buckets.get(i)
+        if (cumulative >= rank) {
+          val upperBound = if (i == 0) 0 else if (i >= 63) Long.MAX_VALUE else (1L shl i) - 1
+          return minOf(upperBound, max)
+        }
+      }
+      return max
+    }
+
+    override fun snapshot(): Map<String, Number> = snapshot { it }
+
+    protected fun snapshot(scale: (Long) -> Number): Map<String, Number> = mapOf(
+      "count" to count, "min" to scale(min), "max" to scale(max),
+      "mean" to scale(if (count == 0L) 0 else sum / count),
+      "p50" to scale(percentile(0.5)), "p90" to scale(percentile(0.9)), "p99" to scale(percentile(0.99))
+    )
+
+    override fun reset() {
+      for (i in 0 until buckets.length()) buckets.set(i, 0)
+      countAdder.reset()
+      sumAdder.reset()
+      minValue.set(Long.MAX_VALUE)
+      maxValue.set(Long.MIN_VALUE)
+    }
+  }
+
+  /**
+   * Histogram of the operation durations in nanoseconds.
+   */
+  class Timer internal constructor(name: String) : Histogram(name) {
+    /**
+     * @return the start time to pass to [stop], or 0 if the metrics are disabled
+     */
+    fun start(): Long = if (isEnabled) System.nanoTime() else 0L
+
+    fun stop(startNanos: Long) {
+      if (startNanos != 0L) doRecord(System.nanoTime() - startNanos)
+    }
+
+    inline fun <T> time(code: () -> T): T {
+      val startNanos = start()
+      try {
+        return code()
+      } finally {
+        stop(startNanos)
+      }
+    }
+
+    override fun snapshot(): Map<String, Number> = snapshot { nanos -> nanos / 1_000_000.0 }
+  }
+}
+
+private val LOGGER = LoggerImpl("Metrics")
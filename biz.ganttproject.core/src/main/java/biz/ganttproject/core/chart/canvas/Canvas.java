@@ -52,6 +52,12 @@ public class Canvas {
 
   private final DummySpatialIndex<Rhombus> myRhombusIndex = new DummySpatialIndex<>();
 
+  /** Painters may draw decorations, such as borders and shadows, slightly outside of the primitive bounds. */
+  private static final int CULLING_MARGIN = 16;
+
+  /** Texts are culled by their anchor point, and this margin has to cover the text height. */
+  private static final int TEXT_CULLING_MARGIN = 200;
+
   /** Horizontal alignments for texts */
   public enum HAlignment {
     CENTER, LEFT, RIGHT
@@ -589,25 +595,30 @@ public class Canvas {
     return result;
   }
 
+  /**
+   * Paints the visible primitives which intersect the painter's clip bounds. Texts outside of the clip
+   * bounds are not sent to the painter, so their labels are not even measured.
+   */
   public void paint(Painter painter) {
     painter.prePaint();
+    java.awt.Rectangle clip = painter.getClipBounds();
     for (Rectangle next : myRectangles) {
-      if (next.isVisible()) {
+      if (next.isVisible() && intersects(clip, next)) {
         painter.paint(next);
       }
     }
     for (Rhombus r : myRhombusIndex.values()) {
-      if (r.isVisible()) {
+      if (r.isVisible() && intersects(clip, r)) {
         painter.paint(r);
       }
     }
     for (Line next : myLines) {
-      if (next.isVisible()) {
+      if (next.isVisible() && intersects(clip, next)) {
         painter.paint(next);
       }
     }
     for (Text next : myTexts) {
-      if (next.isVisible()) {
+      if (next.isVisible() && intersects(clip, next)) {
         painter.paint(next);
       }
     }
@@ -617,6 +628,29 @@ public class Canvas {
   }
 
 
+  private static boolean intersects(java.awt.Rectangle clip, Polygon polygon) {
+    return intersects(clip, polygon.getLeftX(), polygon.getTopY(), polygon.getRightX(), polygon.getBottomY(), CULLING_MARGIN);
+  }
+
+  private static boolean intersects(java.awt.Rectangle clip, Line line) {
+    return intersects(clip,
+        Math.min(line.getStartX(), line.getFinishX()), Math.min(line.getStartY(), line.getFinishY()),
+        Math.max(line.getStartX(), line.getFinishX()), Math.max(line.getStartY(), line.getFinishY()),
+        CULLING_MARGIN + line.getArrow().getLength());
+  }
+
+  private static boolean intersects(java.awt.Rectangle clip, Text text) {
+    // Text size is not known until it is measured, and depending on the alignment it may extend
+    // in any direction from its anchor point, so texts are culled only vertically.
+    return clip == null || (text.getBottomY() + TEXT_CULLING_MARGIN > clip.y
+        && text.getBottomY() - TEXT_CULLING_MARGIN < clip.y + clip.height);
+  }
+
+  private static boolean intersects(java.awt.Rectangle clip, int leftX, int topY, int rightX, int bottomY, int margin) {
+    return clip == null || (leftX - margin < clip.x + clip.width && rightX + margin > clip.x
+        && topY - margin < clip.y + clip.height && bottomY + margin > clip.y);
+  }
+
   public void clear() {
     myTextIndex.clear();
     myRhombusIndex.clear();
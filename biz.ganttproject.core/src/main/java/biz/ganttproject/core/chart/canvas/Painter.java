@@ -37,4 +37,12 @@ public interface Painter {
   void paint(Canvas.TextGroup textGroup);
 
   void paint(Canvas.Rhombus rhombus);
+
+  /**
+   * @return bounds of the area which needs to be painted, in the canvas coordinates, or null if the whole
+   * canvas needs to be painted. Canvas doesn't send primitives which are outside of these bounds to the painter.
+   */
+  default java.awt.Rectangle getClipBounds() {
+    return null;
+  }
 }
@@ -19,6 +19,9 @@ along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
 package biz.ganttproject.core.chart.render;
 
 import biz.ganttproject.core.chart.canvas.TextMetrics;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 
 import java.awt.*;
 import java.awt.font.FontRenderContext;
@@ -31,6 +34,21 @@ import java.awt.geom.Rectangle2D;
  * @author bard
  */
 public class TextLengthCalculatorImpl implements TextMetrics {
+  /** Approximate size in bytes of a cache entry without the text characters. */
+  private static final int TEXT_LENGTH_ENTRY_WEIGHT = 64;
+
+  private static final long MAX_TEXT_LENGTH_CACHE_WEIGHT = 4L * 1024 * 1024;
+
+  /**
+   * Text lengths measured in the charts and exported images. The same labels are measured on every repaint, and
+   * measuring with TextLayout is expensive. The cache is bounded by the approximate size of its entries.
+   */
+  private static final Cache<TextLengthKey, Integer> ourTextLengthCache = CacheBuilder.newBuilder()
+      .maximumWeight(MAX_TEXT_LENGTH_CACHE_WEIGHT)
+      .weigher((TextLengthKey key, Integer length) -> TEXT_LENGTH_ENTRY_WEIGHT + 2 * key.text.length())
+      .recordStats()
+      .build();
+
   private Graphics2D myGraphics;
 
   private State myState;
@@ -51,9 +69,19 @@ public class TextLengthCalculatorImpl implements TextMetrics {
     }
     FontRenderContext frc = g.getFontRenderContext();
     Font font = g.getFont();
-    TextLayout layout = new TextLayout(text, font, frc);
-    Rectangle2D bounds = layout.getBounds();
-    return (int) bounds.getWidth() + 1;
+    TextLengthKey key = new TextLengthKey(font, frc, text);
+    Integer result = ourTextLengthCache.getIfPresent(key);
+    if (result == null) {
+      TextLayout layout = new TextLayout(text, font, frc);
+      Rectangle2D bounds = layout.getBounds();
+      result = (int) bounds.getWidth() + 1;
+      ourTextLengthCache.put(key, result);
+    }
+    return result;
+  }
+
+  public static CacheStats getTextLengthCacheStats() {
+    return ourTextLengthCache.stats();
   }
 
   public int getTextHeight(Font f, String s) {
@@ -82,6 +110,32 @@ public class TextLengthCalculatorImpl implements TextMetrics {
     return myState;
   }
 
+  /** Key of the text length cache: the same text may have different lengths with different fonts and devices */
+  private static class TextLengthKey {
+    final Font font;
+    final FontRenderContext context;
+    final String text;
+
+    TextLengthKey(Font font, FontRenderContext context, String text) {
+      this.font = font;
+      this.context = context;
+      this.text = text;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof TextLengthKey that)) {
+        return false;
+      }
+      return that.text.equals(this.text) && that.font.equals(this.font) && that.context.equals(this.context);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * text.hashCode() + font.hashCode();
+    }
+  }
+
   /** Internally used class containing unique variable for the current state */
   private static class State {
     // Internal values determining the uniqueness of the state
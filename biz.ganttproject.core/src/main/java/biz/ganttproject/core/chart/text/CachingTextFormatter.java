@@ -8,14 +8,24 @@ import biz.ganttproject.core.chart.text.TimeFormatters.LocaleApi;
 import biz.ganttproject.core.time.DateFrameable;
 import biz.ganttproject.core.time.TimeUnit;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
 import java.util.Date;
-import java.util.HashMap;
 
 /**
+ * Caches formatted texts of time units. The cache is bounded, so that zooming and scrolling through
+ * a long timeline during a long session doesn't make it grow forever.
+ *
  * @author bard
  */
 public abstract class CachingTextFormatter {
-  private final HashMap<Date, TimeUnitText[]> myTextCache = new HashMap<Date, TimeUnitText[]>();
+  /** Enough for every day of a few years at the finest zoom level. */
+  private static final int MAX_CACHED_TEXTS = 4096;
+
+  private final Cache<Date, TimeUnitText[]> myTextCache = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_TEXTS).recordStats().build();
   private LocaleApi myLocale;
 
   protected CachingTextFormatter() {
@@ -38,7 +48,11 @@ public abstract class CachingTextFormatter {
   }
 
   protected TimeUnitText[] getCachedText(Date startDate) {
-    return myTextCache.get(startDate);
+    return myTextCache.getIfPresent(startDate);
+  }
+
+  public CacheStats getCacheStats() {
+    return myTextCache.stats();
   }
 
   public LocaleApi getLocale() {
@@ -51,7 +65,7 @@ public abstract class CachingTextFormatter {
   }
 
   protected void clearCache() {
-    myTextCache.clear();
+    myTextCache.invalidateAll();
   }
 
   public int getTextCount() {
@@ -0,0 +1,97 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+
+class MetricsTest {
+  private val wasEnabled = Metrics.isEnabled
+
+  @AfterEach
+  fun tearDown() {
+    Metrics.isEnabled = wasEnabled
+  }
+
+  @Test
+  fun `disabled metrics record nothing`() {
+    Metrics.isEnabled = false
+    val counter = Metrics.counter("test.disabled.counter")
+    val timer = Metrics.timer("test.disabled.timer")
+    counter.reset()
+    timer.reset()
+
+    counter.inc()
+    assertEquals(42, timer.time { 42 })
+    assertEquals(0L, timer.start())
+    assertEquals(0, counter.count)
+    assertEquals(0, timer.count)
+  }
+
+  @Test
+  fun `counters and timers`() {
+    Metrics.isEnabled = true
+    val counter = Metrics.counter("test.counter")
+    val timer = Metrics.timer("test.timer")
+    counter.reset()
+    timer.reset()
+
+    counter.inc()
+    counter.add(2)
+    timer.time { Thread.sleep(2) }
+    timer.time { }
+    assertEquals(3, counter.count)
+    assertEquals(2, timer.count)
+    assertTrue(timer.max >= 2_000_000)
+    assertSame(counter, Metrics.counter("test.counter"))
+    assertThrows<IllegalArgumentException> { Metrics.timer("test.counter") }
+  }
+
+  @Test
+  fun `histogram percentiles`() {
+    Metrics.isEnabled = true
+    val histogram = Metrics.histogram("test.histogram")
+    histogram.reset()
+
+    (1L..100L).forEach(histogram::record)
+    assertEquals(100, histogram.count)
+    assertEquals(1, histogram.min)
+    assertEquals(100, histogram.max)
+    assertEquals(5050, histogram.sum)
+    // Percentiles are the upper bounds of the power-of-two buckets.
+    assertEquals(63, histogram.percentile(0.5))
+    assertEquals(100, histogram.percentile(0.99))
+    assertEquals(1, histogram.percentile(0.0))
+  }
+
+  @Test
+  fun `snapshot and JSON`() {
+    Metrics.isEnabled = true
+    val counter = Metrics.counter("test.json")
+    counter.reset()
+    counter.add(5)
+
+    assertEquals(mapOf("count" to 5L), Metrics.snapshot()["test.json"])
+    assertTrue(Metrics.toJson().contains("\"test.json\": {\"count\": 5}"))
+    Metrics.reset()
+    assertEquals(0, counter.count)
+  }
+}
@@ -0,0 +1,61 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.core.chart.text
+
+import biz.ganttproject.core.chart.render.TextLengthCalculatorImpl
+import biz.ganttproject.core.time.impl.GPTimeUnitStack
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.awt.Font
+import java.awt.image.BufferedImage
+import java.util.*
+
+class TextCacheTest {
+  @Test
+  fun `formatted texts are bounded while scrolling through many years`() {
+    val formatter = DayTextFormatter()
+    val calendar = GregorianCalendar(2000, Calendar.JANUARY, 1)
+    repeat(20 * 365) {
+      formatter.format(GPTimeUnitStack.DAY, calendar.time)
+      calendar.add(Calendar.DATE, 1)
+    }
+    assertTrue(formatter.cacheStats.evictionCount() > 0)
+
+    val lastDate = calendar.time
+    formatter.format(GPTimeUnitStack.DAY, lastDate)
+    val hitCount = formatter.cacheStats.hitCount()
+    formatter.format(GPTimeUnitStack.DAY, lastDate)
+    assertEquals(hitCount + 1, formatter.cacheStats.hitCount())
+  }
+
+  @Test
+  fun `text length is measured once per font`() {
+    val graphics = BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB).createGraphics()
+    val text = "TextCacheTest ${UUID.randomUUID()}"
+    graphics.font = Font(Font.SANS_SERIF, Font.PLAIN, 10)
+    val missCount = TextLengthCalculatorImpl.getTextLengthCacheStats().missCount()
+    val length = TextLengthCalculatorImpl.getTextLength(graphics, text)
+    assertEquals(length, TextLengthCalculatorImpl.getTextLength(graphics, text))
+    assertEquals(missCount + 1, TextLengthCalculatorImpl.getTextLengthCacheStats().missCount())
+
+    graphics.font = Font(Font.SANS_SERIF, Font.PLAIN, 20)
+    assertTrue(TextLengthCalculatorImpl.getTextLength(graphics, text) > length)
+    assertEquals(missCount + 2, TextLengthCalculatorImpl.getTextLengthCacheStats().missCount())
+  }
+}
@@ -0,0 +1,65 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.benchmark
+
+import biz.ganttproject.core.calendar.GPCalendar.DayType
+import biz.ganttproject.core.calendar.GPCalendarCalc
+import biz.ganttproject.core.calendar.GPCalendarCalc.MoveDirection
+import biz.ganttproject.core.calendar.WeekendCalendarImpl
+import biz.ganttproject.core.time.impl.GPTimeUnitStack
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.*
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class CalendarBenchmark {
+  @Param("0.0", "0.05", "0.3")
+  var holidayDensity: Double = 0.0
+
+  private lateinit var calendar: GPCalendarCalc
+  private lateinit var dates: List<Date>
+
+  @Setup(Level.Trial)
+  fun setUp() {
+    val random = Random(42L)
+    calendar = WeekendCalendarImpl().also {
+      it.publicHolidays = SyntheticProjectGenerator.generateHolidays(730, holidayDensity, random)
+    }
+    dates = (0 until 1024).map { SyntheticProjectGenerator.addDays(SyntheticProjectGenerator.PROJECT_START, random.nextInt(365)) }
+  }
+
+  /** Looks up the closest working day for 1024 dates. */
+  @Benchmark
+  fun findClosestWorkingDay(blackhole: Blackhole) {
+    dates.forEach {
+      blackhole.consume(calendar.findClosest(it, GPTimeUnitStack.DAY, MoveDirection.FORWARD, DayType.WORKING))
+    }
+  }
+
+  /** Looks up the closest non-working day for 1024 dates. */
+  @Benchmark
+  fun findClosestNonWorkingDay(blackhole: Blackhole) {
+    dates.forEach {
+      blackhole.consume(calendar.findClosest(it, GPTimeUnitStack.DAY, MoveDirection.FORWARD, DayType.NON_WORKING))
+    }
+  }
+}
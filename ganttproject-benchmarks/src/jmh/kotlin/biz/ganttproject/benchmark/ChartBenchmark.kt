@@ -0,0 +1,86 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.benchmark
+
+import biz.ganttproject.core.option.DefaultFontOption
+import biz.ganttproject.core.option.DefaultIntegerOption
+import biz.ganttproject.core.option.FontSpec
+import biz.ganttproject.core.time.impl.GPTimeUnitStack
+import net.sourceforge.ganttproject.chart.ChartModelImpl
+import net.sourceforge.ganttproject.gui.UIConfiguration
+import org.openjdk.jmh.annotations.*
+import java.awt.Color
+import java.awt.Dimension
+import java.awt.Graphics2D
+import java.awt.image.BufferedImage
+import java.util.concurrent.TimeUnit
+
+/**
+ * Builds the Gantt chart scene and paints it to an offscreen image, the same way it is done when the chart
+ * component is repainted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class ChartBenchmark {
+  @Param("1000", "10000")
+  var taskCount: Int = 0
+
+  @Param("1.0")
+  var dependencyDensity: Double = 0.0
+
+  private lateinit var chartModel: ChartModelImpl
+  private lateinit var image: BufferedImage
+  private lateinit var graphics: Graphics2D
+
+  @Setup(Level.Trial)
+  fun setUp() {
+    val project = SyntheticProjectGenerator.generate(SyntheticProjectSpec(
+      taskCount = taskCount, dependencyDensity = dependencyDensity
+    ))
+    val uiConfig = UIConfiguration(Color.BLACK, false).also {
+      it.chartFontOption = DefaultFontOption("chart.font", FontSpec("Dialog", FontSpec.Size.NORMAL), listOf())
+      it.dpiOption = DefaultIntegerOption("chart.dpi", 96)
+    }
+    chartModel = ChartModelImpl(project.taskManager, GPTimeUnitStack(), uiConfig).also {
+      it.setStartDate(SyntheticProjectGenerator.PROJECT_START)
+      it.setVisibleTasks(project.taskManager.taskHierarchy.tasksInDocumentOrder)
+      it.setBounds(Dimension(WIDTH, HEIGHT))
+      it.setTopTimeUnit(GPTimeUnitStack.WEEK)
+      it.setBottomTimeUnit(GPTimeUnitStack.DAY)
+      it.setBottomUnitWidth(20)
+    }
+    image = BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB)
+    graphics = image.createGraphics()
+  }
+
+  @TearDown(Level.Trial)
+  fun tearDown() {
+    graphics.dispose()
+  }
+
+  @Benchmark
+  fun render(): BufferedImage {
+    chartModel.paint(graphics)
+    return image
+  }
+}
+
+private const val WIDTH = 1920
+private const val HEIGHT = 1080
@@ -0,0 +1,99 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.benchmark
+
+import biz.ganttproject.customproperty.SimpleSelect
+import net.sourceforge.ganttproject.storage.ColumnConsumer
+import net.sourceforge.ganttproject.storage.ProjectDatabase
+import net.sourceforge.ganttproject.storage.SQL_PROJECT_DATABASE_OPTIONS
+import net.sourceforge.ganttproject.storage.SqlProjectDatabaseImpl
+import net.sourceforge.ganttproject.task.Task
+import net.sourceforge.ganttproject.task.TaskManager
+import org.h2.jdbcx.JdbcDataSource
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Inserts tasks into the in-memory H2 project database and runs the queries which are used for the task filters
+ * and the calculated columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class ProjectDatabaseBenchmark {
+  @Param("1000", "10000")
+  var taskCount: Int = 0
+
+  private lateinit var taskManager: TaskManager
+  private lateinit var database: ProjectDatabase
+
+  @Setup(Level.Trial)
+  fun setUp() {
+    taskManager = SyntheticProjectGenerator.generate(SyntheticProjectSpec(taskCount = taskCount)).taskManager
+    database = createDatabase("benchmark-queries").also {
+      it.init()
+      taskManager.tasks.forEach(it::insertTask)
+    }
+  }
+
+  @TearDown(Level.Trial)
+  fun tearDown() {
+    database.shutdown()
+  }
+
+  @Benchmark
+  fun findTasks(): List<Task> = database.findTasks("completion > 50 and duration > 5", taskManager::getTask)
+
+  @Benchmark
+  fun mapTasks(blackhole: Blackhole) {
+    database.mapTasks(ColumnConsumer(SimpleSelect("benchmark", "duration * completion", Int::class.javaObjectType)) { taskNum, value ->
+      blackhole.consume(taskNum)
+      blackhole.consume(value)
+    })
+  }
+
+  /**
+   * Inserts all tasks into an empty database, as it happens when a project is opened.
+   */
+  @State(Scope.Thread)
+  open class EmptyDatabase {
+    lateinit var database: ProjectDatabase
+
+    @Setup(Level.Invocation)
+    fun setUp() {
+      // A separate database, so that shutting it down doesn't drop the one which the query benchmarks use.
+      database = createDatabase("benchmark-inserts").also { it.init() }
+    }
+
+    @TearDown(Level.Invocation)
+    fun tearDown() {
+      database.shutdown()
+    }
+  }
+
+  @Benchmark
+  fun insertTasks(emptyDatabase: EmptyDatabase) {
+    taskManager.tasks.forEach(emptyDatabase.database::insertTask)
+  }
+}
+
+private fun createDatabase(name: String): ProjectDatabase = SqlProjectDatabaseImpl(JdbcDataSource().also {
+  it.setURL("jdbc:h2:mem:$name$SQL_PROJECT_DATABASE_OPTIONS")
+})
@@ -0,0 +1,109 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.benchmark
+
+import biz.ganttproject.storage.RecoveryJournal
+import net.sourceforge.ganttproject.GanttProjectImpl
+import net.sourceforge.ganttproject.io.GanttXMLSaver
+import net.sourceforge.ganttproject.task.Task
+import net.sourceforge.ganttproject.undo.ProjectState
+import org.openjdk.jmh.annotations.*
+import java.io.ByteArrayOutputStream
+import java.io.File
+import java.nio.file.Files
+import java.util.concurrent.TimeUnit
+
+/**
+ * Measures the per-edit overhead of the undo states and the recovery journal. Each iteration records an edit which
+ * renames one task.
+ *
+ * [editWithAutosaveFiles] is the former per-edit path, which wrote the states before and after the edit to the
+ * auto-save files and read the new one back for the journal. [editInMemory] is the current one, which keeps the
+ * states in memory and writes only the journal record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class RecoveryJournalBenchmark {
+  @Param("1000", "10000")
+  var taskCount: Int = 0
+
+  private lateinit var project: GanttProjectImpl
+  private lateinit var task: Task
+  private lateinit var states: List<ByteArray>
+  private lateinit var dir: File
+  private lateinit var journal: RecoveryJournal
+  private var lastState: ProjectState? = null
+  // Index of the current task name and state, which are the last ones after the setup.
+  private var stateIndex = 1
+
+  @Setup(Level.Trial)
+  fun setUp() {
+    project = SyntheticProjectGenerator.generate(SyntheticProjectSpec(taskCount = taskCount))
+    task = project.taskManager.tasks[taskCount / 2]
+    states = listOf("before", "after").map { name ->
+      task.name = name
+      serialize()
+    }
+    dir = Files.createTempDirectory("benchmark-journal").toFile()
+    journal = RecoveryJournal.create(File(dir, "journal"), states[1])
+  }
+
+  @TearDown(Level.Trial)
+  fun tearDown() {
+    journal.close()
+    dir.deleteRecursively()
+  }
+
+  /** Appends a record of a ready serialized state. */
+  @Benchmark
+  fun appendToJournal() {
+    stateIndex = 1 - stateIndex
+    journal.append(states[stateIndex])
+  }
+
+  @Benchmark
+  fun editWithAutosaveFiles() {
+    File(dir, "before.gan").writeBytes(serialize())
+    edit()
+    val afterFile = File(dir, "after.gan").also { it.writeBytes(serialize()) }
+    journal.append(afterFile.readBytes())
+  }
+
+  @Benchmark
+  fun editInMemory() {
+    val before = captureState()
+    edit()
+    val after = captureState()
+    before.rebase(after)
+    journal.append(after.materialize())
+  }
+
+  private fun edit() {
+    stateIndex = 1 - stateIndex
+    task.name = if (stateIndex == 0) "before" else "after"
+  }
+
+  private fun captureState(): ProjectState {
+    val bytes = serialize()
+    return lastState?.takeIf { it.contentEquals(bytes) } ?: ProjectState(bytes).also { lastState = it }
+  }
+
+  private fun serialize(): ByteArray = ByteArrayOutputStream().also { GanttXMLSaver(project).save(it) }.toByteArray()
+}
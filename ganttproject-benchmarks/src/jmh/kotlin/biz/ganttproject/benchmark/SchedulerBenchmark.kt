@@ -0,0 +1,59 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.benchmark
+
+import net.sourceforge.ganttproject.GanttProjectImpl
+import net.sourceforge.ganttproject.task.Task
+import net.sourceforge.ganttproject.task.algorithm.CriticalPathAlgorithmImpl
+import org.openjdk.jmh.annotations.*
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class SchedulerBenchmark {
+  @Param("1000", "10000")
+  var taskCount: Int = 0
+
+  @Param("0.5", "2.0")
+  var dependencyDensity: Double = 0.0
+
+  @Param("FS", "FS,SS,FF,SF")
+  var dependencyKinds: String = ""
+
+  private lateinit var project: GanttProjectImpl
+
+  @Setup(Level.Trial)
+  fun setUp() {
+    project = SyntheticProjectGenerator.generate(SyntheticProjectSpec(
+      taskCount = taskCount,
+      dependencyDensity = dependencyDensity,
+      dependencyKinds = dependencyKinds.split(",").map(DependencyKind::valueOf)
+    ))
+  }
+
+  @Benchmark
+  fun schedule() {
+    project.taskManager.algorithmCollection.scheduler.run()
+  }
+
+  @Benchmark
+  fun criticalPath(): Array<Task> =
+    CriticalPathAlgorithmImpl(project.taskManager, project.activeCalendar).criticalTasks
+}
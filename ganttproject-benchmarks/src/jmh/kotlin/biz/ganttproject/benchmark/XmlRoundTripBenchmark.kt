@@ -0,0 +1,74 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.benchmark
+
+import biz.ganttproject.core.io.XmlProjectImporter
+import net.sourceforge.ganttproject.IGanttProject
+import net.sourceforge.ganttproject.io.GPSaver
+import net.sourceforge.ganttproject.io.GanttXMLSaver
+import net.sourceforge.ganttproject.io.XmlParser
+import org.openjdk.jmh.annotations.*
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.util.concurrent.TimeUnit
+
+/**
+ * Saves and loads a project in the GanttProject XML format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class XmlRoundTripBenchmark {
+  @Param("1000", "10000", "50000")
+  var taskCount: Int = 0
+
+  @Param("0", "10")
+  var customColumnCount: Int = 0
+
+  private lateinit var project: IGanttProject
+  private lateinit var projectXml: ByteArray
+
+  @Setup(Level.Trial)
+  fun setUp() {
+    project = SyntheticProjectGenerator.generate(SyntheticProjectSpec(
+      taskCount = taskCount, customColumnCount = customColumnCount
+    ))
+    projectXml = save()
+  }
+
+  @Benchmark
+  fun save(): ByteArray = ByteArrayOutputStream().also { GanttXMLSaver(project).save(it) }.toByteArray()
+
+  /**
+   * Records the project snapshot, which is the part of a background save that runs in the UI thread, so this is
+   * the time the UI is blocked when the project is saved.
+   */
+  @Benchmark
+  fun snapshot(): GPSaver.Snapshot = GanttXMLSaver(project).createSnapshot()
+
+  /** Parses the XML without the tag handlers, that is, measures the parsing without building the model. */
+  @Benchmark
+  fun parse() {
+    XmlParser(listOf(), listOf()).parse(ByteArrayInputStream(projectXml))
+  }
+
+  /** Parses the XML and builds the project model. */
+  @Benchmark
+  fun load(): IGanttProject = XmlProjectImporter().import(projectXml)
+}
@@ -0,0 +1,196 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.benchmark
+
+import biz.ganttproject.core.calendar.CalendarEvent
+import biz.ganttproject.core.time.CalendarFactory
+import biz.ganttproject.customproperty.CustomPropertyClass
+import net.sourceforge.ganttproject.GanttProjectImpl
+import net.sourceforge.ganttproject.task.Task
+import net.sourceforge.ganttproject.task.dependency.TaskDependencyConstraint
+import net.sourceforge.ganttproject.task.dependency.TaskDependencyException
+import net.sourceforge.ganttproject.task.dependency.constraint.FinishFinishConstraintImpl
+import net.sourceforge.ganttproject.task.dependency.constraint.FinishStartConstraintImpl
+import net.sourceforge.ganttproject.task.dependency.constraint.StartFinishConstraintImpl
+import net.sourceforge.ganttproject.task.dependency.constraint.StartStartConstraintImpl
+import java.util.*
+
+enum class DependencyKind(val createConstraint: () -> TaskDependencyConstraint) {
+  FS(::FinishStartConstraintImpl), SS(::StartStartConstraintImpl), FF(::FinishFinishConstraintImpl), SF(::StartFinishConstraintImpl)
+}
+
+/**
+ * Shape of a synthetic project.
+ *
+ * @param taskCount total number of tasks, including the summary tasks
+ * @param depth number of the hierarchy levels; 1 means that all tasks are top-level
+ * @param fanOut number of the child tasks of each summary task
+ * @param dependencyDensity number of dependencies per leaf task
+ * @param dependencyKinds kinds of the dependencies, which are chosen uniformly
+ * @param dependencySpan a dependee is chosen among this many leaf tasks preceding the dependant, so the bigger is
+ * the span, the longer and more intertwined are the dependency chains
+ * @param resourceCount number of resources
+ * @param assignmentsPerTask number of resources assigned to each leaf task
+ * @param customColumnCount number of task custom columns, each task has a value in each of them
+ * @param holidayDensity fraction of the days in the project time span which are holidays
+ * @param seed random seed; projects generated with the same spec are identical
+ */
+data class SyntheticProjectSpec(
+  val taskCount: Int = 1000,
+  val depth: Int = 3,
+  val fanOut: Int = 5,
+  val dependencyDensity: Double = 0.5,
+  val dependencyKinds: List<DependencyKind> = listOf(DependencyKind.FS),
+  val dependencySpan: Int = 20,
+  val resourceCount: Int = 50,
+  val assignmentsPerTask: Int = 1,
+  val customColumnCount: Int = 5,
+  val holidayDensity: Double = 0.02,
+  val seed: Long = 42L
+) {
+  init {
+    require(depth >= 1) { "depth must be at least 1" }
+    require(fanOut >= 1) { "fanOut must be at least 1" }
+    require(assignmentsPerTask <= resourceCount) { "assignmentsPerTask must not exceed resourceCount" }
+  }
+}
+
+/**
+ * Generates projects of the given shape. The projects are built in memory, without the UI, and the scheduler
+ * is run once after all tasks and dependencies are created.
+ */
+object SyntheticProjectGenerator {
+  val PROJECT_START: Date = CalendarFactory.createGanttCalendar(2024, 0, 1).time
+
+  fun generate(spec: SyntheticProjectSpec): GanttProjectImpl {
+    val random = Random(spec.seed)
+    val project = GanttProjectImpl()
+    val taskManager = project.taskManager
+    taskManager.algorithmCollection.scheduler.setEnabled(false)
+
+    val tasks = createTasks(project, spec, random)
+    val leafTasks = tasks.filter { !taskManager.taskHierarchy.hasNestedTasks(it) }
+    createDependencies(project, spec, leafTasks, random)
+    createAssignments(project, spec, leafTasks, random)
+    createCustomValues(project, spec, tasks, random)
+    createHolidays(project, spec, random)
+
+    taskManager.algorithmCollection.scheduler.setEnabled(true)
+    taskManager.algorithmCollection.scheduler.run()
+    return project
+  }
+
+  private fun createTasks(project: GanttProjectImpl, spec: SyntheticProjectSpec, random: Random): List<Task> {
+    val taskManager = project.taskManager
+    val result = ArrayList<Task>(spec.taskCount)
+    fun createSubtree(parent: Task?, level: Int) {
+      for (i in 0 until spec.fanOut) {
+        if (result.size >= spec.taskCount) {
+          return
+        }
+        val task = taskManager.newTaskBuilder()
+          .withName("Task ${result.size}")
+          .withParent(parent)
+          .withStartDate(addDays(PROJECT_START, random.nextInt(spec.taskCount / 10 + 1)))
+          .withDuration(taskManager.createLength(1L + random.nextInt(10)))
+          .withCompletion(random.nextInt(101))
+          .build()
+        result.add(task)
+        if (level + 1 < spec.depth) {
+          createSubtree(task, level + 1)
+        }
+      }
+    }
+    while (result.size < spec.taskCount) {
+      createSubtree(null, 0)
+    }
+    return result
+  }
+
+  private fun createDependencies(project: GanttProjectImpl, spec: SyntheticProjectSpec, leafTasks: List<Task>, random: Random) {
+    if (leafTasks.size < 2 || spec.dependencyKinds.isEmpty()) {
+      return
+    }
+    val dependencyCollection = project.taskManager.dependencyCollection
+    val count = Math.round(leafTasks.size * spec.dependencyDensity)
+    for (i in 0 until count) {
+      // Dependees always precede dependants, so there are no cycles.
+      val dependantIdx = 1 + random.nextInt(leafTasks.size - 1)
+      val dependeeIdx = dependantIdx - 1 - random.nextInt(minOf(dependantIdx, spec.dependencySpan))
+      val kind = spec.dependencyKinds[random.nextInt(spec.dependencyKinds.size)]
+      try {
+        dependencyCollection.createDependency(leafTasks[dependantIdx], leafTasks[dependeeIdx], kind.createConstraint())
+      } catch (e: TaskDependencyException) {
+        // The same pair was chosen twice, which is fine.
+      }
+    }
+  }
+
+  private fun createAssignments(project: GanttProjectImpl, spec: SyntheticProjectSpec, leafTasks: List<Task>, random: Random) {
+    val resources = (0 until spec.resourceCount).map {
+      project.humanResourceManager.newResourceBuilder().withID(it).withName("Resource $it").build()
+    }
+    if (spec.assignmentsPerTask == 0) {
+      return
+    }
+    leafTasks.forEach { task ->
+      val assignees = mutableSetOf<Int>()
+      while (assignees.size < spec.assignmentsPerTask) {
+        assignees.add(random.nextInt(resources.size))
+      }
+      assignees.forEach { task.assignmentCollection.addAssignment(resources[it]).load = 100f }
+    }
+  }
+
+  private fun createCustomValues(project: GanttProjectImpl, spec: SyntheticProjectSpec, tasks: List<Task>, random: Random) {
+    val columnClasses = listOf(CustomPropertyClass.TEXT, CustomPropertyClass.INTEGER, CustomPropertyClass.DOUBLE, CustomPropertyClass.BOOLEAN)
+    val columns = (0 until spec.customColumnCount).map {
+      project.taskCustomColumnManager.createDefinition(columnClasses[it % columnClasses.size], "Column $it", null)
+    }
+    tasks.forEach { task ->
+      columns.forEach { column ->
+        val value: Any = when (column.propertyClass) {
+          CustomPropertyClass.INTEGER -> random.nextInt(1000)
+          CustomPropertyClass.DOUBLE -> random.nextDouble() * 1000
+          CustomPropertyClass.BOOLEAN -> random.nextBoolean()
+          else -> "Value ${random.nextInt(1000)}"
+        }
+        task.customValues.setValue(column, value)
+      }
+    }
+  }
+
+  private fun createHolidays(project: GanttProjectImpl, spec: SyntheticProjectSpec, random: Random) {
+    project.activeCalendar.publicHolidays = generateHolidays(spec.taskCount / 10 + 30, spec.holidayDensity, random)
+  }
+
+  /**
+   * @return one-off holidays in the given number of days since [PROJECT_START]
+   */
+  fun generateHolidays(spanDays: Int, density: Double, random: Random): List<CalendarEvent> =
+    (0 until spanDays)
+      .filter { random.nextDouble() < density }
+      .map { CalendarEvent.newEvent(addDays(PROJECT_START, it), false, CalendarEvent.Type.HOLIDAY, "Holiday $it", null) }
+
+  fun addDays(date: Date, days: Int): Date = Calendar.getInstance().let {
+    it.time = date
+    it.add(Calendar.DATE, days)
+    it.time
+  }
+}
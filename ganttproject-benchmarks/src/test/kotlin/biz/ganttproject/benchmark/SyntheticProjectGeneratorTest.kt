@@ -0,0 +1,57 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.benchmark
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class SyntheticProjectGeneratorTest {
+  @Test
+  fun `project has the requested shape`() {
+    val spec = SyntheticProjectSpec(taskCount = 200, depth = 3, fanOut = 4, dependencyDensity = 1.0,
+      resourceCount = 10, assignmentsPerTask = 2, customColumnCount = 3, holidayDensity = 0.1)
+    val project = SyntheticProjectGenerator.generate(spec)
+    val taskManager = project.taskManager
+
+    assertEquals(200, taskManager.taskCount)
+    val levels = taskManager.tasks.map { task ->
+      generateSequence(task) { taskManager.taskHierarchy.getContainer(it) }.takeWhile { it != taskManager.taskHierarchy.rootTask }.count()
+    }
+    assertEquals(3, levels.maxOrNull())
+    assertTrue(taskManager.tasks.all { taskManager.taskHierarchy.getNestedTasks(it).size <= 4 })
+    assertTrue(taskManager.dependencyCollection.dependencies.isNotEmpty())
+    assertEquals(10, project.humanResourceManager.resources.size)
+    taskManager.tasks.filter { !taskManager.taskHierarchy.hasNestedTasks(it) }.forEach {
+      assertEquals(2, it.assignments.size)
+    }
+    assertEquals(3, project.taskCustomColumnManager.definitions.size)
+    assertTrue(project.activeCalendar.publicHolidays.isNotEmpty())
+  }
+
+  @Test
+  fun `generator is deterministic`() {
+    val spec = SyntheticProjectSpec(taskCount = 100, dependencyKinds = DependencyKind.values().toList())
+    fun describe() = SyntheticProjectGenerator.generate(spec).taskManager.let { taskManager ->
+      taskManager.tasks.map { "${it.name} ${it.start} ${it.duration}" } +
+        taskManager.dependencyCollection.dependencies.map { "${it.dependant.name} ${it.dependee.name} ${it.constraint.type}" }
+    }
+    assertEquals(describe(), describe())
+  }
+}
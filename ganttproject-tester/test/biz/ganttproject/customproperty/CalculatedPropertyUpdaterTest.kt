@@ -0,0 +1,181 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.customproperty
+
+import biz.ganttproject.core.calendar.GPCalendar
+import biz.ganttproject.core.calendar.WeekendCalendarImpl
+import net.sourceforge.ganttproject.TestSetupHelper
+import net.sourceforge.ganttproject.storage.ProjectDatabase
+import net.sourceforge.ganttproject.storage.SQL_PROJECT_DATABASE_OPTIONS
+import net.sourceforge.ganttproject.storage.SqlProjectDatabaseImpl
+import net.sourceforge.ganttproject.task.CustomColumnsManager
+import net.sourceforge.ganttproject.task.Task
+import net.sourceforge.ganttproject.task.TaskManager
+import net.sourceforge.ganttproject.task.TaskMutator
+import org.h2.jdbcx.JdbcDataSource
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.GregorianCalendar
+import javax.sql.DataSource
+
+class CalculatedPropertyUpdaterTest {
+  private lateinit var dataSource: DataSource
+  private lateinit var projectDatabase: ProjectDatabase
+  private lateinit var taskManager: TaskManager
+  private lateinit var customPropertyManager: CustomPropertyManager
+  private lateinit var updater: CalculatedPropertyUpdater
+  private lateinit var tasks: List<Task>
+  private val calendar = WeekendCalendarImpl()
+  // Pairs of the task number and the custom property id, for each value set by the updater.
+  private val evaluated = mutableListOf<Pair<Int, String>>()
+  private val values = mutableMapOf<Pair<Int, String>, Any?>()
+
+  @BeforeEach
+  fun init() {
+    dataSource = JdbcDataSource().also {
+      it.setURL("jdbc:h2:mem:calculated-properties$SQL_PROJECT_DATABASE_OPTIONS")
+    }
+    projectDatabase = SqlProjectDatabaseImpl(dataSource).also {
+      it.init()
+      it.startLog(0)
+    }
+    taskManager = TestSetupHelper.newTaskManagerBuilder().withCalendar(calendar).also {
+      it.setTaskUpdateBuilderFactory { task -> projectDatabase.createTaskUpdateBuilder(task) }
+    }.build()
+    tasks = (1..3).map { num ->
+      taskManager.newTaskBuilder().withId(num).withUid("uid$num").withName("Task$num").build().also {
+        projectDatabase.insertTask(it)
+      }
+    }
+    customPropertyManager = CustomColumnsManager()
+    updater = CalculatedPropertyUpdater(projectDatabase, customPropertyManager) {
+      tasks.associate { it.taskID to RecordingHolder(it.taskID) }
+    }
+    taskManager.addTaskListener(updater.taskListener)
+    calendar.addListener(taskManager.calendarListener)
+    calendar.addListener(updater.calendarListener)
+  }
+
+  @AfterEach
+  fun clear() {
+    dataSource.connection.use { conn ->
+      conn.createStatement().execute("shutdown")
+    }
+  }
+
+  @Test
+  fun `edit re-evaluates the dependent columns of the changed tasks`() {
+    val nameDef = addCalculatedProperty("name || '!'", String::class.java)
+    val completionDef = addCalculatedProperty("completion * 2", Int::class.javaObjectType)
+    updater.update()
+    assertEquals(6, evaluated.size)
+
+    evaluated.clear()
+    edit(tasks[1]) { it.setName("Renamed") }
+    updater.updateChanged()
+    assertEquals(listOf(2 to nameDef.id), evaluated)
+    assertEquals("Renamed!", values[2 to nameDef.id])
+
+    evaluated.clear()
+    edit(tasks[2]) { it.setCompletionPercentage(40) }
+    updater.updateChanged()
+    assertEquals(listOf(3 to completionDef.id), evaluated)
+    assertEquals(80, values[3 to completionDef.id])
+
+    evaluated.clear()
+    updater.updateChanged()
+    assertEquals(emptyList<Pair<Int, String>>(), evaluated)
+  }
+
+  @Test
+  fun `edited expression is evaluated for all tasks`() {
+    val nameDef = addCalculatedProperty("name || '!'", String::class.java)
+    addCalculatedProperty("completion * 2", Int::class.javaObjectType)
+    updater.update()
+
+    evaluated.clear()
+    nameDef.calculationMethod = SimpleSelect(nameDef.id, "name || '?'", String::class.java)
+    updater.updateChanged()
+    assertEquals(setOf(1, 2, 3).map { it to nameDef.id }.toSet(), evaluated.toSet())
+    assertEquals(3, evaluated.size)
+    assertEquals("Task1?", values[1 to nameDef.id])
+  }
+
+  @Test
+  fun `volatile expression is evaluated for all tasks`() {
+    val nameDef = addCalculatedProperty("name || '!'", String::class.java)
+    val countDef = addCalculatedProperty("(SELECT COUNT(*) FROM task) + id", Int::class.javaObjectType)
+    updater.update()
+
+    evaluated.clear()
+    edit(tasks[0]) { it.setName("Renamed") }
+    updater.updateChanged()
+    assertEquals(
+      (setOf(1, 2, 3).map { it to countDef.id } + (1 to nameDef.id)).toSet(),
+      evaluated.toSet()
+    )
+    assertEquals(4, evaluated.size)
+    assertEquals(5, values[2 to countDef.id])
+  }
+
+  @Test
+  fun `calendar change re-evaluates all tasks`() {
+    val nameDef = addCalculatedProperty("name || '!'", String::class.java)
+    val durationDef = addCalculatedProperty("duration * 2", Int::class.javaObjectType)
+    updater.update()
+
+    // Calendar change reschedules the tasks, but doesn't fire the task events.
+    evaluated.clear()
+    calendar.setWeekDayType(GregorianCalendar.MONDAY, GPCalendar.DayType.WEEKEND)
+    updater.updateChanged()
+    assertEquals(
+      setOf(1, 2, 3).flatMap { listOf(it to nameDef.id, it to durationDef.id) }.toSet(),
+      evaluated.toSet()
+    )
+    assertEquals(6, evaluated.size)
+  }
+
+  private fun addCalculatedProperty(expression: String, resultClass: Class<*>): CustomPropertyDefinition =
+    customPropertyManager.createDefinition(CustomPropertyClass.TEXT, "column${customPropertyManager.definitions.size}", null).also {
+      it.calculationMethod = SimpleSelect(it.id, expression, resultClass)
+    }
+
+  private fun edit(task: Task, change: (TaskMutator) -> Unit) {
+    val txn = projectDatabase.startTransaction()
+    task.createMutator().also {
+      change(it)
+      it.commit()
+    }
+    txn.commit()
+  }
+
+  private inner class RecordingHolder(private val taskNum: Int) : CustomPropertyHolder {
+    override fun getCustomProperties(): List<CustomProperty> = emptyList()
+
+    override fun addCustomProperty(definition: CustomPropertyDefinition, defaultValueAsString: String?): CustomProperty =
+      throw UnsupportedOperationException()
+
+    override fun setValue(def: CustomPropertyDefinition, value: Any?) {
+      evaluated.add(taskNum to def.id)
+      values[taskNum to def.id] = value
+    }
+  }
+}
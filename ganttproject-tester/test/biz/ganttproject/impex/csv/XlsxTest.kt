@@ -0,0 +1,263 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.impex.csv
+
+import biz.ganttproject.app.DefaultLocalizer
+import biz.ganttproject.app.RootLocalizer
+import biz.ganttproject.core.model.task.TaskDefaultColumn
+import biz.ganttproject.core.time.GanttCalendar
+import biz.ganttproject.customproperty.CustomPropertyClass
+import com.google.common.base.Supplier
+import junit.framework.TestCase
+import net.sourceforge.ganttproject.TestSetupHelper
+import net.sourceforge.ganttproject.io.CSVOptions
+import net.sourceforge.ganttproject.language.GanttLanguage
+import net.sourceforge.ganttproject.roles.RoleManagerImpl
+import org.w3c.dom.Element
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.math.BigDecimal
+import java.util.Calendar
+import java.util.GregorianCalendar
+import java.util.zip.ZipEntry
+import java.util.zip.ZipInputStream
+import java.util.zip.ZipOutputStream
+import javax.xml.parsers.DocumentBuilderFactory
+
+/**
+ * Tests which are specific to XLSX export and import.
+ */
+class XlsxTest : TestCase() {
+  @Throws(Exception::class)
+  override fun setUp() {
+    TaskDefaultColumn.setLocaleApi { key -> GanttLanguage.getInstance().getText(key) }
+    RootLocalizer = object : DefaultLocalizer() {
+      override fun formatTextOrNull(key: String, vararg args: Any): String? {
+        return key
+      }
+    }
+  }
+
+  fun testWriterProducesWorkbookParts() {
+    val out = ByteArrayOutputStream()
+    XlsxWriterImpl(out, "Tasks").use {
+      it.print("A")
+      it.print(null as String?)
+      it.print("C&D")
+      it.println()
+      it.print(42)
+      it.print(3.14)
+      it.print(BigDecimal.TEN)
+      it.print(true)
+      it.print(GanttCalendar.parseXMLDate("2021-04-05"))
+      it.println()
+      it.newSheet("Resources")
+      it.print("Joe")
+      it.println()
+    }
+    val entries = readEntries(out.toByteArray())
+    assertTrue(entries.containsKey("[Content_Types].xml"))
+    assertTrue(entries.containsKey("xl/styles.xml"))
+
+    val sheets = parse(entries["xl/workbook.xml"]!!).getElementsByTagName("sheet")
+    assertEquals(2, sheets.length)
+    assertEquals("Tasks", (sheets.item(0) as Element).getAttribute("name"))
+    assertEquals("Resources", (sheets.item(1) as Element).getAttribute("name"))
+
+    val cells = parse(entries["xl/worksheets/sheet1.xml"]!!).getElementsByTagName("c")
+    val values = (0 until cells.length).map { cells.item(it) as Element }.associate { it.getAttribute("r") to it.textContent }
+    assertEquals("A", values["A1"])
+    assertNull(values["B1"])
+    assertEquals("C&D", values["C1"])
+    assertEquals("42", values["A2"])
+    assertEquals("3.14", values["B2"])
+    assertEquals("10", values["C2"])
+    assertEquals("1", values["D2"])
+    // 2021-04-05 is day 44291 in the spreadsheet date system
+    assertEquals(44291.0, values["E2"]!!.toDouble())
+
+    val resourceCells = parse(entries["xl/worksheets/sheet2.xml"]!!).getElementsByTagName("c")
+    assertEquals(1, resourceCells.length)
+    assertEquals("Joe", resourceCells.item(0).textContent)
+  }
+
+  fun testRawTypedValuesExportImport() {
+    val out = ByteArrayOutputStream()
+    XlsxWriterImpl(out, "Tasks").use {
+      "A,B,C,D,E,F,G".split(",").forEach(it::print)
+      it.println()
+      it.print("foo")
+      it.print(42)
+      it.print(3.14)
+      it.print(BigDecimal.valueOf(Int.MAX_VALUE.toLong()))
+      it.print(true)
+      it.print(GanttCalendar.parseXMLDate("2021-04-05"))
+      it.print(null as String?)
+      it.println()
+    }
+    XlsxReaderImpl(ByteArrayInputStream(out.toByteArray()), "A,B,C,D,E,F,G".split(",")).use { reader ->
+      val it = reader.iterator()
+      assertEquals("A,B,C,D,E,F,G", it.next().iterator().asSequence().joinToString(","))
+      it.next().let { record ->
+        assertEquals("foo", record["A"])
+        assertEquals(CustomPropertyClass.TEXT, record.getType("A"))
+
+        assertEquals(42, record.getInt("B"))
+        assertEquals("42", record["B"])
+        assertEquals(CustomPropertyClass.DOUBLE, record.getType("B"))
+
+        assertEquals(3.14, record.getDouble("C"))
+        assertEquals(BigDecimal.valueOf(Int.MAX_VALUE.toLong()), record.getBigDecimal("D")!!.stripTrailingZeros())
+
+        assertEquals(true, record.getBoolean("E"))
+        assertEquals(CustomPropertyClass.BOOLEAN, record.getType("E"))
+
+        assertEquals(GregorianCalendar(2021, Calendar.APRIL, 5).time, record.getDate("F"))
+        assertEquals(CustomPropertyClass.DATE, record.getType("F"))
+
+        assertNull(record["G"])
+        assertNull(record.getType("G"))
+      }
+      assertFalse(it.hasNext())
+    }
+  }
+
+  fun testSheetsAreSeparatedWithEmptyRecord() {
+    val out = ByteArrayOutputStream()
+    XlsxWriterImpl(out, "Tasks").use {
+      it.print("Task")
+      it.println()
+      it.println()
+      it.print("Task 2")
+      it.println()
+      it.newSheet("Resources")
+      it.print("Joe")
+      it.println()
+    }
+    XlsxReaderImpl(ByteArrayInputStream(out.toByteArray()), null).use { reader ->
+      val records = reader.iterator().asSequence().map { if (it.isEmpty()) "" else it[0] }.toList()
+      assertEquals(listOf("Task", "", "Task 2", "", "Joe"), records)
+    }
+  }
+
+  fun testProjectExportImport() {
+    val exportBuilder = TestSetupHelper.newTaskManagerBuilder()
+    val exportTaskManager = exportBuilder.build()
+    val exportResourceManager = exportBuilder.resourceManager
+    val alice = exportResourceManager.create("Alice", 1)
+    val bob = exportResourceManager.create("Bob", 2)
+    exportTaskManager.newTaskBuilder().withName("t1").withStartDate(TestSetupHelper.newMonday().time).build().also {
+      it.assignmentCollection.addAssignment(alice).load = 100f
+      it.assignmentCollection.addAssignment(bob).load = 50f
+    }
+    exportTaskManager.newTaskBuilder().withName("t2").withStartDate(TestSetupHelper.newTuesday().time).build().also {
+      it.assignmentCollection.addAssignment(bob).load = 100f
+    }
+    val out = ByteArrayOutputStream()
+    val exporter = GanttCSVExport(exportTaskManager, exportResourceManager, RoleManagerImpl(), CSVOptions())
+    exporter.createWriter(out, SpreadsheetFormat.XLSX).use { exporter.save(it) }
+    // The workbook has an assignments sheet, which must not be imported as resources.
+    assertEquals(3, parse(readEntries(out.toByteArray())["xl/workbook.xml"]!!).getElementsByTagName("sheet").length)
+
+    val importBuilder = TestSetupHelper.newTaskManagerBuilder()
+    val importTaskManager = importBuilder.build()
+    val importResourceManager = importBuilder.resourceManager
+    GanttCSVOpen(Supplier { ByteArrayInputStream(out.toByteArray()) }, SpreadsheetFormat.XLSX,
+      importTaskManager, importResourceManager, RoleManagerImpl(), importBuilder.timeUnitStack).load()
+
+    assertEquals(listOf("Alice", "Bob"), importResourceManager.resources.map { it.name })
+    val tasks = importTaskManager.tasks.associateBy { it.name }
+    assertEquals(setOf("t1", "t2"), tasks.keys)
+    assertEquals(TestSetupHelper.newMonday(), tasks["t1"]!!.start)
+    val importedAlice = importResourceManager.resources.first { it.name == "Alice" }
+    val importedBob = importResourceManager.resources.first { it.name == "Bob" }
+    assertEquals(100f, tasks["t1"]!!.assignmentCollection.getAssignment(importedAlice).load)
+    assertEquals(50f, tasks["t1"]!!.assignmentCollection.getAssignment(importedBob).load)
+    assertEquals(100f, tasks["t2"]!!.assignmentCollection.getAssignment(importedBob).load)
+    assertNull(tasks["t2"]!!.assignmentCollection.getAssignment(importedAlice))
+  }
+
+  fun testSharedStringsAfterWorksheet() {
+    // Workbooks written by spreadsheet applications keep the strings in a shared table,
+    // and the table may come after the worksheets.
+    val out = ByteArrayOutputStream()
+    ZipOutputStream(out).use { zip ->
+      fun entry(name: String, content: String) {
+        zip.putNextEntry(ZipEntry(name))
+        zip.write(content.toByteArray())
+        zip.closeEntry()
+      }
+      entry("xl/workbook.xml", """<workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"
+        xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">
+        <sheets><sheet name="Data" sheetId="1" r:id="rId7"/></sheets></workbook>""")
+      entry("xl/_rels/workbook.xml.rels", """<Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+        <Relationship Id="rId7" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet"
+        Target="worksheets/data.xml"/></Relationships>""")
+      entry("xl/worksheets/data.xml", """<worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>
+        <row r="1"><c r="A1" t="s"><v>1</v></c><c r="C1" s="1"><v>44291.5</v></c></row>
+        <row r="3"><c r="B3" t="s"><v>0</v></c></row>
+        </sheetData></worksheet>""")
+      entry("xl/styles.xml", """<styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">
+        <numFmts count="1"><numFmt numFmtId="164" formatCode="[Red]dd/mm/yyyy"/></numFmts>
+        <cellXfs count="2"><xf numFmtId="0"/><xf numFmtId="164"/></cellXfs></styleSheet>""")
+      entry("xl/sharedStrings.xml", """<sst xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">
+        <si><t>plain</t></si><si><r><t>rich </t></r><r><t>text</t></r><rPh><t>hint</t></rPh></si></sst>""")
+    }
+    XlsxReaderImpl(ByteArrayInputStream(out.toByteArray()), null).use { reader ->
+      val records = reader.iterator().asSequence().toList()
+      assertEquals(3, records.size)
+      assertEquals("rich text", records[0][0])
+      assertNull(records[0][1])
+      assertEquals(GregorianCalendar(2021, Calendar.APRIL, 5, 12, 0).time, records[0].getDate(2))
+      assertTrue(records[1].isEmpty())
+      assertEquals("plain", records[2][1])
+    }
+  }
+
+  fun testDateFormats() {
+    assertTrue(isDateFormat("dd/mm/yyyy"))
+    assertTrue(isDateFormat("[Red]h:mm"))
+    assertFalse(isDateFormat("0.00"))
+    assertFalse(isDateFormat("\"days\" 0"))
+    assertFalse(isDateFormat("[Red]0.00"))
+  }
+
+  fun testColumnNames() {
+    assertEquals("A", columnName(0))
+    assertEquals("Z", columnName(25))
+    assertEquals("AA", columnName(26))
+    assertEquals("AZ", columnName(51))
+    assertEquals("BA", columnName(52))
+    assertEquals(0, columnIndex("A1"))
+    assertEquals(27, columnIndex("AB12"))
+  }
+
+  private fun readEntries(bytes: ByteArray): Map<String, ByteArray> {
+    val result = mutableMapOf<String, ByteArray>()
+    ZipInputStream(ByteArrayInputStream(bytes)).use { zip ->
+      generateSequence { zip.nextEntry }.forEach { entry ->
+        result[entry.name] = zip.readBytes()
+      }
+    }
+    return result
+  }
+
+  private fun parse(bytes: ByteArray) =
+    DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(ByteArrayInputStream(bytes)).documentElement
+}
@@ -0,0 +1,131 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.storage
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.util.concurrent.TimeUnit
+
+class RecoveryJournalTest {
+  @TempDir
+  lateinit var tempDir: File
+
+  @Test
+  fun `recovers the last appended state`() {
+    val dir = File(tempDir, "journal")
+    RecoveryJournal.create(dir, projectState(0)).use { journal ->
+      (1..10).forEach { journal.append(projectState(it)) }
+    }
+    assertArrayEquals(projectState(10), RecoveryJournal.recover(dir))
+  }
+
+  @Test
+  fun `torn record at the end is ignored`() {
+    val dir = File(tempDir, "journal")
+    RecoveryJournal.create(dir, projectState(0)).use { journal ->
+      (1..10).forEach { journal.append(projectState(it)) }
+    }
+    File(dir, "journal").appendBytes(byteArrayOf(0, 0, 1, 0, 42, 42, 42))
+    assertArrayEquals(projectState(10), RecoveryJournal.recover(dir))
+  }
+
+  @Test
+  fun `journal is compacted into a checkpoint`() {
+    val dir = File(tempDir, "journal")
+    // Reversing the state makes a record as big as the whole state.
+    val states = (1..100).map { if (it % 2 == 0) projectState(it) else projectState(it).reversedArray() }
+    RecoveryJournal.create(dir, projectState(0)).use { journal ->
+      states.forEach { journal.append(it) }
+    }
+    assertTrue(File(dir, "journal").length() < states.sumOf { it.size } / 2)
+    assertArrayEquals(states.last(), RecoveryJournal.recover(dir))
+  }
+
+  @Test
+  fun `open journal is not recovered`() {
+    val dir = File(tempDir, "journal")
+    RecoveryJournal.create(dir, projectState(0)).use {
+      assertTrue(RecoveryJournal.isLocked(dir))
+      assertNull(RecoveryJournal.recover(dir))
+    }
+    assertFalse(RecoveryJournal.isLocked(dir))
+  }
+
+  @Test
+  fun `discarded journal is deleted`() {
+    val dir = File(tempDir, "journal")
+    val journal = RecoveryJournal.create(dir, projectState(0))
+    journal.append(projectState(1))
+    journal.discard()
+    assertFalse(dir.exists())
+    assertNull(RecoveryJournal.recover(dir))
+    // Discarded journal doesn't record the states anymore
+    assertFalse(journal.append(projectState(2)))
+    assertFalse(dir.exists())
+  }
+
+  @Test
+  fun `recovers the state of a killed process`() {
+    val dir = File(tempDir, "journal")
+    val process = ProcessBuilder(
+      File(System.getProperty("java.home"), "bin/java").absolutePath,
+      "-cp", System.getProperty("java.class.path"),
+      RecoveryJournalCrashProcess::class.java.name, dir.absolutePath
+    ).redirectError(ProcessBuilder.Redirect.INHERIT).start()
+    try {
+      process.inputStream.bufferedReader().let { reader ->
+        while (reader.readLine()?.startsWith("appended 500") == false) {}
+      }
+    } finally {
+      process.destroyForcibly().waitFor(30, TimeUnit.SECONDS)
+    }
+
+    // The process appends the states continuously, so it could have appended more than 500 before it was killed.
+    val recovered = RecoveryJournal.recover(dir)
+    assertNotNull(recovered)
+    val index = (500 until 100_000).firstOrNull { projectState(it).contentEquals(recovered) }
+    assertNotNull(index, "Recovered state doesn't match any appended state")
+  }
+}
+
+/**
+ * Process which appends the states to a journal until it is killed.
+ */
+object RecoveryJournalCrashProcess {
+  @JvmStatic
+  fun main(args: Array<String>) {
+    val journal = RecoveryJournal.create(File(args[0]), projectState(0))
+    var i = 1
+    while (true) {
+      journal.append(projectState(i))
+      println("appended $i")
+      System.out.flush()
+      i++
+    }
+  }
+}
+
+/**
+ * @return a state of a project with 100 tasks, where one task is renamed in each state
+ */
+private fun projectState(index: Int): ByteArray = (0 until 100).joinToString("\n") { line ->
+  if (line == index % 100) "<task id=\"$line\" name=\"Edit $index\"/>" else "<task id=\"$line\" name=\"Task $line\"/>"
+}.toByteArray()
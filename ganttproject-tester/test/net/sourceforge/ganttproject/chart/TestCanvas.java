@@ -20,9 +20,14 @@ package net.sourceforge.ganttproject.chart;
 
 import biz.ganttproject.core.chart.canvas.Canvas;
 import biz.ganttproject.core.chart.canvas.Canvas.Label;
+import biz.ganttproject.core.chart.canvas.Canvas.Line;
+import biz.ganttproject.core.chart.canvas.Canvas.Rectangle;
 import biz.ganttproject.core.chart.canvas.Canvas.Text;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Tests canvas operations.
  *
@@ -52,4 +57,53 @@ public class TestCanvas extends TestCase {
     // Labels which have not been made visible are not indexed
     assertNull(canvas.getPrimitive(220, 15));
   }
+
+  /**
+   * Tests that primitives which are far from the painter's clip bounds are not painted.
+   */
+  public void testPrimitivesOutsideOfClipAreNotPainted() {
+    Canvas canvas = new Canvas();
+    canvas.createRectangle(0, 0, 100, 20).setStyle("inside");
+    canvas.createRectangle(0, 1000, 100, 20).setStyle("below");
+    canvas.createRectangle(1000, 0, 100, 20).setStyle("right");
+    canvas.createLine(50, -500, 50, 2000).setStyle("crossing");
+    canvas.createLine(500, 500, 600, 600).setStyle("outside");
+    canvas.createText(10, 15, "inside").setStyle("inside");
+    canvas.createText(10, 1015, "below").setStyle("below");
+
+    List<String> painted = new ArrayList<>();
+    TestPainter painter = new TestPainter(new TestTextLengthCalculator(10)) {
+      @Override
+      public void paint(Rectangle rectangle) {
+        painted.add("rectangle:" + rectangle.getStyle());
+      }
+
+      @Override
+      public void paint(Line line) {
+        painted.add("line:" + line.getStyle());
+      }
+
+      @Override
+      public void paint(Text text) {
+        painted.add("text:" + text.getStyle());
+      }
+
+      @Override
+      public java.awt.Rectangle getClipBounds() {
+        return new java.awt.Rectangle(0, 0, 200, 100);
+      }
+    };
+    canvas.paint(painter);
+    assertEquals(List.of("rectangle:inside", "line:crossing", "text:inside"), painted);
+
+    painted.clear();
+    canvas.paint(new TestPainter(new TestTextLengthCalculator(10)) {
+      @Override
+      public void paint(Rectangle rectangle) {
+        painted.add("rectangle:" + rectangle.getStyle());
+      }
+    });
+    // Everything is painted when there are no clip bounds
+    assertEquals(List.of("rectangle:inside", "rectangle:below", "rectangle:right"), painted);
+  }
 }
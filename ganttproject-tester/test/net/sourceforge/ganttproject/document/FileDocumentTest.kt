@@ -0,0 +1,51 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.document
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.io.IOException
+
+class FileDocumentTest {
+  @TempDir
+  lateinit var tempDir: File
+
+  @Test
+  fun `atomic write replaces the file`() {
+    val file = File(tempDir, "project.gan").also { it.writeText("old") }
+    file.writeAtomically { it.write("new".toByteArray()) }
+    assertEquals("new", file.readText())
+    assertEquals(listOf("project.gan"), tempDir.list()!!.toList())
+  }
+
+  @Test
+  fun `failed atomic write leaves the file intact`() {
+    val file = File(tempDir, "project.gan").also { it.writeText("old") }
+    assertThrows(IOException::class.java) {
+      file.writeAtomically {
+        it.write("new".toByteArray())
+        throw IOException("Disk is full")
+      }
+    }
+    assertEquals("old", file.readText())
+    assertEquals(listOf("project.gan"), tempDir.list()!!.toList())
+  }
+}
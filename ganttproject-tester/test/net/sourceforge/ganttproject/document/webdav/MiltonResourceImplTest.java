@@ -0,0 +1,226 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.document.webdav;
+
+import biz.ganttproject.core.option.DefaultStringOption;
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import junit.framework.TestCase;
+import net.sourceforge.ganttproject.document.webdav.WebDavResource.WebDavException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests the conditional upload and the cached download against an in-process WebDAV server stand-in.
+ */
+public class MiltonResourceImplTest extends TestCase {
+  private static final String DOCUMENT_PATH = "/project.gan";
+
+  private HttpServer myServer;
+  private volatile String myContent = "<project/>";
+  private int myEtagVersion = 1;
+  private volatile int myDownloadCount = 0;
+  private final List<String> myIfMatchHeaders = Collections.synchronizedList(new ArrayList<>());
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    myServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    myServer.createContext("/", exchange -> {
+      try {
+        switch (exchange.getRequestMethod()) {
+          case "PROPFIND":
+            handlePropfind(exchange);
+            break;
+          case "GET":
+            handleGet(exchange);
+            break;
+          case "PUT":
+            handlePut(exchange);
+            break;
+          default:
+            exchange.sendResponseHeaders(405, -1);
+        }
+      } finally {
+        exchange.close();
+      }
+    });
+    myServer.start();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    myServer.stop(0);
+    super.tearDown();
+  }
+
+  public void testConditionalUploadSucceeds() throws Exception {
+    WebDavResource resource = createResource("alice");
+    assertEquals("<project/>", read(resource));
+
+    write(resource, "<project name=\"updated\"/>");
+    assertEquals(Collections.singletonList(etag(1)), myIfMatchHeaders);
+    assertEquals("<project name=\"updated\"/>", myContent);
+  }
+
+  public void testUploadOfStaleDocumentFails() throws Exception {
+    WebDavResource resource = createResource("alice");
+    read(resource);
+
+    // Someone else writes the document after we have read it.
+    synchronized (this) {
+      myContent = "<project name=\"theirs\"/>";
+      myEtagVersion++;
+    }
+    try {
+      write(resource, "<project name=\"ours\"/>");
+      fail("Expected WebDavException");
+    } catch (WebDavException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("modified"));
+    }
+    assertEquals("<project name=\"theirs\"/>", myContent);
+  }
+
+  public void testUnchangedDocumentIsReadFromCache() throws Exception {
+    assertEquals("<project/>", read(createResource("alice")));
+    assertEquals(1, myDownloadCount);
+
+    assertEquals("<project/>", read(createResource("alice")));
+    assertEquals(1, myDownloadCount);
+  }
+
+  public void testCachedDocumentIsNotSharedAcrossUsers() throws Exception {
+    assertEquals("<project/>", read(createResource("alice")));
+    assertEquals(1, myDownloadCount);
+
+    assertEquals("<project/>", read(createResource("bob")));
+    assertEquals(2, myDownloadCount);
+  }
+
+  public void testChangedDocumentIsDownloadedAgain() throws Exception {
+    assertEquals("<project/>", read(createResource("alice")));
+    synchronized (this) {
+      myContent = "<project name=\"changed\"/>";
+      myEtagVersion++;
+    }
+    assertEquals("<project name=\"changed\"/>", read(createResource("alice")));
+    assertEquals(2, myDownloadCount);
+  }
+
+  public void testDownloadStopsWhenReaderClosesStream() throws Exception {
+    // Content is larger than the download pipe, so the downloader blocks until the reader reads or closes.
+    myContent = Strings.repeat("<task/>", 100_000);
+    WebDavResource resource = createResource("alice");
+    try (InputStream input = resource.getInputStream()) {
+      assertTrue(input.read() != -1);
+    }
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (isDownloading()) {
+      assertTrue("Download thread is still running", System.currentTimeMillis() < deadline);
+      Thread.sleep(50);
+    }
+    // Aborted download is not cached
+    assertEquals(myContent, read(resource));
+    assertEquals(2, myDownloadCount);
+  }
+
+  private static boolean isDownloading() {
+    return Thread.getAllStackTraces().keySet().stream().anyMatch(thread -> thread.getName().startsWith("WebDAV download"));
+  }
+
+  private WebDavResource createResource(String username) {
+    MiltonResourceFactory factory = new MiltonResourceFactory(username, "secret", new DefaultStringOption("", ""));
+    return factory.createResource(new WebDavUri(
+        "http://127.0.0.1:" + myServer.getAddress().getPort() + DOCUMENT_PATH));
+  }
+
+  private static String read(WebDavResource resource) throws WebDavException, IOException {
+    try (InputStream input = resource.getInputStream()) {
+      return new String(ByteStreams.toByteArray(input), Charsets.UTF_8);
+    }
+  }
+
+  private static void write(WebDavResource resource, String content) throws WebDavException {
+    byte[] bytes = content.getBytes(Charsets.UTF_8);
+    resource.write(new ByteArrayInputStream(bytes), bytes.length);
+  }
+
+  private static String etag(int version) {
+    return "\"v" + version + "\"";
+  }
+
+  private synchronized void handlePropfind(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    StringBuilder body = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\"?>")
+        .append("<d:multistatus xmlns:d=\"DAV:\">");
+    if (!DOCUMENT_PATH.equals(path)) {
+      body.append("<d:response><d:href>/</d:href><d:propstat><d:prop>")
+          .append("<d:displayname></d:displayname><d:resourcetype><d:collection/></d:resourcetype>")
+          .append("</d:prop><d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>");
+    }
+    body.append("<d:response><d:href>").append(DOCUMENT_PATH).append("</d:href><d:propstat><d:prop>")
+        .append("<d:displayname>project.gan</d:displayname><d:resourcetype/>")
+        .append("<d:getcontenttype>application/xml</d:getcontenttype>")
+        .append("<d:getcontentlength>").append(myContent.getBytes(Charsets.UTF_8).length).append("</d:getcontentlength>")
+        .append("<d:getetag>").append(etag(myEtagVersion)).append("</d:getetag>")
+        .append("</d:prop><d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>")
+        .append("</d:multistatus>");
+    sendResponse(exchange, 207, body.toString().getBytes(Charsets.UTF_8));
+  }
+
+  private synchronized void handleGet(HttpExchange exchange) throws IOException {
+    myDownloadCount++;
+    exchange.getResponseHeaders().add("ETag", etag(myEtagVersion));
+    sendResponse(exchange, 200, myContent.getBytes(Charsets.UTF_8));
+  }
+
+  private synchronized void handlePut(HttpExchange exchange) throws IOException {
+    byte[] body = ByteStreams.toByteArray(exchange.getRequestBody());
+    String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+    if (ifMatch != null) {
+      myIfMatchHeaders.add(ifMatch);
+      if (!ifMatch.equals(etag(myEtagVersion))) {
+        exchange.sendResponseHeaders(412, -1);
+        return;
+      }
+    }
+    myContent = new String(body, Charsets.UTF_8);
+    myEtagVersion++;
+    exchange.getResponseHeaders().add("ETag", etag(myEtagVersion));
+    exchange.sendResponseHeaders(201, -1);
+  }
+
+  private static void sendResponse(HttpExchange exchange, int status, byte[] body) throws IOException {
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(body);
+    }
+  }
+}
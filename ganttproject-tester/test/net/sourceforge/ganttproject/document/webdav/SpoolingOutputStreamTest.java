@@ -0,0 +1,70 @@
+package net.sourceforge.ganttproject.document.webdav;
+
+import com.google.common.io.ByteStreams;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class SpoolingOutputStreamTest extends TestCase {
+  public void testSmallContentStaysInMemory() throws IOException {
+    SpoolingOutputStream out = new SpoolingOutputStream(16);
+    out.write("hello".getBytes());
+    out.close();
+    assertFalse(out.isSpilled());
+    assertEquals(5, out.size());
+    assertEquals("hello", readAll(out));
+    out.dispose();
+  }
+
+  public void testLargeContentIsSpilledToFile() throws IOException {
+    SpoolingOutputStream out = new SpoolingOutputStream(4);
+    out.write("hel".getBytes());
+    out.write('l');
+    out.write("o, world".getBytes());
+    out.close();
+    assertTrue(out.isSpilled());
+    assertEquals(12, out.size());
+    assertEquals("hello, world", readAll(out));
+    // Content can be read more than once
+    assertEquals("hello, world", readAll(out));
+    out.dispose();
+  }
+
+  public void testDisposedContentCantBeOpened() throws IOException {
+    SpoolingOutputStream out = new SpoolingOutputStream(4);
+    out.write("hello, world".getBytes());
+    out.close();
+    try (InputStream is = out.openInputStream()) {
+      out.dispose();
+      // Stream which was opened before disposal keeps reading
+      assertEquals("hello, world", new String(ByteStreams.toByteArray(is)));
+    }
+    try {
+      out.openInputStream();
+      fail("Expected IOException");
+    } catch (IOException e) {
+      // Expected
+    }
+  }
+
+  public void testCachedContentIsOpenedUnderLock() throws IOException {
+    SpoolingOutputStream out = new SpoolingOutputStream(16);
+    out.write("hello".getBytes());
+    out.close();
+    MiltonResourceFactory.ContentCache cache = new MiltonResourceFactory.ContentCache();
+    cache.put("http://localhost/project.gan", "alice", "v1", out);
+    assertNull(cache.open("http://localhost/project.gan", "alice", "v2"));
+    try (InputStream is = cache.open("http://localhost/project.gan", "alice", "v1")) {
+      cache.invalidate("http://localhost/project.gan");
+      assertEquals("hello", new String(ByteStreams.toByteArray(is)));
+    }
+    assertNull(cache.open("http://localhost/project.gan", "alice", "v1"));
+  }
+
+  private static String readAll(SpoolingOutputStream out) throws IOException {
+    try (InputStream is = out.openInputStream()) {
+      return new String(ByteStreams.toByteArray(is));
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.io
+
+import biz.ganttproject.core.io.XmlProjectImporter
+import net.sourceforge.ganttproject.GanttProjectImpl
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayOutputStream
+import java.util.concurrent.CancellationException
+
+class GanttXMLSaverSnapshotTest {
+  @Test
+  fun `edits made after the snapshot is taken are not written`() {
+    val project = GanttProjectImpl()
+    val taskManager = project.taskManager
+    val tasks = (1..100).map { taskManager.newTaskBuilder().withName("task$it").build() }
+    val expectedNames = tasks.map { it.name }
+
+    val snapshot = GanttXMLSaver(project).createSnapshot()
+    tasks[0].name = "renamed"
+    taskManager.deleteTask(tasks[1])
+    taskManager.newTaskBuilder().withName("added").build()
+
+    val output = ByteArrayOutputStream()
+    snapshot.writeTo(output, SaveProgress.NONE)
+    val savedProject = XmlProjectImporter().import(output.toByteArray())
+    assertEquals(expectedNames, savedProject.taskManager.taskHierarchy.tasksInDocumentOrder.map { it.name })
+  }
+
+  @Test
+  fun `progress is reported`() {
+    val project = GanttProjectImpl()
+    (1..1000).forEach { project.taskManager.newTaskBuilder().withName("task$it").build() }
+
+    val fractions = mutableListOf<Double>()
+    GanttXMLSaver(project).createSnapshot().writeTo(ByteArrayOutputStream(), object : SaveProgress {
+      override fun onProgress(fraction: Double) {
+        fractions.add(fraction)
+      }
+      override fun isCancelled() = false
+    })
+    assertTrue(fractions.isNotEmpty())
+    assertEquals(fractions.sorted(), fractions)
+    assertEquals(1.0, fractions.last())
+  }
+
+  @Test
+  fun `cancelled save throws CancellationException`() {
+    val project = GanttProjectImpl()
+    (1..1000).forEach { project.taskManager.newTaskBuilder().withName("task$it").build() }
+
+    assertThrows(CancellationException::class.java) {
+      GanttXMLSaver(project).createSnapshot().writeTo(ByteArrayOutputStream(), object : SaveProgress {
+        override fun onProgress(fraction: Double) {}
+        override fun isCancelled() = true
+      })
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.plugins;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.eclipse.core.runtime.IConfigurationElement;
+
+import java.util.Arrays;
+
+/**
+ * Tests for {@link LazyExtension}.
+ */
+public class LazyExtensionTest extends TestCase {
+  public interface TestExtension {
+    String getID();
+    String getFileNamePattern();
+    String[] getFileExtensions();
+    TestExtension withFormat(String format);
+    void setContext(String context);
+    String getContext();
+  }
+
+  public static class TestExtensionImpl implements TestExtension {
+    private String myContext;
+    private String myFormat;
+
+    @Override
+    public String getID() {
+      return "test.extension";
+    }
+
+    @Override
+    public String getFileNamePattern() {
+      return "loaded";
+    }
+
+    @Override
+    public String[] getFileExtensions() {
+      return new String[] {"csv", "xls"};
+    }
+
+    @Override
+    public TestExtension withFormat(String format) {
+      myFormat = format;
+      return this;
+    }
+
+    @Override
+    public void setContext(String context) {
+      myContext = context;
+    }
+
+    @Override
+    public String getContext() {
+      return myContext + ":" + myFormat;
+    }
+  }
+
+  private int myCreateCount;
+
+  private TestExtension createLazyExtension() throws Exception {
+    IConfigurationElement configElement = EasyMock.createNiceMock(IConfigurationElement.class);
+    EasyMock.expect(configElement.getAttribute("class")).andStubReturn(TestExtensionImpl.class.getName());
+    EasyMock.expect(configElement.getAttribute("id")).andStubReturn("test.extension");
+    EasyMock.expect(configElement.getAttribute("fileNamePattern")).andStubReturn("metadata");
+    EasyMock.expect(configElement.getAttribute("fileExtensions")).andStubReturn("csv, xls");
+    EasyMock.expect(configElement.createExecutableExtension("class")).andStubAnswer(() -> {
+      myCreateCount++;
+      return new TestExtensionImpl();
+    });
+    EasyMock.replay(configElement);
+    return LazyExtension.create(configElement, TestExtension.class);
+  }
+
+  public void testMetadataCallsDontCreateExtension() throws Exception {
+    TestExtension extension = createLazyExtension();
+    assertEquals("test.extension", extension.getID());
+    assertEquals("metadata", extension.getFileNamePattern());
+    assertEquals(Arrays.asList("csv", "xls"), Arrays.asList(extension.getFileExtensions()));
+    assertNull(extension.withFormat("pdf"));
+    extension.setContext("first");
+    extension.setContext("second");
+    assertEquals(0, myCreateCount);
+  }
+
+  public void testFirstRealCallCreatesExtension() throws Exception {
+    TestExtension extension = createLazyExtension();
+    extension.setContext("first");
+    extension.setContext("second");
+    assertTrue(extension.withFormat("csv") instanceof TestExtensionImpl);
+    assertEquals(1, myCreateCount);
+
+    // The deferred calls are replayed, the last one wins.
+    assertEquals("second:csv", extension.getContext());
+    // Once created, the calls go to the extension.
+    assertEquals("loaded", extension.getFileNamePattern());
+    extension.setContext("third");
+    assertEquals("third:csv", extension.getContext());
+    assertEquals(1, myCreateCount);
+  }
+
+  public void testObjectMethodsDontCreateExtension() throws Exception {
+    TestExtension extension = createLazyExtension();
+    TestExtension other = createLazyExtension();
+    assertTrue(extension.equals(extension));
+    assertFalse(extension.equals(other));
+    assertFalse(extension.equals(null));
+    assertEquals(extension.hashCode(), extension.hashCode());
+    assertEquals(System.identityHashCode(extension), extension.hashCode());
+    assertEquals("LazyExtension[" + TestExtensionImpl.class.getName() + "]", extension.toString());
+    assertEquals(0, myCreateCount);
+  }
+}
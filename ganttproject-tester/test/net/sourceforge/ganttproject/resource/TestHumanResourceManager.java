@@ -76,4 +76,31 @@ public class TestHumanResourceManager extends TestCase {
     assertEquals(0, manager.getResources().size());
 
   }
+
+  public void testLookupIndexFollowsEdits() {
+    HumanResourceManager manager = new HumanResourceManager(null, new CustomColumnsManager());
+    var resource1 = manager.newHumanResource();
+    resource1.setName("Joe");
+    manager.add(resource1);
+    var resource2 = manager.create("Jane", 10);
+
+    assertSame(resource1, manager.getById(resource1.getId()));
+    assertSame(resource2, manager.getById(10));
+    assertSame(resource1, manager.getByName("Joe"));
+    assertSame(resource2, manager.getByName("Jane"));
+
+    resource2.setName("John");
+    assertNull(manager.getByName("Jane"));
+    assertSame(resource2, manager.getByName("John"));
+
+    resource1.setName("John");
+    assertSame(resource2, manager.getByName("John"));
+    manager.remove(resource2);
+    assertNull(manager.getById(10));
+    assertSame(resource1, manager.getByName("John"));
+
+    manager.clear();
+    assertNull(manager.getById(resource1.getId()));
+    assertNull(manager.getByName("John"));
+  }
 }
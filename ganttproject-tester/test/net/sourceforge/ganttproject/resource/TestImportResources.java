@@ -28,6 +28,32 @@ public class TestImportResources extends TestCase {
         assertEquals("jack", mergeTo.getById(3).getName());
     }
 
+    public void testMergeByDuplicateName() {
+        MergeResourcesOption mergeOption = new MergeResourcesOption();
+        mergeOption.setValue(MergeResourcesOption.BY_NAME);
+
+        HumanResourceManager mergeTo = new HumanResourceManager(null, new CustomColumnsManager());
+        mergeTo.add(new HumanResource("joe", 1, mergeTo));
+        mergeTo.add(new HumanResource("joe", 2, mergeTo));
+
+        HumanResourceManager mergeFrom = new HumanResourceManager(null, new CustomColumnsManager());
+        HumanResource foreignJoe = new HumanResource("joe", 1, mergeFrom);
+        foreignJoe.setMail("joe@example.com");
+        mergeFrom.add(foreignJoe);
+        mergeFrom.add(new HumanResource("ann", 2, mergeFrom));
+        mergeFrom.add(new HumanResource("ann", 3, mergeFrom));
+
+        mergeTo.importData(mergeFrom, new OverwritingMerger(mergeOption), Collections.emptyMap());
+
+        // The last of the same-named native resources is merged, and the same-named foreign resources which have
+        // no native counterpart are imported as separate resources.
+        assertEquals(4, mergeTo.getResources().size());
+        assertEquals("", mergeTo.getById(1).getMail());
+        assertEquals("joe@example.com", mergeTo.getById(2).getMail());
+        assertEquals("ann", mergeTo.getById(3).getName());
+        assertEquals("ann", mergeTo.getById(4).getName());
+    }
+
     public void testMergeByID() {
         MergeResourcesOption mergeOption = new MergeResourcesOption();
         mergeOption.setValue(MergeResourcesOption.BY_ID);
@@ -0,0 +1,119 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.search
+
+import net.sourceforge.ganttproject.GanttProjectImpl
+import net.sourceforge.ganttproject.TestSetupHelper
+import net.sourceforge.ganttproject.task.Task
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+import java.util.Locale
+
+class TaskSearchIndexTest {
+  private val taskManager = TestSetupHelper.newTaskManagerBuilder().build()
+  private val index = TaskSearchService.createIndex(taskManager)
+
+  private fun createTask(name: String, notes: String = "") = taskManager.createTask().also {
+    it.name = name
+    it.notes = notes
+  }
+
+  private fun search(query: String) = index.search(query).map { it.`object`.name }
+
+  @Test
+  fun `Word matches are ranked above substring matches`() {
+    createTask("Prewrite the draft")
+    createTask("Write the report")
+    createTask("Review")
+    assertEquals(listOf("Write the report", "Prewrite the draft"), search("write"))
+    assertEquals(listOf("Review"), search("rev*"))
+  }
+
+  @Test
+  fun `Field-scoped query`() {
+    createTask("Design", notes = "review with the customer")
+    createTask("Review")
+    assertEquals(listOf("Review", "Design"), search("review"))
+    assertEquals(listOf("Design"), search("notes:review"))
+    assertEquals(listOf("Review"), search("name:review"))
+  }
+
+  @Test
+  fun `Index follows the task changes`() {
+    val task = createTask("Implementation")
+    assertEquals(listOf("Implementation"), search("implem"))
+
+    rename(task, "Testing")
+    assertEquals(listOf<String>(), search("implem"))
+    assertEquals(listOf("Testing"), search("test"))
+
+    taskManager.deleteTask(task)
+    assertEquals(listOf<String>(), search("test"))
+  }
+
+  @Test
+  fun `Searches reuse the index of the task manager`() {
+    val project = GanttProjectImpl()
+    val service = TaskSearchService()
+    service.init(project, null)
+    val index = service.index
+    project.taskManager.createTask().name = "Implementation"
+    assertEquals(listOf("Implementation"), service.search("implem").map { it.`object`.name })
+
+    service.init(project, null)
+    assertSame(index, service.index)
+    project.taskManager.createTask().name = "Implementation review"
+    assertEquals(listOf("Implementation", "Implementation review"), service.search("implem").map { it.`object`.name })
+  }
+
+  @Test
+  fun `Hits with equal scores follow the project order after changes`() {
+    createTask("Review 1")
+    val second = createTask("Review 2")
+    assertEquals(listOf("Review 1", "Review 2"), search("review"))
+
+    val added = createTask("Review 3")
+    taskManager.taskHierarchy.move(added, taskManager.rootTask, 0)
+    assertEquals(listOf("Review 3", "Review 1", "Review 2"), search("review"))
+
+    taskManager.taskHierarchy.move(second, taskManager.rootTask, 0)
+    assertEquals(listOf("Review 2", "Review 3", "Review 1"), search("review"))
+  }
+
+  @Test
+  fun `Matching doesn't depend on the default locale`() {
+    val defaultLocale = Locale.getDefault()
+    Locale.setDefault(Locale.forLanguageTag("tr"))
+    try {
+      createTask("IMPLEMENTATION")
+      assertEquals(listOf("IMPLEMENTATION"), search("implem"))
+      assertEquals(listOf("IMPLEMENTATION"), search("NAME:implem"))
+    } finally {
+      Locale.setDefault(defaultLocale)
+    }
+  }
+
+  private fun rename(task: Task, name: String) {
+    task.createMutator().also {
+      it.setName(name)
+      it.commit()
+    }
+  }
+}
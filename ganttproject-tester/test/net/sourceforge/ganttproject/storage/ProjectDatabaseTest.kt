@@ -25,6 +25,7 @@ import biz.ganttproject.core.time.CalendarFactory
 import biz.ganttproject.core.time.impl.GPTimeUnitStack
 import biz.ganttproject.customproperty.CustomColumnsValues
 import biz.ganttproject.customproperty.CustomPropertyClass
+import biz.ganttproject.customproperty.SimpleSelect
 import biz.ganttproject.storage.db.Tables.TASKDEPENDENCY
 import biz.ganttproject.storage.db.tables.Task.TASK
 import net.sourceforge.ganttproject.TestSetupHelper
@@ -736,6 +737,23 @@ class ProjectDatabaseTest {
     }
   }
 
+  @Test fun `map selected tasks`() {
+    projectDatabase.init()
+    listOf(1, 2, 3).forEach { num ->
+      projectDatabase.insertTask(taskManager.newTaskBuilder().withId(num).withUid("uid$num").withName("Task$num").build())
+    }
+    val values = mutableMapOf<Int, Any?>()
+    val consumer = ColumnConsumer(SimpleSelect("tpc0", "name || '!'", String::class.java)) { taskNum, value ->
+      values[taskNum] = value
+    }
+    projectDatabase.mapTasks(listOf(1, 3), consumer)
+    assertEquals(mapOf(1 to "Task1!", 3 to "Task3!"), values)
+
+    values.clear()
+    projectDatabase.mapTasks(listOf(), consumer)
+    assertTrue(values.isEmpty())
+  }
+
   @Test fun `rollback clears current transaction`() {
     projectDatabase.init()
     val txn = projectDatabase.startTransaction()
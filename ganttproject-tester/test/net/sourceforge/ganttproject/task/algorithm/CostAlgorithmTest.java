@@ -99,4 +99,75 @@ public class CostAlgorithmTest extends TaskTestCase {
     assertEquals(BigDecimal.valueOf(20), joe.getTotalCost());
   }
 
+  public void testCachedSupertaskCostFollowsEdits() {
+    TaskManagerBuilder builder = TestSetupHelper.newTaskManagerBuilder();
+    setTaskManager(builder.build());
+    HumanResource joe = new HumanResource("Joe", 1, builder.getResourceManager());
+    joe.setStandardPayRate(BigDecimal.valueOf(5));
+    builder.getResourceManager().add(joe);
+
+    Task supertask = createTask();
+    Task summary = createTask();
+    Task leaf1 = createTask();
+    Task leaf2 = createTask();
+    TaskContainmentHierarchyFacade hierarchy = getTaskManager().getTaskHierarchy();
+    hierarchy.move(summary, supertask);
+    hierarchy.move(leaf1, summary);
+    hierarchy.move(leaf2, supertask);
+    leaf1.setDuration(getTaskManager().createLength(2));
+    leaf1.getAssignmentCollection().addAssignment(joe).setLoad(100f);
+    leaf2.setCost(new CostStub(BigDecimal.valueOf(7), false));
+    assertEquals(calculateCost(supertask), supertask.getCost().getValue());
+
+    leaf1.setDuration(getTaskManager().createLength(4));
+    assertEquals(calculateCost(supertask), supertask.getCost().getValue());
+    assertEquals(BigDecimal.valueOf(27), supertask.getCost().getValue().stripTrailingZeros());
+
+    joe.setStandardPayRate(BigDecimal.valueOf(10));
+    assertEquals(calculateCost(supertask), supertask.getCost().getValue());
+
+    leaf1.getAssignmentCollection().getAssignment(joe).setLoad(50f);
+    assertEquals(calculateCost(supertask), supertask.getCost().getValue());
+
+    hierarchy.move(leaf2, summary);
+    leaf2.setCost(new CostStub(BigDecimal.valueOf(3), false));
+    assertEquals(calculateCost(summary), summary.getCost().getValue());
+    assertEquals(calculateCost(supertask), supertask.getCost().getValue());
+
+    getTaskManager().deleteTask(leaf1);
+    assertEquals(BigDecimal.valueOf(3), supertask.getCost().getValue());
+  }
+
+  public void testCachedRootCostFollowsNewTopLevelTasks() {
+    setTaskManager(TestSetupHelper.newTaskManagerBuilder().build());
+    Task root = getTaskManager().getRootTask();
+    root.setCost(new CostStub(BigDecimal.ZERO, true));
+    getTaskManager().newTaskBuilder().withCost(BigDecimal.valueOf(5)).build();
+    assertEquals(BigDecimal.valueOf(5), root.getCost().getValue());
+
+    getTaskManager().newTaskBuilder().withCost(BigDecimal.valueOf(7)).build();
+    assertEquals(BigDecimal.valueOf(12), root.getCost().getValue());
+
+    Task deleted = getTaskManager().newTaskBuilder().withCost(BigDecimal.valueOf(3)).build();
+    getTaskManager().deleteTask(deleted);
+    assertEquals(BigDecimal.valueOf(12), root.getCost().getValue());
+  }
+
+  // Cost calculation which does not use any cached values
+  private static BigDecimal calculateCost(Task t) {
+    if (!t.getCost().isCalculated()) {
+      return t.getCost().getManualValue();
+    }
+    BigDecimal total = BigDecimal.ZERO;
+    for (Task child : t.getNestedTasks()) {
+      total = total.add(calculateCost(child));
+    }
+    for (var assignment : t.getAssignments()) {
+      total = total.add(assignment.getResource().getStandardPayRate()
+          .multiply(BigDecimal.valueOf(assignment.getLoad()))
+          .divide(BigDecimal.valueOf(100))
+          .multiply(BigDecimal.valueOf(t.getDuration().getLength())));
+    }
+    return total;
+  }
 }
@@ -22,6 +22,7 @@ import biz.ganttproject.core.time.impl.GPTimeUnitStack
 import biz.ganttproject.ganttview.TaskFilterManager
 import net.sourceforge.ganttproject.TestSetupHelper
 import net.sourceforge.ganttproject.task.Task
+import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertFalse
 import org.junit.jupiter.api.Test
 import java.util.*
@@ -106,6 +107,26 @@ class TaskFiltersTestCase {
     assertFalse(taskFilterManager.inProgressTodayFilter(taskManager.rootTask, child))
   }
 
+  @Test
+  fun `Cached filter results are invalidated on task changes`() {
+    val parent = createTask()
+    val child = createTask()
+    taskManager.taskHierarchy.move(child, parent)
+    taskFilterManager.activeFilter = taskFilterManager.completedTasksFilter
+    assert(taskFilterManager.isVisible(parent, child))
+    assertEquals(1, taskFilterManager.visibleChildCount(parent))
+
+    child.createMutator().also {
+      it.setCompletionPercentage(100)
+      it.commit()
+    }
+    assertFalse(taskFilterManager.isVisible(parent, child))
+    assertEquals(0, taskFilterManager.visibleChildCount(parent))
+
+    taskFilterManager.activeFilter = taskFilterManager.overdueFilter
+    assertFalse(taskFilterManager.isVisible(parent, child))
+  }
+
   private fun Task.shiftTask(days: Int) {
     this.createShiftMutator().also {
       it.shift(taskManager.createLength(GPTimeUnitStack.DAY, days.toFloat()))
@@ -0,0 +1,47 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.test.task;
+
+import net.sourceforge.ganttproject.BaselineIndex;
+import net.sourceforge.ganttproject.GanttPreviousState;
+import net.sourceforge.ganttproject.TestSetupHelper;
+import net.sourceforge.ganttproject.task.Task;
+
+/**
+ * Tests baseline lookups by task id.
+ */
+public class TestBaselineIndex extends TaskTestCase {
+  public void testLookupById() {
+    Task task1 = createTask(TestSetupHelper.newMonday(), 2);
+    Task task2 = createTask(TestSetupHelper.newWendesday(), 1);
+    BaselineIndex index = new GanttPreviousState("baseline", GanttPreviousState.createTasks(getTaskManager())).getIndex();
+
+    int pos1 = index.indexOf(task1.getTaskID());
+    int pos2 = index.indexOf(task2.getTaskID());
+    assertTrue(pos1 >= 0);
+    assertTrue(pos2 >= 0);
+    assertEquals(task1.getStart().getTime(), index.getStart(pos1));
+    assertEquals(2, index.getDuration(pos1));
+    assertEquals(task2.getStart().getTime(), index.getStart(pos2));
+    assertEquals(1, index.getDuration(pos2));
+
+    Task task3 = createTask();
+    assertEquals(-1, index.indexOf(task3.getTaskID()));
+  }
+}
@@ -0,0 +1,111 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.test.task;
+
+import biz.ganttproject.core.time.CalendarFactory;
+import biz.ganttproject.core.time.GanttCalendar;
+import net.sourceforge.ganttproject.TestSetupHelper;
+import net.sourceforge.ganttproject.task.Task;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Tests that project start and end follow the task edits.
+ */
+public class TestProjectBounds extends TaskTestCase {
+  public void testBoundsOfEmptyProject() {
+    assertEquals(getTaskManager().getRootTask().getStart().getTime(), getTaskManager().getProjectStart());
+    assertEquals(getTaskManager().getRootTask().getStart().getTime(), getTaskManager().getProjectEnd());
+  }
+
+  public void testBoundsFollowTaskEdits() {
+    GanttCalendar monday = TestSetupHelper.newMonday();
+    Task task1 = createTask(monday, 2);
+    Task task2 = createTask(TestSetupHelper.newWendesday(), 1);
+    assertEquals(task1.getStart().getTime(), getTaskManager().getProjectStart());
+    assertEquals(task2.getEnd().getTime(), getTaskManager().getProjectEnd());
+
+    task2.setDuration(getTaskManager().createLength(5));
+    assertEquals(task2.getEnd().getTime(), getTaskManager().getProjectEnd());
+
+    getTaskManager().deleteTask(task2);
+    assertEquals(task1.getEnd().getTime(), getTaskManager().getProjectEnd());
+
+    GanttCalendar earlier = shift(monday, -7);
+    task1.setStart(earlier);
+    assertEquals(earlier.getTime(), getTaskManager().getProjectStart());
+  }
+
+  public void testBoundsUnderRandomEdits() {
+    Random random = new Random(7);
+    GanttCalendar monday = TestSetupHelper.newMonday();
+    for (int i = 0; i < 30; i++) {
+      createTask(shift(monday, random.nextInt(60)), 1 + random.nextInt(10));
+    }
+    for (int step = 0; step < 200; step++) {
+      Task[] tasks = getTaskManager().getTasks();
+      Task task = tasks[random.nextInt(tasks.length)];
+      switch (random.nextInt(5)) {
+        case 0:
+          task.setStart(shift(monday, random.nextInt(60) - 30));
+          break;
+        case 1:
+          task.setDuration(getTaskManager().createLength(1 + random.nextInt(20)));
+          break;
+        case 2: {
+          var mutator = task.createMutator();
+          mutator.setStart(shift(monday, random.nextInt(60)));
+          mutator.commit();
+          break;
+        }
+        case 3:
+          if (tasks.length > 5) {
+            getTaskManager().deleteTask(task);
+          }
+          break;
+        default:
+          createTask(shift(monday, random.nextInt(90) - 10), 1 + random.nextInt(10));
+      }
+      assertBoundsMatchScan();
+    }
+  }
+
+  private void assertBoundsMatchScan() {
+    Date start = null;
+    Date end = null;
+    for (Task t : getTaskManager().getTasks()) {
+      if (start == null || start.after(t.getStart().getTime())) {
+        start = t.getStart().getTime();
+      }
+      if (end == null || end.before(t.getEnd().getTime())) {
+        end = t.getEnd().getTime();
+      }
+    }
+    assertEquals(start, getTaskManager().getProjectStart());
+    assertEquals(end, getTaskManager().getProjectEnd());
+  }
+
+  private static GanttCalendar shift(GanttCalendar base, int days) {
+    GanttCalendar result = CalendarFactory.createGanttCalendar(base.getTime());
+    result.add(Calendar.DATE, days);
+    return result;
+  }
+}
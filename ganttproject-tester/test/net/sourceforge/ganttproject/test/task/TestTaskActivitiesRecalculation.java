@@ -52,4 +52,33 @@ public class TestTaskActivitiesRecalculation extends TaskTestCase {
                     CalendarFactory.createGanttCalendar(2000, 0, 7).getTime(), activities.get(0).getEnd());
         }
     }
+
+    public void testTasksWithSameDatesHaveSameActivities() {
+        Task task1 = createTask(CalendarFactory.createGanttCalendar(2000, 0, 3), 3);
+        Task task2 = createTask(CalendarFactory.createGanttCalendar(2000, 0, 3), 3);
+        List<TaskActivity> activities1 = task1.getActivities();
+        List<TaskActivity> activities2 = task2.getActivities();
+        assertEquals(activities1.size(), activities2.size());
+        for (int i = 0; i < activities1.size(); i++) {
+            TaskActivity activity1 = activities1.get(i);
+            TaskActivity activity2 = activities2.get(i);
+            assertEquals(activity1.getStart(), activity2.getStart());
+            assertEquals(activity1.getEnd(), activity2.getEnd());
+            assertEquals(activity1.getDuration(), activity2.getDuration());
+            assertSame(task1, activity1.getOwner());
+            assertSame(task2, activity2.getOwner());
+            assertEquals(i == 0, activity1.isFirst());
+            assertEquals(i == activities1.size() - 1, activity1.isLast());
+        }
+        assertEquals(activities1.get(0), task1.getActivities().get(0));
+        // Reading the activities again doesn't allocate
+        assertSame(activities1.get(0), task1.getActivities().get(0));
+        assertSame(activities1.get(0).getStart(), activities2.get(0).getStart());
+
+        TaskMutator mutator = task2.createMutatorFixingDuration();
+        mutator.setStart(CalendarFactory.createGanttCalendar(2000, 0, 4));
+        mutator.commit();
+        assertEquals(CalendarFactory.createGanttCalendar(2000, 0, 3).getTime(), task1.getActivities().get(0).getStart());
+        assertEquals(CalendarFactory.createGanttCalendar(2000, 0, 4).getTime(), task2.getActivities().get(0).getStart());
+    }
 }
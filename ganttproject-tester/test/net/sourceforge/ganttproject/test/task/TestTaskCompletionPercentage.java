@@ -209,4 +209,37 @@ public class TestTaskCompletionPercentage extends TaskTestCase {
     assertEquals(30, task.getCompletionPercentage());
     assertEquals(false, listenerCalled.get());
   }
+
+  public void testIncrementalRecalculationAfterLeafChange() {
+    TaskManager taskManager = getTaskManager();
+    Task supertask = taskManager.newTaskBuilder().withParent(taskManager.getRootTask()).build();
+    Task supertask_0 = taskManager.newTaskBuilder().withParent(supertask).build();
+    Task supertask_1 = taskManager.newTaskBuilder().withParent(supertask).build();
+    Task leaf_0 = taskManager.newTaskBuilder().withDuration(taskManager.createLength(2)).withParent(supertask_0).build();
+    taskManager.newTaskBuilder().withDuration(taskManager.createLength(2)).withCompletion(100).withParent(supertask_1).build();
+    Task leaf_1 = taskManager.newTaskBuilder().withDuration(taskManager.createLength(2)).withParent(supertask_1).build();
+
+    RecalculateTaskCompletionPercentageAlgorithm alg = taskManager.getAlgorithmCollection().getRecalculateTaskCompletionPercentageAlgorithm();
+    alg.run();
+    assertEquals(0, supertask_0.getCompletionPercentage());
+    assertEquals(50, supertask_1.getCompletionPercentage());
+    assertEquals(33, supertask.getCompletionPercentage());
+
+    leaf_0.setCompletionPercentage(100);
+    alg.run();
+    assertEquals(100, supertask_0.getCompletionPercentage());
+    assertEquals(50, supertask_1.getCompletionPercentage());
+    assertEquals(66, supertask.getCompletionPercentage());
+
+    leaf_1.setDuration(taskManager.createLength(4));
+    alg.run();
+    assertEquals(33, supertask_1.getCompletionPercentage());
+    assertEquals(50, supertask.getCompletionPercentage());
+
+    leaf_1.move(supertask_0);
+    alg.run();
+    assertEquals(33, supertask_0.getCompletionPercentage());
+    assertEquals(100, supertask_1.getCompletionPercentage());
+    assertEquals(50, supertask.getCompletionPercentage());
+  }
 }
@@ -0,0 +1,215 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.test.task.event;
+
+import biz.ganttproject.core.time.GanttCalendar;
+import net.sourceforge.ganttproject.TestSetupHelper;
+import net.sourceforge.ganttproject.task.Task;
+import net.sourceforge.ganttproject.task.TaskManager;
+import net.sourceforge.ganttproject.task.TaskMutator;
+import net.sourceforge.ganttproject.task.dependency.TaskDependencyException;
+import net.sourceforge.ganttproject.task.event.TaskDependencyEvent;
+import net.sourceforge.ganttproject.task.event.TaskHierarchyEvent;
+import net.sourceforge.ganttproject.task.event.TaskListenerAdapter;
+import net.sourceforge.ganttproject.task.event.TaskPropertyEvent;
+import net.sourceforge.ganttproject.task.event.TaskScheduleEvent;
+import net.sourceforge.ganttproject.test.task.TaskTestCase;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tests events which are sent to the listeners when the task model is changed in a bulk update.
+ */
+public class TestBulkUpdateEvents extends TaskTestCase {
+  public void testEventsAreDeliveredOnCommit() {
+    Task task = createTask();
+    RecordingListener listener = new RecordingListener();
+    getTaskManager().addTaskListener(listener);
+    getTaskManager().runBulkUpdate(() -> {
+      rename(task, "foo");
+      rename(task, "bar");
+      assertTrue(listener.events.isEmpty());
+    });
+    assertEquals(List.of("taskPropertiesChanged:bar"), listener.events);
+  }
+
+  public void testNestedUpdateJoinsOuterOne() {
+    Task task = createTask();
+    RecordingListener listener = new RecordingListener();
+    getTaskManager().addTaskListener(listener);
+    getTaskManager().runBulkUpdate(() -> {
+      getTaskManager().runBulkUpdate(() -> rename(task, "foo"));
+      assertTrue(listener.events.isEmpty());
+      rename(task, "bar");
+    });
+    assertEquals(List.of("taskPropertiesChanged:bar"), listener.events);
+  }
+
+  public void testScheduleChangesAreCoalesced() {
+    Task task = createTask(TestSetupHelper.newMonday(), 1);
+    GanttCalendar oldStart = task.getStart().clone();
+    List<TaskScheduleEvent> events = new ArrayList<>();
+    getTaskManager().addTaskListener(new TaskListenerAdapter() {
+      @Override
+      public void taskScheduleChanged(TaskScheduleEvent e) {
+        events.add(e);
+      }
+    });
+    getTaskManager().runBulkUpdate(() -> {
+      shift(task, TestSetupHelper.newTuesday());
+      shift(task, TestSetupHelper.newWendesday());
+    });
+    assertEquals(1, events.size());
+    assertEquals(oldStart, events.get(0).getOldStartDate());
+    assertEquals(TestSetupHelper.newWendesday(), events.get(0).getNewStartDate());
+  }
+
+  public void testTaskAddedAndRemovedIsNotReported() {
+    RecordingListener listener = new RecordingListener();
+    getTaskManager().addTaskListener(listener);
+    getTaskManager().runBulkUpdate(() -> {
+      Task task = getTaskManager().createTask();
+      rename(task, "temporary");
+      getTaskManager().deleteTask(task);
+    });
+    assertTrue(listener.events.toString(), listener.events.isEmpty());
+  }
+
+  /**
+   * Runs the same changes with and without a bulk update, and checks that listeners learn about
+   * the same changes, just once per task and kind of change.
+   */
+  public void testBulkEventsAreEquivalentToRegularOnes() throws Exception {
+    RecordingListener regular = runScenario(false);
+    RecordingListener bulk = runScenario(true);
+
+    Set<String> bulkEvents = new HashSet<>(bulk.events);
+    assertEquals("Bulk update is expected to send each event once: " + bulk.events, bulk.events.size(), bulkEvents.size());
+    assertEquals(taskEvents(new HashSet<>(regular.events)), taskEvents(bulkEvents));
+    assertEquals(List.of("dependencyAdded:2"),
+        bulk.events.stream().filter(it -> it.startsWith("dependency")).collect(Collectors.toList()));
+  }
+
+  private RecordingListener runScenario(boolean isBulk) throws TaskDependencyException {
+    setTaskManager(newTaskManager());
+    Task task1 = createTask(TestSetupHelper.newMonday(), 1);
+    Task task2 = createTask(TestSetupHelper.newMonday(), 1);
+    Task task3 = createTask(TestSetupHelper.newMonday(), 1);
+    task1.setName("1");
+    task2.setName("2");
+    task3.setName("3");
+
+    RecordingListener listener = new RecordingListener();
+    TaskManager taskManager = getTaskManager();
+    taskManager.addTaskListener(listener);
+    Runnable scenario = () -> {
+      GanttCalendar start = TestSetupHelper.newMonday();
+      start.add(Calendar.DATE, 7);
+      shift(task1, start);
+      start = start.clone();
+      start.add(Calendar.DATE, 1);
+      shift(task1, start);
+      TaskMutator mutator = task2.createMutator();
+      mutator.setNotes("foo");
+      mutator.commit();
+      taskManager.getTaskHierarchy().move(task3, task2);
+      try {
+        createDependency(task2, task1);
+      } catch (TaskDependencyException e) {
+        throw new RuntimeException(e);
+      }
+    };
+    if (isBulk) {
+      taskManager.runBulkUpdate(scenario);
+    } else {
+      scenario.run();
+    }
+    return listener;
+  }
+
+  private static void rename(Task task, String name) {
+    TaskMutator mutator = task.createMutator();
+    mutator.setName(name);
+    mutator.commit();
+  }
+
+  private static void shift(Task task, GanttCalendar start) {
+    TaskMutator mutator = task.createMutatorFixingDuration();
+    mutator.setStart(start);
+    mutator.commit();
+  }
+
+  private static Set<String> taskEvents(Set<String> events) {
+    return events.stream().filter(it -> !it.startsWith("dependency")).collect(Collectors.toSet());
+  }
+
+  private static class RecordingListener extends TaskListenerAdapter {
+    final List<String> events = new ArrayList<>();
+
+    @Override
+    public void taskAdded(TaskHierarchyEvent e) {
+      events.add("taskAdded:" + e.getTask().getName());
+    }
+
+    @Override
+    public void taskRemoved(TaskHierarchyEvent e) {
+      events.add("taskRemoved:" + e.getTask().getName());
+    }
+
+    @Override
+    public void taskMoved(TaskHierarchyEvent e) {
+      events.add("taskMoved:" + e.getTask().getName());
+    }
+
+    @Override
+    public void taskScheduleChanged(TaskScheduleEvent e) {
+      events.add("taskScheduleChanged:" + e.getTask().getName());
+    }
+
+    @Override
+    public void taskPropertiesChanged(TaskPropertyEvent e) {
+      events.add("taskPropertiesChanged:" + e.getTask().getName());
+    }
+
+    @Override
+    public void taskProgressChanged(TaskPropertyEvent e) {
+      events.add("taskProgressChanged:" + e.getTask().getName());
+    }
+
+    @Override
+    public void dependencyAdded(TaskDependencyEvent e) {
+      events.add("dependencyAdded:" + e.getDependency().getDependant().getName());
+    }
+
+    @Override
+    public void dependencyRemoved(TaskDependencyEvent e) {
+      events.add("dependencyRemoved:" + e.getDependency().getDependant().getName());
+    }
+
+    @Override
+    public void dependencyChanged(TaskDependencyEvent e) {
+      events.add("dependencyChanged:" + e.getDependency().getDependant().getName());
+    }
+  }
+}
@@ -1,10 +1,14 @@
 package net.sourceforge.ganttproject.test.task.hierarchy;
 
+import com.google.common.collect.Lists;
 import net.sourceforge.ganttproject.task.Task;
+import net.sourceforge.ganttproject.task.TaskContainmentHierarchyFacade;
 import net.sourceforge.ganttproject.test.task.TaskTestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 public class TestTaskDocumentOrder extends TaskTestCase {
     public void testTasksAreInDocumentOrder() {
@@ -32,4 +36,82 @@ public class TestTaskDocumentOrder extends TaskTestCase {
 
         assertEquals(expectedOrder, getTaskManager().getTaskHierarchy().getTasksInDocumentOrder());
     }
+
+    public void testIndexAgreesWithTreeWalkUnderRandomEdits() {
+        Random random = new Random(42);
+        Task root = getTaskManager().getRootTask();
+        for (int i = 0; i < 50; i++) {
+            createTask();
+        }
+        for (int step = 0; step < 300; step++) {
+            List<Task> tasks = walkDocumentOrder(root);
+            Task task = tasks.get(random.nextInt(tasks.size()));
+            switch (random.nextInt(4)) {
+                case 0:
+                    getTaskManager().newTaskBuilder().withParent(task).build();
+                    break;
+                case 1:
+                    Task target = tasks.get(random.nextInt(tasks.size()));
+                    if (target != task && !walkDocumentOrder(task).contains(target)) {
+                        int position = random.nextInt(target.getNestedTasks().length + 1);
+                        getTaskManager().getTaskHierarchy().move(task, target, position);
+                    }
+                    break;
+                case 2:
+                    if (tasks.size() > 10) {
+                        getTaskManager().deleteTask(task);
+                    }
+                    break;
+                default:
+                    getTaskManager().getTaskHierarchy().move(task, root, random.nextInt(root.getNestedTasks().length));
+            }
+            assertHierarchyQueries(random);
+        }
+    }
+
+    private void assertHierarchyQueries(Random random) {
+        TaskContainmentHierarchyFacade hierarchy = getTaskManager().getTaskHierarchy();
+        List<Task> expectedOrder = walkDocumentOrder(getTaskManager().getRootTask());
+        assertEquals(expectedOrder, hierarchy.getTasksInDocumentOrder());
+        assertEquals(expectedOrder, Arrays.asList(getTaskManager().getTasks()));
+        for (Task task : expectedOrder) {
+            assertEquals(walkDepth(task), hierarchy.getDepth(task));
+            assertEquals(walkOutlinePath(task), hierarchy.getOutlinePath(task));
+            assertEquals(Arrays.asList(task.getSupertask().getNestedTasks()).indexOf(task), hierarchy.getTaskIndex(task));
+        }
+        for (int i = 0; i < 100; i++) {
+            Task task1 = expectedOrder.get(random.nextInt(expectedOrder.size()));
+            Task task2 = expectedOrder.get(random.nextInt(expectedOrder.size()));
+            int expected = Integer.signum(expectedOrder.indexOf(task1) - expectedOrder.indexOf(task2));
+            assertEquals(expected, Integer.signum(hierarchy.compareDocumentOrder(task1, task2)));
+            boolean expectedUnrelated = task1 != task2
+                && !walkDocumentOrder(task1).contains(task2) && !walkDocumentOrder(task2).contains(task1);
+            assertEquals(expectedUnrelated, hierarchy.areUnrelated(task1, task2));
+        }
+    }
+
+    private static List<Task> walkDocumentOrder(Task root) {
+        List<Task> result = new ArrayList<>();
+        for (Task child : root.getNestedTasks()) {
+            result.add(child);
+            result.addAll(walkDocumentOrder(child));
+        }
+        return result;
+    }
+
+    private int walkDepth(Task task) {
+        int depth = 0;
+        for (Task t = task; t != getTaskManager().getRootTask(); t = t.getSupertask()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private List<Integer> walkOutlinePath(Task task) {
+        List<Integer> result = new ArrayList<>();
+        for (Task t = task; t != getTaskManager().getRootTask(); t = t.getSupertask()) {
+            result.add(Arrays.asList(t.getSupertask().getNestedTasks()).indexOf(t) + 1);
+        }
+        return Lists.reverse(result);
+    }
 }
@@ -81,4 +81,31 @@ public class TestTaskHierarchy extends TaskTestCase {
       });
       assertEquals(ImmutableList.of(getTaskManager().getRootTask(), task7, task6, task5, task2, task1), filteredBfs);
     }
+
+    public void testMoveToPosition() {
+      Task task1 = createTask();
+      Task task2 = createTask();
+      Task task3 = createTask();
+      Task task4 = createTask();
+      TaskContainmentHierarchyFacade hierarchy = getTaskManager().getTaskHierarchy();
+
+      hierarchy.move(task4, getTaskManager().getRootTask(), 0);
+      hierarchy.move(task2, getTaskManager().getRootTask(), 2);
+      assertEquals(ImmutableList.of(task4, task1, task2, task3), Arrays.asList(getTaskManager().getRootTask().getNestedTasks()));
+      assertEquals(2, hierarchy.getTaskIndex(task2));
+      assertEquals(task1, hierarchy.getPreviousSibling(task2));
+      assertEquals(task3, hierarchy.getNextSibling(task2));
+      assertNull(hierarchy.getPreviousSibling(task4));
+      assertNull(hierarchy.getNextSibling(task3));
+
+      Task[] snapshot = getTaskManager().getRootTask().getNestedTasks();
+      // Public API returns a copy, so modifying it doesn't affect the hierarchy.
+      snapshot[0] = null;
+      assertSame(task4, hierarchy.getNestedTasks(getTaskManager().getRootTask())[0]);
+      hierarchy.move(task3, task4);
+      assertEquals(4, snapshot.length);
+      assertEquals(ImmutableList.of(task4, task1, task2), Arrays.asList(getTaskManager().getRootTask().getNestedTasks()));
+      assertEquals(ImmutableList.of(1, 1), hierarchy.getOutlinePath(task3));
+      assertNull(hierarchy.getNextSibling(task2));
+    }
 }
@@ -176,10 +176,7 @@ class FXSearchUi(
 
 
 private fun runSearch(text: String, project: IGanttProject, uiFacade: UIFacade): List<SearchResult<*>> {
-  val services = PluginManager.getExtensions(
-    SearchService.EXTENSION_POINT_ID,
-    SearchService::class.java
-  )
+  val services = PluginManager.getSearchServices()
   val result = mutableListOf<SearchResult<*>>()
   for (service in services) {
     service.init(project, uiFacade)
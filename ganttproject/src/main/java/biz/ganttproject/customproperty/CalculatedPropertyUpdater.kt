@@ -18,24 +18,199 @@ along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
 */
 package biz.ganttproject.customproperty
 
+import biz.ganttproject.core.calendar.GPCalendarListener
+import biz.ganttproject.storage.db.Tables.TASKVIEWFORCOMPUTEDCOLUMNS
 import net.sourceforge.ganttproject.storage.ColumnConsumer
 import net.sourceforge.ganttproject.storage.ProjectDatabase
+import net.sourceforge.ganttproject.task.Task
+import net.sourceforge.ganttproject.task.event.TaskListener
+import net.sourceforge.ganttproject.task.event.TaskListenerAdapter
 
+/**
+ * Keeps the values of the calculated custom columns up to date.
+ *
+ * The first update evaluates all expressions for all tasks. After that, the task listener collects the changed
+ * tasks and the task table columns which they may have changed, and [updateChanged] re-evaluates only the
+ * expressions which read these columns, and only for the changed tasks. The [calendarListener] has to be added to the
+ * project calendar too.
+ */
 class CalculatedPropertyUpdater(
   private val projectDatabase: ProjectDatabase,
   private val customPropertyManager: CustomPropertyManager,
   private val propertyHolders: ()->Map<Int,CustomPropertyHolder?>) {
 
+  // Expressions which have been evaluated for all tasks, keyed by the custom property id.
+  private val evaluatedExpressions = mutableMapOf<String, ExpressionDependencies>()
+  private val changedTaskNums = mutableSetOf<Int>()
+  private val changedColumns = mutableSetOf<String>()
+  private var isFullUpdateNeeded = true
+
+  val taskListener: TaskListener = TaskListenerAdapter().also {
+    it.taskAddedHandler = { e -> onTaskChanged(e.task, ALL_COLUMNS) }
+    it.taskMovedHandler = { e -> onTaskChanged(e.task, ALL_COLUMNS) }
+    it.taskScheduleChangedHandler = { e -> onTaskChanged(e.task, SCHEDULE_COLUMNS) }
+    it.taskProgressChangedHandler = { e -> onTaskChanged(e.task, PROGRESS_COLUMNS) }
+    it.taskPropertiesChangedHandler = { e -> onTaskChanged(e.task, PROPERTY_COLUMNS) }
+    it.taskModelResetHandler = { synchronized(this) { isFullUpdateNeeded = true } }
+  }
+
+  // A calendar change reschedules the tasks without the task events, so all tasks are evaluated again.
+  val calendarListener = GPCalendarListener { synchronized(this) { isFullUpdateNeeded = true } }
+
+  /**
+   * Evaluates all calculated columns for all tasks.
+   */
   fun update() {
+    val definitions = calculatedDefinitions()
+    synchronized(this) {
+      clearChanges()
+      evaluatedExpressions.clear()
+      definitions.forEach { (def, method) -> evaluatedExpressions[def.id] = ExpressionDependencies.parse(method) }
+    }
     val id2values = propertyHolders()
-    val updaters = customPropertyManager.definitions.filterNotNull().mapNotNull {def ->
-      when (val calculationMethod = def.calculationMethod) {
-        is SimpleSelect -> ColumnConsumer(calculationMethod) { taskNum, value ->
-          id2values[taskNum]?.setValue(def, value)
+    val updaters = definitions.map { (def, method) -> createConsumer(def, method, id2values) }
+    projectDatabase.mapTasks(*(updaters.toTypedArray()))
+  }
+
+  /**
+   * Re-evaluates the calculated columns affected by the task changes collected since the previous update.
+   * New and edited expressions are evaluated for all tasks.
+   */
+  fun updateChanged() {
+    if (synchronized(this) { isFullUpdateNeeded }) {
+      update()
+      return
+    }
+    val definitions = calculatedDefinitions()
+    val allTasksDefs = mutableListOf<Pair<CustomPropertyDefinition, SimpleSelect>>()
+    val changedTasksDefs = mutableListOf<Pair<CustomPropertyDefinition, SimpleSelect>>()
+    val taskNums: List<Int>
+    synchronized(this) {
+      definitions.forEach { (def, method) ->
+        val dependencies = evaluatedExpressions[def.id]
+        when {
+          dependencies == null || dependencies.expression != method.selectExpression -> {
+            evaluatedExpressions[def.id] = ExpressionDependencies.parse(method)
+            allTasksDefs.add(def to method)
+          }
+          dependencies.isVolatile -> allTasksDefs.add(def to method)
+          dependencies.columns.any { it in changedColumns } -> changedTasksDefs.add(def to method)
         }
-        else -> null
       }
+      evaluatedExpressions.keys.retainAll(definitions.map { it.first.id }.toSet())
+      taskNums = changedTaskNums.toList()
+      clearChanges()
+    }
+    if (allTasksDefs.isEmpty() && (changedTasksDefs.isEmpty() || taskNums.isEmpty())) {
+      return
+    }
+    val id2values = propertyHolders()
+    if (allTasksDefs.isNotEmpty()) {
+      projectDatabase.mapTasks(*(allTasksDefs.map { (def, method) -> createConsumer(def, method, id2values) }.toTypedArray()))
+    }
+    if (changedTasksDefs.isNotEmpty() && taskNums.isNotEmpty()) {
+      projectDatabase.mapTasks(taskNums, *(changedTasksDefs.map { (def, method) -> createConsumer(def, method, id2values) }.toTypedArray()))
+    }
+  }
+
+  private fun onTaskChanged(task: Task, columns: Set<String>) {
+    synchronized(this) {
+      changedTaskNums.add(task.taskID)
+      changedColumns.addAll(columns)
+    }
+  }
+
+  private fun clearChanges() {
+    changedTaskNums.clear()
+    changedColumns.clear()
+    isFullUpdateNeeded = false
+  }
+
+  private fun calculatedDefinitions() = customPropertyManager.definitions.filterNotNull().mapNotNull { def ->
+    when (val calculationMethod = def.calculationMethod) {
+      is SimpleSelect -> def to calculationMethod
+      else -> null
+    }
+  }
+
+  private fun createConsumer(def: CustomPropertyDefinition, calculationMethod: SimpleSelect, id2values: Map<Int, CustomPropertyHolder?>) =
+    ColumnConsumer(calculationMethod) { taskNum, value ->
+      id2values[taskNum]?.setValue(def, value)
+    }
+}
+
+/**
+ * Task table columns which are read by a calculated column expression.
+ *
+ * @property isVolatile true if the expression value may change when a task other than the row task changes,
+ * e.g. when it runs a subquery or reads the cost, which depends on the resources and the subtasks, or when the value
+ * depends on the current time. Such expressions are evaluated for all tasks on every update.
+ */
+internal class ExpressionDependencies(val expression: String, val columns: Set<String>, val isVolatile: Boolean) {
+  companion object {
+    fun parse(calculationMethod: SimpleSelect): ExpressionDependencies {
+      val expression = calculationMethod.selectExpression
+      val identifiers = findIdentifiers(expression)
+      val columns = identifiers.filter { it in ALL_COLUMNS }.toSet()
+      val isVolatile = identifiers.any { it in VOLATILE_IDENTIFIERS }
+      return ExpressionDependencies(expression, columns, isVolatile)
+    }
+
+    /**
+     * @return lower-cased identifiers and quoted names found in the expression outside the string literals
+     */
+    internal fun findIdentifiers(expression: String): Set<String> {
+      val result = mutableSetOf<String>()
+      var pos = 0
+      while (pos < expression.length) {
+        val c = expression[pos]
+        when {
+          c == '\'' -> {
+            // String literal, where two single quotes stand for a quote character.
+            pos++
+            while (pos < expression.length) {
+              if (expression[pos] == '\'') {
+                if (pos + 1 < expression.length && expression[pos + 1] == '\'') pos++ else break
+              }
+              pos++
+            }
+            pos++
+          }
+          c == '"' -> {
+            val end = expression.indexOf('"', pos + 1).let { if (it < 0) expression.length else it }
+            result.add(expression.substring(pos + 1, end).lowercase())
+            pos = end + 1
+          }
+          c.isJavaIdentifierStart() -> {
+            val start = pos
+            while (pos < expression.length && expression[pos].isJavaIdentifierPart()) {
+              pos++
+            }
+            result.add(expression.substring(start, pos).lowercase())
+          }
+          c.isDigit() -> {
+            // Skip the numbers, so that e.g. 1e3 doesn't produce an identifier.
+            while (pos < expression.length && expression[pos].isJavaIdentifierPart()) {
+              pos++
+            }
+          }
+          else -> pos++
+        }
+      }
+      return result
     }
-    projectDatabase.mapTasks(*(updaters.toTypedArray()))
   }
-}
\ No newline at end of file
+}
+
+private val ALL_COLUMNS: Set<String> = ourTaskTableFields.map { it.lowercase() }.toSet()
+private val SCHEDULE_COLUMNS: Set<String> = TASKVIEWFORCOMPUTEDCOLUMNS.run {
+  setOf(START_DATE.name, END_DATE.name, DURATION.name).map { it.lowercase() }.toSet()
+}
+private val PROGRESS_COLUMNS: Set<String> = setOf(TASKVIEWFORCOMPUTEDCOLUMNS.COMPLETION.name.lowercase())
+// Properties event is sent for the changes of anything but the completion. The dates are included because
+// a milestone flag changes the duration and the end date.
+private val PROPERTY_COLUMNS: Set<String> = ALL_COLUMNS - PROGRESS_COLUMNS
+private val VOLATILE_IDENTIFIERS: Set<String> = setOf(
+  TASKVIEWFORCOMPUTEDCOLUMNS.COST.name.lowercase(), "select", "current_date", "current_time", "current_timestamp",
+  "localtime", "localtimestamp", "now", "sysdate", "systimestamp", "today", "rand", "random", "random_uuid"
+)
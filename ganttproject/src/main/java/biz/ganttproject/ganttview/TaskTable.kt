@@ -241,6 +241,14 @@ class TaskTable(
       event.whenMatches("tree.collapseAll") {
         val focusedCell = treeTable.focusModel.focusedCell ?: return@whenMatches
         keepSelection(keepFocus = true) {
+          // Subtrees which were never expanded have no tree items, so the collapse state is updated
+          // in the task model, and then the existing tree items follow it.
+          val taskHierarchy = taskManager.taskHierarchy
+          taskHierarchy.getDeepNestedTasks(focusedCell.treeItem.value).forEach {
+            if (taskHierarchy.hasNestedTasks(it)) {
+              treeCollapseView.setExpanded(it, false)
+            }
+          }
           focusedCell.treeItem.depthFirstWalk {
             it.isExpanded = false
             return@depthFirstWalk true
@@ -374,7 +382,7 @@ class TaskTable(
             sync()
             treeTable.selectionModel.clearSelection()
             CellBehaviorBase.removeAnchor(treeTable)
-            val treeItem = task2treeItem[e.task]!!
+            val treeItem = revealTreeItem(e.task)!!
             taskTableChartConnector.visibleTasks.clear()
             taskTableChartConnector.visibleTasks.addAll(getExpandedTasks())
             treeTable.selectionModel.select(treeItem)
@@ -382,7 +390,7 @@ class TaskTable(
           }
         } else {
           keepSelection {
-            e.newContainer!!.addChildTreeItem(e.task, e.indexAtNew)
+            insertTreeItem(e.newContainer!!, e.task, e.indexAtNew)
             taskTableChartConnector.visibleTasks.clear()
             taskTableChartConnector.visibleTasks.addAll(getExpandedTasks())
           }
@@ -394,14 +402,32 @@ class TaskTable(
           return
         }
         Platform.runLater {
-          sync(true)
+          if (canPatchTreeItems()) {
+            keepSelection(keepFocus = true) {
+              moveTreeItem(e.task, e.newContainer!!, e.indexAtNew)
+              taskTableChartConnector.visibleTasks.setAll(getExpandedTasks())
+            }
+          } else {
+            sync(true)
+          }
           // Force selection changed event because some actions depend on the relative location of tasks.
           selectionManager.fireSelectionChanged()
         }
       }
 
       override fun taskRemoved(e: TaskHierarchyEvent) {
-        Platform.runLater { sync() }
+        Platform.runLater {
+          if (canPatchTreeItems()) {
+            keepSelection {
+              task2treeItem[e.task]?.let { removeTreeItem(it) }
+              // The container might have become a leaf.
+              treeTable.coalescingRefresh()
+              taskTableChartConnector.visibleTasks.setAll(getExpandedTasks())
+            }
+          } else {
+            sync()
+          }
+        }
       }
 
       override fun taskModelReset() {
@@ -462,6 +488,7 @@ class TaskTable(
       override fun selectionChanged(currentSelection: List<Task>, source: Any?) {
         if (source != this@TaskTable) {
           Platform.runLater {
+            // Expanding the ancestors top-down materializes the tree items of the selected tasks.
             ancestors(currentSelection, taskManager.taskHierarchy).reversed()
               .forEach { task2treeItem[it]?.isExpanded = true }
 
@@ -706,42 +733,8 @@ class TaskTable(
       task2treeItem.clear()
       task2treeItem[treeModel.rootTask] = rootItem
 
-      var filteredCount = 0
-      treeModel.depthFirstWalk(treeModel.rootTask) { parent, child, idx, _ ->
-        LOGGER.debug(">>> [walk] parent={} child={} idx={}", parent, child, idx)
-        val parentItem = task2treeItem[parent]!!
-        val result = if (!this.filterManager.activeFilter(parent, child)) {
-          LOGGER.debug("...child={} is filtered out", child)
-          parentItem.children.remove(idx, parentItem.children.size)
-          LOGGER.debug("...now parentItem.children={}", parentItem.children)
-          filteredCount++
-          false
-        } else {
-          if (child == null) {
-            parentItem.children.remove(idx, parentItem.children.size)
-          } else {
-            LOGGER.debug("...parentItem.children={}", parentItem.children)
-            if (parentItem.children.size > idx) {
-              val childItem = parentItem.children[idx]
-              LOGGER.debug("...child@{}={}", idx, child)
-              if (childItem.value.taskID == child.taskID) {
-                childItem.value = child
-                task2treeItem[child] = childItem
-              } else {
-                LOGGER.debug("...replacing child")
-                parentItem.children.removeAt(idx)
-                parent.addChildTreeItem(child, idx)
-              }
-            } else {
-              LOGGER.debug("...adding child")
-              parent.addChildTreeItem(child)
-            }
-          }
-          true
-        }
-        LOGGER.debug("<<< [walk] parent={} child={} idx={}", parent, child, idx)
-        result
-      }
+      filterManager.checkDateRollover()
+      val filteredCount = syncSubtree(treeModel.rootTask)
       val visibleTasks = getExpandedTasks()
       taskTableChartConnector.visibleTasks.setAll(visibleTasks)
       if (visibleTasks.isEmpty()) {
@@ -757,6 +750,127 @@ class TaskTable(
     }
   }
 
+  /**
+   * Synchronizes the tree items in the subtree of the given task with the task hierarchy. Children are created only
+   * for the expanded items, and collapsed items drop their children, so that task2treeItem holds only the items which
+   * can be shown. When a filter is active, collapsed subtrees are still walked to count the hidden tasks.
+   *
+   * @return the number of tasks hidden by the active filter
+   */
+  private fun syncSubtree(root: Task): Int {
+    val isFilterActive = filterManager.activeFilter != VOID_FILTER
+    var filteredCount = 0
+    taskManager.taskHierarchy.depthFirstWalk(root) { parent, child, idx, _ ->
+      LOGGER.debug(">>> [walk] parent={} child={} idx={}", parent, child, idx)
+      val parentItem = task2treeItem[parent]?.takeIf(::isMaterialized) ?: run {
+        // We are inside a collapsed subtree and only count the hidden tasks.
+        if (child != null && !filterManager.isVisible(parent, child)) {
+          filteredCount++
+          return@depthFirstWalk false
+        }
+        return@depthFirstWalk true
+      }
+      val result = if (!filterManager.isVisible(parent, child)) {
+        LOGGER.debug("...child={} is filtered out", child)
+        parentItem.children.remove(idx, parentItem.children.size)
+        LOGGER.debug("...now parentItem.children={}", parentItem.children)
+        filteredCount++
+        false
+      } else {
+        if (child == null) {
+          parentItem.children.remove(idx, parentItem.children.size)
+          true
+        } else {
+          LOGGER.debug("...parentItem.children={}", parentItem.children)
+          val childItem = if (parentItem.children.size > idx) {
+            val existingItem = parentItem.children[idx]
+            LOGGER.debug("...child@{}={}", idx, child)
+            if (existingItem.value.taskID == child.taskID) {
+              existingItem.value = child
+              task2treeItem[child] = existingItem
+              existingItem
+            } else {
+              LOGGER.debug("...replacing child")
+              parentItem.children.removeAt(idx)
+              parent.addChildTreeItem(child, idx)
+            }
+          } else {
+            LOGGER.debug("...adding child")
+            parent.addChildTreeItem(child)
+          }
+          if (childItem.isExpanded) {
+            (childItem as TaskTreeItem).isMaterialized = true
+            true
+          } else {
+            (childItem as TaskTreeItem).dematerialize()
+            isFilterActive
+          }
+        }
+      }
+      LOGGER.debug("<<< [walk] parent={} child={} idx={}", parent, child, idx)
+      result
+    }
+    return filteredCount
+  }
+
+  /**
+   * Tree items are patched in place on structural changes only when their order is the same as in the task hierarchy,
+   * that is, when the table is not sorted and no filter hides some of the tasks.
+   */
+  private fun canPatchTreeItems() = filterManager.activeFilter == VOID_FILTER && !isSortedProperty.value
+
+  private fun insertTreeItem(container: Task, task: Task, pos: Int) {
+    val containerItem = task2treeItem[container] ?: return
+    if (!isMaterialized(containerItem)) {
+      // The children of a collapsed item will be created when it is expanded, we only need to update
+      // its disclosure node.
+      treeTable.coalescingRefresh()
+      return
+    }
+    container.addChildTreeItem(task, pos).also {
+      if (it.isExpanded && !isMaterialized(it)) {
+        materialize(it)
+      }
+    }
+  }
+
+  private fun moveTreeItem(task: Task, newContainer: Task, pos: Int) {
+    val treeItem = task2treeItem[task] ?: return insertTreeItem(newContainer, task, pos)
+    treeItem.parent?.children?.remove(treeItem)
+    val containerItem = task2treeItem[newContainer]?.takeIf(::isMaterialized)
+    if (containerItem == null) {
+      removeTreeItem(treeItem)
+    } else if (pos == -1 || pos > containerItem.children.size) {
+      containerItem.children.add(treeItem)
+    } else {
+      containerItem.children.add(pos, treeItem)
+    }
+    // The old container might have become a leaf, and the new one might have stopped being a leaf.
+    treeTable.coalescingRefresh()
+  }
+
+  private fun removeTreeItem(treeItem: TreeItem<Task>) {
+    treeItem.parent?.children?.remove(treeItem)
+    task2treeItem.remove(treeItem.value)
+    treeItem.depthFirstWalk {
+      task2treeItem.remove(it.value)
+      true
+    }
+  }
+
+  private fun materialize(treeItem: TreeItem<Task>) {
+    (treeItem as TaskTreeItem).isMaterialized = true
+    syncSubtree(treeItem.value)
+  }
+
+  /**
+   * Expands the collapsed ancestors of the given task, so that its tree item is materialized, and returns the item.
+   */
+  private fun revealTreeItem(task: Task): TreeItem<Task>? {
+    ancestors(listOf(task), taskManager.taskHierarchy).reversed().forEach { task2treeItem[it]?.isExpanded = true }
+    return task2treeItem[task]
+  }
+
   private fun Task.addChildTreeItem(child: Task, pos: Int = -1): TreeItem<Task> {
     val parentItem = task2treeItem[this] ?: run {
       //println(task2treeItem)
@@ -777,22 +891,50 @@ class TaskTable(
     return childItem
   }
 
-  private fun createTreeItem(task: Task) = TreeItem(task).also {
+  private fun createTreeItem(task: Task) = TaskTreeItem(task).also {
     it.isExpanded = treeCollapseView.isExpanded(task)
-    it.expandedProperty().addListener { _, _, _ -> onExpanded() }
+    it.expandedProperty().addListener { _, _, isExpanded -> onExpanded(it, isExpanded) }
     treeTable.registerTreeItem(it)
   }
 
-  private fun onExpanded() {
-    rootItem.depthFirstWalk { child ->
-      treeCollapseView.setExpanded(child.value, child.isExpanded)
-      true
+  private fun onExpanded(treeItem: TaskTreeItem, isExpanded: Boolean) {
+    treeCollapseView.setExpanded(treeItem.value, isExpanded)
+    if (isExpanded && !treeItem.isMaterialized) {
+      materialize(treeItem)
     }
     taskTableChartConnector.visibleTasks.clear()
     taskTableChartConnector.visibleTasks.addAll(getExpandedTasks())
 
   }
 
+  /**
+   * Tree item which creates its children when it is expanded for the first time. Until then, it answers
+   * whether it is a leaf using the task hierarchy, so that the disclosure node is shown correctly.
+   */
+  private inner class TaskTreeItem(task: Task) : TreeItem<Task>(task) {
+    var isMaterialized = false
+
+    override fun isLeaf(): Boolean =
+      if (isMaterialized) {
+        children.isEmpty()
+      } else {
+        filterManager.visibleChildCount(value) == 0
+      }
+
+    fun dematerialize() {
+      if (isMaterialized) {
+        isMaterialized = false
+        depthFirstWalk {
+          task2treeItem.remove(it.value)
+          true
+        }
+        children.clear()
+      }
+    }
+  }
+
+  private fun isMaterialized(treeItem: TreeItem<Task>) = (treeItem as? TaskTreeItem)?.isMaterialized ?: true
+
   private fun getExpandedTasks(): List<Task> {
     val result = mutableListOf<Task>()
     rootItem.depthFirstWalk { child ->
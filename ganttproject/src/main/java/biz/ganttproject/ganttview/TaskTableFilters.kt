@@ -18,9 +18,11 @@ along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
 */
 package biz.ganttproject.ganttview
 
+import biz.ganttproject.FXUtil
 import biz.ganttproject.core.option.DefaultBooleanOption
 import biz.ganttproject.core.option.GPOption
 import biz.ganttproject.core.time.CalendarFactory
+import biz.ganttproject.core.time.GanttCalendar
 import javafx.beans.property.SimpleIntegerProperty
 import net.sourceforge.ganttproject.task.Task
 import net.sourceforge.ganttproject.task.TaskManager
@@ -48,37 +50,118 @@ class TaskFilterManager(val taskManager: TaskManager) {
 
   val dueTodayFilter: TaskFilter  = { _, child ->
     child?.let {
-      it.completionPercentage < 100 && it.endsToday()
+      it.completionPercentage < 100 && it.endsOn(currentDay)
     } ?: true
   }
 
   val overdueFilter: TaskFilter  = { _, child ->
-    child?.let { it.completionPercentage < 100 && it.endsBeforeToday()
+    child?.let { it.completionPercentage < 100 && it.endsBefore(currentDay)
     } ?: true
   }
 
   val inProgressTodayFilter: TaskFilter  = { _, child ->
     child?.let {
-      it.completionPercentage < 100 && it.runsToday()
+      it.completionPercentage < 100 && it.runsOn(currentDay)
     } ?: true
   }
 
+  // Results of these filters change when the date rolls over.
+  private val timeDependentFilters = setOf(dueTodayFilter, overdueFilter, inProgressTodayFilter)
+  private var currentDay: GanttCalendar = today()
+
+  // Filter results and counts of the visible children are cached while a filter is active. The caches are accessed
+  // from the JavaFX thread only, and they are invalidated for the changed tasks and their ancestors.
+  private val filterResults = mutableMapOf<Task, Boolean>()
+  private val visibleChildCounts = mutableMapOf<Task, Int>()
+
   val hiddenTaskCount = SimpleIntegerProperty(0)
 
   init {
     taskManager.addTaskListener(TaskListenerAdapter().also {
-      it.taskProgressChangedHandler = { _ -> if (activeFilter != VOID_FILTER) sync() }
-      it.taskScheduleChangedHandler = { _ -> if (activeFilter != VOID_FILTER) sync() }
+      it.taskProgressChangedHandler = { e -> onTaskChanged(e.task) }
+      it.taskScheduleChangedHandler = { e -> onTaskChanged(e.task) }
+      it.taskAddedHandler = { e -> FXUtil.runLater { invalidate(e.task, e.newContainer) } }
+      it.taskMovedHandler = { e ->
+        FXUtil.runLater {
+          e.oldContainer?.let { container -> invalidate(container) }
+          invalidate(e.task, e.newContainer)
+        }
+      }
+      it.taskRemovedHandler = { e ->
+        FXUtil.runLater {
+          filterResults.remove(e.task)
+          visibleChildCounts.remove(e.task)
+          e.oldContainer?.let { container -> invalidate(container) }
+        }
+      }
+      it.taskModelResetHandler = { FXUtil.runLater { clearCache() } }
     })
   }
 
   var activeFilter: TaskFilter = VOID_FILTER
     set(value) {
       field = value
+      FXUtil.runLater { clearCache() }
       fireFilterChanged(value)
       sync()
     }
 
+  /**
+   * Evaluates the active filter, using the cached result if there is one.
+   */
+  fun isVisible(parent: Task, child: Task?): Boolean {
+    if (child == null || activeFilter == VOID_FILTER) {
+      return activeFilter(parent, child)
+    }
+    return filterResults.getOrPut(child) { activeFilter(parent, child) }
+  }
+
+  /**
+   * @return the number of the children of the given task which pass the active filter
+   */
+  fun visibleChildCount(parent: Task): Int =
+    visibleChildCounts.getOrPut(parent) {
+      taskManager.taskHierarchy.getNestedTasks(parent).count { isVisible(parent, it) }
+    }
+
+  /**
+   * Clears the cached results of a time-dependent filter if the date has rolled over since the last check.
+   * This is supposed to be called before the filter is evaluated for all tasks.
+   */
+  internal fun checkDateRollover() {
+    val newToday = today()
+    if (newToday != currentDay) {
+      currentDay = newToday
+      if (activeFilter in timeDependentFilters) {
+        clearCache()
+      }
+    }
+  }
+
+  private fun onTaskChanged(task: Task) {
+    if (activeFilter != VOID_FILTER) {
+      FXUtil.runLater { invalidate(task, taskManager.taskHierarchy.getContainer(task)) }
+      sync()
+    }
+  }
+
+  // Summary tasks change together with their subtasks, so the results of the ancestors are invalidated too.
+  private fun invalidate(task: Task, container: Task? = null) {
+    filterResults.remove(task)
+    visibleChildCounts.remove(task)
+    var ancestor = container
+    while (ancestor != null) {
+      filterResults.remove(ancestor)
+      visibleChildCounts.remove(ancestor)
+      ancestor = taskManager.taskHierarchy.getContainer(ancestor)
+    }
+  }
+
+  private fun clearCache() {
+    filterResults.clear()
+    visibleChildCounts.clear()
+  }
+
   private fun fireFilterChanged(value: TaskFilter) {
     filterListeners.forEach { it(value) }
   }
@@ -87,7 +170,7 @@ class TaskFilterManager(val taskManager: TaskManager) {
 }
 
 private fun today() = CalendarFactory.createGanttCalendar(CalendarFactory.newCalendar().time)
-private fun Task.endsToday() = this.end.displayValue == today()
-private fun Task.endsBeforeToday() = this.end.displayValue < today()
-private fun Task.runsToday() = today().let { this.end.displayValue >= it && this.start <= it }
+private fun Task.endsOn(day: GanttCalendar) = this.end.displayValue == day
+private fun Task.endsBefore(day: GanttCalendar) = this.end.displayValue < day
+private fun Task.runsOn(day: GanttCalendar) = this.end.displayValue >= day && this.start <= day
 val VOID_FILTER: TaskFilter = { _, _ -> true }
\ No newline at end of file
@@ -0,0 +1,51 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.impex.csv
+
+import net.sourceforge.ganttproject.task.TaskManager
+import net.sourceforge.ganttproject.task.TaskManagerImpl
+
+/**
+ * Scope of a bulk import into a task manager. While it is open, the task manager doesn't fire events
+ * and doesn't run scheduling algorithms, so creating tasks, hierarchy, dependencies and assignments
+ * costs the same for every record. When the scope is closed, the tasks are scheduled once.
+ */
+internal class BulkTaskImport(private val taskManager: TaskManager) : AutoCloseable {
+  private val algorithms = taskManager.algorithmCollection
+  // The scope restores the previous state on close, so that it doesn't enable what was disabled by the caller.
+  private val wereEventsEnabled = (taskManager as? TaskManagerImpl)?.areEventsEnabled() ?: true
+  private val wasSchedulerEnabled = algorithms.scheduler.isEnabled
+  private val wasRecalculateEnabled = algorithms.recalculateTaskScheduleAlgorithm.isEnabled
+  private val wasAdjustBoundsEnabled = algorithms.adjustTaskBoundsAlgorithm.isEnabled
+
+  init {
+    (taskManager as? TaskManagerImpl)?.setEventsEnabled(false)
+    algorithms.scheduler.isEnabled = false
+    algorithms.recalculateTaskScheduleAlgorithm.isEnabled = false
+    algorithms.adjustTaskBoundsAlgorithm.isEnabled = false
+  }
+
+  override fun close() {
+    (taskManager as? TaskManagerImpl)?.setEventsEnabled(wereEventsEnabled)
+    algorithms.recalculateTaskScheduleAlgorithm.isEnabled = wasRecalculateEnabled
+    algorithms.adjustTaskBoundsAlgorithm.isEnabled = wasAdjustBoundsEnabled
+    algorithms.scheduler.isEnabled = wasSchedulerEnabled
+    algorithms.scheduler.run()
+  }
+}
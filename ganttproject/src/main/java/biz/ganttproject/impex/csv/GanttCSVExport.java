@@ -61,6 +61,9 @@ import java.util.Set;
  */
 public class GanttCSVExport {
   private static final Predicate<ResourceAssignment> COORDINATOR_PREDICATE = arg -> arg.isCoordinator();
+  static final String TASKS_SHEET = "Tasks";
+  static final String RESOURCES_SHEET = "Resources";
+  private static final String ASSIGNMENTS_SHEET = "Assignments";
 
 
   private CSVOptions myCsvOptions;
@@ -103,6 +106,8 @@ public class GanttCSVExport {
         return getCsvWriter(stream);
       case XLS:
         return getXlsWriter(stream);
+      case XLSX:
+        return new XlsxWriterImpl(stream, TASKS_SHEET);
       default:
         throw new IllegalArgumentException("Unsupported format == " + format + "!");
     }
@@ -121,10 +126,38 @@ public class GanttCSVExport {
     writeTasks(writer);
 
     if (myHumanResourceManager.getResources().size() > 0) {
-      writer.println();
-      writer.println();
+      writer.newSheet(RESOURCES_SHEET);
       writeResources(writer);
     }
+    // Single-sheet formats keep the assignments in the task records, and the importer expects
+    // the resources to be the last record group.
+    if (writer.isMultiSheet()) {
+      writer.newSheet(ASSIGNMENTS_SHEET);
+      writeAssignments(writer);
+    }
+  }
+
+  private void writeAssignments(SpreadsheetWriter writer) throws IOException {
+    writer.print("Task ID");
+    writer.print(TaskDefaultColumn.NAME.getName());
+    writer.print("Resource ID");
+    writer.print(ResourceDefaultColumn.NAME.getName());
+    writer.print("Load");
+    writer.print(TaskDefaultColumn.COORDINATOR.getName());
+    writer.print(ResourceDefaultColumn.ROLE_IN_TASK.getName());
+    writer.println();
+    for (Task task : myTaskManager.getTasks()) {
+      for (ResourceAssignment assignment : task.getAssignments()) {
+        writer.print(task.getTaskID());
+        writer.print(task.getName());
+        writer.print(assignment.getResource().getId());
+        writer.print(assignment.getResource().getName());
+        writer.print((double) assignment.getLoad());
+        writer.print(assignment.isCoordinator());
+        writer.print(assignment.getRoleForAssignment() == null ? null : assignment.getRoleForAssignment().getName());
+        writer.println();
+      }
+    }
   }
 
   private List<CustomPropertyDefinition> writeTaskHeaders(SpreadsheetWriter writer) throws IOException {
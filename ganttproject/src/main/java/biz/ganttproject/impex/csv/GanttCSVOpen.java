@@ -23,6 +23,7 @@ import biz.ganttproject.customproperty.CustomPropertyClass;
 import com.google.common.base.Function;
 import com.google.common.base.Supplier;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import biz.ganttproject.customproperty.CustomPropertyManager;
 import net.sourceforge.ganttproject.GPLogger;
@@ -50,7 +51,7 @@ import static net.sourceforge.ganttproject.GPLogger.debug;
 import static net.sourceforge.ganttproject.util.FileUtil.getExtension;
 
 /**
- * Handles opening CSV and XLS files.
+ * Handles opening CSV, XLS and XLSX files.
  */
 public class GanttCSVOpen {
   static Collection<String> getFieldNames(Enum... fieldsEnum) {
@@ -72,8 +73,13 @@ public class GanttCSVOpen {
 
   private int mySkippedLine;
 
+  // Whether the next non-empty record is expected to be a header of the next record group.
+  private boolean mySearchHeader;
+
   private CSVOptions myCsvOptions;
 
+  private TaskManager myTaskManager;
+
   public GanttCSVOpen(Supplier<InputStream> inputSupplier, SpreadsheetFormat format, RecordGroup... groups) {
     myInputSupplier = inputSupplier;
     myRecordGroups = Lists.newArrayList();
@@ -89,6 +95,7 @@ public class GanttCSVOpen {
                       final HumanResourceManager resourceManager, RoleManager roleManager, TimeUnitStack timeUnitStack) {
     this(inputSupplier, format, createTaskRecordGroup(taskManager, resourceManager, timeUnitStack),
         createResourceRecordGroup(resourceManager, roleManager));
+    myTaskManager = taskManager;
   }
 
   public GanttCSVOpen(final File file, final TaskManager taskManager, final HumanResourceManager resourceManager,
@@ -128,8 +135,8 @@ public class GanttCSVOpen {
     final Logger logger = GPLogger.getLogger(GanttCSVOpen.class);
     int lineCounter = 0;
     RecordGroup currentGroup = myRecordGroups.get(numGroup);
-    boolean searchHeader = currentGroup.getHeader() == null;
-    if (searchHeader) {
+    mySearchHeader = currentGroup.getHeader() == null;
+    if (mySearchHeader) {
       debug(logger, "[CSV] Searching for a header of %s", currentGroup);
     } else {
       debug(logger, "[CSV] Expecting to read records of group %s", currentGroup);
@@ -142,23 +149,25 @@ public class GanttCSVOpen {
       if (linesToSkip-- > 0) {
         continue;
       }
-      lineCounter = processRecord(record, lineCounter, numGroup, currentGroup, searchHeader);
-      if(lineCounter > 0){
+      if (processRecord(record, numGroup, currentGroup)) {
         return lineCounter;
       }
     }
     return 0;
   }
   
-  private int processRecord(SpreadsheetRecord record, int lineCounter, int numGroup, RecordGroup currentGroup, boolean searchHeader){
+  /**
+   * @return true if the record is a header of the next record group
+   */
+  private boolean processRecord(SpreadsheetRecord record, int numGroup, RecordGroup currentGroup) {
     final Logger logger = GPLogger.getLogger(GanttCSVOpen.class);
     if (isEmpty(record)) {
       // If line is empty then current record group is probably finished.
       // Let's search for the next group header.
-      searchHeader = true;
-      return 0;
+      mySearchHeader = true;
+      return false;
     }
-    if (searchHeader) {
+    if (mySearchHeader) {
       if (numGroup < myRecordGroups.size()) {
         debug(logger, "%s\n", record);
         RecordGroup nextGroup = myRecordGroups.get(numGroup);
@@ -173,17 +182,17 @@ public class GanttCSVOpen {
           //              }
           //            }
           nextGroup.setHeader(record);
-          return lineCounter;
+          return true;
         }
       }
-      return 0;
+      return false;
     }
     if (currentGroup.doProcess(record)) {
-      searchHeader = false;
+      mySearchHeader = false;
     } else {
       mySkippedLine++;
     }
-    return 0;
+    return false;
   }
 
 //Refactoring end
@@ -198,25 +207,28 @@ public class GanttCSVOpen {
     for (RecordGroup group : myRecordGroups) {
       group.setErrorOutput(errors);
     }
-    int idxCurrentGroup = 0;
-    int idxNextGroup;
-    int skipHeadLines = 0;
-    SpreadsheetRecord headers;
-    do {
-      idxNextGroup = idxCurrentGroup;
-      RecordGroup currentGroup = myRecordGroups.get(idxCurrentGroup);
-      headers = currentGroup.getHeader();
-      if (headers != null) {
-        idxNextGroup++;
-      }
+    // Tasks are created with events and scheduling suspended, and get scheduled once when all records are processed.
+    try (BulkTaskImport ignored = myTaskManager == null ? null : new BulkTaskImport(myTaskManager)) {
+      int idxCurrentGroup = 0;
+      int idxNextGroup;
+      int skipHeadLines = 0;
+      SpreadsheetRecord headers;
+      do {
+        idxNextGroup = idxCurrentGroup;
+        RecordGroup currentGroup = myRecordGroups.get(idxCurrentGroup);
+        headers = currentGroup.getHeader();
+        if (headers != null) {
+          idxNextGroup++;
+        }
 
-      try (SpreadsheetReader reader = createReader(myInputSupplier.get(), headers == null ? null : headers.notBlankValues())) {
-        skipHeadLines = doLoad(reader, idxCurrentGroup, skipHeadLines);
+        try (SpreadsheetReader reader = createReader(myInputSupplier.get(), headers == null ? null : headers.notBlankValues())) {
+          skipHeadLines = doLoad(reader, idxCurrentGroup, skipHeadLines);
+        }
+        idxCurrentGroup = idxNextGroup;
+      } while (skipHeadLines > 0);
+      for (RecordGroup group : myRecordGroups) {
+        group.postProcess();
       }
-      idxCurrentGroup = idxNextGroup;
-    } while (skipHeadLines > 0);
-    for (RecordGroup group : myRecordGroups) {
-      group.postProcess();
     }
     return errors;
   }
@@ -235,6 +247,9 @@ public class GanttCSVOpen {
         return new CsvReaderImpl(is, createCSVFormat(headers));
       case XLS:
         return new XlsReaderImpl(is, headers);
+      case XLSX:
+        // Other sheets, e.g. the assignments written by the exporter, are not record groups of the importer.
+        return new XlsxReaderImpl(is, headers, ImmutableSet.of(GanttCSVExport.TASKS_SHEET, GanttCSVExport.RESOURCES_SHEET));
       default:
         throw new IllegalArgumentException("Unsupported format: " + myFormat);
     }
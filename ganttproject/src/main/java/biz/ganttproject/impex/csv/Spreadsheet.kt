@@ -95,11 +95,26 @@ interface SpreadsheetWriter : AutoCloseable {
 
   @Throws(IOException::class)
   fun println()
+
+  /**
+   * true if the writer can put the records into several sheets.
+   */
+  val isMultiSheet: Boolean get() = false
+
+  /**
+   * Starts a new group of records. Multi-sheet writers start a new sheet with the given name,
+   * others separate the groups with blank rows.
+   */
+  @Throws(IOException::class)
+  fun newSheet(name: String) {
+    println()
+    println()
+  }
 }
 
 
 enum class SpreadsheetFormat(val extension: String) {
-  CSV("csv"), XLS("xls");
+  CSV("csv"), XLS("xls"), XLSX("xlsx");
 
   override fun toString(): String {
     return "impex.csv.fileformat." + name.toLowerCase()
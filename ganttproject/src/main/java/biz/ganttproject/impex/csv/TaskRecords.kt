@@ -27,7 +27,6 @@ import com.google.common.base.Strings
 import com.google.common.collect.Maps
 import net.sourceforge.ganttproject.GPLogger
 import net.sourceforge.ganttproject.language.GanttLanguage
-import net.sourceforge.ganttproject.resource.HumanResource
 import net.sourceforge.ganttproject.resource.HumanResourceManager
 import net.sourceforge.ganttproject.task.Task
 import net.sourceforge.ganttproject.task.TaskManager
@@ -316,7 +315,7 @@ class ResourceColumnSpecImpl(
   override fun apply(task: Task, resourceManager: HumanResourceManager) {
     val names = myValue.split(";").toTypedArray()
     for (name in names) {
-      val resource = getIndexByName(resourceManager)!![name]
+      val resource = resourceManager.getByName(name)
       if (resource != null) {
         val assignment = task.assignmentCollection.addAssignment(resource)
         if (myCoordinator != null && myCoordinator == name) {
@@ -325,20 +324,6 @@ class ResourceColumnSpecImpl(
       }
     }
   }
-
-  companion object {
-    private var resourceMap: Map<String, HumanResource>? = null
-    fun getIndexByName(resourceManager: HumanResourceManager): Map<String, HumanResource>? {
-      if (resourceMap == null) {
-        resourceMap = Maps.uniqueIndex(resourceManager.resources, object : Function<HumanResource, String> {
-          override fun apply(input: HumanResource): String {
-            return input.name
-          }
-        })
-      }
-      return resourceMap
-    }
-  }
 }
 
 val OUTLINE_NUMBER_COMPARATOR: Comparator<String> = TaskDefaultColumn.Functions.OUTLINE_NUMBER_COMPARATOR
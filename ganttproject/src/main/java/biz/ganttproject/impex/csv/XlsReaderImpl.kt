@@ -51,24 +51,18 @@ class XlsReaderImpl(`is`: InputStream, columnHeaders: List<String>?) : Spreadshe
     myBook.close()
   }
 
-  override fun iterator(): Iterator<SpreadsheetRecord> {
-    val rows = myBook.getSheetAt(0).iterator().asSequence().toList()
-    val result = mutableListOf<SpreadsheetRecord>()
+  override fun iterator(): Iterator<SpreadsheetRecord> = iterator {
     var lastIdx = -1
-    for (row in rows) {
+    for (row in myBook.getSheetAt(0)) {
       if (lastIdx != -1) {
-        if (row.rowNum - lastIdx > 1) {
-          repeat(row.rowNum - lastIdx - 1) {
-            result.add(XlsRecordImpl(emptyList()))
-          }
+        repeat(row.rowNum - lastIdx - 1) {
+          yield(XlsRecordImpl(emptyList()))
         }
       }
-      result.add(myHeaders?.let { XlsRecordImpl(Lists.newArrayList(row), it) }
+      yield(myHeaders?.let { XlsRecordImpl(Lists.newArrayList(row), it) }
         ?: XlsRecordImpl(Lists.newArrayList(row)))
       lastIdx = row.rowNum
-
     }
-    return result.iterator()
   }
 
   private fun getCellValues(row: Row): List<String> {
@@ -0,0 +1,451 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.impex.csv
+
+import biz.ganttproject.customproperty.CustomPropertyClass
+import com.google.common.collect.AbstractIterator
+import net.sourceforge.ganttproject.language.GanttLanguage
+import java.io.File
+import java.io.IOException
+import java.io.InputStream
+import java.math.BigDecimal
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.time.LocalDate
+import java.util.*
+import java.util.zip.ZipFile
+import javax.xml.stream.XMLInputFactory
+import javax.xml.stream.XMLStreamConstants
+import javax.xml.stream.XMLStreamReader
+
+/**
+ * This is a SpreadsheetReader implementation which reads Office Open XML (.xlsx) workbooks.
+ *
+ * Worksheets are parsed with a pull parser and rows are produced one by one as the iterator advances,
+ * so memory consumption doesn't depend on the number of rows. Only the shared strings table and the
+ * cell formats are loaded up front, because cells refer to them by index.
+ *
+ * Sheets are read in the workbook order, and an empty record is inserted between the sheets,
+ * so that each sheet may hold its own record group. If [sheetNames] is not null, only the sheets with
+ * these names are read, unless the workbook has none of them, in which case all sheets are read.
+ */
+class XlsxReaderImpl @JvmOverloads constructor(
+  stream: InputStream, columnHeaders: List<String>?, sheetNames: Set<String>? = null) : SpreadsheetReader {
+  // Zip entries may come in any order, and the shared strings often follow the worksheets,
+  // so we need random access to the package.
+  private val myFile: File = File.createTempFile("_GanttProject_import_", ".xlsx").also {
+    it.deleteOnExit()
+    Files.copy(stream, it.toPath(), StandardCopyOption.REPLACE_EXISTING)
+  }
+  private val myZip = ZipFile(myFile)
+  private val mySheetPaths: List<String>
+  private val mySharedStrings: List<String>
+  private val myDateStyles: BitSet
+  private val myHeaders: Map<String, Int>?
+  private var myParser: XMLStreamReader? = null
+  private var myPartStream: InputStream? = null
+
+  init {
+    try {
+      mySheetPaths = readSheetPaths(sheetNames)
+      mySharedStrings = readSharedStrings()
+      myDateStyles = readDateStyles()
+      myHeaders = columnHeaders?.let { initializeHeader(it) }
+    } catch (e: Exception) {
+      close()
+      throw e
+    }
+  }
+
+  @Throws(IOException::class)
+  override fun close() {
+    closePart()
+    myZip.close()
+    myFile.delete()
+  }
+
+  override fun iterator(): Iterator<SpreadsheetRecord> = object : AbstractIterator<SpreadsheetRecord>() {
+    private var sheetIdx = -1
+    private var lastRowNum = 0
+    private var pendingRow: Pair<Int, List<Any?>>? = null
+    private var pendingEmptyRows = 0
+
+    override fun computeNext(): SpreadsheetRecord? {
+      while (true) {
+        if (pendingEmptyRows > 0) {
+          pendingEmptyRows--
+          return XlsxRecordImpl(emptyList())
+        }
+        pendingRow?.let { (rowNum, values) ->
+          pendingRow = null
+          lastRowNum = rowNum
+          return createRecord(values)
+        }
+        val parser = myParser
+        if (parser == null) {
+          if (sheetIdx + 1 >= mySheetPaths.size) {
+            return endOfData()
+          }
+          sheetIdx++
+          myParser = openPart(mySheetPaths[sheetIdx])
+          if (sheetIdx > 0) {
+            // Separate the record groups which come from different sheets.
+            lastRowNum = 0
+            return XlsxRecordImpl(emptyList())
+          }
+          lastRowNum = 0
+          continue
+        }
+        val row = readRow(parser)
+        if (row == null) {
+          closePart()
+          continue
+        }
+        // Rows which have no cells are not written at all, but they still separate record groups.
+        val rowNum = if (row.first > 0) row.first else lastRowNum + 1
+        pendingEmptyRows = maxOf(0, rowNum - lastRowNum - 1)
+        pendingRow = rowNum to row.second
+      }
+    }
+  }
+
+  private fun createRecord(values: List<Any?>) =
+    myHeaders?.let { XlsxRecordImpl(values, it) } ?: XlsxRecordImpl(values)
+
+  /**
+   * Reads the next row from the worksheet and returns its number and cell values indexed by column,
+   * or null if there are no more rows.
+   */
+  private fun readRow(parser: XMLStreamReader): Pair<Int, List<Any?>>? {
+    while (parser.hasNext()) {
+      if (parser.next() == XMLStreamConstants.START_ELEMENT && parser.localName == "row") {
+        val rowNum = parser.getAttributeValue(null, "r")?.toIntOrNull() ?: 0
+        val values = mutableListOf<Any?>()
+        while (parser.hasNext()) {
+          val event = parser.next()
+          if (event == XMLStreamConstants.START_ELEMENT && parser.localName == "c") {
+            val col = parser.getAttributeValue(null, "r")?.let(::columnIndex) ?: values.size
+            val value = readCell(parser)
+            while (values.size < col) {
+              values.add(null)
+            }
+            if (values.size == col) values.add(value) else values[col] = value
+          } else if (event == XMLStreamConstants.END_ELEMENT && parser.localName == "row") {
+            break
+          }
+        }
+        return rowNum to values
+      }
+    }
+    return null
+  }
+
+  private fun readCell(parser: XMLStreamReader): Any? {
+    val type = parser.getAttributeValue(null, "t")
+    val style = parser.getAttributeValue(null, "s")?.toIntOrNull() ?: 0
+    var rawValue: String? = null
+    val inlineText = StringBuilder()
+    var isInline = false
+    while (parser.hasNext()) {
+      val event = parser.next()
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        when (parser.localName) {
+          "v" -> rawValue = parser.elementText
+          "is" -> isInline = true
+          "t" -> if (isInline) inlineText.append(parser.elementText)
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT && parser.localName == "c") {
+        break
+      }
+    }
+    return when (type) {
+      "inlineStr" -> inlineText.toString()
+      "s" -> rawValue?.toIntOrNull()?.let { mySharedStrings.getOrNull(it) }
+      "str" -> rawValue
+      "b" -> rawValue?.let { it == "1" || it.equals("true", ignoreCase = true) }
+      "e" -> null
+      else -> rawValue?.toDoubleOrNull()?.let {
+        if (myDateStyles[style]) fromSerialDate(it) else it
+      }
+    }
+  }
+
+  private fun openPart(path: String): XMLStreamReader? {
+    val entry = myZip.getEntry(path) ?: return null
+    closePart()
+    val stream = myZip.getInputStream(entry)
+    myPartStream = stream
+    return XML_INPUT_FACTORY.createXMLStreamReader(stream)
+  }
+
+  private fun closePart() {
+    myParser?.close()
+    myParser = null
+    myPartStream?.close()
+    myPartStream = null
+  }
+
+  private fun <T> readPart(path: String, reader: (XMLStreamReader) -> T): T? {
+    val entry = myZip.getEntry(path) ?: return null
+    return myZip.getInputStream(entry).use { stream ->
+      val parser = XML_INPUT_FACTORY.createXMLStreamReader(stream)
+      try {
+        reader(parser)
+      } finally {
+        parser.close()
+      }
+    }
+  }
+
+  private fun readSheetPaths(sheetNames: Set<String>?): List<String> {
+    val targets = readPart("xl/_rels/workbook.xml.rels") { parser ->
+      val result = mutableMapOf<String, String>()
+      while (parser.hasNext()) {
+        if (parser.next() == XMLStreamConstants.START_ELEMENT && parser.localName == "Relationship") {
+          val target = parser.getAttributeValue(null, "Target") ?: continue
+          result[parser.getAttributeValue(null, "Id")] =
+            if (target.startsWith("/")) target.removePrefix("/") else "xl/$target"
+        }
+      }
+      result
+    } ?: emptyMap()
+    val sheets = readPart("xl/workbook.xml") { parser ->
+      val result = mutableListOf<Pair<String, String>>()
+      while (parser.hasNext()) {
+        if (parser.next() == XMLStreamConstants.START_ELEMENT && parser.localName == "sheet") {
+          val name = parser.getAttributeValue(null, "name") ?: ""
+          val relId = (0 until parser.attributeCount).firstOrNull {
+            parser.getAttributeLocalName(it) == "id" && parser.getAttributeNamespace(it) == RELATIONSHIPS_NS
+          }?.let { parser.getAttributeValue(it) }
+          relId?.let(targets::get)?.let { result.add(name to it) }
+        }
+      }
+      result
+    } ?: emptyList()
+    val selected = sheetNames?.let { names -> sheets.filter { it.first in names }.ifEmpty { null } } ?: sheets
+    return selected.map { it.second }.ifEmpty { listOf("xl/worksheets/sheet1.xml") }
+  }
+
+  private fun readSharedStrings(): List<String> = readPart("xl/sharedStrings.xml") { parser ->
+    val result = mutableListOf<String>()
+    var current: StringBuilder? = null
+    var phoneticDepth = 0
+    while (parser.hasNext()) {
+      when (parser.next()) {
+        XMLStreamConstants.START_ELEMENT -> when (parser.localName) {
+          "si" -> current = StringBuilder()
+          // Phonetic hints are not a part of the value
+          "rPh" -> phoneticDepth++
+          "t" -> if (phoneticDepth == 0) current?.append(parser.elementText)
+        }
+        XMLStreamConstants.END_ELEMENT -> when (parser.localName) {
+          "si" -> {
+            result.add(current?.toString() ?: "")
+            current = null
+          }
+          "rPh" -> phoneticDepth--
+        }
+      }
+    }
+    result
+  } ?: emptyList()
+
+  private fun readDateStyles(): BitSet = readPart("xl/styles.xml") { parser ->
+    val customDateFormats = mutableSetOf<Int>()
+    val result = BitSet()
+    var isCellXfs = false
+    var xfIdx = 0
+    while (parser.hasNext()) {
+      when (parser.next()) {
+        XMLStreamConstants.START_ELEMENT -> when (parser.localName) {
+          "numFmt" -> {
+            val id = parser.getAttributeValue(null, "numFmtId")?.toIntOrNull()
+            if (id != null && isDateFormat(parser.getAttributeValue(null, "formatCode") ?: "")) {
+              customDateFormats.add(id)
+            }
+          }
+          "cellXfs" -> isCellXfs = true
+          "xf" -> if (isCellXfs) {
+            val fmtId = parser.getAttributeValue(null, "numFmtId")?.toIntOrNull() ?: 0
+            if (fmtId in BUILTIN_DATE_FORMATS || fmtId in customDateFormats) {
+              result.set(xfIdx)
+            }
+            xfIdx++
+          }
+        }
+        XMLStreamConstants.END_ELEMENT -> if (parser.localName == "cellXfs") isCellXfs = false
+      }
+    }
+    result
+  } ?: BitSet()
+
+  /**
+   * This method was taken from [org.apache.commons.csv.CSVParser.initializeHeader]
+   * Create the name to index mapping if the column headers not `null`.
+   */
+  private fun initializeHeader(columnHeaders: List<String>): Map<String, Int> {
+    val headerRecord = columnHeaders.ifEmpty {
+      // read the header from the first line of the first sheet
+      iterator().let { if (it.hasNext()) it.next().iterator().asSequence().map { it ?: "" }.toList() else emptyList() }
+        .also { closePart() }
+    }
+    val hdrMap = LinkedHashMap<String, Int>()
+    headerRecord.forEachIndexed { idx, header ->
+      require(!hdrMap.containsKey(header)) { "The header contains a duplicate name: \"$header\" in $headerRecord" }
+      hdrMap[header] = idx
+    }
+    return hdrMap
+  }
+}
+
+/**
+ * This is an implementation of SpreadsheetRecord over a row in .xlsx worksheet. Values are strings, doubles,
+ * booleans or dates, depending on the cell types.
+ */
+internal class XlsxRecordImpl(
+  private val myValues: List<Any?>,
+  private val myMapping: Map<String, Int> = mapOf()) : SpreadsheetRecord {
+
+  private fun value(idx: Int): Any? = if (idx >= 0 && idx < myValues.size) myValues[idx] else null
+
+  private fun idx(name: String) =
+    myMapping[name] ?: throw IllegalArgumentException(
+      "Mapping for $name not found, expected one of ${myMapping.keys}"
+    )
+
+  override fun getType(name: String) = if (isMapped(name)) getType(idx(name)) else null
+  override fun getType(idx: Int) = when (value(idx)) {
+    is String -> CustomPropertyClass.TEXT
+    is Double -> CustomPropertyClass.DOUBLE
+    is Date -> CustomPropertyClass.DATE
+    is Boolean -> CustomPropertyClass.BOOLEAN
+    else -> null
+  }
+
+  override fun get(name: String): String? = if (isMapped(name)) get(idx(name)) else null
+  override fun get(idx: Int): String? = when (val value = value(idx)) {
+    is Date -> GanttLanguage.getInstance().shortDateFormat.format(value)
+    // Integer values, such as ids and durations, are written without the fraction part.
+    is Double -> if (value % 1.0 == 0.0 && Math.abs(value) < 1e15) value.toLong().toString() else value.toString()
+    else -> value?.toString()
+  }
+
+  override fun getDouble(name: String): Double? = if (isMapped(name)) getDouble(idx(name)) else null
+  override fun getDouble(idx: Int): Double? = when (val value = value(idx)) {
+    is Double -> value
+    is String -> value.toDoubleOrNull()
+    else -> null
+  }
+
+  override fun getDate(name: String): Date? = if (isMapped(name)) getDate(idx(name)) else null
+  override fun getDate(idx: Int): Date? = when (val value = value(idx)) {
+    is Date -> value
+    is String -> GanttCSVOpen.language.parseDate(value)
+    else -> null
+  }
+
+  override fun getInt(name: String): Int? = if (isMapped(name)) getInt(idx(name)) else null
+  override fun getInt(idx: Int): Int? = when (val value = value(idx)) {
+    is Double -> value.toInt()
+    is String -> value.toIntOrNull()
+    else -> null
+  }
+
+  override fun getBigDecimal(name: String): BigDecimal? = if (isMapped(name)) getBigDecimal(idx(name)) else null
+  override fun getBigDecimal(idx: Int): BigDecimal? = when (val value = value(idx)) {
+    is Double -> value.toBigDecimal()
+    is String -> value.toBigDecimalOrNull()
+    else -> null
+  }
+
+  override fun getBoolean(name: String): Boolean? = if (isMapped(name)) getBoolean(idx(name)) else null
+  override fun getBoolean(idx: Int): Boolean? = when (val value = value(idx)) {
+    is Boolean -> value
+    is String -> value.toBoolean()
+    else -> null
+  }
+
+  override fun isEmpty(): Boolean = myValues.all { it == null || it is String && it.isBlank() }
+
+  override fun isMapped(name: String): Boolean = myMapping.containsKey(name)
+
+  override fun isSet(name: String): Boolean = isMapped(name) && idx(name) < myValues.size
+
+  override fun iterator(): Iterator<String?> = myValues.indices.map { get(it) }.iterator()
+
+  override fun size(): Int = myValues.size
+}
+
+private const val RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships"
+
+// Built-in number formats 14..22 and 45..47 are dates and times.
+private val BUILTIN_DATE_FORMATS = (14..22).toSet() + (45..47)
+
+private val XML_INPUT_FACTORY: XMLInputFactory = XMLInputFactory.newInstance().also {
+  it.setProperty(XMLInputFactory.SUPPORT_DTD, false)
+  it.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false)
+}
+
+/**
+ * Checks if a custom number format displays dates, that is, if it has date or time placeholders
+ * outside quoted literals and bracketed sections such as colors and locales.
+ */
+internal fun isDateFormat(formatCode: String): Boolean {
+  var isQuoted = false
+  var isBracketed = false
+  var isEscaped = false
+  for (ch in formatCode) {
+    when {
+      isEscaped -> isEscaped = false
+      ch == '\\' -> isEscaped = true
+      ch == '"' -> isQuoted = !isQuoted
+      isQuoted -> {}
+      ch == '[' -> isBracketed = true
+      ch == ']' -> isBracketed = false
+      isBracketed -> {}
+      ch in "yYmMdDhHsS" -> return true
+      // Section separator: the format of the positive numbers is enough
+      ch == ';' -> return false
+    }
+  }
+  return false
+}
+
+/**
+ * Converts the spreadsheet serial date to the date in the default time zone. This is the inverse of toSerialDate.
+ */
+internal fun fromSerialDate(value: Double): Date {
+  val days = Math.floor(value).toLong()
+  val seconds = Math.round((value - days) * 86400)
+  val day = LocalDate.ofEpochDay(days - EPOCH_SERIAL_OFFSET)
+  return GregorianCalendar(day.year, day.monthValue - 1, day.dayOfMonth).also {
+    it.add(Calendar.SECOND, seconds.toInt())
+  }.time
+}
+
+internal fun columnIndex(cellRef: String): Int {
+  var result = 0
+  for (ch in cellRef) {
+    if (ch !in 'A'..'Z') {
+      break
+    }
+    result = result * 26 + (ch - 'A' + 1)
+  }
+  return result - 1
+}
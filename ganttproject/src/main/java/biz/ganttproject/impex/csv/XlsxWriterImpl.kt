@@ -0,0 +1,285 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.impex.csv
+
+import biz.ganttproject.core.time.GanttCalendar
+import java.io.BufferedWriter
+import java.io.IOException
+import java.io.OutputStream
+import java.io.OutputStreamWriter
+import java.io.Writer
+import java.math.BigDecimal
+import java.time.LocalDate
+import java.util.*
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+/**
+ * This is an implementation of SpreadsheetWriter which writes Office Open XML (.xlsx) workbooks.
+ *
+ * Rows are written to the output as soon as they are complete, so only the current row is kept in memory,
+ * and the number of rows is not limited by the legacy .xls format. The workbook may have several sheets,
+ * see newSheet().
+ *
+ * Strings are written inline rather than into the shared strings table, because the table would have to
+ * be kept in memory until the end. There is just one non-default cell style, for dates, and it is declared
+ * in the styles part up front.
+ */
+class XlsxWriterImpl(stream: OutputStream, firstSheetName: String = "Sheet1") : SpreadsheetWriter {
+  private val myZip = ZipOutputStream(stream)
+  private val myOut: Writer = BufferedWriter(OutputStreamWriter(myZip, Charsets.UTF_8))
+  private val mySheetNames = mutableListOf<String>()
+  private var myRowNum = 1
+  private var myColNum = 0
+  private var isRowOpen = false
+  private var isClosed = false
+
+  override val isMultiSheet: Boolean get() = true
+
+  init {
+    startSheet(firstSheetName)
+  }
+
+  @Throws(IOException::class)
+  override fun print(value: String?) {
+    if (value == null) {
+      myColNum++
+      return
+    }
+    startCell("t=\"inlineStr\"")
+    myOut.write("<is><t xml:space=\"preserve\">")
+    writeEscaped(value)
+    myOut.write("</t></is></c>")
+  }
+
+  override fun print(value: Int?) {
+    printNumber(value?.toString())
+  }
+
+  override fun print(value: Double?) {
+    printNumber(value?.takeIf { it.isFinite() }?.toString())
+  }
+
+  override fun print(value: BigDecimal?) {
+    printNumber(value?.toPlainString())
+  }
+
+  override fun print(value: GanttCalendar?) {
+    if (value == null) {
+      myColNum++
+      return
+    }
+    startCell("s=\"$DATE_STYLE\"")
+    myOut.write("<v>")
+    myOut.write(toSerialDate(value).toString())
+    myOut.write("</v></c>")
+  }
+
+  override fun print(value: Boolean?) {
+    if (value == null) {
+      myColNum++
+      return
+    }
+    startCell("t=\"b\"")
+    myOut.write(if (value) "<v>1</v></c>" else "<v>0</v></c>")
+  }
+
+  @Throws(IOException::class)
+  override fun println() {
+    if (isRowOpen) {
+      myOut.write("</row>")
+      isRowOpen = false
+    }
+    myRowNum++
+    myColNum = 0
+  }
+
+  @Throws(IOException::class)
+  override fun newSheet(name: String) {
+    finishSheet()
+    startSheet(name)
+  }
+
+  @Throws(IOException::class)
+  override fun close() {
+    if (isClosed) {
+      return
+    }
+    isClosed = true
+    finishSheet()
+    writeEntry("[Content_Types].xml", buildString {
+      append(XML_DECLARATION)
+      append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+      append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+      append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+      append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+      append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>")
+      mySheetNames.indices.forEach {
+        append("<Override PartName=\"/xl/worksheets/sheet${it + 1}.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>")
+      }
+      append("</Types>")
+    })
+    writeEntry("_rels/.rels", buildString {
+      append(XML_DECLARATION)
+      append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">")
+      append("<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>")
+      append("</Relationships>")
+    })
+    writeEntry("xl/workbook.xml", buildString {
+      append(XML_DECLARATION)
+      append("<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>")
+      mySheetNames.forEachIndexed { idx, name ->
+        append("<sheet name=\"").append(escape(name)).append("\" sheetId=\"${idx + 1}\" r:id=\"rId${idx + 1}\"/>")
+      }
+      append("</sheets></workbook>")
+    })
+    writeEntry("xl/_rels/workbook.xml.rels", buildString {
+      append(XML_DECLARATION)
+      append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">")
+      mySheetNames.indices.forEach {
+        append("<Relationship Id=\"rId${it + 1}\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet${it + 1}.xml\"/>")
+      }
+      append("<Relationship Id=\"rId${mySheetNames.size + 1}\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>")
+      append("</Relationships>")
+    })
+    writeEntry("xl/styles.xml", STYLES)
+    myOut.flush()
+    myZip.finish()
+    myZip.close()
+  }
+
+  private fun startSheet(name: String) {
+    mySheetNames.add(uniqueSheetName(name))
+    myZip.putNextEntry(ZipEntry("xl/worksheets/sheet${mySheetNames.size}.xml"))
+    myOut.write(XML_DECLARATION)
+    myOut.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>")
+    myRowNum = 1
+    myColNum = 0
+  }
+
+  private fun finishSheet() {
+    if (isRowOpen) {
+      myOut.write("</row>")
+      isRowOpen = false
+    }
+    myOut.write("</sheetData></worksheet>")
+    myOut.flush()
+    myZip.closeEntry()
+  }
+
+  private fun writeEntry(name: String, content: String) {
+    myZip.putNextEntry(ZipEntry(name))
+    myOut.write(content)
+    myOut.flush()
+    myZip.closeEntry()
+  }
+
+  private fun printNumber(value: String?) {
+    if (value == null) {
+      myColNum++
+      return
+    }
+    startCell(null)
+    myOut.write("<v>")
+    myOut.write(value)
+    myOut.write("</v></c>")
+  }
+
+  private fun startCell(attrs: String?) {
+    if (!isRowOpen) {
+      myOut.write("<row r=\"$myRowNum\">")
+      isRowOpen = true
+    }
+    myOut.write("<c r=\"")
+    myOut.write(columnName(myColNum++))
+    myOut.write(myRowNum.toString())
+    myOut.write("\"")
+    if (attrs != null) {
+      myOut.write(" ")
+      myOut.write(attrs)
+    }
+    myOut.write(">")
+  }
+
+  private fun writeEscaped(value: String) {
+    for (ch in value) {
+      when {
+        ch == '&' -> myOut.write("&amp;")
+        ch == '<' -> myOut.write("&lt;")
+        ch == '>' -> myOut.write("&gt;")
+        ch == '"' -> myOut.write("&quot;")
+        // Control characters are not allowed in XML 1.0
+        ch < ' ' && ch != '\t' && ch != '\n' && ch != '\r' -> {}
+        else -> myOut.append(ch)
+      }
+    }
+  }
+
+  private fun uniqueSheetName(name: String): String {
+    val base = name.replace(INVALID_SHEET_NAME_CHARS, "_").ifBlank { "Sheet" }.take(31)
+    var result = base
+    var suffix = 2
+    while (mySheetNames.any { it.equals(result, ignoreCase = true) }) {
+      val tail = " ($suffix)"
+      result = base.take(31 - tail.length) + tail
+      suffix++
+    }
+    return result
+  }
+}
+
+private const val DATE_STYLE = 1
+private const val XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+private val INVALID_SHEET_NAME_CHARS = Regex("[\\[\\]:*?/\\\\]")
+
+// Style 0 is the default one, style 1 uses the built-in short date format 14.
+private const val STYLES = XML_DECLARATION +
+  "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+  "<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>" +
+  "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>" +
+  "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>" +
+  "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>" +
+  "<cellXfs count=\"2\">" +
+  "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>" +
+  "<xf numFmtId=\"14\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" +
+  "</cellXfs>" +
+  "</styleSheet>"
+
+// Day 0 of the spreadsheet date system is 1899-12-30, which is 25569 days before the Unix epoch.
+internal const val EPOCH_SERIAL_OFFSET = 25569L
+
+internal fun toSerialDate(value: Calendar): Double {
+  val day = LocalDate.of(value.get(Calendar.YEAR), value.get(Calendar.MONTH) + 1, value.get(Calendar.DAY_OF_MONTH))
+  val seconds = value.get(Calendar.HOUR_OF_DAY) * 3600 + value.get(Calendar.MINUTE) * 60 + value.get(Calendar.SECOND)
+  return (day.toEpochDay() + EPOCH_SERIAL_OFFSET) + seconds / 86400.0
+}
+
+internal fun columnName(index: Int): String {
+  var n = index + 1
+  val result = StringBuilder()
+  while (n > 0) {
+    val rem = (n - 1) % 26
+    result.append('A' + rem)
+    n = (n - 1) / 26
+  }
+  return result.reverse().toString()
+}
+
+private fun escape(value: String) =
+  value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;")
@@ -24,6 +24,7 @@ import net.sourceforge.ganttproject.document.Document
 import net.sourceforge.ganttproject.document.DocumentManager
 import java.io.File
 import java.io.IOException
+import java.nio.file.Files
 import java.util.*
 
 class AutoSaveManager(private val documentManager: DocumentManager) {
@@ -32,8 +33,18 @@ class AutoSaveManager(private val documentManager: DocumentManager) {
       documentManager.getDocument(it.absolutePath)
     } ?: throw IllegalStateException("Can't create auto-save document because temporary directory was not found")
 
+  /**
+   * Creates a recovery journal for the project being edited, or returns null if there is no cache directory.
+   */
+  @Throws(IOException::class)
+  fun newRecoveryJournal(initialState: ByteArray): RecoveryJournal? =
+    journalDir?.let {
+      RecoveryJournal.create(Files.createTempDirectory(it.toPath(), "journal").toFile(), initialState)
+    }
+
   @Throws(IOException::class)
   fun getLastAutoSaveDocument(priorTo: Document?): Document? {
+    recoverJournals()
     val allAutoSaves = cacheDir
       ?.listFiles { file -> file.name.startsWith("_ganttproject_autosave") }
       ?.sortedBy { it.lastModified() }?.reversed()
@@ -52,6 +63,7 @@ class AutoSaveManager(private val documentManager: DocumentManager) {
 }
 
 fun createAutosaveCleanup() = Runnable {
+  recoverJournals()
   cacheDir
     ?.listFiles { file -> file.name.startsWith("_ganttproject_autosave") }
     ?.sortedBy { it.lastModified() }
@@ -62,5 +74,33 @@ fun createAutosaveCleanup() = Runnable {
     }
 }
 
+/**
+ * Converts the journals left by the processes which didn't close them, e.g. because they crashed, into auto-save
+ * documents, so that they can be recovered like any other auto-save.
+ */
+private fun recoverJournals() {
+  journalDir?.listFiles { file -> file.isDirectory && !RecoveryJournal.isLocked(file) }?.forEach { dir ->
+    try {
+      val state = RecoveryJournal.recover(dir)
+      if (state == null) {
+        // The journal may have been just created and not yet locked by its process.
+        if (System.currentTimeMillis() - dir.lastModified() < 60_000) {
+          return@forEach
+        }
+      } else {
+        val autoSave = File.createTempFile("_ganttproject_autosave", ".gan", cacheDir)
+        autoSave.writeBytes(state)
+        autoSave.setLastModified(dir.listFiles()?.maxOfOrNull { it.lastModified() } ?: dir.lastModified())
+      }
+      if (!dir.deleteRecursively()) {
+        LOG.debug("Can't delete recovery journal {}", dir)
+      }
+    } catch (ex: IOException) {
+      LOG.error("Failed to recover journal {}", dir, exception = ex)
+    }
+  }
+}
+
+private val journalDir: File? get() = cacheDir?.let { File(it, "_ganttproject_journal") }?.also { it.mkdirs() }
 
 private val LOG = GPLogger.create("Document")
\ No newline at end of file
@@ -0,0 +1,315 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.storage
+
+import biz.ganttproject.Metrics
+import net.sourceforge.ganttproject.GPLogger
+import net.sourceforge.ganttproject.document.writeAtomically
+import java.io.*
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.channels.FileLock
+import java.nio.channels.OverlappingFileLockException
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.zip.CRC32
+
+/**
+ * Append-only journal of the serialized project states, which is used to recover the project after a crash.
+ *
+ * The journal directory contains a checkpoint, that is, a complete project state, and a journal file with the
+ * changes committed since the checkpoint. Each journal record is a delta between two consecutive states: the
+ * lengths of their common prefix and suffix and the bytes in between, so a record of a small edit is small.
+ *
+ * Records are written as soon as they are appended, and survive if the process is killed. They are forced to the
+ * disk in batches, at most [syncDelayMillis] after they were written. When the journal grows bigger than the
+ * project state, it is compacted into a new checkpoint.
+ *
+ * The journal directory is locked while the journal is open, and [recover] skips the locked directories, so the
+ * journals of the running processes are not touched.
+ */
+class RecoveryJournal private constructor(
+  val dir: File,
+  private var state: ByteArray,
+  private val syncDelayMillis: Long
+) : Closeable {
+  private val lockChannel = FileChannel.open(File(dir, LOCK_FILE).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)
+  private val lock: FileLock = lockChannel.tryLock() ?: run {
+    lockChannel.close()
+    throw IOException("Recovery journal $dir is locked by another process")
+  }
+  private var generation = 0L
+  private lateinit var journalChannel: FileChannel
+  private var journalSize = 0L
+  private var isSyncScheduled = false
+  private var isCheckpointNeeded = false
+  private var isClosed = false
+
+  init {
+    try {
+      checkpoint()
+    } catch (ex: IOException) {
+      lock.release()
+      lockChannel.close()
+      throw ex
+    }
+  }
+
+  /**
+   * Appends a record which transforms the previous state into the given one. Does nothing if the states are equal.
+   * If the record can't be written, the journal is truncated to the last complete record, or rewritten from a new
+   * checkpoint by the next append, so that the records appended after a failure can be replayed.
+   *
+   * @return false if the journal has been closed or discarded, e.g. when the project was saved. The state is not
+   * recorded then, and the caller is expected to start a new journal.
+   */
+  @Synchronized
+  @Throws(IOException::class)
+  fun append(newState: ByteArray): Boolean = APPEND_TIMER.time {
+    if (isClosed) {
+      return@time false
+    }
+    if (isCheckpointNeeded) {
+      checkpoint()
+    }
+    val delta = StateDelta.between(state, newState) ?: return@time true
+    val payload = ByteBuffer.allocate(8 + delta.middle.size)
+      .putInt(delta.prefixLength)
+      .putInt(delta.suffixLength)
+      .put(delta.middle)
+    val crc = CRC32().also { it.update(payload.array()) }
+    val frame = ByteBuffer.allocate(8 + payload.capacity())
+      .putInt(payload.capacity())
+      .putInt(crc.value.toInt())
+      .put(payload.array())
+      .flip()
+    try {
+      while (frame.hasRemaining()) {
+        journalChannel.write(frame)
+      }
+    } catch (ex: IOException) {
+      // Recovery stops at a torn record, so the records written after it would be lost.
+      try {
+        journalChannel.truncate(journalSize)
+      } catch (truncateEx: IOException) {
+        ex.addSuppressed(truncateEx)
+        isCheckpointNeeded = true
+      }
+      throw ex
+    }
+    journalSize += frame.limit()
+    state = newState
+    RECORD_SIZE.record(frame.limit().toLong())
+
+    if (journalSize > maxOf(state.size.toLong(), MIN_COMPACTION_SIZE)) {
+      checkpoint()
+    } else {
+      scheduleSync()
+    }
+    true
+  }
+
+  /**
+   * Forces the written records to the disk.
+   */
+  @Synchronized
+  @Throws(IOException::class)
+  fun sync() {
+    isSyncScheduled = false
+    if (!isClosed) {
+      journalChannel.force(false)
+    }
+  }
+
+  @Synchronized
+  override fun close() {
+    if (isClosed) {
+      return
+    }
+    try {
+      journalChannel.force(false)
+      journalChannel.close()
+    } finally {
+      isClosed = true
+      lock.release()
+      lockChannel.close()
+    }
+  }
+
+  /**
+   * Closes the journal and deletes its directory. It is called when the project state is safe without the journal,
+   * e.g. when the project is saved or closed, so that the state is not offered for recovery.
+   */
+  @Synchronized
+  fun discard() {
+    close()
+    if (!dir.deleteRecursively()) {
+      LOG.debug("Can't delete recovery journal {}", dir)
+    }
+  }
+
+  /**
+   * Writes the current state as a new checkpoint and starts an empty journal. The checkpoint and the journal are
+   * marked with the same generation number, and a journal from the other generation is ignored by the recovery,
+   * so it is consistent if the process is killed between the two steps.
+   */
+  private fun checkpoint() = CHECKPOINT_TIMER.time {
+    generation++
+    File(dir, CHECKPOINT_FILE).writeAtomically { output ->
+      DataOutputStream(output).let {
+        it.writeInt(MAGIC)
+        it.writeLong(generation)
+        it.write(state)
+      }
+    }
+    File(dir, JOURNAL_FILE).writeAtomically { output ->
+      DataOutputStream(output).let {
+        it.writeInt(MAGIC)
+        it.writeLong(generation)
+      }
+    }
+    if (::journalChannel.isInitialized) {
+      journalChannel.close()
+    }
+    journalChannel = FileChannel.open(File(dir, JOURNAL_FILE).toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+    journalSize = HEADER_SIZE.toLong()
+    isCheckpointNeeded = false
+  }
+
+  private fun scheduleSync() {
+    if (!isSyncScheduled) {
+      isSyncScheduled = true
+      SYNC_EXECUTOR.schedule({
+        try {
+          sync()
+        } catch (ex: IOException) {
+          LOG.error("Failed to sync the recovery journal {}", dir, exception = ex)
+        }
+      }, syncDelayMillis, TimeUnit.MILLISECONDS)
+    }
+  }
+
+  companion object {
+    /**
+     * Creates a journal in the given directory, which must not contain another journal, and writes the initial
+     * state as the first checkpoint.
+     */
+    @JvmStatic
+    @JvmOverloads
+    @Throws(IOException::class)
+    fun create(dir: File, initialState: ByteArray, syncDelayMillis: Long = 500): RecoveryJournal {
+      if (!dir.isDirectory && !dir.mkdirs()) {
+        throw IOException("Failed to create recovery journal directory $dir")
+      }
+      return RecoveryJournal(dir, initialState, syncDelayMillis)
+    }
+
+    /**
+     * Replays the journal in the given directory onto its checkpoint. A torn or corrupted record, which may be
+     * left if the process was killed while writing it, ends the replay.
+     *
+     * @return the last recovered state, or null if there is no checkpoint or the journal is open by a running process
+     */
+    @JvmStatic
+    @Throws(IOException::class)
+    fun recover(dir: File): ByteArray? {
+      val checkpointFile = File(dir, CHECKPOINT_FILE)
+      if (!checkpointFile.isFile) {
+        return null
+      }
+      FileChannel.open(File(dir, LOCK_FILE).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE).use { lockChannel ->
+        val lock = try {
+          lockChannel.tryLock()
+        } catch (ex: OverlappingFileLockException) {
+          null
+        } ?: return null
+        try {
+          val checkpoint = ByteBuffer.wrap(checkpointFile.readBytes())
+          if (checkpoint.remaining() < HEADER_SIZE || checkpoint.getInt() != MAGIC) {
+            throw IOException("Recovery checkpoint $checkpointFile is corrupted")
+          }
+          val generation = checkpoint.getLong()
+          var state = ByteArray(checkpoint.remaining()).also { checkpoint.get(it) }
+
+          val journalFile = File(dir, JOURNAL_FILE)
+          if (!journalFile.isFile) {
+            return state
+          }
+          val journal = ByteBuffer.wrap(journalFile.readBytes())
+          if (journal.remaining() < HEADER_SIZE || journal.getInt() != MAGIC || journal.getLong() != generation) {
+            return state
+          }
+          while (journal.remaining() >= 8) {
+            val payloadLength = journal.getInt()
+            val crc = journal.getInt()
+            if (payloadLength < 8 || payloadLength > journal.remaining()) {
+              break
+            }
+            val payload = ByteArray(payloadLength).also { journal.get(it) }
+            if (CRC32().also { it.update(payload) }.value.toInt() != crc) {
+              break
+            }
+            val record = ByteBuffer.wrap(payload)
+            val delta = StateDelta(record.getInt(), record.getInt(), ByteArray(record.remaining()).also { record.get(it) })
+            state = delta.applyTo(state) ?: break
+          }
+          return state
+        } finally {
+          lock.release()
+        }
+      }
+    }
+
+    /**
+     * @return true if the given directory has a journal which is open by a running process
+     */
+    @JvmStatic
+    fun isLocked(dir: File): Boolean {
+      val lockFile = File(dir, LOCK_FILE)
+      if (!lockFile.isFile) {
+        return false
+      }
+      return try {
+        FileChannel.open(lockFile.toPath(), StandardOpenOption.WRITE).use { channel ->
+          channel.tryLock()?.let { it.release(); false } ?: true
+        }
+      } catch (ex: OverlappingFileLockException) {
+        true
+      } catch (ex: IOException) {
+        false
+      }
+    }
+  }
+}
+
+private const val MAGIC = 0x47504a31 // "GPJ1"
+private const val HEADER_SIZE = 12
+private const val MIN_COMPACTION_SIZE = 64 * 1024L
+private const val CHECKPOINT_FILE = "checkpoint"
+private const val JOURNAL_FILE = "journal"
+private const val LOCK_FILE = "lock"
+
+private val SYNC_EXECUTOR = Executors.newSingleThreadScheduledExecutor {
+  Thread(it, "Recovery Journal Sync").also { thread -> thread.isDaemon = true }
+}
+private val APPEND_TIMER = Metrics.timer("journal.append")
+private val CHECKPOINT_TIMER = Metrics.timer("journal.checkpoint")
+private val RECORD_SIZE = Metrics.histogram("journal.recordSize")
+private val LOG = GPLogger.create("Document")
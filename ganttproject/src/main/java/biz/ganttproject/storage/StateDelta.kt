@@ -0,0 +1,59 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.storage
+
+import java.util.Arrays
+
+/**
+ * Difference between two serialized project states: the lengths of their common prefix and suffix, and the bytes
+ * of the target state in between. An edit usually changes a small part of the project, so the delta is small.
+ */
+class StateDelta(val prefixLength: Int, val suffixLength: Int, val middle: ByteArray) {
+  /**
+   * @return the target state, or null if the delta can't be applied to the given state
+   */
+  fun applyTo(state: ByteArray): ByteArray? {
+    if (prefixLength < 0 || suffixLength < 0 || prefixLength.toLong() + suffixLength > state.size) {
+      return null
+    }
+    val result = ByteArray(prefixLength + middle.size + suffixLength)
+    System.arraycopy(state, 0, result, 0, prefixLength)
+    System.arraycopy(middle, 0, result, prefixLength, middle.size)
+    System.arraycopy(state, state.size - suffixLength, result, prefixLength + middle.size, suffixLength)
+    return result
+  }
+
+  companion object {
+    /**
+     * @return the delta which transforms the source state into the target one, or null if the states are equal
+     */
+    fun between(source: ByteArray, target: ByteArray): StateDelta? {
+      val mismatch = Arrays.mismatch(source, target)
+      if (mismatch == -1) {
+        return null
+      }
+      val maxSuffixLength = minOf(source.size, target.size) - mismatch
+      var suffixLength = 0
+      while (suffixLength < maxSuffixLength && source[source.size - 1 - suffixLength] == target[target.size - 1 - suffixLength]) {
+        suffixLength++
+      }
+      return StateDelta(mismatch, suffixLength, target.copyOfRange(mismatch, target.size - suffixLength))
+    }
+  }
+}
@@ -203,12 +203,12 @@ private class TaskMoveAction(
   override fun run(selection: List<Task>) {
     myTableConnector().commitEdit()
 
-    taskManager.algorithmCollection.scheduler.isEnabled = false
-    try {
-      myTableConnector().scrollTo(onAction(selection))
-    } finally {
-      taskManager.algorithmCollection.scheduler.isEnabled = true
+    // Moving many tasks is a single change for the listeners, and the tasks are rescheduled once.
+    var focusedTask: Task? = null
+    taskManager.runBulkUpdate {
+      focusedTask = onAction(selection)
     }
+    focusedTask?.let { myTableConnector().scrollTo(it) }
   }
 
   override fun asToolbarAction(): GPAction {
@@ -62,6 +62,7 @@ public abstract class AbstractChartImplementation implements TimelineChart, Zoom
   private final Set<ChartSelectionListener> mySelectionListeners = new LinkedHashSet<>();
   private final ChartComponentBase myChartComponent;
   private MouseInteraction myActiveInteraction;
+  private MouseEvent myPendingDragEvent;
   private final UIFacade myUiFacade;
   private VScrollController myVScrollController;
   private final Timer myTimer = new Timer();
@@ -173,7 +174,31 @@ public abstract class AbstractChartImplementation implements TimelineChart, Zoom
     setActiveInteraction(new ScrollViewInteraction(e, timelineFacade));
   }
 
+  /**
+   * Applies a mouse drag event to the active interaction. Drag events usually arrive faster than
+   * the chart is repainted, so they are coalesced: only the latest event which is pending when the
+   * event queue gets to the scheduled update is applied, and the chart is reset once per update.
+   */
+  public void applyDragEvent(MouseEvent e) {
+    boolean isUpdateScheduled = myPendingDragEvent != null;
+    myPendingDragEvent = e;
+    if (!isUpdateScheduled) {
+      SwingUtilities.invokeLater(this::flushDragEvent);
+    }
+  }
+
+  private void flushDragEvent() {
+    MouseEvent e = myPendingDragEvent;
+    myPendingDragEvent = null;
+    if (e != null && myActiveInteraction != null) {
+      myActiveInteraction.apply(e);
+      reset();
+    }
+  }
+
   public MouseInteraction finishInteraction() {
+    // Mouse release may come before the scheduled update, and the last position must not be lost.
+    flushDragEvent();
     try {
       if (getActiveInteraction() != null) {
         getActiveInteraction().finish();
@@ -185,6 +210,7 @@ public abstract class AbstractChartImplementation implements TimelineChart, Zoom
   }
 
   protected void setActiveInteraction(MouseInteraction activeInteraction) {
+    flushDragEvent();
     if (myActiveInteraction != null) {
       myActiveInteraction.finish();
     }
@@ -198,7 +224,7 @@ public abstract class AbstractChartImplementation implements TimelineChart, Zoom
   @Override
   public void zoomChanged(ZoomEvent e) {
     myChartComponent.invalidate();
-    myChartComponent.repaint();
+    myChartComponent.reset();
   }
 
   public void paintChart(Graphics g) {
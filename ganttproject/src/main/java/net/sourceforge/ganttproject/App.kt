@@ -19,6 +19,7 @@ along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
 package net.sourceforge.ganttproject
 
 import biz.ganttproject.LoggerApi
+import biz.ganttproject.Metrics
 import biz.ganttproject.app.*
 import biz.ganttproject.platform.DummyUpdater
 import biz.ganttproject.storage.cloud.GPCloudEnv
@@ -27,6 +28,7 @@ import com.beust.jcommander.JCommander
 import javafx.application.Platform
 import net.sourceforge.ganttproject.export.CommandLineExportApplication
 import net.sourceforge.ganttproject.gui.CommandLineProjectOpenStrategy
+import net.sourceforge.ganttproject.gui.UIUtil
 import net.sourceforge.ganttproject.language.GanttLanguage
 import net.sourceforge.ganttproject.plugins.PluginManager
 import net.sourceforge.ganttproject.task.TaskManagerImpl
@@ -36,6 +38,8 @@ import java.awt.event.WindowEvent
 import java.io.File
 import java.lang.Thread.UncaughtExceptionHandler
 import java.util.*
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
 import java.util.concurrent.atomic.AtomicReference
 import javax.swing.JFrame
 import javax.swing.JOptionPane
@@ -88,6 +92,9 @@ fun startUiApp(configure: (GanttProject) -> Unit = {}) {
 }
 
 val APP_LOGGER: LoggerApi<Logger> = GPLogger.create("App")
+private val STARTUP_LOGGER: LoggerApi<Logger> = GPLogger.create("Window.Startup")
+
+private const val LOGGING_STEP = "logging"
 
 typealias RunBeforeUi = ()->Unit
 typealias RunAfterWindowOpened = (JFrame) -> Unit
@@ -100,17 +107,33 @@ class AppBuilder(args: Array<String>) {
   val cliParser = JCommander(arrayOf(mainArgs, cliArgs), *args)
 
   fun isCli(): Boolean = !cliArgs.exporter.isNullOrBlank()
+  private val startup = StartupOrchestrator()
   private val runBeforeUiCommands = mutableListOf<RunBeforeUi>()
+  private var isLoggingEnabled = false
   private val runAfterWindowOpenedCommands = mutableListOf<RunAfterWindowOpened>()
   private val runAfterAppInitializedCommands = mutableListOf<RunAfterAppInitialized>()
   private val runWhenDocumentReady = mutableListOf<RunWhenDocumentReady>()
 
+  /**
+   * Adds a command which runs before the UI is created. Commands added with this method run one after another, in
+   * the order they were added, after the logging is set up.
+   */
   fun runBeforeUi(cmd: RunBeforeUi): AppBuilder {
     runBeforeUiCommands.add(cmd)
     return this
   }
+
+  /**
+   * Adds a named command which runs before the UI is created, in parallel with the commands it doesn't depend on.
+   */
+  fun runBeforeUi(id: String, dependsOn: List<String>, isWarmUp: Boolean = false, cmd: RunBeforeUi): AppBuilder {
+    startup.step(id, dependsOn, isWarmUp, cmd)
+    return this
+  }
+
   fun withLogging(): AppBuilder {
-    runBeforeUi {
+    isLoggingEnabled = true
+    runBeforeUi(LOGGING_STEP, dependsOn = listOf()) {
       if (mainArgs.log && "auto" == mainArgs.logFile) {
         mainArgs.logFile = System.getProperty("user.home") + File.separator + "ganttproject.log"
       }
@@ -124,7 +147,11 @@ class AppBuilder(args: Array<String>) {
       }
 
       GPLogger.logSystemInformation()
-
+      if (Metrics.isEnabled) {
+        val logDir = mainArgs.logFile.trim().takeIf { mainArgs.log && it.isNotEmpty() }?.let { File(it).absoluteFile.parentFile }
+          ?: File(System.getProperty("user.home"))
+        Metrics.startJsonDump(File(logDir, "ganttproject-metrics.json"), 60)
+      }
     }
     Runtime.getRuntime().addShutdownHook(Thread {
       GPLogger.printLogLocation()
@@ -199,11 +226,40 @@ class AppBuilder(args: Array<String>) {
   }
 
   fun launch() {
-    runBeforeUiCommands.forEach { cmd -> cmd() }
+    // The anonymous commands are declared here, so that they depend on the logging step no matter whether it was
+    // added before or after them.
+    var previousStep = if (isLoggingEnabled) LOGGING_STEP else null
+    runBeforeUiCommands.forEachIndexed { idx, cmd ->
+      val id = "beforeUi.$idx"
+      startup.step(id, dependsOn = listOfNotNull(previousStep), code = cmd)
+      previousStep = id
+    }
+    runBeforeUi("javafx", dependsOn = listOf()) {
+      CompletableFuture<Unit>().also { initialized -> UIUtil.initJavaFx { initialized.complete(Unit) } }.join()
+    }
+    // Font families are otherwise collected when the font options are first shown.
+    runBeforeUi("fonts", dependsOn = listOf("javafx"), isWarmUp = true) {
+      FontManager.fontFamilies
+    }
+    val beforeUiSteps = startup.requiredStepIds
+    try {
+      startup.start().join()
+    } catch (ex: CompletionException) {
+      throw ex.cause ?: ex
+    }
+    val beforeUiEnd = System.nanoTime()
     startUiApp { ganttProject: GanttProject ->
+      val mainWindowEnd = System.nanoTime()
+      startup.record("mainWindow", beforeUiSteps, beforeUiEnd, mainWindowEnd)
       ganttProject.updater = org.eclipse.core.runtime.Platform.getUpdater() ?: DummyUpdater
       ganttProject.addWindowListener(object : WindowAdapter() {
         override fun windowOpened(e: WindowEvent?) {
+          startup.record("firstFrame", listOf("mainWindow"), mainWindowEnd, System.nanoTime())
+          startup.report().also { report ->
+            STARTUP_LOGGER.debug(report.toString())
+            STARTUP_LOGGER.debug("First frame after {} ms, critical path: {}", report.timing("firstFrame")?.endMillis,
+              report.criticalPath("firstFrame").joinToString(" -> ") { it.id })
+          }
           runAfterWindowOpenedCommands.forEach { cmd -> cmd(ganttProject) }
         }
       })
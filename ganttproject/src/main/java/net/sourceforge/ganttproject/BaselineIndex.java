@@ -0,0 +1,90 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Read-only view of the baseline tasks which are packed into arrays sorted by task id, so that
+ * the baseline record of a task is found with a binary search instead of a list scan.
+ *
+ * The index is built once per baseline and is shared by everyone who reads the baseline: chart
+ * renderer and its copies used by the exporters.
+ */
+public class BaselineIndex {
+  private static final byte MILESTONE = 1;
+  private static final byte SUMMARY = 2;
+
+  private final int[] myIds;
+  private final long[] myStarts;
+  private final int[] myDurations;
+  private final byte[] myFlags;
+
+  public BaselineIndex(List<GanttPreviousStateTask> tasks) {
+    GanttPreviousStateTask[] sorted = tasks.toArray(new GanttPreviousStateTask[0]);
+    Arrays.sort(sorted, (t1, t2) -> Integer.compare(t1.getId(), t2.getId()));
+    int size = sorted.length;
+    myIds = new int[size];
+    myStarts = new long[size];
+    myDurations = new int[size];
+    myFlags = new byte[size];
+    for (int i = 0; i < size; i++) {
+      GanttPreviousStateTask task = sorted[i];
+      myIds[i] = task.getId();
+      myStarts[i] = task.getStart().getTimeInMillis();
+      myDurations[i] = task.getDuration();
+      myFlags[i] = (byte) ((task.isMilestone() ? MILESTONE : 0) | (task.hasNested() ? SUMMARY : 0));
+    }
+  }
+
+  public int size() {
+    return myIds.length;
+  }
+
+  /**
+   * @return position of the baseline record of the task with the given id or -1 if the baseline
+   * has no such task
+   */
+  public int indexOf(int taskId) {
+    int pos = Arrays.binarySearch(myIds, taskId);
+    return pos >= 0 ? pos : -1;
+  }
+
+  public int getId(int pos) {
+    return myIds[pos];
+  }
+
+  public Date getStart(int pos) {
+    return new Date(myStarts[pos]);
+  }
+
+  public int getDuration(int pos) {
+    return myDurations[pos];
+  }
+
+  public boolean isMilestone(int pos) {
+    return (myFlags[pos] & MILESTONE) != 0;
+  }
+
+  public boolean hasNested(int pos) {
+    return (myFlags[pos] & SUMMARY) != 0;
+  }
+}
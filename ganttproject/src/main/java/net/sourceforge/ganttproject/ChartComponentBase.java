@@ -25,6 +25,7 @@ import biz.ganttproject.core.time.TimeDuration;
 import biz.ganttproject.core.time.TimeUnit;
 import biz.ganttproject.core.time.TimeUnitStack;
 import biz.ganttproject.print.PrintChartApi;
+import kotlin.Unit;
 import net.sourceforge.ganttproject.action.view.ViewChartOptionsDialogAction;
 import net.sourceforge.ganttproject.chart.*;
 import net.sourceforge.ganttproject.chart.mouse.MouseInteraction;
@@ -33,7 +34,10 @@ import net.sourceforge.ganttproject.gui.UIConfiguration;
 import net.sourceforge.ganttproject.gui.UIFacade;
 import net.sourceforge.ganttproject.gui.zoom.ZoomListener;
 import net.sourceforge.ganttproject.gui.zoom.ZoomManager;
+import net.sourceforge.ganttproject.resource.ResourceEvent;
+import net.sourceforge.ganttproject.resource.ResourceView;
 import net.sourceforge.ganttproject.task.TaskManager;
+import net.sourceforge.ganttproject.task.event.TaskListenerAdapter;
 import org.eclipse.core.runtime.IStatus;
 
 import javax.imageio.ImageIO;
@@ -43,6 +47,8 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.Date;
 
@@ -77,6 +83,10 @@ public abstract class ChartComponentBase extends JPanel implements TimelineChart
 
   private final ViewChartOptionsDialogAction myOptionsDialogAction;
 
+  private BufferedImage myFrame;
+
+  private boolean isFrameValid;
+
   public ChartComponentBase(IGanttProject project, UIFacade uiFacade, ZoomManager zoomManager) {
     myProject = project;
     myUIFacade = uiFacade;
@@ -101,6 +111,32 @@ public abstract class ChartComponentBase extends JPanel implements TimelineChart
       getChartModel().resetOffsets();
       reset();
     });
+    // Charts show the tasks and the resources, so their changes make the painted frame stale.
+    myProject.getTaskManager().addTaskListener(new TaskListenerAdapter(() -> {
+      invalidateFrame();
+      return Unit.INSTANCE;
+    }));
+    myProject.getHumanResourceManager().addView(new ResourceView() {
+      @Override
+      public void resourceAdded(ResourceEvent event) {
+        invalidateFrame();
+      }
+
+      @Override
+      public void resourcesRemoved(ResourceEvent event) {
+        invalidateFrame();
+      }
+
+      @Override
+      public void resourceChanged(ResourceEvent e) {
+        invalidateFrame();
+      }
+
+      @Override
+      public void resourceAssignmentsChanged(ResourceEvent e) {
+        invalidateFrame();
+      }
+    });
   }
 
   @Override
@@ -216,7 +252,7 @@ public abstract class ChartComponentBase extends JPanel implements TimelineChart
   @Override
   public void setStartDate(Date startDate) {
     getImplementation().setStartDate(startDate);
-    repaint();
+    reset();
   }
 
   @Override
@@ -237,13 +273,13 @@ public abstract class ChartComponentBase extends JPanel implements TimelineChart
   @Override
   public void scrollBy(TimeDuration duration) {
     getImplementation().scrollBy(duration);
-    repaint();
+    reset();
   }
 
   @Override
   public void setStartOffset(int pixels) {
     getImplementation().setStartOffset(pixels);
-    repaint();
+    reset();
   }
 
   @Override
@@ -279,16 +315,59 @@ public abstract class ChartComponentBase extends JPanel implements TimelineChart
     getImplementation().resetRenderers();
   }
 
-  /** draw the panel */
+  /**
+   * Makes the next paint build a new frame. This is called when the chart model changes; the size changes
+   * are detected in paintComponent().
+   */
+  protected void invalidateFrame() {
+    isFrameValid = false;
+  }
+
+  /**
+   * Draws the panel. The chart scene is built and painted into a back buffer, which is reused as long as the
+   * chart has not been reset, the model has not changed and the size is the same. Other paints, e.g. when
+   * the mouse hover layer is repainted on every mouse move or when a window is dragged over the chart,
+   * just copy the buffer.
+   */
   @Override
   public void paintComponent(Graphics g) {
     super.paintComponent(g);
     getChartModel().setBounds(getSize());
-    getImplementation().paintChart(g);
+    Graphics2D g2 = (Graphics2D) g;
+    AffineTransform transform = g2.getTransform();
+    int frameWidth = (int) Math.ceil(getWidth() * transform.getScaleX());
+    int frameHeight = (int) Math.ceil(getHeight() * transform.getScaleY());
+    if (frameWidth <= 0 || frameHeight <= 0) {
+      return;
+    }
+    if (myFrame == null || myFrame.getWidth() != frameWidth || myFrame.getHeight() != frameHeight) {
+      myFrame = g2.getDeviceConfiguration().createCompatibleImage(frameWidth, frameHeight);
+      isFrameValid = false;
+    }
+    if (!isFrameValid) {
+      // Repaint requests which come while the frame is painted make it invalid again.
+      isFrameValid = true;
+      Graphics2D frameGraphics = myFrame.createGraphics();
+      try {
+        frameGraphics.setRenderingHints(g2.getRenderingHints());
+        frameGraphics.setColor(getBackground());
+        frameGraphics.fillRect(0, 0, frameWidth, frameHeight);
+        frameGraphics.scale(transform.getScaleX(), transform.getScaleY());
+        frameGraphics.setFont(g2.getFont());
+        getImplementation().paintChart(frameGraphics);
+      } catch (RuntimeException e) {
+        isFrameValid = false;
+        throw e;
+      } finally {
+        frameGraphics.dispose();
+      }
+    }
+    g2.drawImage(myFrame, 0, 0, getWidth(), getHeight(), null);
   }
 
   @Override
   public void reset() {
+    invalidateFrame();
     repaint();
   }
 
@@ -104,7 +104,7 @@ public class GanttGraphicArea extends ChartComponentBase implements GanttChart,
     myUndoManager = undoManager;
 
     myChartModel = new ChartModelImpl(getTaskManager(), app.getTimeUnitStack(), app.getUIConfiguration());
-    myChartModel.addOptionChangeListener(this::repaint);
+    myChartModel.addOptionChangeListener(this::reset);
     myStateDiffOptions = createBaselineColorOptions(myChartModel, app.getUIConfiguration());
     //this.tree = ttree;
     myViewState = new ChartViewState(this, app.getUIFacade());
@@ -243,7 +243,7 @@ public class GanttGraphicArea extends ChartComponentBase implements GanttChart,
     if (baseline == null) {
       setPreviousStateTasks(null);
     } else {
-      setPreviousStateTasks(baseline.load());
+      setPreviousStateTasks(baseline.getIndex());
     }
     myBaseline = baseline;
   }
@@ -266,8 +266,8 @@ public class GanttGraphicArea extends ChartComponentBase implements GanttChart,
     return myChartComponentImpl;
   }
 
-  public void setPreviousStateTasks(List<GanttPreviousStateTask> tasks) {
-    int rowHeight = myChartModel.setBaseline(tasks);
+  public void setPreviousStateTasks(BaselineIndex baseline) {
+    int rowHeight = myChartModel.setBaseline(baseline);
     taskTableChartConnector.getRowHeight().setValue(Math.max(
         rowHeight + 0.0, taskTableChartConnector.getMinRowHeight().getValue()
     ));
@@ -276,7 +276,7 @@ public class GanttGraphicArea extends ChartComponentBase implements GanttChart,
 
   @Override
   public void customPropertyChange(CustomPropertyEvent event) {
-    repaint();
+    reset();
   }
 
   @Override
@@ -291,7 +291,7 @@ public class GanttGraphicArea extends ChartComponentBase implements GanttChart,
 
   @Override
   public void projectClosed() {
-    repaint();
+    reset();
     setPreviousStateTasks(null);
   }
 
@@ -18,24 +18,13 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
 package net.sourceforge.ganttproject;
 
-import java.io.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.sax.TransformerHandler;
-import javax.xml.transform.stream.StreamResult;
-
-import net.sourceforge.ganttproject.io.HistorySaver;
-import net.sourceforge.ganttproject.io.SaverBase;
-import net.sourceforge.ganttproject.parser.PreviousStateTasksTagHandler;
 import net.sourceforge.ganttproject.task.Task;
 
 import net.sourceforge.ganttproject.task.TaskManager;
-import org.xml.sax.SAXException;
 
 /**
  * @author nbohn
@@ -45,76 +34,44 @@ public class GanttPreviousState {
 
   private String myName;
 
-  private File myFile;
+  private volatile BaselineIndex myIndex;
 
   public GanttPreviousState(String name, List<GanttPreviousStateTask> tasks) {
     myName = name;
-    myTasks = tasks;
-  }
-
-  public void init() throws IOException {
-    myFile = createTemporaryFile();
-    myFile.deleteOnExit();
+    myTasks = Collections.unmodifiableList(tasks);
   }
 
   public void setName(String name) {
     myName = name;
   }
 
-  private class BaselineSaver extends SaverBase {
-    void save(File file, List<GanttPreviousStateTask> tasks) throws TransformerConfigurationException, SAXException {
-      StreamResult result = new StreamResult(file);
-      TransformerHandler handler = createHandler(result);
-      HistorySaver saver = new HistorySaver();
-      handler.startDocument();
-      saver.saveBaseline(myName, tasks, handler);
-      handler.endDocument();
-    }
-  }
-
-  public void saveFile() throws IOException {
-    BaselineSaver saver = new BaselineSaver();
-    try {
-      saver.save(myFile, myTasks);
-    } catch (TransformerConfigurationException e) {
-      throw new IOException(e);
-    } catch (SAXException e) {
-      throw new IOException(e);
-    }
-  }
-
-  private static File createTemporaryFile() throws IOException {
-    String fileName = "_GanttProject_ps_" + (int) (10000. * Math.random());
-    return File.createTempFile(fileName, ".gan");
-  }
-
   public String getName() {
     return myName;
   }
 
-  public void remove() {
-    myFile.delete();
+  /**
+   * @return baseline tasks. Baseline tasks never change, so the list which was passed to the
+   * constructor is returned.
+   */
+  public List<GanttPreviousStateTask> load() {
+    return myTasks;
   }
 
-  public List<GanttPreviousStateTask> load() {
-    ArrayList<GanttPreviousStateTask> tasks = null;
-    PreviousStateTasksTagHandler handler = new PreviousStateTasksTagHandler();
-    SAXParserFactory factory = SAXParserFactory.newInstance();
-    try {
-      SAXParser saxParser = factory.newSAXParser();
-      saxParser.parse(myFile, handler);
-    } catch (ParserConfigurationException e) {
-      e.printStackTrace();
-      return null;
-    } catch (SAXException e) {
-      e.printStackTrace();
-      return null;
-    } catch (IOException e) {
-      e.printStackTrace();
-      return null;
+  /**
+   * @return the index of baseline tasks, built on the first call
+   */
+  public BaselineIndex getIndex() {
+    BaselineIndex result = myIndex;
+    if (result == null) {
+      synchronized (this) {
+        result = myIndex;
+        if (result == null) {
+          result = new BaselineIndex(myTasks);
+          myIndex = result;
+        }
+      }
     }
-    tasks = handler.getTasks();
-    return tasks;
+    return result;
   }
 
   public static List<GanttPreviousStateTask> createTasks(TaskManager taskManager) {
@@ -327,6 +327,8 @@ public class GanttProject extends GanttProjectBase implements ResourceView, Gant
         }
         return mapping;
       });
+    getTaskManager().addTaskListener(calculatedPropertyUpdater.getTaskListener());
+    getActiveCalendar().addListener(calculatedPropertyUpdater.getCalendarListener());
     getProjectImpl().addProjectEventListener(new ProjectEventListener.Stub() {
       @Override
       public void projectOpened(BarrierEntrance barrierRegistry, Barrier<IGanttProject> barrier) {
@@ -349,7 +351,7 @@ public class GanttProject extends GanttProjectBase implements ResourceView, Gant
 
       @Override
       public void undoableEditHappened(UndoableEditEvent e) {
-        calculatedPropertyUpdater.update();
+        calculatedPropertyUpdater.updateChanged();
       }
     });
   }
@@ -457,8 +459,8 @@ public class GanttProject extends GanttProjectBase implements ResourceView, Gant
   @Override
   public void languageChanged(Event event) {
     applyComponentOrientation(language.getComponentOrientation());
-    area.repaint();
-    getResourcePanel().area.repaint();
+    area.reset();
+    getResourcePanel().area.reset();
 
     CustomColumnsStorage.changeLanguage(language);
 
@@ -610,6 +612,8 @@ public class GanttProject extends GanttProjectBase implements ResourceView, Gant
       var barrier = getProjectUIFacade().ensureProjectSaved(getProject());
       barrier.await(result -> {
         if (result) {
+          // Closes the recovery journal, so that the cleanly closed session is not offered for recovery.
+          getUndoManager().die();
           getProject().close();
           setVisible(false);
           dispose();
@@ -789,9 +793,6 @@ public class GanttProject extends GanttProjectBase implements ResourceView, Gant
     getTaskCustomColumnManager().reset();
     getResourceCustomPropertyManager().reset();
 
-    for (GanttPreviousState myPreviousState : myPreviousStates) {
-      myPreviousState.remove();
-    }
     myPreviousStates = new ArrayList<>();
     myCalendar.reset();
     //myFacadeInvalidator.projectClosed();
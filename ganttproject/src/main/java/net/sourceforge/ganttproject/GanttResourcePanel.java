@@ -124,7 +124,7 @@ public class GanttResourcePanel extends TreeTableContainer<HumanResource, Resour
     return new ProjectEventListener.Stub() {
       @Override
       public void projectClosed() {
-        area.repaint();
+        area.reset();
         reset();
       }
     };
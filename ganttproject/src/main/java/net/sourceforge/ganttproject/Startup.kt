@@ -0,0 +1,138 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+
+/**
+ * Runs the application startup steps declared as a dependency graph. A step starts on a background thread as soon
+ * as all its dependencies complete, so independent steps run in parallel. The time of each step is recorded, and
+ * the report shows the critical path, that is, the chain of steps which determined the total startup time.
+ *
+ * Steps which run elsewhere, e.g. the main window creation in the event dispatch thread, can be added to the report
+ * with [record].
+ */
+class StartupOrchestrator(private val executor: Executor = createStartupExecutor()) {
+  private class Step(val id: String, val dependsOn: List<String>, val isWarmUp: Boolean, val code: () -> Unit)
+
+  private val steps = mutableMapOf<String, Step>()
+  private val timings = ConcurrentHashMap<String, StepTiming>()
+  private val startNanos = System.nanoTime()
+
+  /**
+   * Declares a step.
+   *
+   * @param dependsOn ids of the steps which must complete before this one starts
+   * @param isWarmUp warm-up steps prepare something which is otherwise initialized on demand, so the startup
+   * doesn't wait until they complete
+   */
+  fun step(id: String, dependsOn: List<String> = listOf(), isWarmUp: Boolean = false, code: () -> Unit): StartupOrchestrator {
+    require(id !in steps) { "Startup step $id is already declared" }
+    steps[id] = Step(id, dependsOn, isWarmUp, code)
+    return this
+  }
+
+  /** Ids of the declared steps which are not warm-up steps. */
+  val requiredStepIds: List<String> get() = steps.values.filter { !it.isWarmUp }.map { it.id }
+
+  /**
+   * Starts all declared steps.
+   *
+   * @return future which completes when all steps except the warm-up ones complete, or completes exceptionally
+   * when any of them fails
+   */
+  fun start(): CompletableFuture<Void> {
+    val futures = mutableMapOf<String, CompletableFuture<Void>>()
+    fun schedule(step: Step, path: List<String>): CompletableFuture<Void> = futures[step.id] ?: run {
+      require(step.id !in path) { "Startup steps have a dependency cycle: ${(path + step.id).joinToString(" -> ")}" }
+      val dependencies = step.dependsOn.map { depId ->
+        val dependency = requireNotNull(steps[depId]) { "Startup step ${step.id} depends on unknown step $depId" }
+        schedule(dependency, path + step.id)
+      }
+      CompletableFuture.allOf(*dependencies.toTypedArray()).thenRunAsync({
+        val stepStart = System.nanoTime()
+        try {
+          step.code()
+        } finally {
+          record(step.id, step.dependsOn, stepStart, System.nanoTime())
+        }
+      }, executor).also { futures[step.id] = it }
+    }
+    steps.values.forEach { schedule(it, listOf()) }
+    return CompletableFuture.allOf(*steps.values.filter { !it.isWarmUp }.map { futures[it.id]!! }.toTypedArray())
+  }
+
+  /**
+   * Records the time of a step which was executed outside of this orchestrator.
+   */
+  fun record(id: String, dependsOn: List<String>, stepStartNanos: Long, stepEndNanos: Long) {
+    timings[id] = StepTiming(
+      id, dependsOn, Thread.currentThread().name,
+      (stepStartNanos - startNanos) / 1_000_000, (stepEndNanos - startNanos) / 1_000_000
+    )
+  }
+
+  fun report() = StartupReport(timings.values.sortedBy { it.startMillis })
+}
+
+/**
+ * Time of a startup step, in milliseconds since the startup began.
+ */
+class StepTiming(val id: String, val dependsOn: List<String>, val threadName: String, val startMillis: Long, val endMillis: Long) {
+  val durationMillis get() = endMillis - startMillis
+}
+
+class StartupReport(val timings: List<StepTiming>) {
+  val totalMillis: Long get() = timings.maxOfOrNull { it.endMillis } ?: 0
+
+  fun timing(id: String): StepTiming? = timings.find { it.id == id }
+
+  /**
+   * @return chain of steps which ends with the given step, or with the step completed last, where each step is
+   * preceded by its dependency which completed last
+   */
+  fun criticalPath(lastStepId: String? = null): List<StepTiming> {
+    val id2timing = timings.associateBy { it.id }
+    val result = mutableListOf<StepTiming>()
+    var current = if (lastStepId == null) timings.maxByOrNull { it.endMillis } else id2timing[lastStepId]
+    while (current != null) {
+      result.add(0, current)
+      current = current.dependsOn.mapNotNull { id2timing[it] }.maxByOrNull { it.endMillis }
+    }
+    return result
+  }
+
+  override fun toString() = buildString {
+    appendLine("Startup completed in $totalMillis ms")
+    timings.forEach {
+      appendLine("  ${it.id}: ${it.startMillis}..${it.endMillis} ms (${it.durationMillis} ms) on ${it.threadName}")
+    }
+    append("  critical path: ")
+    append(criticalPath().joinToString(" -> ") { "${it.id} (${it.durationMillis} ms)" })
+  }
+}
+
+private fun createStartupExecutor() = Executors.newFixedThreadPool(
+  Runtime.getRuntime().availableProcessors().coerceIn(2, 4)
+) { runnable ->
+  Thread(runnable, "Startup").also { it.isDaemon = true }
+}
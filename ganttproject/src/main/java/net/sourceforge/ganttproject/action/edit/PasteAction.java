@@ -90,7 +90,7 @@ public class PasteAction extends GPAction {
 
   private void pasteInternalFlavor(final ChartSelection selection) {
     myUndoManager.undoableEdit(getLocalizedName(), () -> {
-      myViewmanager.getActiveChart().paste(selection);
+      myProject.getTaskManager().runBulkUpdate(() -> myViewmanager.getActiveChart().paste(selection));
       selection.commitClipboardTransaction();
     });
   }
@@ -28,6 +28,7 @@ import net.sourceforge.ganttproject.document.Document;
 import net.sourceforge.ganttproject.document.DocumentManager;
 import net.sourceforge.ganttproject.document.ReadOnlyProxyDocument;
 import net.sourceforge.ganttproject.gui.ProjectUIFacade;
+import net.sourceforge.ganttproject.gui.DiagnosticsDialog;
 import net.sourceforge.ganttproject.gui.UIFacade;
 import net.sourceforge.ganttproject.gui.UIUtil;
 import net.sourceforge.ganttproject.gui.ViewLogDialog;
@@ -50,11 +51,13 @@ public class HelpMenu {
 
   private final AboutAction myAboutAction;
   private final ViewLogAction myViewLogAction;
+  private final DiagnosticsAction myDiagnosticsAction;
   private final RecoverLastProjectAction myRecoverAction;
 
   public HelpMenu(IGanttProject project, UIFacade uiFacade, ProjectUIFacade projectUiFacade) {
     myAboutAction = new AboutAction(uiFacade);
     myViewLogAction = new ViewLogAction(uiFacade);
+    myDiagnosticsAction = new DiagnosticsAction(uiFacade);
     myRecoverAction = new RecoverLastProjectAction(project, uiFacade, projectUiFacade);
   }
 
@@ -62,6 +65,7 @@ public class HelpMenu {
     JMenu result = UIUtil.createTooltiplessJMenu(GPAction.createVoidAction("help"));
     result.add(myAboutAction);
     result.add(myViewLogAction);
+    result.add(myDiagnosticsAction);
     result.add(myRecoverAction);
     return result;
   }
@@ -94,6 +98,20 @@ public class HelpMenu {
     }
   }
 
+  private static class DiagnosticsAction extends GPAction {
+    private final UIFacade myUiFacade;
+
+    DiagnosticsAction(UIFacade uiFacade) {
+      super("help.diagnostics");
+      myUiFacade = uiFacade;
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+      DiagnosticsDialog.show(myUiFacade);
+    }
+  }
+
   private static class RecoverLastProjectAction extends GPAction {
     private final UIFacade myUiFacade;
     private final DocumentManager myDocumentManager;
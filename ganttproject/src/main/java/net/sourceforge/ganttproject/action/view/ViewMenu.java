@@ -58,7 +58,6 @@ public class ViewMenu extends JMenu {
 
     GPViewImpl(Chart chart) {
       myChart = chart;
-      myComponent = (Component) chart.getAdapter(Container.class);
     }
 
     @Override
@@ -72,6 +71,10 @@ public class ViewMenu extends JMenu {
 
     @Override
     public Component getViewComponent() {
+      // The chart component is created when the view is first shown.
+      if (myComponent == null) {
+        myComponent = (Component) myChart.getAdapter(Container.class);
+      }
       return myComponent;
     }
 
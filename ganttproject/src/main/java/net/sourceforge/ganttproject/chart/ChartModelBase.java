@@ -18,6 +18,7 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
 package net.sourceforge.ganttproject.chart;
 
+import biz.ganttproject.Metrics;
 import biz.ganttproject.core.calendar.CalendarEvent;
 import biz.ganttproject.core.chart.canvas.Canvas;
 import biz.ganttproject.core.chart.canvas.Painter;
@@ -67,6 +68,9 @@ public abstract class ChartModelBase implements /* TimeUnitStack.Listener, */Cha
     void finish();
   }
 
+  private static final Metrics.Timer ourSceneBuildTimer = Metrics.timer("chart.buildScene");
+  private static final Metrics.Timer ourPaintTimer = Metrics.timer("chart.paint");
+
   private class ScrollingSessionImpl implements ScrollingSession {
     private int myPrevXpos;
 
@@ -411,12 +415,24 @@ public abstract class ChartModelBase implements /* TimeUnitStack.Listener, */Cha
   @Override
   public void paint(Graphics g) {
     int height = (int) getBounds().getHeight();
+    long start = ourSceneBuildTimer.start();
     for (SceneBuilder renderer : getRenderers()) {
       renderer.reset(height);
     }
     for (SceneBuilder renderer : getRenderers()) {
       renderer.build();
     }
+    ourSceneBuildTimer.stop(start);
+
+    start = ourPaintTimer.start();
+    try {
+      paintScene(g);
+    } finally {
+      ourPaintTimer.stop(start);
+    }
+  }
+
+  private void paintScene(Graphics g) {
     myPainter.setGraphics(g);
     for (SceneBuilder renderer : getRenderers()) {
       renderer.getCanvas().paint(myPainter);
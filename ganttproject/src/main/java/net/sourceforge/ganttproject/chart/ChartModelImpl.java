@@ -14,7 +14,7 @@ import biz.ganttproject.core.option.GPOptionGroup;
 import biz.ganttproject.core.time.TimeUnitStack;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
-import net.sourceforge.ganttproject.GanttPreviousStateTask;
+import net.sourceforge.ganttproject.BaselineIndex;
 import net.sourceforge.ganttproject.chart.gantt.ITaskActivity;
 import net.sourceforge.ganttproject.chart.item.ChartItem;
 import net.sourceforge.ganttproject.chart.item.TaskBoundaryChartItem;
@@ -52,7 +52,7 @@ public class ChartModelImpl extends ChartModelBase {
 
   private Set<Task> myHiddenTasks;
 
-  private List<GanttPreviousStateTask> myBaseline;
+  private BaselineIndex myBaseline;
 
   public ChartModelImpl(TaskManager taskManager, TimeUnitStack timeUnitStack, final UIConfiguration projectConfig) {
     super(taskManager, timeUnitStack, projectConfig);
@@ -236,12 +236,12 @@ public class ChartModelImpl extends ChartModelBase {
     return myTaskRendererImpl.getLabelOptions();
   }
 
-  public int setBaseline(List<GanttPreviousStateTask> tasks) {
-    myBaseline = tasks;
+  public int setBaseline(BaselineIndex baseline) {
+    myBaseline = baseline;
     return (calculateRowHeight());
   }
 
-  public List<GanttPreviousStateTask> getBaseline() {
+  public BaselineIndex getBaseline() {
     return myBaseline;
   }
 
@@ -261,6 +261,11 @@ private void paintPreviousStateTask(Rectangle next) {
     myPolygonRenderer.setGraphics(myGraphics);
   }
 
+  @Override
+  public java.awt.Rectangle getClipBounds() {
+    return myGraphics.getClipBounds();
+  }
+
   @Override
   public void prePaint() {
     myGraphics.setStroke(defaultStroke);
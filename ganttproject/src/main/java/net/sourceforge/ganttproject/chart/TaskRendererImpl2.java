@@ -29,7 +29,7 @@ import biz.ganttproject.core.option.GPOptionGroup;
 import biz.ganttproject.core.time.TimeDuration;
 import biz.ganttproject.core.time.TimeUnit;
 import com.google.common.collect.ImmutableList;
-import net.sourceforge.ganttproject.GanttPreviousStateTask;
+import net.sourceforge.ganttproject.BaselineIndex;
 import net.sourceforge.ganttproject.chart.gantt.*;
 import net.sourceforge.ganttproject.task.*;
 
@@ -114,7 +114,7 @@ public class TaskRendererImpl2 extends ChartRendererBase {
     }
 
     @Override
-    public List<GanttPreviousStateTask> getBaseline() {
+    public BaselineIndex getBaseline() {
       return myModel.getBaseline();
     }
 
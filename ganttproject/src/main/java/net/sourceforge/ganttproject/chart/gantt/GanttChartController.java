@@ -110,16 +110,14 @@ public class GanttChartController extends AbstractChartImplementation implements
   @Override
   public void beginChangeTaskEndInteraction(MouseEvent initiatingEvent, TaskBoundaryChartItem taskBoundary) {
     setActiveInteraction(new ChangeTaskEndInteraction(taskBoundary, new TimelineFacadeImpl(super.getChartModel(),
-        getTaskManager()), getUIFacade(),
-        getTaskManager().getAlgorithmCollection().getRecalculateTaskScheduleAlgorithm()));
+        getTaskManager()), getUIFacade()));
     setCursor(GanttGraphicArea.E_RESIZE_CURSOR);
   }
 
   @Override
   public void beginChangeTaskStartInteraction(MouseEvent e, TaskBoundaryChartItem taskBoundary) {
     setActiveInteraction(new ChangeTaskStartInteraction(e, taskBoundary, new TimelineFacadeImpl(getChartModel(),
-        getTaskManager()), getUIFacade(),
-        getTaskManager().getAlgorithmCollection().getRecalculateTaskScheduleAlgorithm()));
+        getTaskManager()), getUIFacade()));
     setCursor(GanttGraphicArea.W_RESIZE_CURSOR);
   }
 
@@ -151,7 +149,7 @@ public class GanttChartController extends AbstractChartImplementation implements
   @Override
   public void beginMoveTaskInteractions(MouseEvent e, List<Task> tasks) {
     setActiveInteraction(new MoveTaskInteractions(e, tasks, new TimelineFacadeImpl(getChartModel(), getTaskManager()),
-        getUIFacade(), getTaskManager().getAlgorithmCollection().getRecalculateTaskScheduleAlgorithm()));
+        getUIFacade()));
   }
 
   @Override
@@ -33,7 +33,7 @@ import biz.ganttproject.core.time.TimeUnit;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
-import net.sourceforge.ganttproject.GanttPreviousStateTask;
+import net.sourceforge.ganttproject.BaselineIndex;
 import net.sourceforge.ganttproject.task.*;
 
 import javax.annotation.Nullable;
@@ -58,7 +58,7 @@ public class GanttChartSceneBuilder {
     List<ITask> getVisibleTasks();
     List<ITaskSceneTask> getVisibleTaskSceneTasks();
     List<ITaskSceneTask> getTasksInDocumentOrder();
-    List<GanttPreviousStateTask> getBaseline();
+    BaselineIndex getBaseline();
     TaskActivitySceneBuilder.ChartApi getChartApi(TaskLabelSceneBuilder<ITaskSceneTask> labelsRenderer);
     GPCalendarCalc getCalendar();
     Date getStartDate();
@@ -237,16 +237,16 @@ public class GanttChartSceneBuilder {
                 input.getCalendar(),
                 (Date s, Date e) -> input.createLength(t.getDuration().getTimeUnit(), s, e)
         );
-        List<GanttPreviousStateTask> baseline = input.getBaseline();
+        BaselineIndex baseline = input.getBaseline();
         if (baseline == null) {
             return;
         }
-        GanttPreviousStateTask taskBaseline = findMatchingBaselineTask(t, baseline);
-        if (taskBaseline == null) {
+        int baselinePos = baseline.indexOf(t.getRowId());
+        if (baselinePos < 0) {
             return;
         }
-        Date startDate = taskBaseline.getStart().getTime();
-        TimeDuration duration = input.createLength(taskBaseline.getDuration());
+        Date startDate = baseline.getStart(baselinePos);
+        TimeDuration duration = input.createLength(baseline.getDuration(baselinePos));
         Date endDate = input.getCalendar().shiftDate(startDate, duration);
         if (endDate.equals(t.getEnd().getTime())) {
             return;
@@ -260,15 +260,6 @@ public class GanttChartSceneBuilder {
         styleBaselineRectangles(baselineRectangles, styles);
       }
     
-      private GanttPreviousStateTask findMatchingBaselineTask(ITaskSceneTask task, List<GanttPreviousStateTask> baseline) {
-        for (GanttPreviousStateTask taskBaseline : baseline) {
-            if (taskBaseline.getId() == task.getRowId()) {
-                return taskBaseline;
-            }
-        }
-        return null;
-      }
-    
       private List<String> determineBaselineStyles(ITaskSceneTask task, Date baselineEndDate) {
         List<String> styles = new ArrayList<>();
         if (task.isMilestone()) {
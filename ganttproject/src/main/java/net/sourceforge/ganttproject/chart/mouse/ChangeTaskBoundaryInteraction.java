@@ -18,14 +18,11 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
 package net.sourceforge.ganttproject.chart.mouse;
 
-import net.sourceforge.ganttproject.GPLogger;
 import net.sourceforge.ganttproject.chart.TaskInteractionHintRenderer;
 import net.sourceforge.ganttproject.chart.mouse.MouseInteraction.TimelineFacade;
 import net.sourceforge.ganttproject.gui.UIFacade;
 import net.sourceforge.ganttproject.task.Task;
 import net.sourceforge.ganttproject.task.TaskMutator;
-import net.sourceforge.ganttproject.task.algorithm.RecalculateTaskScheduleAlgorithm;
-import net.sourceforge.ganttproject.task.dependency.TaskDependencyException;
 
 import java.awt.*;
 import java.awt.event.MouseEvent;
@@ -40,14 +37,10 @@ public abstract class ChangeTaskBoundaryInteraction extends MouseInteractionBase
 
   private final UIFacade myUiFacade;
 
-  private final RecalculateTaskScheduleAlgorithm myTaskScheduleAlgorithm;
-
-  protected ChangeTaskBoundaryInteraction(Date startDate, Task task, TimelineFacade chartDateGrid, UIFacade uiFacade,
-      RecalculateTaskScheduleAlgorithm taskScheduleAlgorithm) {
+  protected ChangeTaskBoundaryInteraction(Date startDate, Task task, TimelineFacade chartDateGrid, UIFacade uiFacade) {
     super(startDate, chartDateGrid);
     myTask = task;
     myUiFacade = uiFacade;
-    myTaskScheduleAlgorithm = taskScheduleAlgorithm;
   }
 
   protected void updateTooltip(MouseEvent e) {
@@ -76,17 +69,10 @@ public abstract class ChangeTaskBoundaryInteraction extends MouseInteractionBase
   }
 
   private void doFinish(TaskMutator mutator) {
-    mutator.commit();
+    // The bulk update reschedules the dependent tasks when it is committed.
+    myTask.getManager().runBulkUpdate(mutator::commit);
     setState(COMPLETED);
     myLastNotes = null;
-    try {
-      myTaskScheduleAlgorithm.run();
-    } catch (TaskDependencyException e) {
-      if (!GPLogger.log(e)) {
-        e.printStackTrace(System.err);
-      }
-      myUiFacade.showErrorDialog(e);
-    }
     myUiFacade.getActiveChart().reset();
   }
 
@@ -27,16 +27,13 @@ import biz.ganttproject.core.time.TimeDuration;
 import net.sourceforge.ganttproject.chart.item.TaskBoundaryChartItem;
 import net.sourceforge.ganttproject.gui.UIFacade;
 import net.sourceforge.ganttproject.task.TaskMutator;
-import net.sourceforge.ganttproject.task.algorithm.RecalculateTaskScheduleAlgorithm;
 
 public class ChangeTaskEndInteraction extends ChangeTaskBoundaryInteraction implements MouseInteraction {
   private TaskMutator myMutator;
   private WorkingUnitCounter myCounter;
 
-  public ChangeTaskEndInteraction(TaskBoundaryChartItem taskBoundary, TimelineFacade chartDateGrid, UIFacade uiFacade,
-      RecalculateTaskScheduleAlgorithm taskScheduleAlgorithm) {
-    super(taskBoundary.getTask().getStart().getTime(), taskBoundary.getTask(), chartDateGrid, uiFacade,
-        taskScheduleAlgorithm);
+  public ChangeTaskEndInteraction(TaskBoundaryChartItem taskBoundary, TimelineFacade chartDateGrid, UIFacade uiFacade) {
+    super(taskBoundary.getTask().getStart().getTime(), taskBoundary.getTask(), chartDateGrid, uiFacade);
     myMutator = getTask().createMutator();
     myCounter = new WorkingUnitCounter(getChartDateGrid().getCalendar(), getTask().getDuration().getTimeUnit());
   }
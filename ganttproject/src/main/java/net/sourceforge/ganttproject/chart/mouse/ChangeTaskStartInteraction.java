@@ -25,16 +25,14 @@ import biz.ganttproject.core.time.CalendarFactory;
 import net.sourceforge.ganttproject.chart.item.TaskBoundaryChartItem;
 import net.sourceforge.ganttproject.gui.UIFacade;
 import net.sourceforge.ganttproject.task.TaskMutator;
-import net.sourceforge.ganttproject.task.algorithm.RecalculateTaskScheduleAlgorithm;
 
 public class ChangeTaskStartInteraction extends ChangeTaskBoundaryInteraction implements MouseInteraction {
   private TaskMutator myMutator;
 
   public ChangeTaskStartInteraction(MouseEvent e, TaskBoundaryChartItem taskBoundary, TimelineFacade chartDateGrid,
-      UIFacade uiFacade, RecalculateTaskScheduleAlgorithm taskScheduleAlgorithm) {
+      UIFacade uiFacade) {
 
-    super(taskBoundary.getTask().getEnd().getTime(), taskBoundary.getTask(), chartDateGrid, uiFacade,
-        taskScheduleAlgorithm);
+    super(taskBoundary.getTask().getEnd().getTime(), taskBoundary.getTask(), chartDateGrid, uiFacade);
     myMutator = getTask().createMutator();
   }
 
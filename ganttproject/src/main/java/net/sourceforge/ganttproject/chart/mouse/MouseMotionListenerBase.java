@@ -40,10 +40,8 @@ public class MouseMotionListenerBase extends MouseMotionAdapter {
   @Override
   public void mouseDragged(MouseEvent e) {
     super.mouseDragged(e);
-    MouseInteraction activeInteraction = myChartImplementation.getActiveInteraction();
-    if (activeInteraction != null) {
-      activeInteraction.apply(e);
-      myChartImplementation.reset();
+    if (myChartImplementation.getActiveInteraction() != null) {
+      myChartImplementation.applyDragEvent(e);
     }
   }
 }
\ No newline at end of file
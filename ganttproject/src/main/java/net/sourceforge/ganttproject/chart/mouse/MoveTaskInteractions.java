@@ -22,8 +22,6 @@ import biz.ganttproject.core.time.TimeDuration;
 import net.sourceforge.ganttproject.gui.UIFacade;
 import net.sourceforge.ganttproject.task.ShiftMutator;
 import net.sourceforge.ganttproject.task.Task;
-import net.sourceforge.ganttproject.task.algorithm.RecalculateTaskScheduleAlgorithm;
-import net.sourceforge.ganttproject.task.dependency.TaskDependencyException;
 
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
@@ -38,14 +36,10 @@ public class MoveTaskInteractions extends MouseInteractionBase implements MouseI
 
   private final UIFacade myUiFacade;
 
-  private final RecalculateTaskScheduleAlgorithm myTaskScheduleAlgorithm;
-
-  public MoveTaskInteractions(MouseEvent e, List<Task> tasks, TimelineFacade chartDateGrid, UIFacade uiFacade,
-      RecalculateTaskScheduleAlgorithm taskScheduleAlgorithm) {
+  public MoveTaskInteractions(MouseEvent e, List<Task> tasks, TimelineFacade chartDateGrid, UIFacade uiFacade) {
     super(chartDateGrid.getDateAt(e.getX()), chartDateGrid);
     myUiFacade = uiFacade;
     myTasks = tasks;
-    myTaskScheduleAlgorithm = taskScheduleAlgorithm;
     myMutators = new ArrayList<>(tasks.size());
     for (Task t : tasks) {
       myMutators.add(t.createShiftMutator());
@@ -80,15 +74,14 @@ public class MoveTaskInteractions extends MouseInteractionBase implements MouseI
   }
 
   private void doFinish() {
-    for (var mutator : myMutators) {
-      mutator.commit();
-    }
+    // Listeners learn about the moved tasks and their dependants once, when all mutators are committed,
+    // and the commit reschedules the dependants.
+    myTasks.get(0).getManager().runBulkUpdate(() -> {
+      for (var mutator : myMutators) {
+        mutator.commit();
+      }
+    });
     setState(COMPLETED);
-    try {
-      myTaskScheduleAlgorithm.run();
-    } catch (TaskDependencyException e) {
-      myUiFacade.showErrorDialog(e);
-    }
     myUiFacade.getActiveChart().reset();
   }
 }
\ No newline at end of file
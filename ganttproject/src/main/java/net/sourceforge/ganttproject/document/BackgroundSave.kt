@@ -0,0 +1,50 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.document
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+
+/**
+ * Captures the project state in the calling thread and writes the document in the save thread. Saves run in
+ * the order they were started, and each one writes the state which was captured when it was started.
+ *
+ * @return future which completes when the document is written, or completes exceptionally if the save failed
+ */
+fun saveInBackground(document: Document, executor: Executor = SAVE_EXECUTOR): CompletableFuture<Document> {
+  val result = CompletableFuture<Document>()
+  val write: () -> Unit = if (document is ProxyDocument) {
+    val snapshot = document.takeContents()
+    ({ document.write(snapshot) })
+  } else {
+    document::write
+  }
+  executor.execute {
+    try {
+      write()
+      result.complete(document)
+    } catch (ex: Throwable) {
+      result.completeExceptionally(ex)
+    }
+  }
+  return result
+}
+
+private val SAVE_EXECUTOR = Executors.newSingleThreadExecutor { Thread(it, "Project Save").also { thread -> thread.isDaemon = true } }
@@ -23,6 +23,9 @@ import org.eclipse.core.runtime.IStatus
 import org.eclipse.core.runtime.Status
 import java.io.*
 import java.net.URI
+import java.nio.file.AtomicMoveNotSupportedException
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
 
 /**
  * This class implements the interface Document for file access on local file
@@ -87,7 +90,7 @@ class FileDocument(val file: File) : AbstractDocument() {
             throw IOException("This write has been cancelled because of the lost update: file last modification ts=${file.lastModified()}, content sha256=${fileBytes.sha256()}. This most likely means that the file has been modified by someone else. You may want to save the project to some other file.")
           }
         }
-        file.writeBytes(memBytes)
+        file.writeAtomically { it.write(memBytes) }
         if (file.readBytes().fingerprint() != memBytes.fingerprint()) {
           throw IOException("Write verification failed: after write the file contents on disk is different from the contents in GanttProject memory. You may want to save a backup copy and find out what went wrong.")
         }
@@ -146,6 +149,32 @@ class FileDocument(val file: File) : AbstractDocument() {
 }
 
 
+/**
+ * Writes the file through a temporary file in the same directory, which is forced to the disk and then renamed over
+ * this file. The file is either completely written or left as it was, even if the process is killed while writing.
+ * If the file system can't rename atomically, the file is replaced with a plain move.
+ */
+@Throws(IOException::class)
+fun File.writeAtomically(write: (OutputStream) -> Unit) {
+  val tempFile = File(absoluteFile.parentFile, ".$name.${System.nanoTime()}.tmp")
+  try {
+    FileOutputStream(tempFile).use { output ->
+      BufferedOutputStream(output).let {
+        write(it)
+        it.flush()
+      }
+      output.channel.force(true)
+    }
+    try {
+      Files.move(tempFile.toPath(), toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+    } catch (ex: AtomicMoveNotSupportedException) {
+      Files.move(tempFile.toPath(), toPath(), StandardCopyOption.REPLACE_EXISTING)
+    }
+  } finally {
+    tempFile.delete()
+  }
+}
+
 private fun (ByteArray).fingerprint(): String = Hashing.farmHashFingerprint64().hashBytes(this).toString()
 private fun (ByteArray).sha256(): String = Hashing.sha256().hashBytes(this).toString()
 
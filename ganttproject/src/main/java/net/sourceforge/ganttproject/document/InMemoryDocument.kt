@@ -0,0 +1,62 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.document
+
+import org.eclipse.core.runtime.IStatus
+import org.eclipse.core.runtime.Status
+import java.io.ByteArrayOutputStream
+import java.io.InputStream
+import java.io.OutputStream
+import java.net.URI
+
+/**
+ * Document which keeps its contents in memory, e.g. a project state which is written and read by the undo manager.
+ * Use it as a physical document of a ProxyDocument.
+ */
+class InMemoryDocument(private val name: String, contents: ByteArray = ByteArray(0)) : AbstractDocument() {
+  var contents: ByteArray = contents
+    private set
+
+  override fun getFileName(): String = name
+
+  override fun canRead(): Boolean = true
+
+  override fun canWrite(): IStatus = Status.OK_STATUS
+
+  override fun isValidForMRU(): Boolean = false
+
+  override fun getInputStream(): InputStream = contents.inputStream()
+
+  override fun getOutputStream(): OutputStream = object : ByteArrayOutputStream() {
+    override fun close() {
+      super.close()
+      contents = toByteArray()
+    }
+  }
+
+  override fun getPath(): String = name
+
+  override fun write() {
+    // Contents are written through the output stream
+  }
+
+  override fun getURI(): URI? = null
+
+  override fun isLocal(): Boolean = false
+}
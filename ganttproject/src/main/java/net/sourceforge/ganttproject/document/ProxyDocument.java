@@ -27,6 +27,7 @@ import net.sourceforge.ganttproject.IGanttProject;
 import net.sourceforge.ganttproject.gui.GPColorChooser;
 import net.sourceforge.ganttproject.gui.UIFacade;
 import net.sourceforge.ganttproject.io.GPSaver;
+import net.sourceforge.ganttproject.io.SaveProgress;
 import net.sourceforge.ganttproject.language.GanttLanguage;
 import net.sourceforge.ganttproject.parser.*;
 import net.sourceforge.ganttproject.resource.HumanResourceManager;
@@ -60,7 +61,7 @@ public class ProxyDocument implements Document {
   private final ColumnList myTaskVisibleFields;
 
   private final ColumnList myResourceVisibleFields;
-  private byte[] myContents;
+  private GPSaver.Snapshot mySnapshot;
 
   ProxyDocument(DocumentCreator creator, Document physicalDocument, IGanttProject project, UIFacade uiFacade,
       ColumnList taskVisibleFields, ColumnList resourceVisibleFields, ParserFactory parserFactory) {
@@ -166,25 +167,42 @@ public class ProxyDocument implements Document {
     }
   }
 
-  public void createContents() throws IOException {
-    if (myContents == null) {
-      GPSaver saver = myParserFactory.newSaver();
-      ByteArrayOutputStream bufferStream = new ByteArrayOutputStream();
-      saver.save(bufferStream);
-      bufferStream.flush();
-      myContents = bufferStream.toByteArray();
+  /**
+   * Captures the project state which is written by the next {@link #write()} call. It has to be called in the
+   * thread which modifies the project, and then the document can be written in any thread.
+   */
+  public synchronized void createContents() throws IOException {
+    if (mySnapshot == null) {
+      mySnapshot = myParserFactory.newSaver().createSnapshot();
     }
   }
+
+  /**
+   * Takes the captured project state, or captures the current one, for writing it with {@link #write(GPSaver.Snapshot)}.
+   * Like {@link #createContents()}, it has to be called in the thread which modifies the project.
+   */
+  public synchronized GPSaver.Snapshot takeContents() throws IOException {
+    createContents();
+    GPSaver.Snapshot result = mySnapshot;
+    mySnapshot = null;
+    return result;
+  }
+
   @Override
   public void write() throws IOException {
-    if (myContents == null) {
-      createContents();
-    }
+    write(takeContents());
+  }
+
+  /**
+   * Writes the given project state. The document output stream is opened when the whole snapshot is serialized,
+   * so a failed save leaves the document intact.
+   */
+  public void write(GPSaver.Snapshot snapshot) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    snapshot.writeTo(buffer, SaveProgress.NONE);
     try (OutputStream output = getOutputStream()) {
-      output.write(myContents);
+      buffer.writeTo(output);
       output.flush();
-    } finally {
-      myContents = null;
     }
   }
 
@@ -18,8 +18,9 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
 package net.sourceforge.ganttproject.document.webdav;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 import net.sourceforge.ganttproject.document.webdav.WebDavResource.WebDavException;
 
@@ -28,26 +29,51 @@ import net.sourceforge.ganttproject.document.webdav.WebDavResource.WebDavExcepti
  * This class implements an OutputStream for documents on
  * WebDAV-enabled-servers. It is a helper class for HttpDocument.
  *
+ * The content is spooled to a temporary file once it grows over a small in-memory buffer,
+ * and is uploaded from there on {@link #close()}, because the server needs to know
+ * the content length in advance.
+ *
  * @see HttpDocument
  * @author Michael Haeusler (michael at akatose.de)
  */
-class HttpDocumentOutputStream extends ByteArrayOutputStream {
+class HttpDocumentOutputStream extends OutputStream {
 
   private final HttpDocument myDocument;
 
+  private final SpoolingOutputStream myContent = new SpoolingOutputStream();
+
+  private boolean isClosed;
+
   HttpDocumentOutputStream(HttpDocument document) {
-    super();
     myDocument = document;
   }
 
+  @Override
+  public void write(int b) throws IOException {
+    myContent.write(b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    myContent.write(b, off, len);
+  }
+
   @Override
   public void close() throws IOException {
-    super.close();
-    WebDavResource wr = myDocument.getWebdavResource();
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
     try {
-      wr.write(toByteArray());
-    } catch (WebDavException e) {
-      throw new IOException(e);
+      myContent.close();
+      WebDavResource wr = myDocument.getWebdavResource();
+      try (InputStream is = myContent.openInputStream()) {
+        wr.write(is, myContent.size());
+      } catch (WebDavException e) {
+        throw new IOException(e);
+      }
+    } finally {
+      myContent.dispose();
     }
   }
 }
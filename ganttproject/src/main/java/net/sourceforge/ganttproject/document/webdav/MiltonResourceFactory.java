@@ -28,8 +28,12 @@ import io.milton.httpclient.Host;
 import io.milton.httpclient.ProxyDetails;
 import net.sourceforge.ganttproject.GPLogger;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.logging.Level;
 
@@ -66,6 +70,76 @@ public class MiltonResourceFactory {
     }
   }
 
+  /**
+   * Content of the recently transferred documents together with their ETags. If the server
+   * reports the same ETag next time, the document is read from here instead of downloading it again.
+   */
+  static class ContentCache {
+    private static final int MAX_ENTRIES = 8;
+
+    private static class Entry {
+      final String etag;
+      final SpoolingOutputStream content;
+
+      Entry(String etag, SpoolingOutputStream content) {
+        this.etag = etag;
+        this.content = content;
+      }
+    }
+
+    // Entries are keyed by URL and user name, so that content read with one credentials is not served with others.
+    private final Map<Key, Entry> myEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Opens the cached content if its ETag matches the given one. The stream is opened under the cache lock,
+     * so a concurrent {@link #put} or {@link #invalidate} can't dispose the content in between.
+     *
+     * @return the content stream or null if there is no matching content
+     * @throws IOException if the cached content can't be read; it is evicted then
+     */
+    synchronized InputStream open(String url, String username, String etag) throws IOException {
+      Key key = new Key(url, username, null);
+      Entry entry = myEntries.get(key);
+      if (entry == null || etag == null || !etag.equals(entry.etag)) {
+        return null;
+      }
+      try {
+        return entry.content.openInputStream();
+      } catch (IOException e) {
+        myEntries.remove(key);
+        entry.content.dispose();
+        throw e;
+      }
+    }
+
+    synchronized void put(String url, String username, String etag, SpoolingOutputStream content) {
+      Entry replaced = myEntries.put(new Key(url, username, null), new Entry(etag, content));
+      if (replaced != null && replaced.content != content) {
+        replaced.content.dispose();
+      }
+      if (myEntries.size() > MAX_ENTRIES) {
+        Map.Entry<Key, Entry> eldest = myEntries.entrySet().iterator().next();
+        myEntries.remove(eldest.getKey());
+        eldest.getValue().content.dispose();
+      }
+    }
+
+    /**
+     * Removes the cached content of the given URL for all users.
+     */
+    synchronized void invalidate(String url) {
+      for (Iterator<Map.Entry<Key, Entry>> it = myEntries.entrySet().iterator(); it.hasNext(); ) {
+        Map.Entry<Key, Entry> entry = it.next();
+        if (Objects.equal(url, entry.getKey().url)) {
+          it.remove();
+          entry.getValue().content.dispose();
+        }
+      }
+    }
+  }
+
+  private static final ContentCache ourContentCache = new ContentCache();
+
   private final Map<String, Host> myHostCache = Maps.newHashMap();
   private final Map<Key, MiltonResourceImpl> myResourceCache = Maps.newHashMap();
   private String myUsername;
@@ -96,6 +170,10 @@ public class MiltonResourceFactory {
     myResourceCache.clear();
   }
 
+  ContentCache getContentCache() {
+    return ourContentCache;
+  }
+
   public void setCredentials(String username, String password) {
     myUsername = username;
     myPassword = password;
@@ -34,13 +34,14 @@ import io.milton.httpclient.IfMatchCheck;
 import io.milton.httpclient.ProgressListener;
 import io.milton.httpclient.Resource;
 import io.milton.httpclient.Utils.CancelledException;
+import net.sourceforge.ganttproject.GPLogger;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.text.MessageFormat;
 import java.util.Collections;
 import java.util.List;
@@ -57,6 +58,8 @@ public class MiltonResourceImpl implements WebDavResource {
   private final Host myHost;
   private Boolean myExistance;
   private MiltonResourceFactory myFactory;
+  // ETag of the document version which we have read or written most recently
+  private String myEtag;
 
   MiltonResourceImpl(WebDavUri webDavUri, Resource impl, MiltonResourceFactory factory) {
     myUrl = webDavUri;
@@ -270,26 +273,33 @@ public class MiltonResourceImpl implements WebDavResource {
   }
 
   @Override
-  public void write(byte[] byteArray) throws WebDavException {
+  public void write(InputStream content, long length) throws WebDavException {
     MiltonResourceImpl parent = (MiltonResourceImpl) getParent();
     if (!parent.exists()) {
       throw new WebDavException(MessageFormat.format("Folder {0} does not exist", parent.getName()));
     }
     assert parent.myImpl instanceof Folder;
     Folder parentFolder = (Folder) parent.myImpl;
+    myFactory.getContentCache().invalidate(getUrl());
     try {
-      InputStream is = new BufferedInputStream(new ByteArrayInputStream(byteArray));
       if (myImpl != null && myImpl.getLockToken() != null) {
-        parentFolder.upload(getName(), is, Long.valueOf(byteArray.length),
+        parentFolder.upload(getName(), content, Long.valueOf(length),
             "application/xml", new IfMatchCheck(myImpl.getLockToken(), false, true), null);
+      } else if (isStrongEtag(myEtag)) {
+        // Nobody else has written the document since we read it if it still has the same ETag.
+        parentFolder.upload(getName(), content, Long.valueOf(length),
+            "application/xml", new IfMatchCheck(myEtag, false, true), null);
       } else {
-        parentFolder.upload(getName(), is, Long.valueOf(byteArray.length), null);
+        parentFolder.upload(getName(), content, Long.valueOf(length), null);
       }
     } catch (NotAuthorizedException e) {
       throw new WebDavException(MessageFormat.format("User {0} is probably not authorized to access {1}", getUsername(), myUrl.hostName), e);
     } catch (BadRequestException e) {
       throw new WebDavException(MessageFormat.format("Bad request when accessing {0}", myUrl.hostName), e);
     } catch (HttpException e) {
+      if (e.getResult() == 412) {
+        throw new WebDavException(MessageFormat.format("Document {0} has been modified on {1} by someone else", myUrl.path, myUrl.hostName), e);
+      }
       throw new WebDavException(MessageFormat.format("HTTP problems when accessing {0}", myUrl.hostName), e);
     } catch (ConflictException e) {
       throw new WebDavException(MessageFormat.format("Conflict when accessing {0}", myUrl.hostName), e);
@@ -300,21 +310,207 @@ public class MiltonResourceImpl implements WebDavResource {
     } catch (IOException e) {
       throw new WebDavException(MessageFormat.format("I/O problems when uploading {0} to {1}", myUrl.path, myUrl.hostName), e);
     }
+    // The upload has changed the ETag, so we fetch the new one for the next conditional request.
+    // The document is already written at this point, so a failure here must not fail the save.
+    try {
+      Resource uploaded = findFresh();
+      myEtag = uploaded instanceof File ? ((File) uploaded).getEtag() : null;
+      myExistance = Boolean.valueOf(uploaded != null);
+    } catch (WebDavException e) {
+      GPLogger.logToLogger(e);
+      myFactory.getContentCache().invalidate(getUrl());
+      myEtag = null;
+      myExistance = null;
+    }
+  }
+
+  private static boolean isStrongEtag(String etag) {
+    return etag != null && !etag.startsWith("W/");
+  }
+
+  /**
+   * Fetches the current resource properties from the server. Unlike getOptionalImpl(), this method
+   * always issues a request. The cached implementation object is kept because it holds the lock token.
+   */
+  private Resource findFresh() throws WebDavException {
+    try {
+      Resource result = getHost().find(myUrl.path);
+      if (myImpl == null) {
+        myImpl = result;
+      }
+      return result;
+    } catch (NotAuthorizedException e) {
+      throw new WebDavException(MessageFormat.format("User {0} is not authorized to access {1}", getUsername(), myUrl.hostName), e);
+    } catch (BadRequestException e) {
+      throw new WebDavException(MessageFormat.format("Bad request when accessing {0}", myUrl.hostName), e);
+    } catch (IOException e) {
+      throw new WebDavException(MessageFormat.format("I/O problems when accessing {0}", myUrl.hostName), e);
+    } catch (HttpException e) {
+      throw new WebDavException(MessageFormat.format("HTTP problems when accessing {0}", myUrl.hostName), e);
+    }
   }
 
   @Override
   public InputStream getInputStream() throws WebDavException {
-    assertExists();
-    assert myImpl instanceof File;
-    File file = (File) myImpl;
-    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    Resource fresh = findFresh();
+    if (fresh == null) {
+      throw new WebDavException(MessageFormat.format("Resource {0} does not exist on {1}", myUrl.path, myUrl.hostName));
+    }
+    assert fresh instanceof File;
+    File file = (File) fresh;
+    String url = getUrl();
+    String etag = file.getEtag();
+    myEtag = etag;
     try {
-      file.download(content, PROGRESS_LISTENER_STUB);
-      return new ByteArrayInputStream(content.toByteArray());
-    } catch (CancelledException e) {
-      throw new WebDavException("File download has been canceled", e);
-    } catch (HttpException e) {
-      throw new WebDavException(MessageFormat.format("HTTP error {0} while downloading file", e.getResult()), e);
+      InputStream cached = myFactory.getContentCache().open(url, getUsername(), etag);
+      if (cached != null) {
+        return cached;
+      }
+    } catch (IOException e) {
+      // Cached copy is not readable anymore and has been evicted, let's download the document
+    }
+    return new DownloadInputStream(file, url, etag);
+  }
+
+  /**
+   * Stream which receives the document from the server in a background thread through a pipe with
+   * a bounded buffer, so that the caller can parse the document while it is being downloaded.
+   * The downloaded bytes are also spooled to a local copy, which is cached if the server reported
+   * an ETag.
+   * <p>
+   * The downloader never blocks in the pipe for longer than {@link #READER_TIMEOUT_MILLIS}: if the reader
+   * stops reading or closes the stream, the download is aborted and its connection is released.
+   */
+  private class DownloadInputStream extends PipedInputStream {
+    private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+    private static final long READER_TIMEOUT_MILLIS = 60_000;
+    private volatile Exception myFailure;
+    private boolean isClosedByReader;
+
+    DownloadInputStream(File file, String url, String etag) throws WebDavException {
+      super(PIPE_BUFFER_SIZE);
+      PipedOutputStream pipe;
+      try {
+        pipe = new PipedOutputStream(this);
+      } catch (IOException e) {
+        throw new WebDavException("Failed to start file download", e);
+      }
+      SpoolingOutputStream copy = new SpoolingOutputStream();
+      Thread downloader = new Thread(() -> {
+        try {
+          file.download(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+              awaitSpace();
+              pipe.write(b);
+              copy.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+              copy.write(b, off, len);
+              while (len > 0) {
+                // Writing no more than the free space, the pipe doesn't block
+                int chunk = Math.min(len, awaitSpace());
+                pipe.write(b, off, chunk);
+                off += chunk;
+                len -= chunk;
+              }
+            }
+          }, PROGRESS_LISTENER_STUB);
+          copy.close();
+          if (etag != null) {
+            myFactory.getContentCache().put(url, getUsername(), etag, copy);
+          } else {
+            copy.dispose();
+          }
+        } catch (Exception e) {
+          myFailure = e;
+          copy.dispose();
+        } finally {
+          try {
+            pipe.close();
+          } catch (IOException e) {
+            // Reader has gone away, nothing to do
+          }
+        }
+      }, "WebDAV download " + url);
+      downloader.setDaemon(true);
+      downloader.start();
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+      int result = super.read();
+      // Wakes up the downloader waiting for the free space
+      notifyAll();
+      if (result == -1) {
+        checkFailure();
+      }
+      return result;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+      int result = super.read(b, off, len);
+      // Wakes up the downloader waiting for the free space
+      notifyAll();
+      if (result == -1) {
+        checkFailure();
+      }
+      return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+      synchronized (this) {
+        isClosedByReader = true;
+        notifyAll();
+      }
+      super.close();
+    }
+
+    /**
+     * Waits until the reader frees some space in the pipe buffer. This runs in the downloader thread,
+     * which is the only writer, so the free space can only grow after this returns.
+     *
+     * @return the number of bytes which can be written without blocking
+     * @throws IOException if the reader has closed the stream or hasn't read anything for too long
+     */
+    private synchronized int awaitSpace() throws IOException {
+      long deadline = System.currentTimeMillis() + READER_TIMEOUT_MILLIS;
+      while (true) {
+        if (isClosedByReader) {
+          throw new IOException("Reader has closed the stream");
+        }
+        int free = in < 0 ? buffer.length : in == out ? 0 : in > out ? buffer.length - (in - out) : out - in;
+        if (free > 0) {
+          return free;
+        }
+        long timeout = deadline - System.currentTimeMillis();
+        if (timeout <= 0) {
+          throw new IOException(MessageFormat.format("Reader hasn''t read from the stream in {0} seconds", READER_TIMEOUT_MILLIS / 1000));
+        }
+        try {
+          wait(timeout);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("File download has been interrupted", e);
+        }
+      }
+    }
+
+    private void checkFailure() throws IOException {
+      Exception failure = myFailure;
+      if (failure instanceof CancelledException) {
+        throw new IOException("File download has been canceled", failure);
+      }
+      if (failure instanceof HttpException) {
+        throw new IOException(MessageFormat.format("HTTP error {0} while downloading file", ((HttpException) failure).getResult()), failure);
+      }
+      if (failure != null) {
+        throw new IOException("File download failed", failure);
+      }
     }
   }
 
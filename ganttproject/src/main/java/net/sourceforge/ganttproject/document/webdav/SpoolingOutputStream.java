@@ -0,0 +1,143 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.document.webdav;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Output stream which keeps the first bytes in memory and spills everything to a temporary
+ * file once the content grows over the threshold. When closed, the content can be read
+ * any number of times with {@link #openInputStream()} until {@link #dispose()} is called.
+ */
+class SpoolingOutputStream extends OutputStream {
+  static final int DEFAULT_THRESHOLD = 1 << 20;
+
+  private final int myThreshold;
+  private ByteArrayOutputStream myBuffer = new ByteArrayOutputStream();
+  private File myFile;
+  private OutputStream myFileStream;
+  private long mySize;
+  private boolean isClosed;
+  private boolean isDisposed;
+
+  SpoolingOutputStream() {
+    this(DEFAULT_THRESHOLD);
+  }
+
+  SpoolingOutputStream(int threshold) {
+    myThreshold = threshold;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (isClosed) {
+      throw new IOException("Stream is closed");
+    }
+    if (myFileStream == null && mySize + len > myThreshold) {
+      spill();
+    }
+    if (myFileStream == null) {
+      myBuffer.write(b, off, len);
+    } else {
+      myFileStream.write(b, off, len);
+    }
+    mySize += len;
+  }
+
+  private void spill() throws IOException {
+    myFile = File.createTempFile("_GanttProject_webdav_", ".tmp");
+    myFile.deleteOnExit();
+    myFileStream = new BufferedOutputStream(new FileOutputStream(myFile));
+    myBuffer.writeTo(myFileStream);
+    myBuffer = null;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (myFileStream != null) {
+      myFileStream.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    if (myFileStream != null) {
+      myFileStream.close();
+    }
+  }
+
+  long size() {
+    return mySize;
+  }
+
+  boolean isSpilled() {
+    return myFile != null;
+  }
+
+  synchronized InputStream openInputStream() throws IOException {
+    if (isDisposed) {
+      throw new IOException("Content has been disposed");
+    }
+    if (!isClosed) {
+      throw new IllegalStateException("Stream must be closed before reading its content");
+    }
+    if (myFile != null) {
+      return new BufferedInputStream(new FileInputStream(myFile));
+    }
+    return new ByteArrayInputStream(myBuffer.toByteArray());
+  }
+
+  /**
+   * Deletes the content. The streams which are already open keep reading it: they have a copy of the
+   * buffer or an open file handle. Where an open file can't be deleted, it is deleted on exit.
+   */
+  synchronized void dispose() {
+    isDisposed = true;
+    if (myFileStream != null) {
+      try {
+        myFileStream.close();
+      } catch (IOException e) {
+        // We are deleting the file anyway
+      }
+    }
+    if (myFile != null) {
+      myFile.delete();
+    }
+    myBuffer = null;
+    isClosed = true;
+  }
+}
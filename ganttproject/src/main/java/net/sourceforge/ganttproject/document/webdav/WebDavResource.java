@@ -18,6 +18,7 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
 */
 package net.sourceforge.ganttproject.document.webdav;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.List;
 
@@ -163,10 +164,24 @@ public interface WebDavResource {
    * @param byteArray data to write
    * @throws WebDavException if writing fails, e.g. due to network problems
    */
-  void write(byte[] byteArray) throws WebDavException;
+  default void write(byte[] byteArray) throws WebDavException {
+    write(new ByteArrayInputStream(byteArray), byteArray.length);
+  }
+
+  /**
+   * Writes data to the resource, reading it from the given stream. The caller is responsible
+   * for closing the stream.
+   *
+   * @param content data to write
+   * @param length number of bytes in the content
+   * @throws WebDavException if writing fails, e.g. due to network problems or if the resource
+   * was modified on the server since this client has read it
+   */
+  void write(InputStream content, long length) throws WebDavException;
 
   /**
-   * Reads data from the resource.
+   * Reads data from the resource. Implementation may return a stream which is still receiving
+   * data from the server, so the caller should read it promptly and close it when done.
    *
    * @throws WebDavException if reading fails, e.g. due to network problems
    */
@@ -0,0 +1,72 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.gui;
+
+import biz.ganttproject.Metrics;
+import net.sourceforge.ganttproject.action.CancelAction;
+import net.sourceforge.ganttproject.action.GPAction;
+import net.sourceforge.ganttproject.gui.UIFacade.Dialog;
+import net.sourceforge.ganttproject.language.GanttLanguage;
+
+import javax.swing.Action;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import java.awt.event.ActionEvent;
+import java.util.Map;
+
+/**
+ * Shows the values of the performance metrics in a dialog.
+ */
+public class DiagnosticsDialog {
+  public static void show(UIFacade uiFacade) {
+    final JTextArea textArea = new JTextArea(getText(), 20, 80);
+    textArea.setEditable(false);
+    Action refreshAction = new GPAction("help.diagnostics.refresh") {
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        textArea.setText(getText());
+      }
+    };
+    Action resetAction = new GPAction("help.diagnostics.reset") {
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        Metrics.reset();
+        textArea.setText(getText());
+      }
+    };
+    Dialog dlg = uiFacade.createDialog(new JScrollPane(textArea),
+        new Action[] { refreshAction, resetAction, CancelAction.CLOSE },
+        GanttLanguage.getInstance().getText("help.diagnostics.title"));
+    dlg.show();
+  }
+
+  private static String getText() {
+    if (!Metrics.isEnabled()) {
+      return GanttLanguage.getInstance().formatText("help.diagnostics.disabled", "-Dganttproject.metrics=true");
+    }
+    StringBuilder result = new StringBuilder();
+    for (Map.Entry<String, Map<String, Number>> metric : Metrics.snapshot().entrySet()) {
+      result.append(metric.getKey()).append('\n');
+      for (Map.Entry<String, Number> value : metric.getValue().entrySet()) {
+        result.append("    ").append(value.getKey()).append(": ").append(value.getValue()).append('\n');
+      }
+    }
+    return result.toString();
+  }
+}
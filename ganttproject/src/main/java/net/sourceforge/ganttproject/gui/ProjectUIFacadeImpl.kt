@@ -42,6 +42,7 @@ import net.sourceforge.ganttproject.document.Document
 import net.sourceforge.ganttproject.document.Document.DocumentException
 import net.sourceforge.ganttproject.document.DocumentManager
 import net.sourceforge.ganttproject.document.ProxyDocument
+import net.sourceforge.ganttproject.document.saveInBackground
 import net.sourceforge.ganttproject.document.webdav.WebDavStorageImpl
 import net.sourceforge.ganttproject.gui.projectwizard.NewProjectWizard
 import net.sourceforge.ganttproject.importer.BufferProject
@@ -53,12 +54,17 @@ import net.sourceforge.ganttproject.resource.HumanResourceMerger.MergeResourcesO
 import net.sourceforge.ganttproject.task.event.*
 import net.sourceforge.ganttproject.task.export
 import net.sourceforge.ganttproject.task.importFromDatabase
+import net.sourceforge.ganttproject.undo.GPUndoListener
 import net.sourceforge.ganttproject.undo.GPUndoManager
 import java.io.File
 import java.io.IOException
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletionException
 import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicLong
 import java.util.logging.Level
 import javax.swing.SwingUtilities
+import javax.swing.event.UndoableEditEvent
 
 
 @ExperimentalCoroutinesApi
@@ -69,38 +75,61 @@ class ProjectUIFacadeImpl(
   private val i18n = GanttLanguage.getInstance()
 
   private val myConverterGroup = GPOptionGroup("convert", ProjectOpenStrategy.milestonesOption)
-  private var isSaving = false
+  // Number of the last started save, and of the newest save which has updated the project state after completion.
+  private val lastStartedSave = AtomicLong()
+  private val lastCompletedSave = AtomicLong()
 
-  override fun saveProject(project: IGanttProject, onFinish: Channel<Boolean>?) {
-    if (isSaving) {
-      GPLogger.logToLogger("We're saving the project now. This save request was rejected")
+  /**
+   * Records if the project was edited after the save started. The project is written in the background, so it may
+   * be edited while it is being saved.
+   */
+  private class EditDuringSaveListener : GPUndoListener {
+    @Volatile
+    var isEdited = false
+      private set
+
+    override fun undoableEditHappened(e: UndoableEditEvent) {
+      isEdited = true
     }
-    isSaving = true
-    try {
-      val broadcastWaitScope = CoroutineScope(Executors.newFixedThreadPool(2).asCoroutineDispatcher())
-      val broadcastChannel = BroadcastChannel<Boolean>(1)
-      broadcastChannel.openSubscription().let { channel ->
-        broadcastWaitScope.launch {
-          if (channel.receive()) {
-            afterSaveProject(project)
-            channel.cancel()
-          }
+    override fun undoOrRedoHappened() {
+      isEdited = true
+    }
+    override fun undoReset() {}
+  }
+
+  /**
+   * Saves the project in the background. Saves may overlap: they are written one after another, and each one
+   * tracks the edits made since it started, so that a save which completes after the project was edited leaves
+   * the project modified.
+   */
+  override fun saveProject(project: IGanttProject, onFinish: Channel<Boolean>?) {
+    val saveNumber = lastStartedSave.incrementAndGet()
+    val editListener = EditDuringSaveListener()
+    undoManager.addUndoableEditListener(editListener)
+    val broadcastWaitScope = CoroutineScope(Executors.newFixedThreadPool(2).asCoroutineDispatcher())
+    val broadcastChannel = BroadcastChannel<Boolean>(1)
+    broadcastChannel.openSubscription().let { channel ->
+      broadcastWaitScope.launch {
+        val isSaved = channel.receive()
+        undoManager.removeUndoableEditListener(editListener)
+        // A save which completes after a newer one doesn't know about the edits the newer one has saved.
+        if (isSaved && lastCompletedSave.getAndAccumulate(saveNumber, ::maxOf) < saveNumber) {
+          afterSaveProject(project, editListener.isEdited)
         }
+        channel.cancel()
       }
-      onFinish?.let {
-        broadcastChannel.openSubscription().let { channel -> broadcastWaitScope.launch {
-          it.send(channel.receive())
-          channel.cancel()
-        }}
-      }
-      ProjectSaveFlow(project = project, onFinish = broadcastChannel,
-        signin = this::signin,
-        error = this::onError,
-        saveAs = { saveProjectAs(project) }
-      ).run()
-    } finally {
-      isSaving = false
     }
+    onFinish?.let {
+      broadcastChannel.openSubscription().let { channel -> broadcastWaitScope.launch {
+        it.send(channel.receive())
+        channel.cancel()
+      }}
+    }
+    ProjectSaveFlow(project = project, onFinish = broadcastChannel,
+      signin = this::signin,
+      error = this::onError,
+      saveAs = { saveProjectAs(project) }
+    ).run()
   }
 
   fun onError(ex: Exception) {
@@ -170,7 +199,7 @@ class ProjectUIFacadeImpl(
 //        doc.fileName, canWrite.message)
 //  }
 
-  private fun afterSaveProject(project: IGanttProject) {
+  private fun afterSaveProject(project: IGanttProject, isEditedDuringSave: Boolean) {
     val document = project.document
     documentManager.addToRecentDocuments(document)
     val title = i18n.getText("appliTitle") + " [" + document.fileName + "]"
@@ -182,7 +211,7 @@ class ProjectUIFacadeImpl(
         documentManager.changeWorkingDirectory(file.parentFile)
       }
     }
-    project.isModified = false
+    project.isModified = isEditedDuringSave
   }
 
   /**
@@ -419,59 +448,66 @@ class ProjectSaveFlow(
   enum class VersionMismatchChoice { OVERWRITE, MAKE_COPY }
 
   private fun saveProjectTrySave(project: IGanttProject, document: Document) {
-    try {
-      saveProject(document)
-    } catch (e: VersionMismatchException) {
-      done(success = false)
-      val onlineDoc = document.asOnlineDocument()
-      if (onlineDoc != null) {
-        OptionPaneBuilder<VersionMismatchChoice>().also {
-          it.i18n = RootLocalizer.createWithRootKey(rootKey = "cloud.versionMismatch", baseLocalizer = RootLocalizer)
-          it.styleClass = "dlg-lock"
-          it.styleSheets.add("/biz/ganttproject/storage/cloud/GPCloudStorage.css")
-          it.styleSheets.add("/biz/ganttproject/storage/StorageDialog.css")
-          it.graphic = FontAwesomeIconView(FontAwesomeIcon.CODE_FORK, "64").also {icon ->
-            icon.styleClass.add("img")
-          }
-          it.elements = Lists.newArrayList(
-            OptionElementData("document.option.makeCopy", VersionMismatchChoice.MAKE_COPY, true)
-          ).also { list ->
-            if (e.canOverwrite) {
-              list.add(OptionElementData("option.overwrite", VersionMismatchChoice.OVERWRITE, false))
+    //myWorkbenchFacade.setStatusText(GanttLanguage.getInstance().getText("saving") + " " + document.path)
+    saveInBackground(document).whenComplete { _, ex ->
+      SwingUtilities.invokeLater {
+        if (ex == null) {
+          done(success = true)
+        } else {
+          onSaveFailed(project, document, (ex as? CompletionException)?.cause ?: ex)
+        }
+      }
+    }
+  }
+
+  private fun onSaveFailed(project: IGanttProject, document: Document, ex: Throwable) {
+    when (ex) {
+      is VersionMismatchException -> {
+        done(success = false)
+        val onlineDoc = document.asOnlineDocument()
+        if (onlineDoc != null) {
+          OptionPaneBuilder<VersionMismatchChoice>().also {
+            it.i18n = RootLocalizer.createWithRootKey(rootKey = "cloud.versionMismatch", baseLocalizer = RootLocalizer)
+            it.styleClass = "dlg-lock"
+            it.styleSheets.add("/biz/ganttproject/storage/cloud/GPCloudStorage.css")
+            it.styleSheets.add("/biz/ganttproject/storage/StorageDialog.css")
+            it.graphic = FontAwesomeIconView(FontAwesomeIcon.CODE_FORK, "64").also {icon ->
+              icon.styleClass.add("img")
             }
-          }
-          it.showDialog { choice ->
-            SwingUtilities.invokeLater {
-              when (choice) {
-                VersionMismatchChoice.OVERWRITE -> {
-                  onlineDoc.write(force = true)
-                }
-                VersionMismatchChoice.MAKE_COPY -> {
-                  saveProjectAs(project)
+            it.elements = Lists.newArrayList(
+              OptionElementData("document.option.makeCopy", VersionMismatchChoice.MAKE_COPY, true)
+            ).also { list ->
+              if (ex.canOverwrite) {
+                list.add(OptionElementData("option.overwrite", VersionMismatchChoice.OVERWRITE, false))
+              }
+            }
+            it.showDialog { choice ->
+              SwingUtilities.invokeLater {
+                when (choice) {
+                  VersionMismatchChoice.OVERWRITE -> {
+                    onlineDoc.write(force = true)
+                  }
+                  VersionMismatchChoice.MAKE_COPY -> {
+                    saveProjectAs(project)
+                  }
                 }
               }
             }
-          }
 
+          }
         }
       }
-    } catch (e: ForbiddenException) {
-      signin {
+      is ForbiddenException -> signin {
         saveProjectTrySave(project, document)
       }
-    } catch (e: PaymentRequiredException) {
-      done(success = false)
-      error(e)
+      is CancellationException -> done(success = false)
+      else -> {
+        error(ex as? Exception ?: RuntimeException(ex))
+        done(success = false)
+      }
     }
   }
 
-  @Throws(IOException::class)
-  private fun saveProject(document: Document) {
-    //myWorkbenchFacade.setStatusText(GanttLanguage.getInstance().getText("saving") + " " + document.path)
-    document.write()
-    done(success = true)
-  }
-
   private fun saveProjectAs(project: IGanttProject) {
     done(success = false)
     saveAs()
@@ -3,6 +3,7 @@
  */
 package net.sourceforge.ganttproject.io;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
@@ -12,4 +13,23 @@ import java.io.OutputStream;
 public interface GPSaver {
   void save(OutputStream output) throws IOException;
 
+  /**
+   * Captures the current project state. The snapshot doesn't refer to the project model, so it can be
+   * written on any thread while the model is being changed.
+   */
+  default Snapshot createSnapshot() throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    save(buffer);
+    byte[] bytes = buffer.toByteArray();
+    return (output, progress) -> output.write(bytes);
+  }
+
+  interface Snapshot {
+    /**
+     * Writes the snapshot to the output, reporting the progress.
+     *
+     * @throws java.util.concurrent.CancellationException if the progress is cancelled
+     */
+    void writeTo(OutputStream output, SaveProgress progress) throws IOException;
+  }
 }
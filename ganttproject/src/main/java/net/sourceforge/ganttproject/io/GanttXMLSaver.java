@@ -18,6 +18,7 @@ along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
  */
 package net.sourceforge.ganttproject.io;
 
+import biz.ganttproject.Metrics;
 import biz.ganttproject.core.table.ColumnList;
 import biz.ganttproject.core.time.CalendarFactory;
 import biz.ganttproject.ganttview.TaskFilterManager;
@@ -41,11 +42,15 @@ import javax.xml.transform.stream.StreamResult;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.function.Supplier;
 
 public class GanttXMLSaver extends SaverBase implements GPSaver {
 
   private static final String VERSION = GPVersion.getCurrentVersionNumber();
+  private static final Metrics.Timer ourSaveTimer = Metrics.timer("io.save");
+  private static final Metrics.Timer ourSnapshotTimer = Metrics.timer("io.save.snapshot");
+  private static final Metrics.Timer ourWriteTimer = Metrics.timer("io.save.write");
 
   private final IGanttProject myProject;
 
@@ -69,55 +74,90 @@ public class GanttXMLSaver extends SaverBase implements GPSaver {
 
   @Override
   public void save(OutputStream stream) throws IOException {
+    long start = ourSaveTimer.start();
     try {
-      AttributesImpl attrs = new AttributesImpl();
-      StreamResult result = new StreamResult(stream);
-      TransformerHandler handler = createHandler(result);
-      handler.startDocument();
-      addAttribute("name", getProject().getProjectName(), attrs);
-      addAttribute("company", getProject().getOrganization(), attrs);
-      addAttribute("webLink", getProject().getWebLink(), attrs);
-      if (area != null) {
-        addAttribute("view-date", CalendarFactory.createGanttCalendar(area.getStartDate()).toXMLString(), attrs);
-      }
-      if (myUIFacade != null) {
-        addAttribute("view-index", "" + myUIFacade.getViewIndex(), attrs);
-        // TODO for GP 2.0: move view configurations into <view> tag (see
-        // ViewSaver)
-        addAttribute("gantt-divider-location", "" + myUIFacade.getGanttDividerLocation(), attrs);
-        addAttribute("resource-divider-location", "" + myUIFacade.getResourceDividerLocation(), attrs);
-      }
-      addAttribute("version", VERSION, attrs);
-      addAttribute("locale", GanttLanguage.getInstance().getLocale().toString(), attrs);
-      startElement("project", attrs, handler);
-      //
-      // See https://bugs.openjdk.java.net/browse/JDK-8133452
-      if (getProject().getDescription() != null) {
-        String projectDescription = getProject().getDescription().replace("\\r\\n", "\\n");
-        cdataElement("description", projectDescription, attrs, handler);
-      }
-
-      saveViews(handler);
-      emptyComment(handler);
-      saveCalendar(handler);
-      saveTasks(handler);
-      saveResources(handler);
-      saveAssignments(handler);
-      saveVacations(handler);
-      saveHistory(handler);
-      saveRoles(handler);
-      endElement("project", handler);
-      handler.endDocument();
-
+      createSnapshot().writeTo(stream, SaveProgress.NONE);
       stream.close();
+    } finally {
+      ourSaveTimer.stop(start);
+    }
+  }
+
+  /**
+   * Records the project XML as a sequence of SAX events. Formatting and encoding of the XML happen when
+   * the snapshot is written.
+   */
+  @Override
+  public Snapshot createSnapshot() throws IOException {
+    long start = ourSnapshotTimer.start();
+    SaxEventRecorder recorder = new SaxEventRecorder();
+    try {
+      writeProject(recorder);
     } catch (Throwable e) {
-      if (!GPLogger.log(e)) {
-        e.printStackTrace(System.err);
+      throw createSaveException(e);
+    } finally {
+      ourSnapshotTimer.stop(start);
+    }
+    return (output, progress) -> {
+      long writeStart = ourWriteTimer.start();
+      try {
+        recorder.replay(createHandler(new StreamResult(output)), progress);
+      } catch (CancellationException e) {
+        throw e;
+      } catch (Throwable e) {
+        throw createSaveException(e);
+      } finally {
+        ourWriteTimer.stop(writeStart);
       }
-      IOException propagatedException = new IOException("Failed to save the project file");
-      propagatedException.initCause(e);
-      throw propagatedException;
+    };
+  }
+
+  private static IOException createSaveException(Throwable e) {
+    if (!GPLogger.log(e)) {
+      e.printStackTrace(System.err);
+    }
+    IOException propagatedException = new IOException("Failed to save the project file");
+    propagatedException.initCause(e);
+    return propagatedException;
+  }
+
+  private void writeProject(TransformerHandler handler) throws SAXException, ParserConfigurationException, IOException {
+    AttributesImpl attrs = new AttributesImpl();
+    handler.startDocument();
+    addAttribute("name", getProject().getProjectName(), attrs);
+    addAttribute("company", getProject().getOrganization(), attrs);
+    addAttribute("webLink", getProject().getWebLink(), attrs);
+    if (area != null) {
+      addAttribute("view-date", CalendarFactory.createGanttCalendar(area.getStartDate()).toXMLString(), attrs);
+    }
+    if (myUIFacade != null) {
+      addAttribute("view-index", "" + myUIFacade.getViewIndex(), attrs);
+      // TODO for GP 2.0: move view configurations into <view> tag (see
+      // ViewSaver)
+      addAttribute("gantt-divider-location", "" + myUIFacade.getGanttDividerLocation(), attrs);
+      addAttribute("resource-divider-location", "" + myUIFacade.getResourceDividerLocation(), attrs);
     }
+    addAttribute("version", VERSION, attrs);
+    addAttribute("locale", GanttLanguage.getInstance().getLocale().toString(), attrs);
+    startElement("project", attrs, handler);
+    //
+    // See https://bugs.openjdk.java.net/browse/JDK-8133452
+    if (getProject().getDescription() != null) {
+      String projectDescription = getProject().getDescription().replace("\\r\\n", "\\n");
+      cdataElement("description", projectDescription, attrs, handler);
+    }
+
+    saveViews(handler);
+    emptyComment(handler);
+    saveCalendar(handler);
+    saveTasks(handler);
+    saveResources(handler);
+    saveAssignments(handler);
+    saveVacations(handler);
+    saveHistory(handler);
+    saveRoles(handler);
+    endElement("project", handler);
+    handler.endDocument();
   }
 
   private void saveHistory(TransformerHandler handler) throws SAXException, ParserConfigurationException, IOException {
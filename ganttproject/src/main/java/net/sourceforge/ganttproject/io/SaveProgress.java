@@ -0,0 +1,42 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.io;
+
+/**
+ * Receives the progress of writing a project snapshot and tells if writing should stop.
+ */
+public interface SaveProgress {
+  SaveProgress NONE = new SaveProgress() {
+    @Override
+    public void onProgress(double fraction) {
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+  };
+
+  /**
+   * @param fraction fraction of the snapshot which has been written, from 0 to 1
+   */
+  void onProgress(double fraction);
+
+  boolean isCancelled();
+}
@@ -0,0 +1,184 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.io;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.transform.Result;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.sax.TransformerHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Handler which records the SAX events emitted by the savers, so that they can be replayed later into the
+ * serializing handler, possibly on another thread. The recorded events are copies of the values and don't refer
+ * to the project model.
+ */
+class SaxEventRecorder implements TransformerHandler {
+  private static final int PROGRESS_STEP = 4096;
+
+  private interface Event {
+    void replay(TransformerHandler handler) throws SAXException;
+  }
+
+  private final List<Event> myEvents = new ArrayList<>();
+
+  void replay(TransformerHandler handler, SaveProgress progress) throws SAXException {
+    for (int i = 0; i < myEvents.size(); i++) {
+      if (i % PROGRESS_STEP == 0) {
+        if (progress.isCancelled()) {
+          throw new CancellationException("Save has been cancelled");
+        }
+        progress.onProgress((double) i / myEvents.size());
+      }
+      myEvents.get(i).replay(handler);
+    }
+    progress.onProgress(1.0);
+  }
+
+  @Override
+  public void startDocument() {
+    myEvents.add(TransformerHandler::startDocument);
+  }
+
+  @Override
+  public void endDocument() {
+    myEvents.add(TransformerHandler::endDocument);
+  }
+
+  @Override
+  public void startElement(String uri, String localName, String qName, Attributes atts) {
+    AttributesImpl attributes = new AttributesImpl(atts);
+    myEvents.add(handler -> handler.startElement(uri, localName, qName, attributes));
+  }
+
+  @Override
+  public void endElement(String uri, String localName, String qName) {
+    myEvents.add(handler -> handler.endElement(uri, localName, qName));
+  }
+
+  @Override
+  public void characters(char[] ch, int start, int length) {
+    char[] chars = new char[length];
+    System.arraycopy(ch, start, chars, 0, length);
+    myEvents.add(handler -> handler.characters(chars, 0, chars.length));
+  }
+
+  @Override
+  public void ignorableWhitespace(char[] ch, int start, int length) {
+    char[] chars = new char[length];
+    System.arraycopy(ch, start, chars, 0, length);
+    myEvents.add(handler -> handler.ignorableWhitespace(chars, 0, chars.length));
+  }
+
+  @Override
+  public void startCDATA() {
+    myEvents.add(TransformerHandler::startCDATA);
+  }
+
+  @Override
+  public void endCDATA() {
+    myEvents.add(TransformerHandler::endCDATA);
+  }
+
+  @Override
+  public void comment(char[] ch, int start, int length) {
+    char[] chars = new char[length];
+    System.arraycopy(ch, start, chars, 0, length);
+    myEvents.add(handler -> handler.comment(chars, 0, chars.length));
+  }
+
+  @Override
+  public void processingInstruction(String target, String data) {
+    myEvents.add(handler -> handler.processingInstruction(target, data));
+  }
+
+  @Override
+  public void startPrefixMapping(String prefix, String uri) {
+    myEvents.add(handler -> handler.startPrefixMapping(prefix, uri));
+  }
+
+  @Override
+  public void endPrefixMapping(String prefix) {
+    myEvents.add(handler -> handler.endPrefixMapping(prefix));
+  }
+
+  @Override
+  public void skippedEntity(String name) {
+    myEvents.add(handler -> handler.skippedEntity(name));
+  }
+
+  @Override
+  public void setDocumentLocator(Locator locator) {
+  }
+
+  @Override
+  public void startDTD(String name, String publicId, String systemId) {
+    myEvents.add(handler -> handler.startDTD(name, publicId, systemId));
+  }
+
+  @Override
+  public void endDTD() {
+    myEvents.add(TransformerHandler::endDTD);
+  }
+
+  @Override
+  public void startEntity(String name) {
+    myEvents.add(handler -> handler.startEntity(name));
+  }
+
+  @Override
+  public void endEntity(String name) {
+    myEvents.add(handler -> handler.endEntity(name));
+  }
+
+  @Override
+  public void notationDecl(String name, String publicId, String systemId) {
+    myEvents.add(handler -> handler.notationDecl(name, publicId, systemId));
+  }
+
+  @Override
+  public void unparsedEntityDecl(String name, String publicId, String systemId, String notationName) {
+    myEvents.add(handler -> handler.unparsedEntityDecl(name, publicId, systemId, notationName));
+  }
+
+  @Override
+  public void setResult(Result result) {
+    throw new UnsupportedOperationException("Recorded events are written with replay()");
+  }
+
+  @Override
+  public void setSystemId(String systemID) {
+  }
+
+  @Override
+  public String getSystemId() {
+    return null;
+  }
+
+  @Override
+  public Transformer getTransformer() {
+    throw new UnsupportedOperationException("Recorded events are written with replay()");
+  }
+}
@@ -19,6 +19,7 @@ along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
 */
 package net.sourceforge.ganttproject.io;
 
+import biz.ganttproject.Metrics;
 import biz.ganttproject.core.io.XmlSerializerKt;
 import com.google.common.base.Charsets;
 import net.sourceforge.ganttproject.GPLogger;
@@ -44,6 +45,9 @@ import java.util.List;
  * @author dbarashev (Dmitry Barashev)
  */
 public class XmlParser extends DefaultHandler2 {
+  private static final Metrics.Timer ourLoadTimer = Metrics.timer("io.load");
+  private static final Metrics.Histogram ourLoadSizeHistogram = Metrics.histogram("io.load.bytes");
+
   private final List<TagHandler> myTagHandlers;
   private final List<ParsingListener> myListeners;
   private boolean myCdataStarted;
@@ -110,7 +114,17 @@ public class XmlParser extends DefaultHandler2 {
   }
 
   public void parse(InputStream inStream) throws IOException {
+    long start = ourLoadTimer.start();
+    try {
+      doParse(inStream);
+    } finally {
+      ourLoadTimer.stop(start);
+    }
+  }
+
+  private void doParse(InputStream inStream) throws IOException {
     var inputBytes = inStream.readAllBytes();
+    ourLoadSizeHistogram.record(inputBytes.length);
 
     // Use the default (non-validating) parser
     SAXParserFactory factory = SAXParserFactory.newInstance();
@@ -19,13 +19,11 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
 package net.sourceforge.ganttproject.parser;
 
 import biz.ganttproject.core.time.GanttCalendar;
-import net.sourceforge.ganttproject.GPLogger;
 import net.sourceforge.ganttproject.GanttPreviousState;
 import net.sourceforge.ganttproject.GanttPreviousStateTask;
 import org.xml.sax.Attributes;
 import org.xml.sax.helpers.DefaultHandler;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -62,16 +60,8 @@ public class PreviousStateTasksTagHandler extends DefaultHandler implements TagH
   @Override
   public void endElement(String namespaceURI, String sName, String qName) {
     if (qName.equals("previous-tasks") && myPreviousStates != null) {
-      try {
-        previousState = new GanttPreviousState(myName, tasks);
-        previousState.init();
-        previousState.saveFile();
-        myPreviousStates.add(previousState);
-      } catch (IOException e) {
-        if (!GPLogger.log(e)) {
-          e.printStackTrace(System.err);
-        }
-      }
+      previousState = new GanttPreviousState(myName, tasks);
+      myPreviousStates.add(previousState);
     }
   }
 
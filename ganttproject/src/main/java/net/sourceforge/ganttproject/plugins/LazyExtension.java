@@ -0,0 +1,182 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.plugins;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+import net.sourceforge.ganttproject.GPLogger;
+import net.sourceforge.ganttproject.language.GanttLanguage;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Proxy of an extension which creates the extension object when it is first needed, so that the extension
+ * classes and their dependencies are not loaded at startup.
+ *
+ * Until the object is created, the proxy answers the calls which it can answer from the extension metadata,
+ * that is, from the optional attributes of the extension element in plugin.xml:
+ * <ul>
+ *   <li><code>id</code> is returned from <code>getID()</code>;</li>
+ *   <li><code>label</code> is a translation key of the value returned from <code>getName()</code> and
+ *   <code>getFileTypeDescription()</code>;</li>
+ *   <li><code>fileNamePattern</code> is returned from <code>getFileNamePattern()</code>;</li>
+ *   <li><code>fileExtensions</code> is a comma-separated list returned from <code>getFileExtensions()</code>, and
+ *   <code>withFormat(format)</code> returns null if the format is not in the list.</li>
+ * </ul>
+ * Only the values which don't change during the extension lifetime should be declared in the metadata.
+ *
+ * The calls which pass the context to an extension, such as <code>init</code>, <code>setContext</code> and
+ * <code>reset</code>, are recorded and replayed when the object is created. All other calls create the object.
+ */
+class LazyExtension implements InvocationHandler {
+  private static final ImmutableSet<String> DEFERRED_METHODS = ImmutableSet.of("init", "setContext", "reset");
+
+  private final IConfigurationElement myConfigElement;
+  // The last call of each deferred method, in the order of the first call.
+  private final Map<Method, Object[]> myDeferredCalls = new LinkedHashMap<>();
+  private Object myExtension;
+
+  private LazyExtension(IConfigurationElement configElement) {
+    myConfigElement = configElement;
+  }
+
+  static <T> T create(IConfigurationElement configElement, Class<T> extensionPointInterface) {
+    return extensionPointInterface.cast(Proxy.newProxyInstance(
+        extensionPointInterface.getClassLoader(), new Class<?>[] {extensionPointInterface},
+        new LazyExtension(configElement)));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    switch (method.getName()) {
+      case "equals":
+        if (args != null && args.length == 1 && method.getParameterTypes()[0] == Object.class) {
+          return proxy == args[0];
+        }
+        break;
+      case "hashCode":
+        if (args == null) {
+          return System.identityHashCode(proxy);
+        }
+        break;
+      case "toString":
+        if (args == null) {
+          return "LazyExtension[" + myConfigElement.getAttribute("class") + "]";
+        }
+        break;
+    }
+    Object extension;
+    synchronized (this) {
+      if (myExtension == null) {
+        if (method.getReturnType() == void.class && DEFERRED_METHODS.contains(method.getName())) {
+          myDeferredCalls.remove(method);
+          myDeferredCalls.put(method, args);
+          return null;
+        }
+        Object[] result = getMetadataValue(method, args);
+        if (result != null) {
+          return result[0];
+        }
+      }
+      extension = getExtension();
+    }
+    try {
+      return method.invoke(extension, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * @return one-element array with the value of the method call, or null if the call can't be answered from
+   * the metadata
+   */
+  private Object[] getMetadataValue(Method method, Object[] args) {
+    int argCount = args == null ? 0 : args.length;
+    String attribute = null;
+    switch (method.getName()) {
+      case "getID":
+        attribute = "id";
+        break;
+      case "getName":
+      case "getFileTypeDescription":
+        attribute = "label";
+        break;
+      case "getFileNamePattern":
+        attribute = "fileNamePattern";
+        break;
+      case "getFileExtensions":
+      case "withFormat":
+        attribute = "fileExtensions";
+        break;
+    }
+    String value = attribute == null ? null : myConfigElement.getAttribute(attribute);
+    if (value == null) {
+      return null;
+    }
+    switch (method.getName()) {
+      case "getFileExtensions":
+        return argCount == 0 && method.getReturnType() == String[].class
+            ? new Object[] {getFileExtensions(value).toArray(new String[0])} : null;
+      case "withFormat":
+        // A matching format changes the extension state, so the extension has to be created.
+        return argCount == 1 && !getFileExtensions(value).contains(args[0]) ? new Object[] {null} : null;
+      case "getName":
+      case "getFileTypeDescription":
+        return argCount == 0 && method.getReturnType() == String.class
+            ? new Object[] {GanttLanguage.getInstance().getText(value)} : null;
+      default:
+        return argCount == 0 && method.getReturnType() == String.class ? new Object[] {value} : null;
+    }
+  }
+
+  private static List<String> getFileExtensions(String value) {
+    return Splitter.on(',').trimResults().omitEmptyStrings().splitToList(value);
+  }
+
+  private Object getExtension() throws Throwable {
+    if (myExtension == null) {
+      try {
+        myExtension = myConfigElement.createExecutableExtension("class");
+      } catch (CoreException e) {
+        if (!GPLogger.logToLogger(e)) {
+          e.printStackTrace(System.err);
+        }
+        throw new IllegalStateException("Failed to create extension " + myConfigElement.getAttribute("class"), e);
+      }
+      for (Map.Entry<Method, Object[]> call : myDeferredCalls.entrySet()) {
+        try {
+          call.getKey().invoke(myExtension, call.getValue());
+        } catch (InvocationTargetException e) {
+          throw e.getCause();
+        }
+      }
+      myDeferredCalls.clear();
+    }
+    return myExtension;
+  }
+}
@@ -21,6 +21,7 @@ package net.sourceforge.ganttproject.plugins;
 import net.sourceforge.ganttproject.GPLogger;
 import net.sourceforge.ganttproject.chart.Chart;
 import net.sourceforge.ganttproject.export.Exporter;
+import net.sourceforge.ganttproject.search.SearchService;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionRegistry;
@@ -44,10 +45,21 @@ public class PluginManager {
 
   private static List<Exporter> myExporters;
 
+  private static List<SearchService> mySearchServices;
+
+  /**
+   * @return extensions registered for the given extension point. If the extension point type is an interface,
+   * the extensions are lazy proxies which load the extension classes when they are first used.
+   * @see LazyExtension
+   */
   public static <T> List<T> getExtensions(String extensionPointID, Class<T> extensionPointInterface) {
     IExtensionRegistry extensionRegistry = Platform.getExtensionRegistry();
     ArrayList<T> extensions = new ArrayList<T>();
     for (IConfigurationElement configElement : extensionRegistry.getConfigurationElementsFor(extensionPointID)) {
+      if (extensionPointInterface.isInterface()) {
+        extensions.add(LazyExtension.create(configElement, extensionPointInterface));
+        continue;
+      }
       try {
         Object nextExtension = configElement.createExecutableExtension("class");
         assert nextExtension != null && extensionPointInterface.isAssignableFrom(nextExtension.getClass());
@@ -78,4 +90,14 @@ public class PluginManager {
     return myExporters;
 
   }
+
+  /**
+   * @return search services, which are created once, so that they keep their indexes between the searches
+   */
+  public static synchronized List<SearchService> getSearchServices() {
+    if (mySearchServices == null) {
+      mySearchServices = getExtensions(SearchService.EXTENSION_POINT_ID, SearchService.class);
+    }
+    return mySearchServices;
+  }
 }
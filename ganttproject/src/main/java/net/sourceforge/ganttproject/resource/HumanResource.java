@@ -134,7 +134,11 @@ public class HumanResource implements CustomPropertyHolder {
   }
 
   public void setName(String name) {
+    String oldName = getName();
     this.name = name;
+    if (myManager != null && !oldName.equals(getName())) {
+      myManager.onNameChanged(this, oldName);
+    }
     fireResourceChanged();
   }
 
@@ -208,6 +212,7 @@ public class HumanResource implements CustomPropertyHolder {
   public ResourceAssignment createAssignment(ResourceAssignment assignmentToTask) {
     ResourceAssignment result = new ResourceAssignmentImpl(assignmentToTask);
     myAssignments.add(result);
+    onCostInputsChanged();
     resetLoads();
     fireAssignmentsChanged();
     return result;
@@ -295,7 +300,18 @@ public class HumanResource implements CustomPropertyHolder {
   }
 
   public void setStandardPayRate(BigDecimal rate) {
+    if (Objects.equals(rate, myStandardPayRate)) {
+      return;
+    }
     myStandardPayRate = rate;
+    onCostInputsChanged();
+    fireResourceChanged();
+  }
+
+  private void onCostInputsChanged() {
+    if (myManager != null) {
+      myManager.onCostInputsChanged();
+    }
   }
 
   public BigDecimal getStandardPayRate() {
@@ -372,6 +388,7 @@ public class HumanResource implements CustomPropertyHolder {
     @Override
     public void setLoad(float load) {
       myLoad = load;
+      HumanResource.this.onCostInputsChanged();
       HumanResource.this.fireAssignmentChanged();
     }
 
@@ -379,6 +396,7 @@ public class HumanResource implements CustomPropertyHolder {
     @Override
     public void delete() {
       HumanResource.this.myAssignments.remove(this);
+      HumanResource.this.onCostInputsChanged();
       HumanResource.this.fireAssignmentChanged();
     }
 
@@ -22,6 +22,7 @@ import biz.ganttproject.core.time.GanttCalendar;
 import biz.ganttproject.customproperty.CustomColumnsException;
 import biz.ganttproject.customproperty.CustomProperty;
 import biz.ganttproject.customproperty.CustomPropertyDefinition;
+import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import biz.ganttproject.customproperty.CustomPropertyManager;
 import net.sourceforge.ganttproject.GPLogger;
@@ -90,6 +91,12 @@ public class HumanResourceManager {
 
   private final List<HumanResource> resources = new ArrayList<>();
 
+  // Lookup indices over the resources list. If several resources share an id or a name,
+  // the one which was indexed first wins.
+  private final Map<Integer, HumanResource> myIdIndex = new HashMap<>();
+
+  private final Map<String, List<HumanResource>> myNameIndex = new HashMap<>();
+
   private int nextFreeId = 0;
 
   private final Role myDefaultRole;
@@ -98,6 +105,8 @@ public class HumanResourceManager {
 
   private final RoleManager myRoleManager;
 
+  private volatile int myCostInputsVersion;
+
   public HumanResourceManager(Role defaultRole, CustomPropertyManager customPropertyManager) {
     this(defaultRole, customPropertyManager, null);
   }
@@ -155,19 +164,21 @@ public class HumanResourceManager {
       nextFreeId = resource.getId() + 1;
     }
     resources.add(resource);
+    addToIndex(resource);
     fireResourceAdded(resource);
   }
 
   public HumanResource getById(int id) {
-    // Linear search is not really efficient, but we do not have so many
-    // resources !?
-    HumanResource pr = null;
-    for (HumanResource resource : resources)
-      if (resource.getId() == id) {
-        pr = resource;
-        break;
-      }
-    return pr;
+    return myIdIndex.get(id);
+  }
+
+  /**
+   * @return a resource with the given name or null if there is no such resource. If several
+   * resources have this name, the one which got it first is returned.
+   */
+  public HumanResource getByName(String name) {
+    List<HumanResource> sameName = myNameIndex.get(Strings.nullToEmpty(name));
+    return sameName == null ? null : sameName.get(0);
   }
 
   public List<HumanResource> getResources() {
@@ -176,20 +187,74 @@ public class HumanResourceManager {
 
   public void remove(HumanResource resource) {
     fireResourcesRemoved(new HumanResource[] { resource });
-    resources.remove(resource);
+    if (resources.remove(resource)) {
+      removeFromIndex(resource);
+    }
   }
 
   public void remove(HumanResource resource, GPUndoManager myUndoManager) {
     final HumanResource res = resource;
     myUndoManager.undoableEdit("Delete Human OK", () -> {
       fireResourcesRemoved(new HumanResource[] { res });
-      resources.remove(res);
+      if (resources.remove(res)) {
+        removeFromIndex(res);
+      }
     });
   }
 
   public void clear() {
     fireCleanup();
     resources.clear();
+    myIdIndex.clear();
+    myNameIndex.clear();
+  }
+
+  private void addToIndex(HumanResource resource) {
+    myIdIndex.putIfAbsent(resource.getId(), resource);
+    myNameIndex.computeIfAbsent(resource.getName(), key -> new ArrayList<>(1)).add(resource);
+  }
+
+  private void removeFromIndex(HumanResource resource) {
+    if (myIdIndex.get(resource.getId()) == resource) {
+      myIdIndex.remove(resource.getId());
+      // Duplicate ids are not expected, but if they happen, the next resource with this id takes over.
+      for (HumanResource hr : resources) {
+        if (hr.getId() == resource.getId()) {
+          myIdIndex.put(hr.getId(), hr);
+          break;
+        }
+      }
+    }
+    removeFromNameIndex(resource, resource.getName());
+  }
+
+  private boolean removeFromNameIndex(HumanResource resource, String name) {
+    List<HumanResource> sameName = myNameIndex.get(name);
+    if (sameName == null || !sameName.remove(resource)) {
+      return false;
+    }
+    if (sameName.isEmpty()) {
+      myNameIndex.remove(name);
+    }
+    return true;
+  }
+
+  void onNameChanged(HumanResource resource, String oldName) {
+    if (removeFromNameIndex(resource, oldName)) {
+      myNameIndex.computeIfAbsent(resource.getName(), key -> new ArrayList<>(1)).add(resource);
+    }
+  }
+
+  /**
+   * @return a counter which changes whenever a resource pay rate or an assignment changes, so that
+   * the cached task costs can be validated against it
+   */
+  public int getCostInputsVersion() {
+    return myCostInputsVersion;
+  }
+
+  void onCostInputsChanged() {
+    myCostInputsVersion++;
   }
 
   public void addView(ResourceView view) {
@@ -81,6 +81,7 @@ public class OverwritingMerger implements HumanResourceMerger {
       return myCache.get(foreign.getMail());
     }
     if (MergeResourcesOption.BY_NAME.equals(myMergeOption.getValue())) {
+      // Unlike HumanResourceManager.getByName(), the last of the same-named native resources wins here.
       if (myCache.isEmpty()) {
         buildNameCache(nativeMgr);
       }
@@ -22,6 +22,9 @@ import net.sourceforge.ganttproject.IGanttProject;
 import net.sourceforge.ganttproject.gui.UIFacade;
 import net.sourceforge.ganttproject.language.GanttLanguage;
 import net.sourceforge.ganttproject.resource.HumanResource;
+import net.sourceforge.ganttproject.resource.HumanResourceManager;
+import net.sourceforge.ganttproject.resource.ResourceEvent;
+import net.sourceforge.ganttproject.resource.ResourceView;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,25 +37,63 @@ public class ResourceSearchService extends SearchServiceBase<ResourceSearchServi
     }
   }
 
+  private HumanResourceManager myIndexedResourceManager;
+  private SearchIndex<HumanResource> myIndex;
+
   public ResourceSearchService() {
     super(UIFacade.RESOURCES_INDEX);
   }
 
   @Override
   public List<MySearchResult> search(String query) {
-    query = query.toLowerCase();
     List<MySearchResult> results = new ArrayList<>();
-    for (HumanResource hr : getProject().getHumanResourceManager().getResources()) {
-      if (isNotEmptyAndContains(hr.getName(), query)) {
-        results.add(new MySearchResult(hr, this, query, "", ""));
-      }
+    for (SearchIndex.Hit<HumanResource> hit : myIndex.search(query)) {
+      results.add(new MySearchResult(hit.object, this, hit.term, "", ""));
     }
     return results;
   }
 
+  /**
+   * The index and its listeners are created once per resource manager. The service itself lives as long as
+   * the application, see PluginManager.getSearchServices().
+   */
   @Override
   public void init(IGanttProject project, UIFacade uiFacade) {
     super.init(project, uiFacade.getResourceTree(), uiFacade);
+    if (myIndexedResourceManager != project.getHumanResourceManager()) {
+      myIndexedResourceManager = project.getHumanResourceManager();
+      myIndex = createIndex(myIndexedResourceManager);
+    }
+  }
+
+  static SearchIndex<HumanResource> createIndex(HumanResourceManager resourceManager) {
+    SearchIndex<HumanResource> index = new SearchIndex<>(
+        resourceManager::getResources,
+        hr -> List.of(new SearchIndex.Field("name", GanttLanguage.getInstance().getText("name"), 1, hr.getName())),
+        hr -> resourceManager.getById(hr.getId()) == hr);
+    resourceManager.addView(new ResourceView() {
+      @Override
+      public void resourceAdded(ResourceEvent event) {
+        index.markChanged(event.getResource());
+      }
+
+      @Override
+      public void resourcesRemoved(ResourceEvent event) {
+        for (HumanResource hr : event.getResources()) {
+          index.markRemoved(hr);
+        }
+      }
+
+      @Override
+      public void resourceChanged(ResourceEvent e) {
+        index.markChanged(e.getResource());
+      }
+
+      @Override
+      public void resourceAssignmentsChanged(ResourceEvent e) {
+      }
+    });
+    return index;
   }
 
   public void select(List<ResourceSearchService.MySearchResult> results) {
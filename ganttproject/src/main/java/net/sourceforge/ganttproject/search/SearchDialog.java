@@ -45,7 +45,7 @@ class SearchDialog {
   }
 
   void runSearch(final String text, final SearchCallback callback) {
-    List<SearchService> services = PluginManager.getExtensions(SearchService.EXTENSION_POINT_ID, SearchService.class);
+    List<SearchService> services = PluginManager.getSearchServices();
     final List<Future<List<SearchResult<?>>>> tasks = new ArrayList<Future<List<SearchResult<?>>>>();
     ExecutorService executor = Executors.newFixedThreadPool(services.size());
     for (final SearchService<SearchResult<?>, ?> service : services) {
@@ -0,0 +1,338 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.search;
+
+import com.google.common.base.Strings;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Inverted index of the searchable text fields of tasks or resources. The lower-cased texts are split into
+ * trigrams, and a substring query is answered by intersecting the trigram postings and checking the few
+ * candidates, rather than by scanning all objects.
+ *
+ * Query syntax:
+ * <ul>
+ *   <li><code>text</code> finds objects with a field containing the text;</li>
+ *   <li><code>text*</code> finds objects with a field containing a word which starts with the text;</li>
+ *   <li><code>field:text</code> searches in the field with the given id only, e.g. <code>notes:review</code>.</li>
+ * </ul>
+ * Hits are ranked by the weight of the matched field and by how well the text matches a word.
+ *
+ * The index is updated lazily: listeners mark the changed objects, and they are re-indexed when the next
+ * query runs.
+ */
+class SearchIndex<T> {
+  private static final int GRAM_LENGTH = 3;
+
+  /**
+   * Searchable text field of an indexed object.
+   */
+  static class Field {
+    final String id;
+    final String label;
+    final int weight;
+    final String text;
+
+    /**
+     * @param id identifier which is used in the field-scoped queries
+     * @param label field name which is shown in the search results
+     * @param weight the higher is the weight, the higher are ranked the objects matched in this field
+     * @param text field value
+     */
+    Field(String id, String label, int weight, String text) {
+      this.id = id.toLowerCase(Locale.ROOT);
+      this.label = label;
+      this.weight = weight;
+      this.text = Strings.nullToEmpty(text);
+    }
+  }
+
+  static class Hit<T> {
+    final T object;
+    final int score;
+    /** Matched fields, in the order they were returned by the field extractor. */
+    final List<Field> matchedFields;
+    /** Query text without the field scope and the prefix marker. */
+    final String term;
+
+    Hit(T object, int score, List<Field> matchedFields, String term) {
+      this.object = object;
+      this.score = score;
+      this.matchedFields = matchedFields;
+      this.term = term;
+    }
+  }
+
+  private static class Document {
+    // Position of the object in the project order, which is used to order the hits with the same score.
+    long ordinal;
+    final List<Field> fields;
+    final List<String> lowerCaseTexts;
+    final Set<String> grams = new HashSet<>();
+
+    Document(long ordinal, List<Field> fields) {
+      this.ordinal = ordinal;
+      this.fields = fields;
+      this.lowerCaseTexts = new ArrayList<>(fields.size());
+      for (Field field : fields) {
+        String text = field.text.toLowerCase(Locale.ROOT);
+        lowerCaseTexts.add(text);
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+          grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+      }
+    }
+  }
+
+  private final Supplier<Collection<T>> myAllObjects;
+  private final Function<T, List<Field>> myFieldExtractor;
+  private final Predicate<T> myIsAlive;
+
+  private final Map<T, Document> myDocuments = new LinkedHashMap<>();
+  private final Map<String, Set<T>> myPostings = new HashMap<>();
+  private final Map<String, Integer> myFieldIdCounts = new HashMap<>();
+  // Set when objects are added or moved after the ordinals were assigned.
+  private boolean isOrderStale = false;
+  // Objects which need to be re-indexed, mapped to true, or removed from the index, mapped to false.
+  private final Map<T, Boolean> myPendingChanges = new LinkedHashMap<>();
+  private boolean isRebuildNeeded = true;
+
+  /**
+   * @param allObjects supplies all objects when the index is rebuilt
+   * @param fieldExtractor returns the searchable fields of an object
+   * @param isAlive tells if an object found in the index still exists in the project, so that objects
+   *                which were removed without an event are not returned
+   */
+  SearchIndex(Supplier<Collection<T>> allObjects, Function<T, List<Field>> fieldExtractor, Predicate<T> isAlive) {
+    myAllObjects = allObjects;
+    myFieldExtractor = fieldExtractor;
+    myIsAlive = isAlive;
+  }
+
+  synchronized void markChanged(T object) {
+    myPendingChanges.put(object, true);
+  }
+
+  synchronized void markRemoved(T object) {
+    myPendingChanges.put(object, false);
+  }
+
+  /**
+   * Tells that the project order of the objects has changed, e.g. a task has been moved.
+   */
+  synchronized void markOrderChanged() {
+    isOrderStale = true;
+  }
+
+  synchronized void markAllChanged() {
+    isRebuildNeeded = true;
+    myPendingChanges.clear();
+  }
+
+  synchronized List<Hit<T>> search(String query) {
+    refresh();
+    String fieldId = null;
+    int colonPos = query.indexOf(':');
+    if (colonPos > 0 && myFieldIdCounts.containsKey(query.substring(0, colonPos).toLowerCase(Locale.ROOT))) {
+      fieldId = query.substring(0, colonPos).toLowerCase(Locale.ROOT);
+      query = query.substring(colonPos + 1);
+    }
+    boolean isPrefix = query.length() > 1 && query.endsWith("*");
+    String term = (isPrefix ? query.substring(0, query.length() - 1) : query).toLowerCase(Locale.ROOT);
+    if (term.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<Hit<T>> hits = new ArrayList<>();
+    List<T> removed = new ArrayList<>();
+    for (T candidate : findCandidates(term)) {
+      if (!myIsAlive.test(candidate)) {
+        removed.add(candidate);
+        continue;
+      }
+      Hit<T> hit = match(candidate, myDocuments.get(candidate), fieldId, term, isPrefix);
+      if (hit != null) {
+        hits.add(hit);
+      }
+    }
+    removed.forEach(this::removeDocument);
+    if (hits.size() > 1 && isOrderStale) {
+      updateOrdinals();
+    }
+    hits.sort(Comparator.comparingInt((Hit<T> hit) -> -hit.score)
+        .thenComparingLong(hit -> myDocuments.get(hit.object).ordinal));
+    return hits;
+  }
+
+  private void refresh() {
+    if (isRebuildNeeded) {
+      myDocuments.clear();
+      myPostings.clear();
+      myFieldIdCounts.clear();
+      long ordinal = 0;
+      for (T object : myAllObjects.get()) {
+        addDocument(object, ordinal++);
+      }
+      isRebuildNeeded = false;
+      isOrderStale = false;
+      // The rebuilt index already reflects the changes which were marked before it.
+      myPendingChanges.clear();
+      return;
+    }
+    myPendingChanges.forEach((object, isChanged) -> {
+      Document oldDoc = removeDocument(object);
+      if (isChanged) {
+        if (oldDoc == null) {
+          // The new object may be anywhere in the project order.
+          isOrderStale = true;
+        }
+        addDocument(object, oldDoc == null ? Long.MAX_VALUE : oldDoc.ordinal);
+      }
+    });
+    myPendingChanges.clear();
+  }
+
+  /**
+   * Re-assigns the ordinals in the current project order. It walks all objects, so it runs only when the hits
+   * are sorted and the order has changed since the ordinals were assigned.
+   */
+  private void updateOrdinals() {
+    long ordinal = 0;
+    for (T object : myAllObjects.get()) {
+      Document doc = myDocuments.get(object);
+      if (doc != null) {
+        doc.ordinal = ordinal++;
+      }
+    }
+    isOrderStale = false;
+  }
+
+  private void addDocument(T object, long ordinal) {
+    Document doc = new Document(ordinal, myFieldExtractor.apply(object));
+    myDocuments.put(object, doc);
+    for (String gram : doc.grams) {
+      myPostings.computeIfAbsent(gram, key -> new HashSet<>()).add(object);
+    }
+    for (Field field : doc.fields) {
+      myFieldIdCounts.merge(field.id, 1, Integer::sum);
+    }
+  }
+
+  private Document removeDocument(T object) {
+    Document doc = myDocuments.remove(object);
+    if (doc == null) {
+      return null;
+    }
+    for (Field field : doc.fields) {
+      myFieldIdCounts.computeIfPresent(field.id, (id, count) -> count == 1 ? null : count - 1);
+    }
+    for (String gram : doc.grams) {
+      Set<T> posting = myPostings.get(gram);
+      if (posting != null) {
+        posting.remove(object);
+        if (posting.isEmpty()) {
+          myPostings.remove(gram);
+        }
+      }
+    }
+    return doc;
+  }
+
+  /**
+   * @return objects which may contain the term
+   */
+  private Collection<T> findCandidates(String term) {
+    if (term.length() < GRAM_LENGTH) {
+      return new ArrayList<>(myDocuments.keySet());
+    }
+    List<Set<T>> postings = new ArrayList<>();
+    for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+      Set<T> posting = myPostings.get(term.substring(i, i + GRAM_LENGTH));
+      if (posting == null) {
+        return Collections.emptyList();
+      }
+      postings.add(posting);
+    }
+    postings.sort(Comparator.comparingInt(Set::size));
+    List<T> result = new ArrayList<>();
+    for (T object : postings.get(0)) {
+      boolean isInAll = true;
+      for (int i = 1; i < postings.size() && isInAll; i++) {
+        isInAll = postings.get(i).contains(object);
+      }
+      if (isInAll) {
+        result.add(object);
+      }
+    }
+    return result;
+  }
+
+  private static <T> Hit<T> match(T object, Document doc, String fieldId, String term, boolean isPrefix) {
+    int score = 0;
+    List<Field> matchedFields = new ArrayList<>();
+    for (int i = 0; i < doc.fields.size(); i++) {
+      Field field = doc.fields.get(i);
+      if (fieldId != null && !fieldId.equals(field.id)) {
+        continue;
+      }
+      int fieldScore = matchScore(doc.lowerCaseTexts.get(i), term, isPrefix);
+      if (fieldScore > 0) {
+        matchedFields.add(field);
+        score = Math.max(score, field.weight * 10 + fieldScore);
+      }
+    }
+    return matchedFields.isEmpty() ? null : new Hit<>(object, score, matchedFields, term);
+  }
+
+  /**
+   * @return 0 if the text doesn't match, 1 if the term is found inside a word, 2 if a word starts with
+   * the term, and 3 if a word equals the term
+   */
+  private static int matchScore(String text, String term, boolean isPrefix) {
+    int result = 0;
+    for (int pos = text.indexOf(term); pos >= 0; pos = text.indexOf(term, pos + 1)) {
+      boolean isWordStart = pos == 0 || !Character.isLetterOrDigit(text.charAt(pos - 1));
+      if (!isWordStart) {
+        result = Math.max(result, isPrefix ? 0 : 1);
+        continue;
+      }
+      int end = pos + term.length();
+      boolean isWordEnd = end == text.length() || !Character.isLetterOrDigit(text.charAt(end));
+      result = Math.max(result, isWordEnd ? 3 : 2);
+      if (result == 3) {
+        break;
+      }
+    }
+    return result;
+  }
+}
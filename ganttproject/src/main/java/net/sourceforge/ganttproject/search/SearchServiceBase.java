@@ -48,10 +48,6 @@ abstract class SearchServiceBase<SR extends SearchResult<SO>, SO> implements Sea
     myUiFacade = uiFacade;
   }
 
-  protected static boolean isNotEmptyAndContains(String doc, String query) {
-    return doc != null && doc.toLowerCase().contains(query);
-  }
-
   protected IGanttProject getProject() {
     return myProject;
   }
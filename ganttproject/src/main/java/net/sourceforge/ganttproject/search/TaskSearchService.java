@@ -23,62 +23,125 @@ import net.sourceforge.ganttproject.IGanttProject;
 import net.sourceforge.ganttproject.gui.UIFacade;
 import net.sourceforge.ganttproject.language.GanttLanguage;
 import net.sourceforge.ganttproject.task.Task;
+import net.sourceforge.ganttproject.task.TaskManager;
+import net.sourceforge.ganttproject.task.event.TaskHierarchyEvent;
+import net.sourceforge.ganttproject.task.event.TaskListenerAdapter;
+import net.sourceforge.ganttproject.task.event.TaskPropertyEvent;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /** Search service for tasks */
 public class TaskSearchService extends SearchServiceBase<TaskSearchService.MySearchResult, Task> {
+  private static final int NAME_WEIGHT = 4;
+  private static final int ID_WEIGHT = 3;
+  private static final int CUSTOM_PROPERTY_WEIGHT = 2;
+  private static final int NOTES_WEIGHT = 1;
+
   static class MySearchResult extends SearchResult<Task> {
     MySearchResult(Task t, TaskSearchService searchService, String query, String snippet, String snippetText) {
       super(t.getTaskID(), GanttLanguage.getInstance().getText("generic.task"), t.getName(), query, snippet, snippetText, t, searchService);
     }
   }
 
+  private TaskManager myIndexedTaskManager;
+  private SearchIndex<Task> myIndex;
+
   public TaskSearchService() {
     super(UIFacade.GANTT_INDEX);
   }
 
   @Override
   public List<MySearchResult> search(String query) {
-    query = query.toLowerCase();
     List<MySearchResult> results = new ArrayList<>();
-    for (Task t : getProject().getTaskManager().getTasks()) {
-      String snippet = "";
-      String snippetText = "";
-      boolean matched = false;
-      if (isNotEmptyAndContains(t.getName(), query)) {
-        matched = true;
-      }
-      for (CustomProperty c : t.getCustomValues().getCustomProperties()) {
-        if (isNotEmptyAndContains(c.getValueAsString(), query)) {
-          matched = true;
-          snippet = c.getDefinition().getName();
-          snippetText = c.getValueAsString();
-          break;
+    for (SearchIndex.Hit<Task> hit : myIndex.search(query)) {
+      // Task id wins over the notes, and the notes win over the custom properties in the snippet.
+      SearchIndex.Field snippetField = null;
+      for (SearchIndex.Field field : hit.matchedFields) {
+        if (field.weight == NAME_WEIGHT) {
+          continue;
+        }
+        if (snippetField == null || field.weight != CUSTOM_PROPERTY_WEIGHT) {
+          snippetField = field;
         }
       }
-      if (isNotEmptyAndContains(t.getNotes(), query)) {
-        matched = true;
-        snippet = GanttLanguage.getInstance().getText("notes");
-        snippetText = t.getNotes();
-      }
-      if (isNotEmptyAndContains(String.valueOf(t.getTaskID()), query)) {
-        matched = true;
-        snippet = GanttLanguage.getInstance().getText("id");
-        snippetText = String.valueOf(t.getTaskID());
-      }
-      if (matched) {
-        results.add(new MySearchResult(t, this, query, snippet, snippetText));
-      }
+      results.add(snippetField == null
+          ? new MySearchResult(hit.object, this, hit.term, "", "")
+          : new MySearchResult(hit.object, this, hit.term, snippetField.label, snippetField.text));
     }
     return results;
   }
 
+  /**
+   * The index and its listeners are created once per task manager. The service itself lives as long as the
+   * application, see PluginManager.getSearchServices().
+   */
   @Override
   public void init(IGanttProject project, UIFacade uiFacade) {
     super.init(project, null, uiFacade);
+    if (myIndexedTaskManager != project.getTaskManager()) {
+      myIndexedTaskManager = project.getTaskManager();
+      myIndex = createIndex(myIndexedTaskManager);
+    }
+  }
+
+  SearchIndex<Task> getIndex() {
+    return myIndex;
+  }
+
+  /**
+   * Creates an index of the task names, notes, ids and custom property values, which is kept up to date
+   * with the task model changes.
+   */
+  static SearchIndex<Task> createIndex(TaskManager taskManager) {
+    SearchIndex<Task> index = new SearchIndex<>(
+        () -> Arrays.asList(taskManager.getTasks()),
+        TaskSearchService::getFields,
+        task -> taskManager.getTask(task.getTaskID()) == task);
+    taskManager.addTaskListener(new TaskListenerAdapter() {
+      @Override
+      public void taskAdded(TaskHierarchyEvent e) {
+        index.markChanged(e.getTask());
+      }
+
+      @Override
+      public void taskRemoved(TaskHierarchyEvent e) {
+        // Subtasks of the removed task are dropped when they are found, because they are not alive anymore.
+        index.markRemoved(e.getTask());
+      }
+
+      @Override
+      public void taskPropertiesChanged(TaskPropertyEvent e) {
+        index.markChanged(e.getTask());
+      }
+
+      @Override
+      public void taskMoved(TaskHierarchyEvent e) {
+        index.markOrderChanged();
+      }
+
+      @Override
+      public void taskModelReset() {
+        index.markAllChanged();
+      }
+    });
+    // Custom columns which are added, removed or renamed change the fields of all tasks.
+    taskManager.getCustomPropertyManager().addListener(event -> index.markAllChanged());
+    return index;
+  }
+
+  private static List<SearchIndex.Field> getFields(Task t) {
+    List<SearchIndex.Field> fields = new ArrayList<>();
+    fields.add(new SearchIndex.Field("name", GanttLanguage.getInstance().getText("name"), NAME_WEIGHT, t.getName()));
+    for (CustomProperty c : t.getCustomValues().getCustomProperties()) {
+      String columnName = c.getDefinition().getName();
+      fields.add(new SearchIndex.Field(columnName, columnName, CUSTOM_PROPERTY_WEIGHT, c.getValueAsString()));
+    }
+    fields.add(new SearchIndex.Field("notes", GanttLanguage.getInstance().getText("notes"), NOTES_WEIGHT, t.getNotes()));
+    fields.add(new SearchIndex.Field("id", GanttLanguage.getInstance().getText("id"), ID_WEIGHT, String.valueOf(t.getTaskID())));
+    return fields;
   }
 
   @Override
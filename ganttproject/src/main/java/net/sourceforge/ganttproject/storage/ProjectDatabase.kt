@@ -126,6 +126,10 @@ interface ProjectDatabase {
   @Throws(ProjectDatabaseException::class)
   fun mapTasks(vararg columnConsumer: ColumnConsumer)
 
+  /** Same as the above, but only the tasks with the given numbers are selected, in a single query. */
+  @Throws(ProjectDatabaseException::class)
+  fun mapTasks(taskNums: Collection<Int>, vararg columnConsumer: ColumnConsumer)
+
   @Throws(ProjectDatabaseException::class)
   fun validateColumnConsumer(columnConsumer: ColumnConsumer)
 
@@ -18,6 +18,7 @@ along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
 */
 package net.sourceforge.ganttproject.storage
 
+import biz.ganttproject.Metrics
 import biz.ganttproject.app.Barrier
 import biz.ganttproject.app.BarrierEntrance
 import net.sourceforge.ganttproject.GPLogger
@@ -47,7 +48,7 @@ internal class ProjectEventListenerImpl(
 
   override fun projectOpened(barrierRegistry: BarrierEntrance, barrier: Barrier<IGanttProject>) {
     projectDatabase.shutdown()
-    barrier.await { it.taskManager.tasks.forEach(projectDatabase::insertTask) }
+    barrier.await { project -> SYNC_TIMER.time { project.taskManager.tasks.forEach(projectDatabase::insertTask) } }
   }
 
   override fun projectClosed() = withLogger({ "Failed to close project" }) {
@@ -56,7 +57,7 @@ internal class ProjectEventListenerImpl(
   }
 
   override fun taskAdded(event: TaskHierarchyEvent) = withLogger({ "Failed to add task ${event.task.taskID}" }) {
-    projectDatabase.insertTask(event.task)
+    INSERT_TIMER.time { projectDatabase.insertTask(event.task) }
   }
 
   override fun taskScheduleChanged(e: TaskScheduleEvent) {
@@ -99,8 +100,10 @@ internal class ProjectEventListenerImpl(
   }
 
   override fun undoOrRedoHappened() {
-    projectDatabase.shutdown()
-    taskManagerSupplier().tasks.forEach(projectDatabase::insertTask)
+    SYNC_TIMER.time {
+      projectDatabase.shutdown()
+      taskManagerSupplier().tasks.forEach(projectDatabase::insertTask)
+    }
   }
 
   override fun undoReset() {
@@ -108,3 +111,5 @@ internal class ProjectEventListenerImpl(
 }
 
 private val LOG = GPLogger.create("ProjectStateHolderEventListener")
+private val SYNC_TIMER = Metrics.timer("projectDatabase.sync")
+private val INSERT_TIMER = Metrics.timer("projectDatabase.insertTask")
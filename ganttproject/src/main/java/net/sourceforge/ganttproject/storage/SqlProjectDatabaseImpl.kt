@@ -328,13 +328,23 @@ class SqlProjectDatabaseImpl(
   fun SelectSelectStep<Record>.select(col: ColumnConsumer?): SelectSelectStep<Record> =
     col?.let { this.select(field(it.first.selectExpression, it.first.resultClass)!!.`as`(col.first.propertyId))} ?: this
 
-  override fun mapTasks(vararg columnConsumer: ColumnConsumer) {
+  override fun mapTasks(vararg columnConsumer: ColumnConsumer) = selectTasks(null, columnConsumer)
+
+  override fun mapTasks(taskNums: Collection<Int>, vararg columnConsumer: ColumnConsumer) {
+    if (taskNums.isNotEmpty()) {
+      selectTasks(TASKVIEWFORCOMPUTEDCOLUMNS.ID.`in`(taskNums), columnConsumer)
+    }
+  }
+
+  private fun selectTasks(condition: Condition?, columnConsumer: Array<out ColumnConsumer>) {
     withDSL { dsl ->
       var q: SelectSelectStep<out Record> = dsl.select(TASKVIEWFORCOMPUTEDCOLUMNS.ID)
       columnConsumer.forEach {
         q = q.select(field(it.first.selectExpression, it.first.resultClass).`as`(it.first.propertyId))
       }
-      q.from(TASKVIEWFORCOMPUTEDCOLUMNS).forEach { row  ->
+      val select = q.from(TASKVIEWFORCOMPUTEDCOLUMNS)
+      val query: ResultQuery<out Record> = if (condition == null) select else select.where(condition)
+      query.forEach { row  ->
         val taskNum = row[TASKVIEWFORCOMPUTEDCOLUMNS.ID]
         columnConsumer.forEach {
           it.second(taskNum, row[it.first.propertyId])
@@ -171,6 +171,10 @@ public interface Task extends MutableTask, IdentifiableRow {
   //
   Task getSupertask();
 
+  /**
+   * @return a copy of the nested tasks in the document order. Use {@link TaskContainmentHierarchyFacade#getNestedTasks(Task)}
+   * on the hot paths, it doesn't copy.
+   */
   Task[] getNestedTasks();
 
   void move(Task targetSupertask);
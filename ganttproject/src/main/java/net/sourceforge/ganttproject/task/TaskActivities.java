@@ -0,0 +1,256 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.task;
+
+import biz.ganttproject.core.calendar.GPCalendarActivity;
+import biz.ganttproject.core.calendar.GPCalendarCalc;
+import biz.ganttproject.core.chart.scene.BarChartActivity;
+import biz.ganttproject.core.time.TimeDuration;
+import biz.ganttproject.core.time.TimeUnit;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Working and non-working intervals of a task in a compact form: the interval boundaries are kept in an array
+ * of dates, and the working intervals are marked in a bit set. The intervals depend only on the calendar, the
+ * task dates and the duration unit, so tasks with the same values share the same instance, and each task sees
+ * it through a lightweight list of {@link TaskActivity} views. The views are created when they are first read,
+ * and then are reused, so the chart and the scheduler don't allocate when they read the activities.
+ */
+final class TaskActivities {
+  // Shared by all the tasks and views, so they must not be modified.
+  private final Date[] myBoundaries;
+  private final BitSet myWorkingIntervals;
+  private final TimeDuration[] myDurations;
+
+  private TaskActivities(Date[] boundaries, BitSet workingIntervals, TimeDuration[] durations) {
+    myBoundaries = boundaries;
+    myWorkingIntervals = workingIntervals;
+    myDurations = durations;
+  }
+
+  int size() {
+    return myDurations.length;
+  }
+
+  /**
+   * @return the activities of the given task
+   */
+  List<TaskActivity> asList(Task owner) {
+    return new ActivityList(owner, this);
+  }
+
+  private static TaskActivities build(TaskManager taskManager, GPCalendarCalc calendar, TimeUnit timeUnit,
+      Date startDate, Date endDate) {
+    List<GPCalendarActivity> activities = calendar.getActivities(startDate, endDate);
+    Date[] boundaries = new Date[activities.size() * 2];
+    BitSet workingIntervals = new BitSet(activities.size());
+    TimeDuration[] durations = new TimeDuration[activities.size()];
+    int count = 0;
+    for (int i = 0; i < activities.size(); i++) {
+      GPCalendarActivity activity = activities.get(i);
+      // Leading and trailing non-working intervals are not task activities.
+      if (!activity.isWorkingTime() && (i == 0 || i + 1 == activities.size())) {
+        continue;
+      }
+      boundaries[count * 2] = activity.getStart();
+      boundaries[count * 2 + 1] = activity.getEnd();
+      workingIntervals.set(count, activity.isWorkingTime());
+      durations[count] = taskManager.createLength(timeUnit, activity.getStart(), activity.getEnd());
+      count++;
+    }
+    if (count < durations.length) {
+      Date[] packedBoundaries = new Date[count * 2];
+      System.arraycopy(boundaries, 0, packedBoundaries, 0, count * 2);
+      TimeDuration[] packedDurations = new TimeDuration[count];
+      System.arraycopy(durations, 0, packedDurations, 0, count);
+      return new TaskActivities(packedBoundaries, workingIntervals, packedDurations);
+    }
+    return new TaskActivities(boundaries, workingIntervals, durations);
+  }
+
+  /**
+   * Shares instances of {@link TaskActivities} between the tasks with the same dates and duration unit. The
+   * instances are weakly referenced, so those which are no longer used by any task are collected.
+   */
+  static class Interner {
+    private final Cache<Key, TaskActivities> myCache = CacheBuilder.newBuilder().weakValues().build();
+    private final TaskManager myTaskManager;
+
+    Interner(TaskManager taskManager) {
+      myTaskManager = taskManager;
+    }
+
+    TaskActivities get(GPCalendarCalc calendar, TimeUnit timeUnit, Date startDate, Date endDate) {
+      Key key = new Key(calendar, timeUnit, startDate.getTime(), endDate.getTime());
+      try {
+        return myCache.get(key, () -> build(myTaskManager, calendar, timeUnit, startDate, endDate));
+      } catch (ExecutionException e) {
+        throw new RuntimeException(e.getCause());
+      }
+    }
+
+    /**
+     * Must be called when the calendar changes, because the activities of the same dates may become different.
+     */
+    void clear() {
+      myCache.invalidateAll();
+    }
+  }
+
+  private static class Key {
+    private final GPCalendarCalc myCalendar;
+    private final TimeUnit myTimeUnit;
+    private final long myStart;
+    private final long myEnd;
+
+    Key(GPCalendarCalc calendar, TimeUnit timeUnit, long start, long end) {
+      myCalendar = calendar;
+      myTimeUnit = timeUnit;
+      myStart = start;
+      myEnd = end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key that)) {
+        return false;
+      }
+      return myCalendar == that.myCalendar && myStart == that.myStart && myEnd == that.myEnd
+          && Objects.equals(myTimeUnit, that.myTimeUnit);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(myStart, myEnd, myTimeUnit);
+    }
+  }
+
+  private static class ActivityList extends AbstractList<TaskActivity> implements RandomAccess {
+    private final Task myOwner;
+    private final TaskActivities myActivities;
+    // Views which have been read, allocated with the first read.
+    private ActivityView[] myViews;
+
+    ActivityList(Task owner, TaskActivities activities) {
+      myOwner = owner;
+      myActivities = activities;
+    }
+
+    @Override
+    public TaskActivity get(int index) {
+      Objects.checkIndex(index, size());
+      ActivityView[] views = myViews;
+      if (views == null) {
+        views = new ActivityView[size()];
+        myViews = views;
+      }
+      ActivityView result = views[index];
+      if (result == null) {
+        result = new ActivityView(myOwner, myActivities, index);
+        views[index] = result;
+      }
+      return result;
+    }
+
+    @Override
+    public int size() {
+      return myActivities.size();
+    }
+  }
+
+  private static class ActivityView implements TaskActivity {
+    private final Task myOwner;
+    private final TaskActivities myActivities;
+    private final int myIndex;
+
+    ActivityView(Task owner, TaskActivities activities, int index) {
+      myOwner = owner;
+      myActivities = activities;
+      myIndex = index;
+    }
+
+    @Override
+    public Date getStart() {
+      return myActivities.myBoundaries[myIndex * 2];
+    }
+
+    @Override
+    public Date getEnd() {
+      return myActivities.myBoundaries[myIndex * 2 + 1];
+    }
+
+    @Override
+    public TimeDuration getDuration() {
+      return myActivities.myDurations[myIndex];
+    }
+
+    @Override
+    public float getIntensity() {
+      return myActivities.myWorkingIntervals.get(myIndex) ? 1f : 0f;
+    }
+
+    @Override
+    public Task getOwner() {
+      return myOwner;
+    }
+
+    @Override
+    public boolean isFirst() {
+      return myIndex == 0;
+    }
+
+    @Override
+    public boolean isLast() {
+      return myIndex == myActivities.size() - 1;
+    }
+
+    @Override
+    public String toString() {
+      return myOwner.toString() + "[" + getStart() + ", " + getEnd() + "]";
+    }
+
+    @Override
+    public int hashCode() {
+      return myActivities.myBoundaries[myIndex * 2].hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof ActivityView that) {
+        return myOwner == that.myOwner && myActivities == that.myActivities && myIndex == that.myIndex;
+      }
+      if (obj instanceof BarChartActivity) {
+        return ((BarChartActivity<?>) obj).getOwner().getRowId() == myOwner.getTaskID();
+      }
+      return false;
+    }
+  }
+}
@@ -30,6 +30,9 @@ import com.google.common.base.Predicate;
  * @author bard
  */
 public interface TaskContainmentHierarchyFacade {
+  /**
+   * @return nested tasks in the document order. The array may be shared with other callers and must not be modified.
+   */
   Task[] getNestedTasks(Task container);
 
   Task[] getDeepNestedTasks(Task container);
@@ -0,0 +1,203 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.task;
+
+import biz.ganttproject.core.time.GanttCalendar;
+import net.sourceforge.ganttproject.task.TaskManager.EventSource;
+import net.sourceforge.ganttproject.task.dependency.TaskDependency;
+import net.sourceforge.ganttproject.task.dependency.TaskDependencyCollection;
+import net.sourceforge.ganttproject.task.event.TaskDependencyEvent;
+import net.sourceforge.ganttproject.task.event.TaskHierarchyEvent;
+import net.sourceforge.ganttproject.task.event.TaskListener;
+import net.sourceforge.ganttproject.task.event.TaskPropertyEvent;
+import net.sourceforge.ganttproject.task.event.TaskScheduleEvent;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Collects task model events which happen during a bulk update and coalesces them, so that listeners
+ * get at most one event of each kind per task or dependency:
+ * <ul>
+ *   <li>schedule change carries the dates before the first change and after the last one;</li>
+ *   <li>a move reports the container before the first move and the current one;</li>
+ *   <li>a task which was added and removed in the same update is not reported at all,
+ *   and neither is a dependency which was added and removed;</li>
+ *   <li>model reset supersedes all other events.</li>
+ * </ul>
+ * Events are delivered in the order of their kinds: hierarchy changes, dependency changes and then
+ * task changes, and in the order of the first occurrence within each kind.
+ */
+class TaskEventBuffer {
+  private enum DependencyChange { ADDED, CHANGED, REMOVED }
+
+  private final Map<Task, EventSource> myAddedTasks = new LinkedHashMap<>();
+  private final Map<Task, Task> myRemovedTasks = new LinkedHashMap<>();
+  private final Map<Task, Task> myMovedTasks = new LinkedHashMap<>();
+  private final Map<Task, GanttCalendar[]> myScheduleChanges = new LinkedHashMap<>();
+  private final Set<Task> myPropertyChanges = new LinkedHashSet<>();
+  private final Set<Task> myProgressChanges = new LinkedHashSet<>();
+  private final Map<TaskDependency, DependencyChange> myDependencyChanges = new LinkedHashMap<>();
+  private boolean isModelReset;
+  private boolean isRescheduleNeeded;
+
+  boolean isEmpty() {
+    return !isModelReset && myAddedTasks.isEmpty() && myRemovedTasks.isEmpty() && myMovedTasks.isEmpty()
+        && myScheduleChanges.isEmpty() && myPropertyChanges.isEmpty() && myProgressChanges.isEmpty()
+        && myDependencyChanges.isEmpty();
+  }
+
+  void taskAdded(Task task, EventSource source) {
+    myAddedTasks.put(task, source);
+  }
+
+  void taskRemoved(Task task, Task container) {
+    if (myAddedTasks.remove(task) == null) {
+      Task originalContainer = myMovedTasks.get(task);
+      myRemovedTasks.put(task, originalContainer == null ? container : originalContainer);
+    }
+    myMovedTasks.remove(task);
+    myScheduleChanges.remove(task);
+    myPropertyChanges.remove(task);
+    myProgressChanges.remove(task);
+  }
+
+  void taskMoved(Task task, Task movedFrom) {
+    if (!myAddedTasks.containsKey(task)) {
+      myMovedTasks.putIfAbsent(task, movedFrom);
+    }
+  }
+
+  void taskScheduleChanged(Task task, GanttCalendar oldStart, GanttCalendar oldEnd) {
+    myScheduleChanges.putIfAbsent(task, new GanttCalendar[] {oldStart, oldEnd});
+    isRescheduleNeeded = true;
+  }
+
+  void taskPropertiesChanged(Task task) {
+    myPropertyChanges.add(task);
+  }
+
+  void taskProgressChanged(Task task) {
+    myProgressChanges.add(task);
+  }
+
+  void dependencyAdded(TaskDependency dependency) {
+    DependencyChange prev = myDependencyChanges.get(dependency);
+    myDependencyChanges.put(dependency, prev == DependencyChange.REMOVED ? DependencyChange.CHANGED : DependencyChange.ADDED);
+  }
+
+  void dependencyChanged(TaskDependency dependency) {
+    myDependencyChanges.putIfAbsent(dependency, DependencyChange.CHANGED);
+  }
+
+  void dependencyRemoved(TaskDependency dependency) {
+    if (myDependencyChanges.get(dependency) == DependencyChange.ADDED) {
+      myDependencyChanges.remove(dependency);
+    } else {
+      myDependencyChanges.put(dependency, DependencyChange.REMOVED);
+    }
+  }
+
+  void modelReset() {
+    isModelReset = true;
+  }
+
+  /**
+   * Marks that the dependency graph or task dates have changed, so the scheduler needs to run on commit.
+   */
+  void requestReschedule() {
+    isRescheduleNeeded = true;
+  }
+
+  boolean isRescheduleNeeded() {
+    return isRescheduleNeeded || !myAddedTasks.isEmpty() || !myMovedTasks.isEmpty() || !myDependencyChanges.isEmpty();
+  }
+
+  /**
+   * Delivers the collected events to the listeners.
+   */
+  void flush(List<TaskListener> listeners, TaskContainmentHierarchyFacade hierarchy, TaskDependencyCollection dependencies) {
+    if (isModelReset) {
+      for (TaskListener l : listeners) {
+        l.taskModelReset();
+      }
+      return;
+    }
+    myAddedTasks.forEach((task, source) -> {
+      TaskHierarchyEvent e = new TaskHierarchyEvent(source, task, null, hierarchy.getContainer(task), hierarchy.getTaskIndex(task));
+      for (TaskListener l : listeners) {
+        l.taskAdded(e);
+      }
+    });
+    myMovedTasks.forEach((task, movedFrom) -> {
+      TaskHierarchyEvent e = new TaskHierarchyEvent(EventSource.UNDEFINED, task, movedFrom, hierarchy.getContainer(task), hierarchy.getTaskIndex(task));
+      for (TaskListener l : listeners) {
+        l.taskMoved(e);
+      }
+    });
+    myRemovedTasks.forEach((task, container) -> {
+      TaskHierarchyEvent e = new TaskHierarchyEvent(EventSource.UNDEFINED, task, container, null, -1);
+      for (TaskListener l : listeners) {
+        l.taskRemoved(e);
+      }
+    });
+    myDependencyChanges.forEach((dependency, change) -> {
+      TaskDependencyEvent e = new TaskDependencyEvent(dependencies, dependency);
+      for (TaskListener l : listeners) {
+        switch (change) {
+          case ADDED:
+            l.dependencyAdded(e);
+            break;
+          case CHANGED:
+            l.dependencyChanged(e);
+            break;
+          case REMOVED:
+            l.dependencyRemoved(e);
+            break;
+        }
+      }
+    });
+    myScheduleChanges.forEach((task, oldDates) -> {
+      if (Objects.equals(oldDates[0], task.getStart()) && Objects.equals(oldDates[1], task.getEnd())) {
+        // The changes have cancelled each other.
+        return;
+      }
+      TaskScheduleEvent e = new TaskScheduleEvent(task, oldDates[0], oldDates[1], task.getStart(), task.getEnd());
+      for (TaskListener l : listeners) {
+        l.taskScheduleChanged(e);
+      }
+    });
+    for (Task task : myPropertyChanges) {
+      TaskPropertyEvent e = new TaskPropertyEvent(task);
+      for (TaskListener l : listeners) {
+        l.taskPropertiesChanged(e);
+      }
+    }
+    for (Task task : myProgressChanges) {
+      TaskPropertyEvent e = new TaskPropertyEvent(task);
+      for (TaskListener l : listeners) {
+        l.taskProgressChanged(e);
+      }
+    }
+  }
+}
@@ -83,7 +83,7 @@ public class TaskImpl implements Task {
 
   TimeDuration myLength;
 
-  private final List<TaskActivity> myActivities = new ArrayList<>();
+  private List<TaskActivity> myActivities = ImmutableList.of();
 
   private boolean bExpand;
 
@@ -420,7 +420,7 @@ public class TaskImpl implements Task {
     if (activities == null) {
       activities = myActivities;
     }
-    return ImmutableList.copyOf(activities);
+    return activities;
   }
 
   @Override
@@ -484,12 +484,7 @@ public class TaskImpl implements Task {
 
   @Override
   public Task[] getNestedTasks() {
-    TaskHierarchyItem[] nestedItems = myTaskHierarchyItem.getNestedItems();
-    Task[] result = new Task[nestedItems.length];
-    for (int i = 0; i < nestedItems.length; i++) {
-      result[i] = nestedItems[i].getTask();
-    }
-    return result;
+    return myTaskHierarchyItem.getNestedTasks().clone();
   }
 
   @Override
@@ -501,8 +496,10 @@ public class TaskImpl implements Task {
   public void move(Task targetSupertask, int position) {
     TaskImpl supertaskImpl = (TaskImpl) targetSupertask;
     TaskHierarchyItem targetItem = supertaskImpl.myTaskHierarchyItem;
+    invalidateRollups();
     myTaskHierarchyItem.delete();
     targetItem.addNestedItem(myTaskHierarchyItem, position);
+    invalidateRollups();
     myManager.onTaskMoved(this);
   }
 
@@ -513,6 +510,7 @@ public class TaskImpl implements Task {
     isDeleted = true;
     getDependencies().clear();
     getAssignmentCollection().clear();
+    invalidateRollups();
     myTaskHierarchyItem.delete();
   }
 
@@ -551,6 +549,8 @@ public class TaskImpl implements Task {
   @Override
   public void setMilestone(boolean milestone) {
     isMilestone = milestone;
+    invalidateRollups();
+    myManager.onTaskDatesChanged(this);
     if (milestone) {
       setEnd(null);
     }
@@ -567,6 +567,8 @@ public class TaskImpl implements Task {
     start.setTime(closestWorkingStart);
     myStart = start;
     recalculateActivities();
+    invalidateRollups();
+    myManager.onTaskDatesChanged(this);
     adjustNestedTasks();
   }
 
@@ -594,6 +596,8 @@ public class TaskImpl implements Task {
   public void setEnd(GanttCalendar end) {
     myEnd = end;
     recalculateActivities();
+    invalidateRollups();
+    myManager.onTaskDatesChanged(this);
   }
 
   @Override
@@ -620,6 +624,17 @@ public class TaskImpl implements Task {
     myLength = length;
     myEnd = null;
     recalculateActivities();
+    invalidateRollups();
+    myManager.onTaskDatesChanged(this);
+  }
+
+  /**
+   * Drops the cached summary values (cost, completion) of this task and its ancestors.
+   */
+  void invalidateRollups() {
+    if (myManager != null && myTaskHierarchyItem != null) {
+      myManager.getRollupCache().invalidate(this);
+    }
   }
 
   Date shiftDate(Date input, TimeDuration duration) {
@@ -638,13 +653,12 @@ public class TaskImpl implements Task {
     final Date startDate = myStart.getTime();
     final Date endDate = getEnd().getTime();
 
-    myActivities.clear();
     if (startDate.equals(endDate)) {
-      myActivities.add(new MilestoneTaskFakeActivity(this));
+      myActivities = ImmutableList.of(new MilestoneTaskFakeActivity(this));
       return;
     }
 
-    recalculateActivities(myManager.getConfig().getCalendar(), this, myActivities, startDate, endDate);
+    myActivities = recalculateActivities(myManager, this, startDate, endDate);
     int length = 0;
     for (TaskActivity activity : myActivities) {
       if (activity.getIntensity() > 0) {
@@ -654,16 +668,15 @@ public class TaskImpl implements Task {
     myLength = getManager().createLength(myLength.getTimeUnit(), length);
   }
 
-  static void recalculateActivities(GPCalendarCalc calendar, Task task, List<TaskActivity> output, Date startDate,
-      Date endDate) {
-    TaskActivitiesAlgorithm alg = new TaskActivitiesAlgorithm(calendar);
-    alg.recalculateActivities(task, output, startDate, endDate);
+  static List<TaskActivity> recalculateActivities(TaskManagerImpl manager, Task task, Date startDate, Date endDate) {
+    return manager.getTaskActivities(task.getDuration().getTimeUnit(), startDate, endDate).asList(task);
   }
 
   @Override
   public void setCompletionPercentage(int percentage) {
     if (percentage != myCompletionPercentage) {
       myCompletionPercentage = percentage;
+      invalidateRollups();
     }
   }
 
@@ -764,7 +777,7 @@ public class TaskImpl implements Task {
 
     @Override
     public BigDecimal getCalculatedValue() {
-      return new CostAlgorithmImpl().getCalculatedCost(TaskImpl.this);
+      return myManager.getRollupCache().getCost(TaskImpl.this, task -> new CostAlgorithmImpl().getCalculatedCost(task));
     }
 
 //    public void setValue(BigDecimal value) {
@@ -774,6 +787,7 @@ public class TaskImpl implements Task {
     public void setValue(Cost copy) {
       myValue = copy.getValue();
       isCalculated = copy.isCalculated();
+      invalidateRollups();
     }
 
     @Override
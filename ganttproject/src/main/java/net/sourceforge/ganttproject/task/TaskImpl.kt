@@ -304,10 +304,7 @@ internal open class MutatorImpl(
 
   override fun getActivities(): List<TaskActivity>? {
       return if (myStartChange.hasChange() || myDurationChange.hasChange()) {
-        mutableListOf<TaskActivity>().also {
-          TaskImpl.recalculateActivities(myManager.config.calendar, taskImpl, it,
-            getStart().time, taskImpl.end.time)
-        }
+        TaskImpl.recalculateActivities(myManager, taskImpl, getStart().time, taskImpl.end.time)
       } else null
     }
 
@@ -216,6 +216,13 @@ public interface TaskManager {
 
   void addTaskListener(TaskListener listener);
 
+  /**
+   * Runs the given code as a single bulk change of the task model. Events which happen while the code runs
+   * are buffered and coalesced into at most one event of each kind per task or dependency. The scheduler
+   * runs once, and listeners are notified when the code completes. Nested calls join the outer one.
+   */
+  void runBulkUpdate(Runnable code);
+
   class Access {
     public static TaskManager newInstance(TaskContainmentHierarchyFacade.Factory containmentFacadeFactory,
         TaskManagerConfig config) {
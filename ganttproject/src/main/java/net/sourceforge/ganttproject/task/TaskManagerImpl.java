@@ -9,9 +9,7 @@ import biz.ganttproject.app.BarrierEntrance;
 import biz.ganttproject.core.calendar.AlwaysWorkingTimeCalendarImpl;
 import biz.ganttproject.core.calendar.GPCalendarCalc;
 import biz.ganttproject.core.calendar.GPCalendarListener;
-import biz.ganttproject.core.chart.scene.BarChartActivity;
 import biz.ganttproject.core.chart.scene.gantt.ChartBoundsAlgorithm;
-import biz.ganttproject.core.chart.scene.gantt.ChartBoundsAlgorithm.Result;
 import biz.ganttproject.core.model.task.ConstraintType;
 import biz.ganttproject.core.option.*;
 import biz.ganttproject.core.time.*;
@@ -46,7 +44,6 @@ import java.net.URL;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * @author bard
@@ -97,9 +94,14 @@ public class TaskManagerImpl implements TaskManager {
 
   private boolean areEventsEnabled = true;
 
+  private TaskEventBuffer myEventBuffer;
+
+  private int myBulkUpdateDepth;
+
   private static class TaskMap {
     private final Map<Integer, Task> myId2task = new HashMap<>();
     private final TaskDocumentOrderComparator myComparator;
+    private final ProjectBoundsIndex myBoundsIndex = new ProjectBoundsIndex();
     private boolean isModified = true;
     private Task[] myArray;
 
@@ -109,6 +111,7 @@ public class TaskManagerImpl implements TaskManager {
 
     void addTask(Task task) {
       myId2task.put(task.getTaskID(), task);
+      myBoundsIndex.add(task);
       isModified = true;
     }
 
@@ -127,6 +130,7 @@ public class TaskManagerImpl implements TaskManager {
 
     public void clear() {
       myId2task.clear();
+      myBoundsIndex.clear();
       isModified = true;
     }
 
@@ -143,13 +147,27 @@ public class TaskManagerImpl implements TaskManager {
     }
 
     public void removeAllTasks(Iterable<Task> tasks) {
-      tasks.forEach(t -> myId2task.remove(t.getTaskID()));
+      tasks.forEach(t -> {
+        myId2task.remove(t.getTaskID());
+        myBoundsIndex.remove(t);
+      });
       isModified = true;
     }
+
+    ProjectBoundsIndex getBoundsIndex() {
+      return myBoundsIndex;
+    }
   }
 
   private final TaskMap myTaskMap = new TaskMap(this);
 
+  private final SummaryRollupCache myRollupCache = new SummaryRollupCache(() -> {
+    HumanResourceManager resourceManager = getConfig() == null ? null : getConfig().getResourceManager();
+    return resourceManager == null ? 0 : resourceManager.getCostInputsVersion();
+  });
+
+  private final TaskActivities.Interner myActivitiesInterner = new TaskActivities.Interner(this);
+
   private final CustomPropertyListenerImpl myCustomPropertyListener;
 
   private final CustomColumnsManager myCustomColumnsManager;
@@ -175,11 +193,13 @@ public class TaskManagerImpl implements TaskManager {
         new SchedulerImpl(myDependencyGraph, myHierarchySupplier)
     );
     myDependencyGraph.addListener(() -> {
-      if (areEventsEnabled) {
+      if (myEventBuffer != null) {
+        myEventBuffer.requestReschedule();
+      } else if (areEventsEnabled) {
         myScheduler.run();
       }
     });
-    myHierarchyManager = new TaskHierarchyManagerImpl();
+    myHierarchyManager = new TaskHierarchyManagerImpl(myRollupCache::invalidate);
     EventDispatcher dispatcher = new EventDispatcher() {
       @Override
       public void fireDependencyAdded(TaskDependency dep) {
@@ -234,6 +254,11 @@ public class TaskManagerImpl implements TaskManager {
       protected TaskContainmentHierarchyFacade createContainmentFacade() {
         return TaskManagerImpl.this.getTaskHierarchy();
       }
+
+      @Override
+      protected SummaryRollupCache getRollupCache() {
+        return myRollupCache;
+      }
     };
     ChartBoundsAlgorithm alg5 = new ChartBoundsAlgorithm();
     var algCriticalPath = new CriticalPathAlgorithmImpl(this, getCalendar());
@@ -323,6 +348,8 @@ public class TaskManagerImpl implements TaskManager {
     myMaxID.set(0);
     myDependencyCollection.clear();
     myRoot.myTaskHierarchyItem.clearChildren();
+    myRollupCache.clear();
+    myActivitiesInterner.clear();
   }
   private void projectClosed() {
     reset();
@@ -422,55 +449,25 @@ public class TaskManagerImpl implements TaskManager {
     return myTaskMap.size();
   }
 
-  private static Iterable<BarChartActivity<?>> tasksToActivities(Task[] tasks) {
-    return Arrays.stream(tasks).map(task -> new BarChartActivity<Task>() {
-      @Override
-      public Date getStart() {
-        return task.getStart().getTime();
-      }
-
-      @Override
-      public Date getEnd() {
-        return task.getEnd().getTime();
-      }
-
-      @Override
-      public TimeDuration getDuration() {
-        return task.getDuration();
-      }
-
-      @Override
-      public Task getOwner() {
-        return task;
-      }
-    }).collect(Collectors.toList());
-  }
-
   @Override
   public TimeDuration getProjectLength() {
-    if (myTaskMap.isEmpty()) {
+    ProjectBoundsIndex boundsIndex = myTaskMap.getBoundsIndex();
+    if (boundsIndex.isEmpty()) {
       return createLength(getConfig().getTimeUnitStack().getDefaultTimeUnit(), 0);
     }
-    Result result = getAlgorithmCollection().getProjectBoundsAlgorithm().getBounds(tasksToActivities(myTaskMap.getTasks()));
-    return createLength(getConfig().getTimeUnitStack().getDefaultTimeUnit(), result.lowerBound, result.upperBound);
+    return createLength(getConfig().getTimeUnitStack().getDefaultTimeUnit(), boundsIndex.getLowerBound(), boundsIndex.getUpperBound());
   }
 
   @Override
   public Date getProjectStart() {
-    if (myTaskMap.isEmpty()) {
-      return myRoot.getStart().getTime();
-    }
-    Result result = getAlgorithmCollection().getProjectBoundsAlgorithm().getBounds(tasksToActivities(myTaskMap.getTasks()));
-    return result.lowerBound;
+    ProjectBoundsIndex boundsIndex = myTaskMap.getBoundsIndex();
+    return boundsIndex.isEmpty() ? myRoot.getStart().getTime() : boundsIndex.getLowerBound();
   }
 
   @Override
   public Date getProjectEnd() {
-    if (myTaskMap.isEmpty()) {
-      return myRoot.getStart().getTime();
-    }
-    Result result = getAlgorithmCollection().getProjectBoundsAlgorithm().getBounds(tasksToActivities(myTaskMap.getTasks()));
-    return result.upperBound;
+    ProjectBoundsIndex boundsIndex = myTaskMap.getBoundsIndex();
+    return boundsIndex.isEmpty() ? myRoot.getStart().getTime() : boundsIndex.getUpperBound();
   }
 
   @Override
@@ -634,6 +631,18 @@ public class TaskManagerImpl implements TaskManager {
     return myHierarchyManager;
   }
 
+  public SummaryRollupCache getRollupCache() {
+    return myRollupCache;
+  }
+
+  /**
+   * @return activities of a task with the given dates in the current calendar, shared with other tasks
+   * which have the same dates and duration unit
+   */
+  TaskActivities getTaskActivities(TimeUnit timeUnit, Date startDate, Date endDate) {
+    return myActivitiesInterner.get(getConfig().getCalendar(), timeUnit, startDate, endDate);
+  }
+
   @Override
   public TaskDependencyConstraint createConstraint(final ConstraintType type) {
     TaskDependencyConstraint result;
@@ -682,6 +691,7 @@ public class TaskManagerImpl implements TaskManager {
 
   public GPCalendarListener getCalendarListener() {
     return () -> {
+      myActivitiesInterner.clear();
       for (Task t : getTasks()) {
         t.setEnd(null);
       }
@@ -702,6 +712,10 @@ public class TaskManagerImpl implements TaskManager {
 
   public void fireTaskProgressChanged(Task changedTask) {
     if (areEventsEnabled) {
+      if (myEventBuffer != null) {
+        myEventBuffer.taskProgressChanged(changedTask);
+        return;
+      }
       getAlgorithmCollection().getRecalculateTaskCompletionPercentageAlgorithm().run();
       TaskPropertyEvent e = new TaskPropertyEvent(changedTask);
       for (TaskListener next : myListeners) {
@@ -711,6 +725,14 @@ public class TaskManagerImpl implements TaskManager {
   }
 
   void fireTaskScheduleChanged(Task changedTask, GanttCalendar oldStartDate, GanttCalendar oldFinishDate) {
+    if (myEventBuffer != null) {
+      if (areEventsEnabled) {
+        myEventBuffer.taskScheduleChanged(changedTask, oldStartDate, oldFinishDate);
+      } else {
+        myEventBuffer.requestReschedule();
+      }
+      return;
+    }
     myScheduler.run();
     if (areEventsEnabled) {
       getAlgorithmCollection().getRecalculateTaskCompletionPercentageAlgorithm().run();
@@ -727,6 +749,10 @@ public class TaskManagerImpl implements TaskManager {
   private void fireDependencyAdded(TaskDependency newDependency) {
     myDependencyGraph.addDependency(newDependency);
     if (areEventsEnabled) {
+      if (myEventBuffer != null) {
+        myEventBuffer.dependencyAdded(newDependency);
+        return;
+      }
       TaskDependencyEvent e = new TaskDependencyEvent(getDependencyCollection(), newDependency);
       for (TaskListener next : myListeners) {
         next.dependencyAdded(e);
@@ -736,6 +762,10 @@ public class TaskManagerImpl implements TaskManager {
 
   private void fireDependencyRemoved(TaskDependency dep) {
     myDependencyGraph.removeDependency(dep);
+    if (myEventBuffer != null) {
+      myEventBuffer.dependencyRemoved(dep);
+      return;
+    }
     TaskDependencyEvent e = new TaskDependencyEvent(getDependencyCollection(), dep);
     for (TaskListener next : myListeners) {
       next.dependencyRemoved(e);
@@ -743,6 +773,10 @@ public class TaskManagerImpl implements TaskManager {
   }
 
   private void fireDependencyChanged(TaskDependency dep) {
+    if (myEventBuffer != null) {
+      myEventBuffer.dependencyChanged(dep);
+      return;
+    }
     TaskDependencyEvent e = new TaskDependencyEvent(getDependencyCollection(), dep);
     for (TaskListener next : myListeners) {
       next.dependencyChanged(e);
@@ -751,6 +785,10 @@ public class TaskManagerImpl implements TaskManager {
 
   private void fireTaskAdded(Task task, EventSource source) {
     if (areEventsEnabled) {
+      if (myEventBuffer != null) {
+        myEventBuffer.taskAdded(task, source);
+        return;
+      }
       getAlgorithmCollection().getRecalculateTaskCompletionPercentageAlgorithm().run();
       var newContainer = getTaskHierarchy().getContainer(task);
       TaskHierarchyEvent e = new TaskHierarchyEvent(source, task, null, newContainer, getTaskHierarchy().getTaskIndex(task));
@@ -763,6 +801,10 @@ public class TaskManagerImpl implements TaskManager {
   private void fireTaskRemoved(Task container, Task task) {
     myDependencyGraph.removeTask(task);
     if (areEventsEnabled) {
+      if (myEventBuffer != null) {
+        myEventBuffer.taskRemoved(task, container);
+        return;
+      }
       getAlgorithmCollection().getRecalculateTaskCompletionPercentageAlgorithm().run();
       TaskHierarchyEvent e = new TaskHierarchyEvent(EventSource.UNDEFINED, task, container, null, -1);
       for (TaskListener l : myListeners) {
@@ -773,6 +815,10 @@ public class TaskManagerImpl implements TaskManager {
 
   void fireTaskMoved(Task task, Task movedFrom, Task movedTo) {
     if (areEventsEnabled) {
+      if (myEventBuffer != null) {
+        myEventBuffer.taskMoved(task, movedFrom);
+        return;
+      }
       TaskHierarchyEvent e = new TaskHierarchyEvent(EventSource.UNDEFINED, task, movedFrom, movedTo, getTaskHierarchy().getTaskIndex(task));
       for (TaskListener l : myListeners) {
         l.taskMoved(e);
@@ -781,6 +827,10 @@ public class TaskManagerImpl implements TaskManager {
   }
   void fireTaskPropertiesChanged(Task task) {
     if (areEventsEnabled) {
+      if (myEventBuffer != null) {
+        myEventBuffer.taskPropertiesChanged(task);
+        return;
+      }
       TaskPropertyEvent e = new TaskPropertyEvent(task);
       for (TaskListener next : myListeners) {
         next.taskPropertiesChanged(e);
@@ -789,6 +839,11 @@ public class TaskManagerImpl implements TaskManager {
   }
 
   private void fireTaskModelReset() {
+      myRollupCache.clear();
+      if (myEventBuffer != null) {
+        myEventBuffer.modelReset();
+        return;
+      }
       for (TaskListener next : myListeners) {
         next.taskModelReset();
       }
@@ -958,6 +1013,10 @@ public class TaskManagerImpl implements TaskManager {
     }
   }
 
+  void onTaskDatesChanged(TaskImpl task) {
+    myTaskMap.getBoundsIndex().update(task);
+  }
+
   void onTaskMoved(TaskImpl task) {
     if (!isRegistered(task)) {
       registerTask(task);
@@ -966,11 +1025,41 @@ public class TaskManagerImpl implements TaskManager {
     myTaskMap.setDirty();
   }
 
+  @Override
+  public void runBulkUpdate(Runnable code) {
+    if (myBulkUpdateDepth++ == 0) {
+      myEventBuffer = new TaskEventBuffer();
+    }
+    try {
+      code.run();
+    } finally {
+      if (--myBulkUpdateDepth == 0) {
+        commitBulkUpdate();
+      }
+    }
+  }
+
+  private void commitBulkUpdate() {
+    TaskEventBuffer buffer = myEventBuffer;
+    try {
+      if (buffer.isRescheduleNeeded()) {
+        // Schedule changes made by the scheduler are coalesced with the buffered ones.
+        myScheduler.run();
+      }
+      if (!buffer.isEmpty()) {
+        getAlgorithmCollection().getRecalculateTaskCompletionPercentageAlgorithm().run();
+      }
+    } finally {
+      myEventBuffer = null;
+    }
+    buffer.flush(myListeners, getTaskHierarchy(), getDependencyCollection());
+  }
+
   public void setEventsEnabled(boolean enabled) {
     areEventsEnabled = enabled;
   }
 
-  boolean areEventsEnabled() {
+  public boolean areEventsEnabled() {
     return areEventsEnabled;
   }
 
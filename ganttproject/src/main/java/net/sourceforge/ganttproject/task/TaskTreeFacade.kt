@@ -3,6 +3,8 @@ package net.sourceforge.ganttproject.task
 import com.google.common.base.Predicate
 import com.google.common.collect.Lists
 import com.google.common.collect.Queues
+import net.sourceforge.ganttproject.task.hierarchy.DocumentOrderIndex
+import net.sourceforge.ganttproject.task.hierarchy.TaskHierarchyItem
 import net.sourceforge.ganttproject.util.collect.Pair
 import java.util.*
 
@@ -10,8 +12,23 @@ import java.util.*
  * @author dbarashev@bardsoftware.com
  */
 class FacadeImpl(private val taskManager: TaskManagerImpl, private val root: Task) : TaskContainmentHierarchyFacade {
+  // Document order labels of the tasks under the root. Tasks which are not labeled, e.g. because
+  // they are not yet inserted into the tree, are processed with the tree walks.
+  //
+  // Rebuilding the index costs a full tree walk, so only the queries which are O(n) anyway or
+  // which are used for sorting rebuild it. Cheap queries use it only if it is up-to-date, otherwise
+  // a sequence of alternating moves and queries, like the one we have when loading a project,
+  // would become quadratic.
+  private fun orderIndex(vararg tasks: Task): DocumentOrderIndex? =
+    root.hierarchyItem?.let { taskManager.hierarchyManager.getDocumentOrderIndex(it) }?.takeIf { it.containsAll(tasks) }
+
+  private fun currentOrderIndex(vararg tasks: Task): DocumentOrderIndex? =
+    root.hierarchyItem?.let { taskManager.hierarchyManager.peekDocumentOrderIndex(it) }?.takeIf { it.containsAll(tasks) }
+
+  private fun DocumentOrderIndex.containsAll(tasks: Array<out Task>) = tasks.all { this.contains(it.hierarchyItem) }
+
   override fun getNestedTasks(container: Task): Array<Task> {
-    return container.nestedTasks
+    return container.sharedNestedTasks
   }
 
   override fun getDeepNestedTasks(container: Task): Array<Task> {
@@ -21,7 +38,7 @@ class FacadeImpl(private val taskManager: TaskManagerImpl, private val root: Tas
   }
 
   private fun addDeepNestedTasks(container: Task, result: ArrayList<Task>) {
-    val nested = container.nestedTasks
+    val nested = container.sharedNestedTasks
     result.addAll(Arrays.asList(*nested))
     for (i in nested.indices) {
       addDeepNestedTasks(nested[i], result)
@@ -29,7 +46,7 @@ class FacadeImpl(private val taskManager: TaskManagerImpl, private val root: Tas
   }
 
   override fun hasNestedTasks(container: Task): Boolean {
-    return container.nestedTasks.size > 0
+    return container.sharedNestedTasks.size > 0
   }
 
   override fun getRootTask(): Task {
@@ -45,25 +62,31 @@ class FacadeImpl(private val taskManager: TaskManagerImpl, private val root: Tas
   }
 
   override fun getPreviousSibling(nestedTask: Task): Task? {
+    nestedTask.hierarchyItem?.let { return if (nestedTask.supertask == null) null else it.previousSiblingItem?.task }
     val pos = getTaskIndex(nestedTask)
-    return if (pos <= 0) null else nestedTask.supertask.nestedTasks[pos - 1]
+    return if (pos <= 0) null else nestedTask.supertask.sharedNestedTasks[pos - 1]
   }
 
   override fun getNextSibling(nestedTask: Task): Task? {
+    nestedTask.hierarchyItem?.let { return if (nestedTask.supertask == null) null else it.nextSiblingItem?.task }
     val pos = getTaskIndex(nestedTask)
-    val allSiblings = nestedTask.supertask.nestedTasks
+    val allSiblings = nestedTask.supertask.sharedNestedTasks
     return if (pos < allSiblings.size - 1) allSiblings[pos + 1] else null
   }
 
   override fun getTaskIndex(nestedTask: Task): Int {
+    nestedTask.hierarchyItem?.let { return if (nestedTask.supertask == null) 0 else it.positionInContainer }
     val container = nestedTask.supertask ?: return 0
-    return Arrays.asList(*container.nestedTasks).indexOf(nestedTask)
+    return Arrays.asList(*container.sharedNestedTasks).indexOf(nestedTask)
   }
 
   override fun areUnrelated(first: Task, second: Task): Boolean {
     if (first == second) {
       return false
     }
+    currentOrderIndex(first, second)?.let {
+      return !(it.isAncestor(first.hierarchyItem, second.hierarchyItem) || it.isAncestor(second.hierarchyItem, first.hierarchyItem))
+    }
     return !(first.ancestors(includeSelf = false).contains(second) || second.ancestors(includeSelf = false).contains(first))
   }
 
@@ -80,6 +103,7 @@ class FacadeImpl(private val taskManager: TaskManagerImpl, private val root: Tas
   }
 
   override fun getDepth(task: Task): Int {
+    currentOrderIndex(task)?.let { return it.getDepth(task.hierarchyItem) }
     var task = task
     var depth = 0
     while (task !== root) {
@@ -93,6 +117,7 @@ class FacadeImpl(private val taskManager: TaskManagerImpl, private val root: Tas
     if (task1 === task2) {
       return 0
     }
+    orderIndex(task1, task2)?.let { return it.compare(task1.hierarchyItem, task2.hierarchyItem) }
     val buffer1 = task1.ancestors().asReversed()
     val buffer2 = task2.ancestors().asReversed()
     if (buffer1[0] !== rootTask && buffer2[0] === rootTask) {
@@ -118,7 +143,7 @@ class FacadeImpl(private val taskManager: TaskManagerImpl, private val root: Tas
 . Path1=$buffer1
 Path2=$buffer2"""
         }
-        val nestedTasks = commonRoot!!.nestedTasks
+        val nestedTasks = commonRoot!!.sharedNestedTasks
         for (j in nestedTasks.indices) {
           if (nestedTasks[j] === root1) {
             return -1
@@ -139,13 +164,14 @@ Path2=$buffer2"""
   }
 
   override fun getTasksInDocumentOrder(): List<Task> {
+    orderIndex(root)?.let { return it.tasksInDocumentOrder }
     val result: MutableList<Task> = Lists.newArrayList()
     val deque = LinkedList<Task>()
     deque.addFirst(rootTask)
     while (!deque.isEmpty()) {
       val head = deque.poll()
       result.add(head)
-      deque.addAll(0, Arrays.asList(*head.nestedTasks))
+      deque.addAll(0, Arrays.asList(*head.sharedNestedTasks))
     }
     result.removeAt(0)
     return result
@@ -158,7 +184,7 @@ Path2=$buffer2"""
     }
     while (!queue.isEmpty()) {
       val head = queue.poll()
-      for (child in head.nestedTasks) {
+      for (child in head.sharedNestedTasks) {
         if (predicate.apply(Pair.create(head, child))) {
           queue.add(child)
         }
@@ -181,13 +207,21 @@ Path2=$buffer2"""
   }
 
   override fun getOutlinePath(task: Task): List<Int> {
+    if (task.hierarchyItem != null) {
+      return task.ancestors().asReversed().drop(1).map { it.hierarchyItem!!.positionInContainer + 1 }
+    }
     return task.ancestors().asReversed().zipWithNext().map { (parent, child) ->
-      parent.nestedTasks.indexOf(child) + 1
+      parent.sharedNestedTasks.indexOf(child) + 1
     }.toList()
   }
 
 }
 
+private val Task.hierarchyItem: TaskHierarchyItem? get() = (this as? TaskImpl)?.myTaskHierarchyItem
+
+// Task.getNestedTasks() returns a copy, while the facade returns the array shared by the hierarchy item.
+private val Task.sharedNestedTasks: Array<Task> get() = hierarchyItem?.nestedTasks ?: nestedTasks
+
 private fun Task.ancestors(includeSelf: Boolean = true) : List<Task> {
   val path = mutableListOf<Task>()
   if (includeSelf) {
@@ -0,0 +1,101 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.task.algorithm;
+
+import net.sourceforge.ganttproject.task.Task;
+
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Keeps the start and end dates of the project tasks in two ordered multisets, so that the project
+ * bounds are available without scanning all tasks. Task manager updates the index when tasks are added,
+ * removed or change their dates.
+ */
+public class ProjectBoundsIndex {
+  private final Map<Task, long[]> myTaskBounds = new IdentityHashMap<>();
+  private final NavigableMap<Long, Integer> myStarts = new TreeMap<>();
+  private final NavigableMap<Long, Integer> myEnds = new TreeMap<>();
+
+  public synchronized void add(Task task) {
+    long[] bounds = new long[] {task.getStart().getTime().getTime(), task.getEnd().getTime().getTime()};
+    long[] oldBounds = myTaskBounds.put(task, bounds);
+    if (oldBounds != null) {
+      removeBounds(oldBounds);
+    }
+    increment(myStarts, bounds[0]);
+    increment(myEnds, bounds[1]);
+  }
+
+  /**
+   * Updates the dates of the given task if it is in the index, and does nothing otherwise.
+   */
+  public synchronized void update(Task task) {
+    if (myTaskBounds.containsKey(task)) {
+      add(task);
+    }
+  }
+
+  public synchronized void remove(Task task) {
+    long[] oldBounds = myTaskBounds.remove(task);
+    if (oldBounds != null) {
+      removeBounds(oldBounds);
+    }
+  }
+
+  public synchronized void clear() {
+    myTaskBounds.clear();
+    myStarts.clear();
+    myEnds.clear();
+  }
+
+  public synchronized boolean isEmpty() {
+    return myTaskBounds.isEmpty();
+  }
+
+  /**
+   * @return the earliest start date of the indexed tasks or null if the index is empty
+   */
+  public synchronized Date getLowerBound() {
+    return myStarts.isEmpty() ? null : new Date(myStarts.firstKey());
+  }
+
+  /**
+   * @return the latest end date of the indexed tasks or null if the index is empty
+   */
+  public synchronized Date getUpperBound() {
+    return myEnds.isEmpty() ? null : new Date(myEnds.lastKey());
+  }
+
+  private void removeBounds(long[] bounds) {
+    decrement(myStarts, bounds[0]);
+    decrement(myEnds, bounds[1]);
+  }
+
+  private static void increment(NavigableMap<Long, Integer> multiset, long key) {
+    multiset.merge(key, 1, Integer::sum);
+  }
+
+  private static void decrement(NavigableMap<Long, Integer> multiset, long key) {
+    multiset.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+  }
+}
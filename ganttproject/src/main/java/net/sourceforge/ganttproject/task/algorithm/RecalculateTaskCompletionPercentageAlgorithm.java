@@ -20,6 +20,7 @@ package net.sourceforge.ganttproject.task.algorithm;
 
 import net.sourceforge.ganttproject.task.Task;
 import net.sourceforge.ganttproject.task.TaskContainmentHierarchyFacade;
+import net.sourceforge.ganttproject.task.algorithm.SummaryRollupCache.SubtreeCompletion;
 
 public abstract class RecalculateTaskCompletionPercentageAlgorithm extends AlgorithmBase {
   @Override
@@ -28,26 +29,27 @@ public abstract class RecalculateTaskCompletionPercentageAlgorithm extends Algor
       return;
     }
     TaskContainmentHierarchyFacade facade = createContainmentFacade();
-    recalculateSupertaskCompletionPercentage(facade.getRootTask(), facade);
+    recalculateSupertaskCompletionPercentage(facade.getRootTask(), facade, getRollupCache());
   }
 
-  static private class SubtreeCompletion {
-    public final long myCompletedDays;
-    public final long myPlannedDays;
-
-    SubtreeCompletion(long completedDays, long plannedDays) {
-      myCompletedDays = completedDays;
-      myPlannedDays = plannedDays;
-    };
-  }
-
-  private SubtreeCompletion recalculateSupertaskCompletionPercentage(Task task, TaskContainmentHierarchyFacade facade) {
+  /**
+   * Recalculates the completion percentage of the summary tasks. Subtrees which have not changed since
+   * the previous run are taken from the rollup cache, so only the summary tasks on the paths from the
+   * changed tasks to the root are recalculated.
+   */
+  private SubtreeCompletion recalculateSupertaskCompletionPercentage(Task task, TaskContainmentHierarchyFacade facade, SummaryRollupCache cache) {
+    SubtreeCompletion cached = cache.getCompletion(task);
+    if (cached != null) {
+      return cached;
+    }
 
     Task[] nestedTasks = facade.getNestedTasks(task);
 
     if (nestedTasks.length == 0) {
       long nextDuration = task.getDuration().getLength();
-      return new SubtreeCompletion(nextDuration * task.getCompletionPercentage(), nextDuration);
+      SubtreeCompletion result = new SubtreeCompletion(nextDuration * task.getCompletionPercentage(), nextDuration);
+      cache.putCompletion(task, result);
+      return result;
     }
 
     long completedDays = 0;
@@ -55,20 +57,23 @@ public abstract class RecalculateTaskCompletionPercentageAlgorithm extends Algor
 
     for (int i = 0; i < nestedTasks.length; i++) {
       Task next = nestedTasks[i];
-      SubtreeCompletion subtreeCompletion = recalculateSupertaskCompletionPercentage(next, facade);
-      completedDays += subtreeCompletion.myCompletedDays;
-      plannedDays += subtreeCompletion.myPlannedDays;
+      SubtreeCompletion subtreeCompletion = recalculateSupertaskCompletionPercentage(next, facade, cache);
+      completedDays += subtreeCompletion.completedDays;
+      plannedDays += subtreeCompletion.plannedDays;
     }
 
-    int completionPercentage = (plannedDays == 0) ? 0 : (int) (completedDays / plannedDays);
+    SubtreeCompletion result = new SubtreeCompletion(completedDays, plannedDays);
     var mutator = task.createMutator();
-    mutator.setCompletionPercentage(completionPercentage);
+    mutator.setCompletionPercentage(result.getPercentage());
     mutator.commit();
+    cache.putCompletion(task, result);
 
-    return new SubtreeCompletion(completedDays, plannedDays);
+    return result;
 
   }
 
   protected abstract TaskContainmentHierarchyFacade createContainmentFacade();
 
+  protected abstract SummaryRollupCache getRollupCache();
+
 }
@@ -18,6 +18,7 @@ along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
 */
 package net.sourceforge.ganttproject.task.algorithm;
 
+import biz.ganttproject.Metrics;
 import biz.ganttproject.core.calendar.GPCalendar;
 import biz.ganttproject.core.calendar.GPCalendar.DayMask;
 import biz.ganttproject.core.calendar.GPCalendarCalc;
@@ -51,6 +52,9 @@ import java.util.logging.Logger;
  * @author dbarashev
  */
 public class SchedulerImpl extends AlgorithmBase {
+  private static final Metrics.Timer ourRunTimer = Metrics.timer("scheduler.run");
+  private static final Metrics.Counter ourScheduledNodeCounter = Metrics.counter("scheduler.scheduledNodes");
+
   private final DependencyGraph myGraph;
   private boolean isRunning;
   private final Supplier<TaskContainmentHierarchyFacade> myTaskHierarchy;
@@ -71,10 +75,12 @@ public class SchedulerImpl extends AlgorithmBase {
       return;
     }
     isRunning = true;
+    long start = ourRunTimer.start();
     try {
       doRun();
     } finally {
       isRunning = false;
+      ourRunTimer.stop(start);
     }
   }
 
@@ -84,6 +90,7 @@ public class SchedulerImpl extends AlgorithmBase {
       Collection<Node> layer = myGraph.getLayer(i);
       for (Node node : layer) {
         try {
+          ourScheduledNodeCounter.inc();
           schedule(node);
         } catch (IllegalArgumentException e) {
           if (getDiagnostic() != null) {
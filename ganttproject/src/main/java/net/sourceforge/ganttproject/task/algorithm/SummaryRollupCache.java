@@ -0,0 +1,105 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.task.algorithm;
+
+import net.sourceforge.ganttproject.task.Task;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * Caches values which are aggregated over the task subtrees: the calculated cost and the completion
+ * of every task.
+ *
+ * A value of a summary task is computed from the values of its children, so a change of some task
+ * invalidates the cached values of this task and its ancestors only, and the next query recomputes
+ * them reusing the cached values of the siblings.
+ *
+ * Costs also depend on the resource pay rates and assignment loads. They are validated against
+ * a version counter supplied by the resource manager and dropped altogether when it changes.
+ */
+public class SummaryRollupCache {
+  /**
+   * Completion of a subtree measured in the task duration units.
+   */
+  public static class SubtreeCompletion {
+    public final long completedDays;
+    public final long plannedDays;
+
+    public SubtreeCompletion(long completedDays, long plannedDays) {
+      this.completedDays = completedDays;
+      this.plannedDays = plannedDays;
+    }
+
+    public int getPercentage() {
+      return (plannedDays == 0) ? 0 : (int) (completedDays / plannedDays);
+    }
+  }
+
+  private final Map<Task, BigDecimal> myCosts = new WeakHashMap<>();
+  private final Map<Task, SubtreeCompletion> myCompletions = new WeakHashMap<>();
+  private final IntSupplier myCostInputsVersion;
+  private int myCachedCostInputsVersion;
+
+  public SummaryRollupCache(IntSupplier costInputsVersion) {
+    myCostInputsVersion = costInputsVersion;
+    myCachedCostInputsVersion = costInputsVersion.getAsInt();
+  }
+
+  public synchronized BigDecimal getCost(Task task, Function<Task, BigDecimal> calculator) {
+    int costInputsVersion = myCostInputsVersion.getAsInt();
+    if (costInputsVersion != myCachedCostInputsVersion) {
+      myCosts.clear();
+      myCachedCostInputsVersion = costInputsVersion;
+    }
+    BigDecimal result = myCosts.get(task);
+    if (result == null) {
+      // The calculator is likely to query the costs of the child tasks, which are cached separately.
+      result = calculator.apply(task);
+      myCosts.put(task, result);
+    }
+    return result;
+  }
+
+  public synchronized SubtreeCompletion getCompletion(Task task) {
+    return myCompletions.get(task);
+  }
+
+  public synchronized void putCompletion(Task task, SubtreeCompletion completion) {
+    myCompletions.put(task, completion);
+  }
+
+  /**
+   * Drops the cached values of the given task and all its ancestors.
+   */
+  public synchronized void invalidate(Task task) {
+    for (Task t = task; t != null; t = t.getSupertask()) {
+      myCosts.remove(t);
+      myCompletions.remove(t);
+    }
+  }
+
+  public synchronized void clear() {
+    myCosts.clear();
+    myCompletions.clear();
+  }
+}
@@ -0,0 +1,144 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sourceforge.ganttproject.task.hierarchy;
+
+import com.google.common.base.Preconditions;
+import net.sourceforge.ganttproject.task.Task;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Snapshot of the document order of a task subtree. Every item in the subtree is labeled
+ * with its preorder position, the position of its last descendant (so that a subtree is an
+ * interval of positions) and its depth.
+ *
+ * Labels are stored right in the hierarchy items, and an index answers queries only about
+ * items which it has labeled itself. Once the hierarchy changes, the manager builds a new index
+ * and the labels of the old one become invalid.
+ */
+public class DocumentOrderIndex {
+  private final TaskHierarchyManagerImpl myManager;
+  private final TaskHierarchyItem myRootItem;
+  private final int myVersion;
+  private final Task[] myPreorder;
+
+  DocumentOrderIndex(TaskHierarchyManagerImpl manager, TaskHierarchyItem rootItem, int version) {
+    myManager = manager;
+    myRootItem = rootItem;
+    myVersion = version;
+    myPreorder = build(rootItem);
+  }
+
+  private Task[] build(TaskHierarchyItem rootItem) {
+    Task[] result = new Task[16];
+    int position = 0;
+    Deque<TaskHierarchyItem> stack = new ArrayDeque<>();
+    // Items are pushed when entered and labeled with the last descendant position when
+    // popped, that is, when the walk leaves their subtree.
+    Deque<TaskHierarchyItem> open = new ArrayDeque<>();
+    rootItem.myDepth = 0;
+    stack.push(rootItem);
+    while (!stack.isEmpty()) {
+      TaskHierarchyItem item = stack.pop();
+      while (!open.isEmpty() && open.peek() != item.getContainerItem()) {
+        open.pop().myLastDescendantPosition = position - 1;
+      }
+      if (position == result.length) {
+        result = Arrays.copyOf(result, position * 2);
+      }
+      result[position] = item.getTask();
+      item.myPreorderPosition = position++;
+      item.myOrderIndex = this;
+      open.push(item);
+
+      for (int i = item.getNestedItemCount() - 1; i >= 0; i--) {
+        TaskHierarchyItem nested = item.getNestedItem(i);
+        nested.myDepth = item.myDepth + 1;
+        stack.push(nested);
+      }
+    }
+    while (!open.isEmpty()) {
+      open.pop().myLastDescendantPosition = position - 1;
+    }
+    return Arrays.copyOf(result, position);
+  }
+
+  int getVersion() {
+    return myVersion;
+  }
+
+  TaskHierarchyItem getRootItem() {
+    return myRootItem;
+  }
+
+  /**
+   * @return true if the hierarchy has not changed since this index was built
+   */
+  public boolean isValid() {
+    return myManager.getStructureVersion() == myVersion;
+  }
+
+  /**
+   * @return true if the given item belongs to the indexed subtree and its labels are valid
+   */
+  public boolean contains(TaskHierarchyItem item) {
+    return item != null && item.myOrderIndex == this && isValid();
+  }
+
+  public int getPosition(TaskHierarchyItem item) {
+    checkContains(item);
+    return item.myPreorderPosition;
+  }
+
+  public int getDepth(TaskHierarchyItem item) {
+    checkContains(item);
+    return item.myDepth;
+  }
+
+  /**
+   * @return true if ancestor is a proper ancestor of the descendant item
+   */
+  public boolean isAncestor(TaskHierarchyItem ancestor, TaskHierarchyItem descendant) {
+    checkContains(ancestor);
+    checkContains(descendant);
+    return ancestor.myPreorderPosition < descendant.myPreorderPosition
+        && descendant.myPreorderPosition <= ancestor.myLastDescendantPosition;
+  }
+
+  public int compare(TaskHierarchyItem item1, TaskHierarchyItem item2) {
+    checkContains(item1);
+    checkContains(item2);
+    return Integer.compare(item1.myPreorderPosition, item2.myPreorderPosition);
+  }
+
+  /**
+   * @return tasks of the indexed subtree in the document order, excluding the subtree root
+   */
+  public List<Task> getTasksInDocumentOrder() {
+    return Collections.unmodifiableList(Arrays.asList(myPreorder).subList(1, myPreorder.length));
+  }
+
+  private void checkContains(TaskHierarchyItem item) {
+    Preconditions.checkArgument(contains(item), "Item %s is not in this index", item);
+  }
+}
@@ -18,27 +18,54 @@ along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
  */
 package net.sourceforge.ganttproject.task.hierarchy;
 
-import com.google.common.collect.Lists;
 import net.sourceforge.ganttproject.task.Task;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
+/**
+ * Node of the task containment tree. Nested items are kept in a growable array in the document order,
+ * and every item caches its position in the container's array, so that sibling queries are O(1).
+ *
+ * Arrays returned from {@link #getNestedItems()} and {@link #getNestedTasks()} are snapshots which are
+ * shared between the callers until the next structural change. They must not be modified.
+ */
 public class TaskHierarchyItem {
   private Task myTask;
 
+  private final TaskHierarchyManagerImpl myManager;
+
   private TaskHierarchyItem myContainerItem;
 
-  private TaskHierarchyItem myFirstNestedItem;
+  private TaskHierarchyItem[] myNestedItems = EMPTY_ARRAY;
+
+  private int myNestedCount;
+
+  private int myPositionInContainer = -1;
+
+  private TaskHierarchyItem[] myNestedItemsSnapshot;
 
-  private TaskHierarchyItem myNextSiblingItem;
+  private Task[] myNestedTasksSnapshot;
 
   private static final TaskHierarchyItem[] EMPTY_ARRAY = new TaskHierarchyItem[0];
 
+  private static final Task[] EMPTY_TASK_ARRAY = new Task[0];
+
+  // Labels assigned by the document order index which visited this item last.
+  // They are valid only while myOrderIndex is the up-to-date index.
+  DocumentOrderIndex myOrderIndex;
+  int myPreorderPosition;
+  int myLastDescendantPosition;
+  int myDepth;
+
+  TaskHierarchyItem(TaskHierarchyManagerImpl manager) {
+    myManager = manager;
+  }
+
   public TaskHierarchyItem(Task myTask, TaskHierarchyItem containerItem) {
     this.myTask = myTask;
-    this.myContainerItem = containerItem;
-    if (myContainerItem != null) {
-      myContainerItem.addNestedItem(this, -1);
+    this.myManager = containerItem == null ? null : containerItem.myManager;
+    if (containerItem != null) {
+      containerItem.addNestedItem(this, -1);
     }
   }
 
@@ -50,68 +77,124 @@ public class TaskHierarchyItem {
     return myContainerItem;
   }
 
+  /**
+   * @return position of this item among the container's nested items or -1 if it has no container
+   */
+  public int getPositionInContainer() {
+    return myContainerItem == null ? -1 : myPositionInContainer;
+  }
+
+  public TaskHierarchyItem getPreviousSiblingItem() {
+    return myContainerItem == null || myPositionInContainer == 0
+        ? null : myContainerItem.myNestedItems[myPositionInContainer - 1];
+  }
+
   public TaskHierarchyItem getNextSiblingItem() {
-    return myNextSiblingItem;
+    return myContainerItem == null || myPositionInContainer == myContainerItem.myNestedCount - 1
+        ? null : myContainerItem.myNestedItems[myPositionInContainer + 1];
+  }
+
+  public int getNestedItemCount() {
+    return myNestedCount;
+  }
+
+  public TaskHierarchyItem getNestedItem(int position) {
+    if (position < 0 || position >= myNestedCount) {
+      throw new IndexOutOfBoundsException("Position=" + position + " nested item count=" + myNestedCount);
+    }
+    return myNestedItems[position];
   }
 
   public TaskHierarchyItem[] getNestedItems() {
-    TaskHierarchyItem[] result;
-    if (myFirstNestedItem == null) {
-      result = EMPTY_ARRAY;
-    } else {
-      ArrayList<TaskHierarchyItem> tempList = new ArrayList<TaskHierarchyItem>();
-      for (TaskHierarchyItem nested = myFirstNestedItem; nested != null; nested = nested.myNextSiblingItem) {
-        tempList.add(nested);
+    TaskHierarchyItem[] result = myNestedItemsSnapshot;
+    if (result == null) {
+      result = myNestedCount == 0 ? EMPTY_ARRAY : Arrays.copyOf(myNestedItems, myNestedCount);
+      myNestedItemsSnapshot = result;
+    }
+    return result;
+  }
+
+  public Task[] getNestedTasks() {
+    Task[] result = myNestedTasksSnapshot;
+    if (result == null) {
+      result = myNestedCount == 0 ? EMPTY_TASK_ARRAY : new Task[myNestedCount];
+      for (int i = 0; i < myNestedCount; i++) {
+        result[i] = myNestedItems[i].getTask();
       }
-      result = Lists.reverse(tempList).toArray(EMPTY_ARRAY);
+      myNestedTasksSnapshot = result;
     }
     return result;
   }
 
+  /**
+   * Inserts the nested item at the given position. Position -1 or any other position which is out of
+   * the bounds appends the item to the end of the list.
+   */
   public void addNestedItem(TaskHierarchyItem nested, int position) {
-    if (position == -1) {
-      // Just add to the end of the list
-      nested.myNextSiblingItem = myFirstNestedItem;
-      nested.myContainerItem = this;
-      myFirstNestedItem = nested;
-    } else {
-      int curCount = getNestedItems().length;
-      if (position == curCount) {
-        addNestedItem(nested, -1);
-        return;
-      }
-      TaskHierarchyItem nextItem = myFirstNestedItem;
-      for (int idx = curCount - position; nextItem != null && --idx > 0; nextItem = nextItem.getNextSiblingItem());
-      if (nextItem == null) {
-        addNestedItem(nested, -1);
-      } else {
-        nested.myNextSiblingItem = nextItem.myNextSiblingItem;
-        nested.myContainerItem = this;
-        nextItem.myNextSiblingItem = nested;
-      }
+    fireStructureChanged();
+    if (position < 0 || position > myNestedCount) {
+      position = myNestedCount;
+    }
+    if (myNestedCount == myNestedItems.length) {
+      myNestedItems = Arrays.copyOf(myNestedItems, Math.max(4, myNestedCount * 2));
+    }
+    System.arraycopy(myNestedItems, position, myNestedItems, position + 1, myNestedCount - position);
+    myNestedItems[position] = nested;
+    myNestedCount++;
+    nested.myContainerItem = this;
+    updatePositions(position);
+    if (myManager != null) {
+      myManager.onContainerChanged(this);
     }
   }
 
   public void delete() {
+    fireStructureChanged();
     if (myContainerItem != null) {
-      TaskHierarchyItem previousSibling = myContainerItem.myFirstNestedItem;
-      if (this == previousSibling) {
-        myContainerItem.myFirstNestedItem = myNextSiblingItem;
-      } else {
-        for (; previousSibling.myNextSiblingItem != this; previousSibling = previousSibling.myNextSiblingItem)
-          ;
-        previousSibling.myNextSiblingItem = myNextSiblingItem;
-      }
+      TaskHierarchyItem containerItem = myContainerItem;
+      containerItem.removeNestedItem(this);
       myContainerItem = null;
+      if (myManager != null) {
+        myManager.onContainerChanged(containerItem);
+      }
     }
-    myNextSiblingItem = null;
+    myPositionInContainer = -1;
+  }
+
+  private void removeNestedItem(TaskHierarchyItem nested) {
+    int position = nested.myPositionInContainer;
+    assert myNestedItems[position] == nested;
+    System.arraycopy(myNestedItems, position + 1, myNestedItems, position, myNestedCount - position - 1);
+    myNestedItems[--myNestedCount] = null;
+    updatePositions(position);
+  }
+
+  private void updatePositions(int fromPosition) {
+    for (int i = fromPosition; i < myNestedCount; i++) {
+      myNestedItems[i].myPositionInContainer = i;
+    }
+    myNestedItemsSnapshot = null;
+    myNestedTasksSnapshot = null;
   }
 
   public boolean hasNested() {
-    return myFirstNestedItem != null;
+    return myNestedCount > 0;
   }
 
   public void clearChildren() {
-    myFirstNestedItem = null;
+    fireStructureChanged();
+    for (int i = 0; i < myNestedCount; i++) {
+      myNestedItems[i].myContainerItem = null;
+      myNestedItems[i].myPositionInContainer = -1;
+      myNestedItems[i] = null;
+    }
+    myNestedCount = 0;
+    updatePositions(0);
+  }
+
+  private void fireStructureChanged() {
+    if (myManager != null) {
+      myManager.onStructureChanged();
+    }
   }
 }
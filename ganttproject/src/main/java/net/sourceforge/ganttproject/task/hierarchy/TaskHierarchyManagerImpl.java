@@ -20,16 +20,73 @@ package net.sourceforge.ganttproject.task.hierarchy;
 
 import net.sourceforge.ganttproject.task.Task;
 
+import java.util.function.Consumer;
+
 public class TaskHierarchyManagerImpl {
-  private TaskHierarchyItem myRootItem = new TaskHierarchyItem(null, null);
+  private final TaskHierarchyItem myRootItem = new TaskHierarchyItem(this);
+
+  private final Consumer<Task> myContainerChangeListener;
+
+  private volatile int myStructureVersion;
+
+  private DocumentOrderIndex myDocumentOrderIndex;
+
+  public TaskHierarchyManagerImpl() {
+    this(container -> {});
+  }
+
+  /**
+   * @param containerChangeListener is called with the container task when a nested item is added to it or
+   *                                removed from it, e.g. to drop the values aggregated over the container subtree
+   */
+  public TaskHierarchyManagerImpl(Consumer<Task> containerChangeListener) {
+    myContainerChangeListener = containerChangeListener;
+  }
 
   public TaskHierarchyItem getRootItem() {
     return myRootItem;
   }
 
   public TaskHierarchyItem createItem(Task task) {
+    // The item constructor adds it to the root item, which notifies the container change listener.
     TaskHierarchyItem result = new TaskHierarchyItem(task, myRootItem);
     return result;
   }
 
+  /**
+   * Returns the document order index of the subtree rooted at the given item. The index is
+   * rebuilt lazily with a single preorder walk when the hierarchy has changed since
+   * the last call, so that a series of queries between structural changes costs O(1) each.
+   */
+  public synchronized DocumentOrderIndex getDocumentOrderIndex(TaskHierarchyItem rootItem) {
+    DocumentOrderIndex index = peekDocumentOrderIndex(rootItem);
+    if (index == null) {
+      index = new DocumentOrderIndex(this, rootItem, myStructureVersion);
+      myDocumentOrderIndex = index;
+    }
+    return index;
+  }
+
+  /**
+   * Returns the document order index of the subtree rooted at the given item if it is up-to-date,
+   * and null otherwise.
+   */
+  public synchronized DocumentOrderIndex peekDocumentOrderIndex(TaskHierarchyItem rootItem) {
+    DocumentOrderIndex index = myDocumentOrderIndex;
+    return index != null && index.getVersion() == myStructureVersion && index.getRootItem() == rootItem ? index : null;
+  }
+
+  void onContainerChanged(TaskHierarchyItem containerItem) {
+    if (containerItem != null && containerItem.getTask() != null) {
+      myContainerChangeListener.accept(containerItem.getTask());
+    }
+  }
+
+  synchronized void onStructureChanged() {
+    myStructureVersion++;
+  }
+
+  int getStructureVersion() {
+    return myStructureVersion;
+  }
 }
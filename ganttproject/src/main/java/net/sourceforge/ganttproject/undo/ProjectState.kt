@@ -0,0 +1,66 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.undo
+
+import biz.ganttproject.storage.StateDelta
+
+/**
+ * Serialized project state which is kept in memory for undo and redo.
+ *
+ * A state holds its bytes until it is rebased onto a newer state. After that it keeps only the delta from the newer
+ * state, and its bytes are materialized from the newer one when they are needed. The newer states don't refer to
+ * the older ones, so the states of the edits dropped from the undo history can be collected.
+ */
+class ProjectState(bytes: ByteArray) {
+  private var bytes: ByteArray? = bytes
+  private var base: ProjectState? = null
+  private var delta: StateDelta? = null
+
+  /**
+   * @return the serialized project
+   */
+  fun materialize(): ByteArray {
+    val chain = mutableListOf<ProjectState>()
+    var current = this
+    while (current.bytes == null) {
+      chain.add(current)
+      current = current.base!!
+    }
+    var result = current.bytes!!
+    for (state in chain.asReversed()) {
+      result = state.delta?.let { requireNotNull(it.applyTo(result)) { "Undo state delta doesn't match its base" } } ?: result
+    }
+    return result
+  }
+
+  /**
+   * Replaces the bytes of this state with the delta from the given newer state.
+   */
+  fun rebase(newer: ProjectState) {
+    val ownBytes = bytes ?: return
+    if (newer === this) {
+      return
+    }
+    delta = StateDelta.between(newer.materialize(), ownBytes)
+    base = newer
+    bytes = null
+  }
+
+  fun contentEquals(other: ByteArray): Boolean = materialize().contentEquals(other)
+}
@@ -19,13 +19,17 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
 package net.sourceforge.ganttproject.undo
 
 import biz.ganttproject.storage.AutoSaveManager
+import biz.ganttproject.storage.RecoveryJournal
 import net.sourceforge.ganttproject.GPLogger
 import net.sourceforge.ganttproject.IGanttProject
+import net.sourceforge.ganttproject.ProjectEventListener
 import net.sourceforge.ganttproject.document.DocumentManager
+import net.sourceforge.ganttproject.document.InMemoryDocument
 import net.sourceforge.ganttproject.language.GanttLanguage
 import net.sourceforge.ganttproject.parser.ParserFactory
 import net.sourceforge.ganttproject.storage.ProjectDatabase
 import java.io.IOException
+import javax.swing.SwingUtilities
 import javax.swing.UIManager
 import javax.swing.undo.CannotRedoException
 import javax.swing.undo.CannotUndoException
@@ -46,21 +50,35 @@ open class UndoManagerImpl(
   private val myUndoEventDispatcher = UndoableEditSupport()
   private val mySwingUndoManager: UndoManager = UndoManager()
   private var swingEditImpl: UndoableEditImpl? = null
+  private var recoveryJournal: RecoveryJournal? = null
+  // The newest captured state, which is shared with the next edit if the project doesn't change in between.
+  private var lastState: ProjectState? = null
 
   init {
     GanttLanguage.getInstance().addListener {
       UIManager.getDefaults()["AbstractUndoableEdit.undoText"] = GanttLanguage.getInstance().getText("undo")
       UIManager.getDefaults()["AbstractUndoableEdit.redoText"] = GanttLanguage.getInstance().getText("redo")
     }
+    project?.addProjectEventListener(object : ProjectEventListener.Stub() {
+      override fun projectSaved() {
+        // The project is saved in the background, and the journal is appended to in the UI thread.
+        if (SwingUtilities.isEventDispatchThread()) {
+          discardRecoveryJournal()
+        } else {
+          SwingUtilities.invokeLater(::discardRecoveryJournal)
+        }
+      }
+    })
   }
 
   override fun undoableEdit(localizedName: String, editImpl: Runnable) {
     try {
       swingEditImpl = UndoableEditImpl(UndoableEditImpl.Args(
         displayName = localizedName,
-        newAutosave = { autoSaveManager.newAutoSaveDocument() },
-        restore = { project?.restore(it) },
-        projectDatabase = projectDatabase
+        captureState = this::captureState,
+        restore = { project?.restore(documentManager.getProxyDocument(InMemoryDocument(UNDO_DOCUMENT_NAME, it.materialize()))) },
+        projectDatabase = projectDatabase,
+        onStateChanged = this::appendToRecoveryJournal
       ), editImpl)
       mySwingUndoManager.addEdit(swingEditImpl)
       fireUndoableEditHappened(swingEditImpl!!)
@@ -71,6 +89,38 @@ open class UndoManagerImpl(
     }
   }
 
+  /**
+   * Serializes the project into memory. Nothing is written to the disk here: the recovery journal records only the
+   * delta from the previous state.
+   */
+  private fun captureState(): ProjectState {
+    val document = InMemoryDocument(UNDO_DOCUMENT_NAME)
+    documentManager.getProxyDocument(document).write()
+    val bytes = document.contents
+    return lastState?.takeIf { it.contentEquals(bytes) } ?: ProjectState(bytes).also { lastState = it }
+  }
+
+  /**
+   * Records the new project state in the recovery journal. The journal is created with the first edit after the
+   * project is opened or saved, and is deleted when the project is saved or closed. If the journal has been discarded
+   * in the meantime, a new one is started.
+   */
+  private fun appendToRecoveryJournal(previous: ProjectState, current: ProjectState) {
+    try {
+      val state = current.materialize()
+      if (recoveryJournal?.append(state) != true) {
+        recoveryJournal = autoSaveManager.newRecoveryJournal(previous.materialize())?.also { it.append(state) }
+      }
+    } catch (e: IOException) {
+      GPLogger.log(e)
+    }
+  }
+
+  private fun discardRecoveryJournal() {
+    recoveryJournal?.discard()
+    recoveryJournal = null
+  }
+
   private fun fireUndoableEditHappened(swingEditImpl: UndoableEditImpl) {
     myUndoEventDispatcher.postEdit(swingEditImpl)
   }
@@ -135,6 +185,10 @@ open class UndoManagerImpl(
       swingEditImpl!!.die()
     }
     mySwingUndoManager.discardAllEdits()
+    lastState = null
+    discardRecoveryJournal()
     fireUndoReset()
   }
 }
+
+private const val UNDO_DOCUMENT_NAME = "_ganttproject_undo.gan"
@@ -18,6 +18,7 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
  */
 package net.sourceforge.ganttproject.undo
 
+import biz.ganttproject.Metrics
 import net.sourceforge.ganttproject.GPLogger
 import net.sourceforge.ganttproject.document.Document
 import net.sourceforge.ganttproject.storage.DummyTxn
@@ -38,18 +39,22 @@ class UndoableEditImpl(
 ) : AbstractUndoableEdit() {
   data class Args(
     val displayName: String,
-    val newAutosave: ()->Document,
-    val restore: (Document)->Unit,
-    val projectDatabase: ProjectDatabase
+    /** Serializes the current project state. */
+    val captureState: ()->ProjectState,
+    val restore: (ProjectState)->Unit,
+    val projectDatabase: ProjectDatabase,
+    /** Called with the project states before and after the edit is done, undone or redone. */
+    val onStateChanged: (previous: ProjectState, current: ProjectState)->Unit = { _, _ -> }
   )
-  private val myDocumentBefore: Document
+  private val myStateBefore: ProjectState
 
-  private val myDocumentAfter: Document
+  private val myStateAfter: ProjectState
 
   private val projectDatabaseTxn: ProjectDatabaseTxn
 
   init {
-    myDocumentBefore = saveFile()
+    val startNanos = EDIT_TIMER.start()
+    myStateBefore = captureState()
     projectDatabaseTxn = try {
       args.projectDatabase.startTransaction(args.displayName)
     } catch (ex: ProjectDatabaseException) {
@@ -62,33 +67,35 @@ class UndoableEditImpl(
       GPLogger.log(ex)
       //projectDatabaseTxn.rollback()
     }
-    myDocumentAfter = saveFile()
+    myStateAfter = captureState()
+    // Only the newest state keeps the whole serialized project.
+    myStateBefore.rebase(myStateAfter)
+    EDIT_TIMER.stop(startNanos)
+    args.onStateChanged(myStateBefore, myStateAfter)
   }
 
-  @Throws(IOException::class)
-  private fun saveFile(): Document {
-    val doc = args.newAutosave()
-    doc.write()
-    return doc
+  private fun captureState(): ProjectState = CAPTURE_TIMER.time {
+    args.captureState()
   }
 
   override fun canUndo(): Boolean {
-    return myDocumentBefore.canRead()
+    return true
   }
 
   override fun canRedo(): Boolean {
-    return myDocumentAfter.canRead()
+    return true
   }
 
   @Throws(CannotRedoException::class)
-  override fun redo() {
+  override fun redo() = REDO_TIMER.time {
     try {
-      restoreDocument(myDocumentAfter)
+      restoreState(myStateAfter)
       try {
         projectDatabaseTxn.redo()
       } catch (e: ProjectDatabaseException) {
         GPLogger.log(e)
       }
+      args.onStateChanged(myStateBefore, myStateAfter)
     } catch (e: Document.DocumentException) {
       undoRedoExceptionHandler(e)
     } catch (e: IOException) {
@@ -97,14 +104,15 @@ class UndoableEditImpl(
   }
 
   @Throws(CannotUndoException::class)
-  override fun undo() {
+  override fun undo() = UNDO_TIMER.time {
     try {
-      restoreDocument(myDocumentBefore)
+      restoreState(myStateBefore)
       try {
         projectDatabaseTxn.undo()
       } catch (e: ProjectDatabaseException) {
         GPLogger.log(e)
       }
+      args.onStateChanged(myStateAfter, myStateBefore)
     } catch (e: Document.DocumentException) {
       undoRedoExceptionHandler(e)
     } catch (e: IOException) {
@@ -113,8 +121,8 @@ class UndoableEditImpl(
   }
 
   @Throws(IOException::class, Document.DocumentException::class)
-  private fun restoreDocument(document: Document) {
-    args.restore(document)
+  private fun restoreState(state: ProjectState) {
+    args.restore(state)
   }
 
   override fun getPresentationName(): String {
@@ -128,3 +136,8 @@ class UndoableEditImpl(
     throw CannotRedoException()
   }
 }
+
+private val EDIT_TIMER = Metrics.timer("undo.edit")
+private val CAPTURE_TIMER = Metrics.timer("undo.capture")
+private val UNDO_TIMER = Metrics.timer("undo.undo")
+private val REDO_TIMER = Metrics.timer("undo.redo")
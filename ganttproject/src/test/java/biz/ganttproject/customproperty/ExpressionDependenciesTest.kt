@@ -0,0 +1,50 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package biz.ganttproject.customproperty
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class ExpressionDependenciesTest {
+  private fun parse(expression: String) =
+    ExpressionDependencies.parse(SimpleSelect("tpc0", expression, String::class.java))
+
+  @Test
+  fun `columns are found case-insensitively`() {
+    val dependencies = parse("DATEDIFF('DAY', Start_Date, end_date) * completion / 100")
+    assertEquals(setOf("start_date", "end_date", "completion"), dependencies.columns)
+    assertFalse(dependencies.isVolatile)
+  }
+
+  @Test
+  fun `string literals and quoted names`() {
+    val dependencies = parse("""CASE WHEN "NAME" = 'it''s duration' THEN 'notes' ELSE priority END""")
+    assertEquals(setOf("name", "priority"), dependencies.columns)
+  }
+
+  @Test
+  fun `volatile expressions`() {
+    assertTrue(parse("cost * 2").isVolatile)
+    assertTrue(parse("(SELECT COUNT(*) FROM task) + id").isVolatile)
+    assertTrue(parse("DATEDIFF('DAY', CURRENT_DATE, end_date)").isVolatile)
+    assertFalse(parse("cost_manual_value * 2").isVolatile)
+  }
+}
@@ -0,0 +1,79 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class StartupOrchestratorTest {
+  private val orchestrator = StartupOrchestrator(Executors.newFixedThreadPool(2))
+
+  @Test
+  fun `steps run after their dependencies`() {
+    val order = mutableListOf<String>()
+    orchestrator
+      .step("ui", dependsOn = listOf("options", "i18n")) { synchronized(order) { order.add("ui") } }
+      .step("options") { synchronized(order) { order.add("options") } }
+      .step("i18n") { synchronized(order) { order.add("i18n") } }
+      .start().get(10, TimeUnit.SECONDS)
+    assertEquals("ui", order.last())
+    assertEquals(setOf("options", "i18n", "ui"), order.toSet())
+  }
+
+  @Test
+  fun `independent steps run in parallel`() {
+    // Each step waits until the other one starts, so they can complete only if they run at the same time.
+    val latch = CountDownLatch(2)
+    val awaitOther = {
+      latch.countDown()
+      assertTrue(latch.await(10, TimeUnit.SECONDS))
+    }
+    orchestrator.step("fonts", code = awaitOther).step("calendar", code = awaitOther).start().get(10, TimeUnit.SECONDS)
+  }
+
+  @Test
+  fun `critical path`() {
+    orchestrator
+      .step("options") { Thread.sleep(50) }
+      .step("i18n") {}
+      .step("ui", dependsOn = listOf("options", "i18n")) {}
+      .start().get(10, TimeUnit.SECONDS)
+    assertEquals(listOf("options", "ui"), orchestrator.report().criticalPath().map { it.id })
+  }
+
+  @Test
+  fun `step failure fails the startup`() {
+    val ex = assertThrows<CompletionException> {
+      orchestrator.step("options") { throw IllegalStateException("broken options") }.start().join()
+    }
+    assertEquals("broken options", ex.cause?.message)
+  }
+
+  @Test
+  fun `dependency cycle`() {
+    orchestrator.step("a", dependsOn = listOf("b")) {}.step("b", dependsOn = listOf("a")) {}
+    assertThrows<IllegalArgumentException> { orchestrator.start() }
+  }
+}
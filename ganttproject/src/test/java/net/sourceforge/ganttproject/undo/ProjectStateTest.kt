@@ -0,0 +1,52 @@
+/*
+Copyright 2026 BarD Software s.r.o
+
+This file is part of GanttProject, an opensource project management tool.
+
+GanttProject is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+GanttProject is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GanttProject.  If not, see <http://www.gnu.org/licenses/>.
+*/
+package net.sourceforge.ganttproject.undo
+
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class ProjectStateTest {
+  @Test
+  fun `rebased states are materialized from the newest one`() {
+    val contents = (0..10).map { projectState(it) }
+    val states = contents.map { ProjectState(it) }
+    // Each edit rebases its state onto the state of the next edit, as the undoable edits do.
+    states.zipWithNext().forEach { (older, newer) -> older.rebase(newer) }
+
+    contents.zip(states).forEach { (expected, state) ->
+      assertArrayEquals(expected, state.materialize())
+    }
+    assertTrue(states[0].contentEquals(contents[0]))
+  }
+
+  @Test
+  fun `equal and repeated rebase`() {
+    val state = ProjectState(projectState(1))
+    val same = ProjectState(projectState(1))
+    state.rebase(same)
+    state.rebase(ProjectState(projectState(2)))
+    state.rebase(state)
+    assertArrayEquals(projectState(1), state.materialize())
+  }
+}
+
+private fun projectState(index: Int): ByteArray = (0 until 100).joinToString("\n") { line ->
+  if (line == index % 100) "<task id=\"$line\" name=\"Edit $index\"/>" else "<task id=\"$line\" name=\"Task $line\"/>"
+}.toByteArray()
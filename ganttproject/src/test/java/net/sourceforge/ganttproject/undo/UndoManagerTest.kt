@@ -18,14 +18,12 @@
  */
 package net.sourceforge.ganttproject.undo
 
-import net.sourceforge.ganttproject.document.FileDocument
 import net.sourceforge.ganttproject.storage.SQL_PROJECT_DATABASE_OPTIONS
 import net.sourceforge.ganttproject.storage.SqlProjectDatabaseImpl
 import org.h2.jdbcx.JdbcDataSource
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 import java.lang.RuntimeException
-import java.nio.file.Files
 
 class UndoManagerTest {
   @Test
@@ -41,7 +39,7 @@ class UndoManagerTest {
     var called = false
     UndoableEditImpl(args = UndoableEditImpl.Args(
       displayName = "Test",
-      newAutosave = { FileDocument(Files.createTempFile("qwe", "asd").toFile()) },
+      captureState = { ProjectState(ByteArray(0)) },
       restore = {},
       projectDatabase = projectDatabase
     )) {